@@ -0,0 +1,168 @@
+package org.sevendroids.java.benchmark;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Input dates shared by the benchmarks. The same dates are provided as
+ * LocalDate for DateUtils and as Calendar for OldDateUtils, so both
+ * implementations are measured with identical input.
+ * 
+ * @see DateUtilsBenchmark
+ * @see OldDateUtilsBenchmark
+ * 
+ * @author created: 7droids.org on 17.10.2026 20:15:12
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+@State(Scope.Thread)
+public class BenchmarkDates {
+
+    /**
+     * Number of prepared dates, must be a power of two.
+     */
+    private static final int SIZE = 1024;
+
+    private static final int MASK = SIZE - 1;
+
+    /**
+     * Kind of the input dates. FIXED uses always the same date, RANDOM uses
+     * dates between 1970 and 2100 and DST uses the days around the daylight
+     * saving time transitions of the default time zone.
+     */
+    @Param({ "FIXED", "RANDOM", "DST" })
+    public String dates;
+
+    private final LocalDate[] localDates = new LocalDate[SIZE];
+
+    private final Calendar[] calendars = new Calendar[SIZE];
+
+    private int index;
+
+    private final Calendar target = Calendar.getInstance();
+
+    private final TimeZone zone = TimeZone.getDefault();
+
+    private final ZoneId zoneId = zone.toZoneId();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+	Random random = new Random(4711);
+	LocalDate[] dstDays = dstDays();
+	for (int i = 0; i < SIZE; i++) {
+	    LocalDate date;
+	    switch (dates) {
+	    case "FIXED":
+		date = LocalDate.of(2014, 3, 4);
+		break;
+	    case "RANDOM":
+		date = LocalDate.ofEpochDay(random.nextInt(47482));
+		break;
+	    case "DST":
+		date = dstDays[random.nextInt(dstDays.length)];
+		break;
+	    default:
+		throw new IllegalArgumentException("Unknown dates: " + dates);
+	    }
+	    localDates[i] = date;
+	    Calendar cal = Calendar.getInstance();
+	    cal.clear();
+	    cal.set(date.getYear(), date.getMonthValue() - 1,
+		    date.getDayOfMonth());
+	    calendars[i] = cal;
+	}
+    }
+
+    /**
+     * Collects the day before, the day of and the day after every transition
+     * of the default time zone between 2000 and 2040. Zones without daylight
+     * saving time fall back to the fixed date.
+     */
+    private static LocalDate[] dstDays() {
+	ZoneRules rules = ZoneId.systemDefault().getRules();
+	LocalDate[] result = new LocalDate[SIZE];
+	int count = 0;
+	ZoneOffsetTransition transition = rules.nextTransition(Instant
+		.parse("2000-01-01T00:00:00Z"));
+	while (transition != null && count + 3 <= SIZE
+		&& transition.getDateTimeBefore().getYear() < 2040) {
+	    LocalDate day = transition.getDateTimeBefore().toLocalDate();
+	    result[count++] = day.minusDays(1);
+	    result[count++] = day;
+	    result[count++] = day.plusDays(1);
+	    transition = rules.nextTransition(transition.getInstant());
+	}
+	if (count == 0)
+	    result[count++] = LocalDate.of(2014, 3, 4);
+	LocalDate[] days = new LocalDate[count];
+	System.arraycopy(result, 0, days, 0, count);
+	return days;
+    }
+
+    /**
+     * Returns the next prepared LocalDate.
+     */
+    public LocalDate nextLocalDate() {
+	index = (index + 1) & MASK;
+	return localDates[index];
+    }
+
+    /**
+     * Returns the LocalDate half the prepared dates away from the current one.
+     * Used as second argument for methods with two dates.
+     */
+    public LocalDate otherLocalDate() {
+	return localDates[(index + SIZE / 2) & MASK];
+    }
+
+    /**
+     * Returns the next prepared Calendar.
+     */
+    public Calendar nextCalendar() {
+	index = (index + 1) & MASK;
+	return calendars[index];
+    }
+
+    /**
+     * Returns the Calendar half the prepared dates away from the current one.
+     * Used as second argument for methods with two dates.
+     */
+    public Calendar otherCalendar() {
+	return calendars[(index + SIZE / 2) & MASK];
+    }
+
+    /**
+     * Returns a Calendar for the results of the methods with a target
+     * parameter. It is the same object on every call.
+     */
+    public Calendar target() {
+	return target;
+    }
+
+    /**
+     * Returns the default time zone, the time zone of the prepared Calendars.
+     */
+    public TimeZone zone() {
+	return zone;
+    }
+
+    /**
+     * Returns the ZoneId of the default time zone. It is the same object on
+     * every call.
+     */
+    public ZoneId zoneId() {
+	return zoneId;
+    }
+}
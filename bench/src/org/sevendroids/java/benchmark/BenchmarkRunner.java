@@ -0,0 +1,36 @@
+package org.sevendroids.java.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all benchmarks of DateUtils and OldDateUtils with the gc profiler, so
+ * that besides throughput and average time the allocation rate per operation
+ * is reported. An optional argument restricts the benchmarks to a regular
+ * expression, e.g. "getDSTType".
+ * 
+ * @author created: 7droids.org on 17.10.2026 20:27:31
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Private constructor.
+     */
+    private BenchmarkRunner() {
+	super();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+	String filter = args.length > 0 ? args[0] : "";
+	// Matches DateUtilsBenchmark and OldDateUtilsBenchmark
+	Options options = new OptionsBuilder()
+		.include("DateUtilsBenchmark\\." + filter)
+		.addProfiler(GCProfiler.class).build();
+	new Runner(options).run();
+    }
+}
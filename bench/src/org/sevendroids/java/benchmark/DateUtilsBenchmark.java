@@ -0,0 +1,79 @@
+package org.sevendroids.java.benchmark;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sevendroids.java.datatimeapi.DateUtils;
+import org.sevendroids.java.datatimeapi.DateUtils.DayType;
+
+/**
+ * Benchmarks for the methods in {@link DateUtils}. The method names are the
+ * same as in {@link OldDateUtilsBenchmark}, so the results of both
+ * implementations can be compared line by line.
+ * 
+ * @see BenchmarkRunner
+ * 
+ * @author created: 7droids.org on 17.10.2026 20:21:40
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateUtilsBenchmark {
+
+    @Benchmark
+    public boolean isWeekend(BenchmarkDates dates) {
+	return DateUtils.isWeekend(dates.nextLocalDate());
+    }
+
+    @Benchmark
+    public LocalDate getPreviousWorkingDay(BenchmarkDates dates) {
+	return DateUtils.getPreviousWorkingDay(dates.nextLocalDate());
+    }
+
+    @Benchmark
+    public DayType getDSTType(BenchmarkDates dates) {
+	return DateUtils.getDSTType(dates.nextLocalDate());
+    }
+
+    @Benchmark
+    public DayType getDSTTypeInZone(BenchmarkDates dates) {
+	return DateUtils.getDSTType(dates.nextLocalDate(), dates.zoneId());
+    }
+
+    @Benchmark
+    public int getQuarter(BenchmarkDates dates) {
+	return DateUtils.getQuarter(dates.nextLocalDate());
+    }
+
+    @Benchmark
+    public int getQuartersBetweenDates(BenchmarkDates dates) {
+	return DateUtils.getQuartersBetweenDates(dates.nextLocalDate(),
+		dates.otherLocalDate());
+    }
+
+    @Benchmark
+    public LocalDate endOfMonth(BenchmarkDates dates) {
+	return DateUtils.endOfMonth(dates.nextLocalDate());
+    }
+
+    @Benchmark
+    public LocalDate beginOfSeason(BenchmarkDates dates) {
+	return DateUtils.beginOfSeason(dates.nextLocalDate());
+    }
+
+    @Benchmark
+    public LocalDate endOfSeason(BenchmarkDates dates) {
+	return DateUtils.endOfSeason(dates.nextLocalDate());
+    }
+}
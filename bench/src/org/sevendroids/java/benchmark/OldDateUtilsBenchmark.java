@@ -0,0 +1,109 @@
+package org.sevendroids.java.benchmark;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sevendroids.java.calendardateapi.OldDateUtils;
+import org.sevendroids.java.calendardateapi.OldDateUtils.DayType;
+
+/**
+ * Benchmarks for the methods in {@link OldDateUtils}. The method names are the
+ * same as in {@link DateUtilsBenchmark}, so the results of both
+ * implementations can be compared line by line. The methods ending with
+ * ToTarget or OfMillis measure the variants that create no Calendar.
+ * 
+ * @see BenchmarkRunner
+ * 
+ * @author created: 7droids.org on 17.10.2026 20:24:03
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OldDateUtilsBenchmark {
+
+    @Benchmark
+    public boolean isWeekend(BenchmarkDates dates) {
+	return OldDateUtils.isWeekend(dates.nextCalendar());
+    }
+
+    @Benchmark
+    public Calendar getPreviousWorkingDay(BenchmarkDates dates) {
+	return OldDateUtils.getPreviousWorkingDay(dates.nextCalendar());
+    }
+
+    @Benchmark
+    public DayType getDSTType(BenchmarkDates dates) {
+	return OldDateUtils.getDSTType(dates.nextCalendar());
+    }
+
+    @Benchmark
+    public int getQuarter(BenchmarkDates dates) {
+	return OldDateUtils.getQuarter(dates.nextCalendar());
+    }
+
+    @Benchmark
+    public int getQuartersBetweenDates(BenchmarkDates dates) {
+	return OldDateUtils.getQuartersBetweenDates(dates.nextCalendar(),
+		dates.otherCalendar());
+    }
+
+    @Benchmark
+    public Calendar endOfMonth(BenchmarkDates dates) {
+	return OldDateUtils.endOfMonth(dates.nextCalendar());
+    }
+
+    @Benchmark
+    public Calendar beginOfSeason(BenchmarkDates dates) {
+	return OldDateUtils.beginOfSeason(dates.nextCalendar());
+    }
+
+    @Benchmark
+    public Calendar endOfSeason(BenchmarkDates dates) {
+	return OldDateUtils.endOfSeason(dates.nextCalendar());
+    }
+
+    @Benchmark
+    public Calendar getPreviousWorkingDayToTarget(BenchmarkDates dates) {
+	return OldDateUtils.getPreviousWorkingDay(dates.nextCalendar(),
+		dates.target());
+    }
+
+    @Benchmark
+    public DayType getDSTTypeOfMillis(BenchmarkDates dates) {
+	return OldDateUtils.getDSTType(dates.nextCalendar().getTimeInMillis(),
+		dates.zone());
+    }
+
+    @Benchmark
+    public int getQuartersBetweenDatesOfMillis(BenchmarkDates dates) {
+	return OldDateUtils.getQuartersBetweenDates(dates.nextCalendar()
+		.getTimeInMillis(), dates.otherCalendar().getTimeInMillis(),
+		dates.zone());
+    }
+
+    @Benchmark
+    public Calendar endOfMonthToTarget(BenchmarkDates dates) {
+	return OldDateUtils.endOfMonth(dates.nextCalendar(), dates.target());
+    }
+
+    @Benchmark
+    public Calendar beginOfSeasonToTarget(BenchmarkDates dates) {
+	return OldDateUtils.beginOfSeason(dates.nextCalendar(), dates.target());
+    }
+
+    @Benchmark
+    public Calendar endOfSeasonToTarget(BenchmarkDates dates) {
+	return OldDateUtils.endOfSeason(dates.nextCalendar(), dates.target());
+    }
+}
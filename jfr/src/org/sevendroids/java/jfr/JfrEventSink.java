@@ -0,0 +1,70 @@
+package org.sevendroids.java.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import org.sevendroids.java.datatimeapi.Instrumentation.EventSink;
+import org.sevendroids.java.datatimeapi.Instrumentation.Probe;
+
+/**
+ * Records the slow calls of the instrumentation as Flight Recorder events
+ * "org.sevendroids.java.SlowCall". The class needs Java 11 or later and is
+ * loaded by {@link org.sevendroids.java.datatimeapi.Instrumentation} if it is
+ * on the classpath. The event is enabled by default with a stack trace, so a
+ * recording shows the method, the input and the caller of every slow call.
+ * 
+ * @see org.sevendroids.java.datatimeapi.Instrumentation
+ * 
+ * @author created: 7droids.org on 18.10.2026 03:21:40
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public class JfrEventSink implements EventSink {
+
+    @Name("org.sevendroids.java.SlowCall")
+    @Label("Slow Date Call")
+    @Description("Call of a DateUtils or OldDateUtils method taking longer than the threshold")
+    @Category({ "7droids", "Dates" })
+    @StackTrace(true)
+    static class SlowCallEvent extends Event {
+
+	@Label("Class")
+	String className;
+
+	@Label("Method")
+	String methodName;
+
+	@Label("Input")
+	String input;
+
+	@Label("Duration")
+	@Timespan(Timespan.NANOSECONDS)
+	long nanos;
+    }
+
+    @Override
+    public void slowCall(Probe probe, Object input, long nanos) {
+	SlowCallEvent event = new SlowCallEvent();
+	if (event.isEnabled()) {
+	    event.className = probe.getClassName();
+	    event.methodName = probe.getMethodName();
+	    event.input = describe(input);
+	    event.nanos = nanos;
+	    event.commit();
+	}
+    }
+
+    /**
+     * Returns the text of the input, for a Calendar its point in time.
+     */
+    private static String describe(Object input) {
+	if (input instanceof java.util.Calendar)
+	    return ((java.util.Calendar) input).toInstant().toString();
+	return String.valueOf(input);
+    }
+}
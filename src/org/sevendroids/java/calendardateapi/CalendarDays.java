@@ -0,0 +1,194 @@
+package org.sevendroids.java.calendardateapi;
+
+import java.util.Calendar;
+
+/**
+ * Arithmetic on epoch days (days since 1970-01-01) for the variants of
+ * {@link OldDateUtils} that create no Calendar objects. The days are counted
+ * in the proleptic Gregorian calendar, months from 0 (January) to 11
+ * (December) and days of week from 1 (Sunday) to 7 (Saturday) like in
+ * Calendar.
+ * <p>
+ * The class only uses integer arithmetic and does not depend on the java.time
+ * implementations, so both can be checked against each other.
+ * 
+ * @author created: 7droids.org on 18.10.2026 16:42:05
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+final class CalendarDays {
+
+    /**
+     * Days in a 400 year cycle.
+     */
+    private static final int DAYS_PER_CYCLE = 146097;
+
+    /**
+     * Days from 0000-03-01 to 1970-01-01.
+     */
+    private static final long DAYS_0000_TO_1970 = 719468;
+
+    /**
+     * Private constructor.
+     */
+    private CalendarDays() {
+	super();
+    }
+
+    /**
+     * Calculates the epoch day of the given date.
+     * 
+     * @param year
+     *            Year
+     * @param month
+     *            Month (0 .. 11)
+     * @param dayOfMonth
+     *            Day of month (1 .. 31)
+     * @return Days since 1970-01-01
+     */
+    static long of(int year, int month, int dayOfMonth) {
+	// Years start in March, so the leap day is the last day of the year
+	long y = month < Calendar.MARCH ? year - 1L : year;
+	long cycle = Math.floorDiv(y, 400);
+	long yearOfCycle = y - cycle * 400;
+	int monthOfYear = month < Calendar.MARCH ? month + 10 : month - 2;
+	long dayOfCycle = yearOfCycle * 365 + yearOfCycle / 4 - yearOfCycle
+		/ 100 + (153 * monthOfYear + 2) / 5 + dayOfMonth - 1;
+	return cycle * DAYS_PER_CYCLE + dayOfCycle - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Returns the year of the given epoch day.
+     */
+    static int year(long epochDay) {
+	return (int) (civil(epochDay) >> 9);
+    }
+
+    /**
+     * Returns the month (0 .. 11) of the given epoch day.
+     */
+    static int month(long epochDay) {
+	return (int) (civil(epochDay) >>> 5) & 15;
+    }
+
+    /**
+     * Returns the day of month (1 .. 31) of the given epoch day.
+     */
+    static int dayOfMonth(long epochDay) {
+	return (int) civil(epochDay) & 31;
+    }
+
+    /**
+     * Returns the day of week (1 = Sunday .. 7 = Saturday) of the given epoch
+     * day.
+     */
+    static int dayOfWeek(long epochDay) {
+	// 1970-01-01 was a Thursday
+	return (int) Math.floorMod(epochDay + 4, 7) + 1;
+    }
+
+    /**
+     * Checks whether the given day is a Saturday or Sunday.
+     */
+    static boolean isWeekend(long epochDay) {
+	int dayOfWeek = dayOfWeek(epochDay);
+	return dayOfWeek == Calendar.SATURDAY || dayOfWeek == Calendar.SUNDAY;
+    }
+
+    /**
+     * Returns the previous day that is not a Saturday or Sunday.
+     */
+    static long previousWorkingDay(long epochDay) {
+	switch (dayOfWeek(epochDay)) {
+	case Calendar.MONDAY:
+	    return epochDay - 3;
+	case Calendar.SUNDAY:
+	    return epochDay - 2;
+	default:
+	    return epochDay - 1;
+	}
+    }
+
+    /**
+     * Returns the quarter (0 .. 3) of the given day.
+     */
+    static int quarter(long epochDay) {
+	return month(epochDay) / 3;
+    }
+
+    /**
+     * Calculates the number of quarters between two given days.
+     */
+    static int quartersBetween(long epochDay1, long epochDay2) {
+	long civil1 = civil(epochDay1);
+	long civil2 = civil(epochDay2);
+	long quarters1 = (civil1 >> 9) * 4 + ((civil1 >>> 5) & 15) / 3;
+	long quarters2 = (civil2 >> 9) * 4 + ((civil2 >>> 5) & 15) / 3;
+	return (int) Math.abs(quarters2 - quarters1);
+    }
+
+    /**
+     * Returns the last day of the month of the given day.
+     */
+    static long endOfMonth(long epochDay) {
+	long civil = civil(epochDay);
+	int year = (int) (civil >> 9);
+	int month = (int) (civil >>> 5) & 15;
+	return month == Calendar.DECEMBER ? of(year + 1, Calendar.JANUARY, 1)
+		- 1 : of(year, month + 1, 1) - 1;
+    }
+
+    /**
+     * Returns the first day of the season of the given day. A season is
+     * defined as a period from April to September and from October to March.
+     */
+    static long beginOfSeason(long epochDay) {
+	long civil = civil(epochDay);
+	int year = (int) (civil >> 9);
+	int month = (int) (civil >>> 5) & 15;
+	if (month < Calendar.APRIL) // Jan-Mar --> previous year
+	    return of(year - 1, Calendar.OCTOBER, 1);
+	else if (month < Calendar.OCTOBER) // Apr-Sep
+	    return of(year, Calendar.APRIL, 1);
+	else
+	    // Oct-Dec
+	    return of(year, Calendar.OCTOBER, 1);
+    }
+
+    /**
+     * Returns the last day of the season of the given day.
+     */
+    static long endOfSeason(long epochDay) {
+	long civil = civil(epochDay);
+	int year = (int) (civil >> 9);
+	int month = (int) (civil >>> 5) & 15;
+	if (month < Calendar.APRIL) // Jan-Mar
+	    return of(year, Calendar.APRIL, 1) - 1;
+	else if (month < Calendar.OCTOBER) // Apr-Sep
+	    return of(year, Calendar.OCTOBER, 1) - 1;
+	else
+	    // Oct-Dec --> next year
+	    return of(year + 1, Calendar.APRIL, 1) - 1;
+    }
+
+    /**
+     * Splits the given epoch day into year, month (0 .. 11) and day of month,
+     * packed into a long.
+     */
+    private static long civil(long epochDay) {
+	long z = epochDay + DAYS_0000_TO_1970;
+	long cycle = Math.floorDiv(z, DAYS_PER_CYCLE);
+	long dayOfCycle = z - cycle * DAYS_PER_CYCLE;
+	long yearOfCycle = (dayOfCycle - dayOfCycle / 1460 + dayOfCycle
+		/ 36524 - dayOfCycle / (DAYS_PER_CYCLE - 1)) / 365;
+	long dayOfYear = dayOfCycle
+		- (365 * yearOfCycle + yearOfCycle / 4 - yearOfCycle / 100);
+	// Month counted from March
+	int monthOfYear = (int) (5 * dayOfYear + 2) / 153;
+	int day = (int) dayOfYear - (153 * monthOfYear + 2) / 5 + 1;
+	int month = monthOfYear < 10 ? monthOfYear + 2 : monthOfYear - 10;
+	long year = yearOfCycle + cycle * 400
+		+ (month < Calendar.MARCH ? 1 : 0);
+	return year << 9 | month << 5 | day;
+    }
+}
@@ -3,9 +3,24 @@ package org.sevendroids.java.calendardateapi;
 import java.util.Calendar;
 import java.util.TimeZone;
 
+import org.sevendroids.java.datatimeapi.Instrumentation;
+import org.sevendroids.java.datatimeapi.Instrumentation.Probe;
+
 /**
  * This class represents the original implementation using the old Date and
  * Calendar available before Java8.
+ * <p>
+ * Besides the original methods, which create the Calendar objects they
+ * return, there are variants for callers that cannot move away from Calendar:
+ * the methods with a target parameter write the result into a Calendar given
+ * by the caller (it may be the same object as the given date), the methods
+ * with a time in milliseconds and a time zone only calculate with epoch days
+ * and return dates as 0 o'clock of the day in the time zone. Both create no
+ * objects per call.
+ * <p>
+ * The variants calculate with the proleptic Gregorian calendar. Before the
+ * change from the Julian to the Gregorian calendar of a GregorianCalendar (15
+ * October 1582 by default) their days differ from the original methods.
  * 
  * @see add further links
  *
@@ -15,6 +30,34 @@ import java.util.TimeZone;
  */
 public class OldDateUtils {
 
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    // Probes of the optional instrumentation
+
+    private static final Probe IS_WEEKEND = Instrumentation.probe(
+	    "OldDateUtils", "isWeekend");
+
+    private static final Probe GET_PREVIOUS_WORKING_DAY = Instrumentation.probe(
+	    "OldDateUtils", "getPreviousWorkingDay");
+
+    private static final Probe GET_DST_TYPE = Instrumentation.probe(
+	    "OldDateUtils", "getDSTType");
+
+    private static final Probe GET_QUARTER = Instrumentation.probe(
+	    "OldDateUtils", "getQuarter");
+
+    private static final Probe GET_QUARTERS_BETWEEN_DATES = Instrumentation
+	    .probe("OldDateUtils", "getQuartersBetweenDates");
+
+    private static final Probe END_OF_MONTH = Instrumentation.probe(
+	    "OldDateUtils", "endOfMonth");
+
+    private static final Probe BEGIN_OF_SEASON = Instrumentation.probe(
+	    "OldDateUtils", "beginOfSeason");
+
+    private static final Probe END_OF_SEASON = Instrumentation.probe(
+	    "OldDateUtils", "endOfSeason");
+
     /**
      * Private constructor.
      */
@@ -22,6 +65,47 @@ public class OldDateUtils {
 	super();
     }
 
+    /**
+     * Returns the day since 1970-01-01 of the given point in time in the given
+     * time zone.
+     * 
+     * @param timeInMillis
+     *            Point in time as returned by Calendar.getTimeInMillis()
+     * @param zone
+     *            Time zone, cannot be null
+     * @return Epoch day
+     */
+    public static long toEpochDay(long timeInMillis, TimeZone zone) {
+	return Math.floorDiv(timeInMillis + zone.getOffset(timeInMillis),
+		MILLIS_PER_DAY);
+    }
+
+    /**
+     * Returns 0 o'clock of the given epoch day in the given time zone like
+     * Calendar: if 0 o'clock is in a gap, the day starts at the end of the
+     * gap, if it is in an overlap, the later point in time is used.
+     */
+    private static long startOfDay(long epochDay, TimeZone zone) {
+	long midnight = epochDay * MILLIS_PER_DAY;
+	int offsetAfter = zone.getOffset(midnight + MILLIS_PER_DAY);
+	if (zone.getOffset(midnight - offsetAfter) == offsetAfter)
+	    return midnight - offsetAfter;
+	return midnight - zone.getOffset(midnight - MILLIS_PER_DAY);
+    }
+
+    /**
+     * Sets the target to 0 o'clock of the given epoch day in the time zone of
+     * the target.
+     */
+    private static Calendar setEpochDay(Calendar target, long epochDay) {
+	int year = CalendarDays.year(epochDay);
+	int month = CalendarDays.month(epochDay);
+	int day = CalendarDays.dayOfMonth(epochDay);
+	target.clear();
+	target.set(year, month, day);
+	return target;
+    }
+
     /**
      * This method checks whether the given date object is representing a date
      * at the weekend (Saturday or Sunday)
@@ -31,16 +115,35 @@ public class OldDateUtils {
      * @return TRUE is Saturday or Sunday
      */
     public static boolean isWeekend(Calendar cal) {
-	int dayOfWeek = cal.get(Calendar.DAY_OF_WEEK);
-	switch (dayOfWeek) {
-	case Calendar.SATURDAY:
-	case Calendar.SUNDAY:
-	    return true;
-	default:
-	    return false;
+	long start = IS_WEEKEND.start();
+	try {
+	    int dayOfWeek = cal.get(Calendar.DAY_OF_WEEK);
+	    switch (dayOfWeek) {
+	    case Calendar.SATURDAY:
+	    case Calendar.SUNDAY:
+		return true;
+	    default:
+		return false;
+	    }
+	} finally {
+	    IS_WEEKEND.stop(start, cal);
 	}
     }
 
+    /**
+     * Checks whether the day of the given point in time in the given time zone
+     * is at the weekend like {@link #isWeekend(Calendar)}.
+     * 
+     * @param timeInMillis
+     *            Point in time as returned by Calendar.getTimeInMillis()
+     * @param zone
+     *            Time zone, cannot be null
+     * @return TRUE is Saturday or Sunday
+     */
+    public static boolean isWeekend(long timeInMillis, TimeZone zone) {
+	return CalendarDays.isWeekend(toEpochDay(timeInMillis, zone));
+    }
+
     /**
      * The methods calculates the previous working day. It only recognize
      * Saturday and Sunday as non -working days.
@@ -50,23 +153,68 @@ public class OldDateUtils {
      * @return The previous working day
      */
     public static Calendar getPreviousWorkingDay(Calendar cal) {
-	Calendar result = Calendar.getInstance();
-	result.setTimeInMillis(cal.getTimeInMillis());
-	int dayOfWeek = cal.get(Calendar.DAY_OF_WEEK);
-	switch (dayOfWeek) {
-	case Calendar.MONDAY:
-	    result.set(Calendar.DAY_OF_MONTH,
-		    cal.get(Calendar.DAY_OF_MONTH) - 3);
-	    break;
-	case Calendar.SUNDAY:
-	    result.set(Calendar.DAY_OF_MONTH,
-		    cal.get(Calendar.DAY_OF_MONTH) - 2);
-	    break;
-	default:
-	    result.set(Calendar.DAY_OF_MONTH,
-		    cal.get(Calendar.DAY_OF_MONTH) - 1);
+	long start = GET_PREVIOUS_WORKING_DAY.start();
+	try {
+	    Calendar result = Calendar.getInstance();
+	    result.setTimeInMillis(cal.getTimeInMillis());
+	    int dayOfWeek = cal.get(Calendar.DAY_OF_WEEK);
+	    switch (dayOfWeek) {
+	    case Calendar.MONDAY:
+		result.set(Calendar.DAY_OF_MONTH,
+			cal.get(Calendar.DAY_OF_MONTH) - 3);
+		break;
+	    case Calendar.SUNDAY:
+		result.set(Calendar.DAY_OF_MONTH,
+			cal.get(Calendar.DAY_OF_MONTH) - 2);
+		break;
+	    default:
+		result.set(Calendar.DAY_OF_MONTH,
+			cal.get(Calendar.DAY_OF_MONTH) - 1);
+	    }
+	    return result;
+	} finally {
+	    GET_PREVIOUS_WORKING_DAY.stop(start, cal);
 	}
-	return result;
+    }
+
+    /**
+     * Calculates the previous working day like
+     * {@link #getPreviousWorkingDay(Calendar)}, but writes the result into the
+     * given target. The day is taken in the time zone of the target, the time
+     * of day is kept.
+     * 
+     * @param cal
+     *            Date as starting point for the calculation, cannot be null
+     * @param target
+     *            Calendar for the result, may be the same as cal
+     * @return The target
+     */
+    public static Calendar getPreviousWorkingDay(Calendar cal,
+	    Calendar target) {
+	long timeInMillis = cal.getTimeInMillis();
+	target.setTimeInMillis(timeInMillis);
+	long previous = CalendarDays.previousWorkingDay(toEpochDay(
+		timeInMillis, target.getTimeZone()));
+	target.set(CalendarDays.year(previous), CalendarDays.month(previous),
+		CalendarDays.dayOfMonth(previous));
+	return target;
+    }
+
+    /**
+     * Calculates the previous working day of the day of the given point in
+     * time in the given time zone like
+     * {@link #getPreviousWorkingDay(Calendar)}.
+     * 
+     * @param timeInMillis
+     *            Point in time as returned by Calendar.getTimeInMillis()
+     * @param zone
+     *            Time zone, cannot be null
+     * @return 0 o'clock of the previous working day in the time zone
+     */
+    public static long getPreviousWorkingDay(long timeInMillis,
+	    TimeZone zone) {
+	long epochDay = toEpochDay(timeInMillis, zone);
+	return startOfDay(CalendarDays.previousWorkingDay(epochDay), zone);
     }
 
     public static enum DayType {
@@ -80,17 +228,48 @@ public class OldDateUtils {
      * (in Europe the last Sunday in March), daylight saving time or the date
      * when to switch back to standard time (in Europe the last Sunday in
      * October).
+     * <p>
+     * The day and its type are taken in the time zone of the given calendar
+     * and looked up with {@link #getDSTType(long, TimeZone)}.
      * 
      * @return DayType
      * @param cal
      *            Date to check, cannot be null
      */
     public static DayType getDSTType(Calendar cal) {
+	long start = GET_DST_TYPE.start();
+	try {
+	    return getDSTType(cal.getTimeInMillis(), cal.getTimeZone());
+	} finally {
+	    GET_DST_TYPE.stop(start, cal);
+	}
+    }
+
+    /**
+     * Checks the type of the given date in the given time zone. The point in
+     * time of the given date is moved to the time zone and set to 0 o'clock
+     * there. See {@link #getDSTType(Calendar)} for the possible values.
+     * 
+     * @return DayType
+     * @param cal
+     *            Date to check, cannot be null
+     * @param zone
+     *            Time zone, cannot be null
+     */
+    public static DayType getDSTType(Calendar cal, TimeZone zone) {
+	return getDSTType(cal.getTimeInMillis(), zone,
+		Calendar.getInstance(zone));
+    }
+
+    /**
+     * Calculates the type like {@link #getDSTType(Calendar, TimeZone)} with
+     * the given calendar of the time zone, which is changed.
+     */
+    static DayType getDSTType(long timeInMillis, TimeZone zone,
+	    Calendar result) {
 	DayType status = DayType.DAYLIGHT_SAVING_TIME;
-	Calendar result = Calendar.getInstance();
-	result.setTimeInMillis(cal.getTimeInMillis());
+	result.setTimeInMillis(timeInMillis);
 	setTimeToZero(result);
-	TimeZone zone = result.getTimeZone();
 	// Find type of day
 	if (zone.inDaylightTime(result.getTime()) == true)
 	    status = DayType.DAYLIGHT_SAVING_TIME;
@@ -109,6 +288,43 @@ public class OldDateUtils {
 	return status;
     }
 
+    /**
+     * Checks the type of the day of the given point in time in the given time
+     * zone like {@link #getDSTType(Calendar, TimeZone)}. The types are
+     * calculated once per year with that method and looked up afterwards, so
+     * the results are the same also where TimeZone and java.time differ (e.g.
+     * when 0 o'clock is in a gap). Years outside of 1900 - 2199 are calculated
+     * on every call.
+     * 
+     * @return DayType
+     * @param timeInMillis
+     *            Point in time as returned by Calendar.getTimeInMillis()
+     * @param zone
+     *            Time zone, cannot be null and must not be changed afterwards
+     */
+    public static DayType getDSTType(long timeInMillis, TimeZone zone) {
+	return TimeZoneDstIndex.of(zone).getDSTType(
+		toEpochDay(timeInMillis, zone));
+    }
+
+    /**
+     * Primes the day types of {@link #getDSTType(long, TimeZone)} for the given
+     * time zones before the first calls.
+     * 
+     * @param fromYear
+     *            First year to prepare
+     * @param toYear
+     *            Last year (inclusive) to prepare
+     * @param zones
+     *            Time zones, the default time zone if none is given
+     */
+    public static void warmUp(int fromYear, int toYear, TimeZone... zones) {
+	if (zones.length == 0)
+	    zones = new TimeZone[] { TimeZone.getDefault() };
+	for (TimeZone zone : zones)
+	    TimeZoneDstIndex.of(zone).warmUp(fromYear, toYear);
+    }
+
     private static void setTimeToZero(Calendar result) {
 	result.set(Calendar.HOUR_OF_DAY, 0);
 	result.set(Calendar.MINUTE, 0);
@@ -124,30 +340,50 @@ public class OldDateUtils {
      *            Given date, cannot be null
      */
     public static int getQuarter(Calendar cal) {
-	int month = cal.get(Calendar.MONTH);
-	switch (month) {
-	case Calendar.JANUARY:
-	case Calendar.FEBRUARY:
-	case Calendar.MARCH:
-	default:
-	    return 0;
-	case Calendar.APRIL:
-	case Calendar.MAY:
-	case Calendar.JUNE:
-	    return 1;
-	case Calendar.JULY:
-	case Calendar.AUGUST:
-	case Calendar.SEPTEMBER:
-	    return 2;
-	case Calendar.OCTOBER:
-	case Calendar.NOVEMBER:
-	case Calendar.DECEMBER:
-	    return 3;
+	long start = GET_QUARTER.start();
+	try {
+	    int month = cal.get(Calendar.MONTH);
+	    switch (month) {
+	    case Calendar.JANUARY:
+	    case Calendar.FEBRUARY:
+	    case Calendar.MARCH:
+	    default:
+		return 0;
+	    case Calendar.APRIL:
+	    case Calendar.MAY:
+	    case Calendar.JUNE:
+		return 1;
+	    case Calendar.JULY:
+	    case Calendar.AUGUST:
+	    case Calendar.SEPTEMBER:
+		return 2;
+	    case Calendar.OCTOBER:
+	    case Calendar.NOVEMBER:
+	    case Calendar.DECEMBER:
+		return 3;
+	    }
+	} finally {
+	    GET_QUARTER.stop(start, cal);
 	}
     }
 
     /**
-     * Calculates the number of quarters between two given dates
+     * Returns the quarter of the day of the given point in time in the given
+     * time zone like {@link #getQuarter(Calendar)}.
+     * 
+     * @return int (0 .. 3)
+     * @param timeInMillis
+     *            Point in time as returned by Calendar.getTimeInMillis()
+     * @param zone
+     *            Time zone, cannot be null
+     */
+    public static int getQuarter(long timeInMillis, TimeZone zone) {
+	return CalendarDays.quarter(toEpochDay(timeInMillis, zone));
+    }
+
+    /**
+     * Calculates the number of quarters between two given dates. Each date is
+     * taken in the time zone of its calendar.
      * 
      * @return Number of quarters
      * @param date1
@@ -156,19 +392,33 @@ public class OldDateUtils {
      *            Second given date cannot be null
      */
     public static int getQuartersBetweenDates(Calendar date1, Calendar date2) {
-	Calendar beginn = Calendar.getInstance();
-	Calendar end = Calendar.getInstance();
-	if (date1.before(date2)) {
-	    beginn.setTimeInMillis(date1.getTimeInMillis());
-	    end.setTimeInMillis(date2.getTimeInMillis());
-	} else {
-	    beginn.setTimeInMillis(date2.getTimeInMillis());
-	    end.setTimeInMillis(date1.getTimeInMillis());
+	long start = GET_QUARTERS_BETWEEN_DATES.start();
+	try {
+	    return CalendarDays.quartersBetween(
+		    toEpochDay(date1.getTimeInMillis(), date1.getTimeZone()),
+		    toEpochDay(date2.getTimeInMillis(), date2.getTimeZone()));
+	} finally {
+	    GET_QUARTERS_BETWEEN_DATES.stop(start, date1);
 	}
-	int quarters = getQuarter(end) - getQuarter(beginn);
-	int years = end.get(Calendar.YEAR) - beginn.get(Calendar.YEAR);
-	quarters += years * 4;
-	return Math.abs(quarters);
+    }
+
+    /**
+     * Calculates the number of quarters between two points in time like
+     * {@link #getQuartersBetweenDates(Calendar, Calendar)}. Both dates are
+     * taken in the given time zone.
+     * 
+     * @return Number of quarters
+     * @param timeInMillis1
+     *            First point in time as returned by Calendar.getTimeInMillis()
+     * @param timeInMillis2
+     *            Second point in time as returned by Calendar.getTimeInMillis()
+     * @param zone
+     *            Time zone, cannot be null
+     */
+    public static int getQuartersBetweenDates(long timeInMillis1,
+	    long timeInMillis2, TimeZone zone) {
+	return CalendarDays.quartersBetween(toEpochDay(timeInMillis1, zone),
+		toEpochDay(timeInMillis2, zone));
     }
 
     /**
@@ -176,13 +426,49 @@ public class OldDateUtils {
      * given date.
      */
     public static Calendar endOfMonth(Calendar cal) {
-	Calendar result = Calendar.getInstance();
-	result.setTimeInMillis(cal.getTimeInMillis());
-	result.add(Calendar.MONTH, 1);
-	result.set(Calendar.DAY_OF_MONTH, 1);
-	setTimeToZero(result);
-	result.add(Calendar.DAY_OF_MONTH, -1);
-	return result;
+	long start = END_OF_MONTH.start();
+	try {
+	    Calendar result = Calendar.getInstance();
+	    result.setTimeInMillis(cal.getTimeInMillis());
+	    result.add(Calendar.MONTH, 1);
+	    result.set(Calendar.DAY_OF_MONTH, 1);
+	    setTimeToZero(result);
+	    result.add(Calendar.DAY_OF_MONTH, -1);
+	    return result;
+	} finally {
+	    END_OF_MONTH.stop(start, cal);
+	}
+    }
+
+    /**
+     * Sets the target to the last day of the same month as the given date.
+     * The month is taken in the time zone of the target, the time is set to 0
+     * o'clock.
+     * 
+     * @param cal
+     *            Given date, cannot be null
+     * @param target
+     *            Calendar for the result, may be the same as cal
+     * @return The target
+     */
+    public static Calendar endOfMonth(Calendar cal, Calendar target) {
+	return setEpochDay(target, CalendarDays.endOfMonth(toEpochDay(
+		cal.getTimeInMillis(), target.getTimeZone())));
+    }
+
+    /**
+     * Returns the last day of the month of the day of the given point in time
+     * in the given time zone like {@link #endOfMonth(Calendar)}.
+     * 
+     * @param timeInMillis
+     *            Point in time as returned by Calendar.getTimeInMillis()
+     * @param zone
+     *            Time zone, cannot be null
+     * @return 0 o'clock of the last day of the month in the time zone
+     */
+    public static long endOfMonth(long timeInMillis, TimeZone zone) {
+	long epochDay = toEpochDay(timeInMillis, zone);
+	return startOfDay(CalendarDays.endOfMonth(epochDay), zone);
     }
 
     /**
@@ -191,19 +477,56 @@ public class OldDateUtils {
      * from October to March. The time is set to 0 o'clock
      */
     public static Calendar beginOfSeason(Calendar cal) {
-	Calendar result = Calendar.getInstance();
-	result.setTimeInMillis(cal.getTimeInMillis());
-	int nMonth = cal.get(Calendar.MONTH);
-	if (nMonth < Calendar.APRIL) { // Jan-Mar --> move to previous year
-	    result.add(Calendar.MONTH, -(nMonth + 3));
-	} else if (nMonth < Calendar.OCTOBER) { // Apr-Sep
-	    result.add(Calendar.MONTH, (3 - nMonth));
-	} else { // Okt-Dec
-	    result.add(Calendar.MONTH, (9 - nMonth));
+	long start = BEGIN_OF_SEASON.start();
+	try {
+	    Calendar result = Calendar.getInstance();
+	    result.setTimeInMillis(cal.getTimeInMillis());
+	    int nMonth = cal.get(Calendar.MONTH);
+	    if (nMonth < Calendar.APRIL) { // Jan-Mar --> move to previous year
+		result.add(Calendar.MONTH, -(nMonth + 3));
+	    } else if (nMonth < Calendar.OCTOBER) { // Apr-Sep
+		result.add(Calendar.MONTH, (3 - nMonth));
+	    } else { // Okt-Dec
+		result.add(Calendar.MONTH, (9 - nMonth));
+	    }
+	    result.set(Calendar.DAY_OF_MONTH, 1);
+	    setTimeToZero(result);
+	    return result;
+	} finally {
+	    BEGIN_OF_SEASON.stop(start, cal);
 	}
-	result.set(Calendar.DAY_OF_MONTH, 1);
-	setTimeToZero(result);
-	return result;
+    }
+
+    /**
+     * Sets the target to the first day in the same season as the given date.
+     * The season is taken in the time zone of the target, the time is set to
+     * 0 o'clock.
+     * 
+     * @param cal
+     *            Given date, cannot be null
+     * @param target
+     *            Calendar for the result, may be the same as cal
+     * @return The target
+     * @see #beginOfSeason(Calendar)
+     */
+    public static Calendar beginOfSeason(Calendar cal, Calendar target) {
+	return setEpochDay(target, CalendarDays.beginOfSeason(toEpochDay(
+		cal.getTimeInMillis(), target.getTimeZone())));
+    }
+
+    /**
+     * Returns the first day in the season of the day of the given point in
+     * time in the given time zone like {@link #beginOfSeason(Calendar)}.
+     * 
+     * @param timeInMillis
+     *            Point in time as returned by Calendar.getTimeInMillis()
+     * @param zone
+     *            Time zone, cannot be null
+     * @return 0 o'clock of the first day of the season in the time zone
+     */
+    public static long beginOfSeason(long timeInMillis, TimeZone zone) {
+	long epochDay = toEpochDay(timeInMillis, zone);
+	return startOfDay(CalendarDays.beginOfSeason(epochDay), zone);
     }
 
     /**
@@ -211,8 +534,47 @@ public class OldDateUtils {
      * date. The time is set to 0 o'clock.
      */
     public static Calendar endOfSeason(Calendar cal) {
-	Calendar result = beginOfSeason(cal);
-	result.add(Calendar.MONTH, 5);
-	return endOfMonth(result);
+	long start = END_OF_SEASON.start();
+	try {
+	    // The day before the begin of the next season
+	    Calendar result = beginOfSeason(cal);
+	    result.add(Calendar.MONTH, 6);
+	    result.add(Calendar.DAY_OF_MONTH, -1);
+	    return result;
+	} finally {
+	    END_OF_SEASON.stop(start, cal);
+	}
+    }
+
+    /**
+     * Sets the target to the last day of the season of the given date. The
+     * season is taken in the time zone of the target, the time is set to 0
+     * o'clock.
+     * 
+     * @param cal
+     *            Given date, cannot be null
+     * @param target
+     *            Calendar for the result, may be the same as cal
+     * @return The target
+     * @see #endOfSeason(Calendar)
+     */
+    public static Calendar endOfSeason(Calendar cal, Calendar target) {
+	return setEpochDay(target, CalendarDays.endOfSeason(toEpochDay(
+		cal.getTimeInMillis(), target.getTimeZone())));
+    }
+
+    /**
+     * Returns the last day of the season of the day of the given point in
+     * time in the given time zone like {@link #endOfSeason(Calendar)}.
+     * 
+     * @param timeInMillis
+     *            Point in time as returned by Calendar.getTimeInMillis()
+     * @param zone
+     *            Time zone, cannot be null
+     * @return 0 o'clock of the last day of the season in the time zone
+     */
+    public static long endOfSeason(long timeInMillis, TimeZone zone) {
+	long epochDay = toEpochDay(timeInMillis, zone);
+	return startOfDay(CalendarDays.endOfSeason(epochDay), zone);
     }
 }
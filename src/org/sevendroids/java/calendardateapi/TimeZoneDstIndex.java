@@ -0,0 +1,143 @@
+package org.sevendroids.java.calendardateapi;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.sevendroids.java.calendardateapi.OldDateUtils.DayType;
+
+/**
+ * Index of the day types of a TimeZone as calculated by
+ * {@link OldDateUtils#getDSTType(Calendar, TimeZone)}. The types of a year are
+ * calculated once with the Calendar method, so the lookup returns the same
+ * type as the Calendar method, also where TimeZone and java.time differ (e.g.
+ * when local midnight is in a gap). Nothing is allocated for a lookup.
+ * <p>
+ * The years are calculated lazily on first use. Years outside of
+ * {@link #MIN_YEAR} and {@link #MAX_YEAR} are not cached but calculated with
+ * the Calendar method on every call. The index is safe to use by concurrent
+ * threads.
+ * <p>
+ * The indexes are shared per TimeZone with the same rules (TimeZone.equals()),
+ * so custom time zones with the same id and other rules get their own index.
+ * A time zone must not be changed after its first use.
+ * 
+ * @see OldDateUtils#getDSTType(long, TimeZone)
+ * 
+ * @author created: 7droids.org on 18.10.2026 14:07:22
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+final class TimeZoneDstIndex {
+
+    /**
+     * First year of the index.
+     */
+    static final int MIN_YEAR = 1900;
+
+    /**
+     * Last year of the index.
+     */
+    static final int MAX_YEAR = 2199;
+
+    private static final DayType[] TYPES = DayType.values();
+
+    private static final ConcurrentMap<TimeZone, TimeZoneDstIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final TimeZone zone;
+
+    /**
+     * Ordinals of the day types of a year, one byte per day.
+     */
+    private final AtomicReferenceArray<byte[]> years;
+
+    private TimeZoneDstIndex(TimeZone zone) {
+	super();
+	this.zone = zone;
+	this.years = new AtomicReferenceArray<>(MAX_YEAR - MIN_YEAR
+		+ 1);
+    }
+
+    /**
+     * Returns the index for the given time zone. The index is created once per
+     * time zone and shared afterwards.
+     */
+    static TimeZoneDstIndex of(TimeZone zone) {
+	TimeZoneDstIndex index = INDEXES.get(zone);
+	if (index == null)
+	    index = INDEXES.computeIfAbsent((TimeZone) zone.clone(),
+		    TimeZoneDstIndex::new);
+	return index;
+    }
+
+    /**
+     * Calculates the given years in advance.
+     */
+    void warmUp(int fromYear, int toYear) {
+	int from = Math.max(fromYear, MIN_YEAR);
+	int to = Math.min(toYear, MAX_YEAR);
+	for (int year = from; year <= to; year++)
+	    year(year);
+    }
+
+    /**
+     * Returns the type of the given epoch day in the time zone of this index.
+     */
+    DayType getDSTType(long epochDay) {
+	int year = CalendarDays.year(epochDay);
+	if (year < MIN_YEAR || year > MAX_YEAR)
+	    return calculateDSTType(calendar(), epochDay);
+	return TYPES[year(year)[(int) (epochDay - CalendarDays.of(year,
+		Calendar.JANUARY, 1))]];
+    }
+
+    private byte[] year(int year) {
+	byte[] types = years.get(year - MIN_YEAR);
+	if (types == null) {
+	    types = calculateYear(year);
+	    years.set(year - MIN_YEAR, types);
+	}
+	return types;
+    }
+
+    private byte[] calculateYear(int year) {
+	long first = CalendarDays.of(year, Calendar.JANUARY, 1);
+	byte[] types = new byte[(int) (CalendarDays.of(year + 1,
+		Calendar.JANUARY, 1) - first)];
+	Calendar calendar = calendar();
+	for (int i = 0; i < types.length; i++)
+	    types[i] = (byte) calculateDSTType(calendar, first + i).ordinal();
+	return types;
+    }
+
+    /**
+     * Creates a calendar of the time zone with the proleptic Gregorian
+     * calendar like CalendarDays.
+     */
+    private Calendar calendar() {
+	GregorianCalendar calendar = new GregorianCalendar(zone);
+	calendar.setGregorianChange(new Date(Long.MIN_VALUE));
+	return calendar;
+    }
+
+    /**
+     * Calculates the type with the Calendar method. Noon is used as point in
+     * time of the day, it is in the day also on the days of the switches.
+     */
+    private DayType calculateDSTType(Calendar calendar, long epochDay) {
+	calendar.clear();
+	calendar.set(CalendarDays.year(epochDay), CalendarDays.month(epochDay),
+		CalendarDays.dayOfMonth(epochDay), 12, 0);
+	return OldDateUtils.getDSTType(calendar.getTimeInMillis(), zone,
+		calendar);
+    }
+
+    @Override
+    public String toString() {
+	return "TimeZoneDstIndex[" + zone.getID() + "]";
+    }
+}
@@ -0,0 +1,201 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Aggregates values per period bucket in primitive arrays. For every bucket
+ * the number of values and their sum are kept. The arrays grow with the
+ * highest bucket used, dates before the base date of the buckets are
+ * rejected.
+ * <p>
+ * An accumulator is not thread-safe. For parallel processing use one
+ * accumulator per thread and {@link #merge(BucketAccumulator)} them.
+ * 
+ * @see PeriodBuckets
+ * 
+ * @author created: 7droids.org on 17.10.2026 23:58:02
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class BucketAccumulator {
+
+    private final PeriodBuckets buckets;
+
+    private long[] counts;
+
+    private double[] sums;
+
+    /**
+     * Number of buckets used, so the highest bucket + 1.
+     */
+    private int size;
+
+    /**
+     * Creates an accumulator for the given buckets.
+     * 
+     * @param buckets
+     *            Buckets, cannot be null
+     */
+    public BucketAccumulator(PeriodBuckets buckets) {
+	this(buckets, 16);
+    }
+
+    /**
+     * Creates an accumulator for the given buckets with space for the given
+     * number of buckets.
+     * 
+     * @param buckets
+     *            Buckets, cannot be null
+     * @param capacity
+     *            Number of buckets expected
+     */
+    public BucketAccumulator(PeriodBuckets buckets, int capacity) {
+	super();
+	this.buckets = buckets;
+	this.counts = new long[Math.max(1, capacity)];
+	this.sums = new double[counts.length];
+    }
+
+    /**
+     * @return The buckets of this accumulator
+     */
+    public PeriodBuckets getBuckets() {
+	return buckets;
+    }
+
+    /**
+     * Adds the value to the bucket of the given date.
+     * 
+     * @param date
+     *            Date of the value, cannot be null
+     * @param value
+     *            Value
+     */
+    public void add(LocalDate date, double value) {
+	addToBucket(buckets.bucket(date), value);
+    }
+
+    /**
+     * Adds the value to the bucket of the given epoch day.
+     * 
+     * @see #add(LocalDate, double)
+     */
+    public void add(long epochDay, double value) {
+	addToBucket(buckets.bucket(epochDay), value);
+    }
+
+    /**
+     * Adds the values to the buckets of the given epoch days.
+     * 
+     * @param epochDays
+     *            Dates, cannot be null
+     * @param values
+     *            Values, the value of epochDays[i] is values[i]
+     * @param offset
+     *            Index of the first date and value
+     * @param length
+     *            Number of dates and values
+     */
+    public void addAll(int[] epochDays, double[] values, int offset,
+	    int length) {
+	BulkDateUtils.checkRange(epochDays.length, offset, length);
+	BulkDateUtils.checkRange(values.length, offset, length);
+	for (int i = offset; i < offset + length; i++)
+	    addToBucket(buckets.bucket(epochDays[i]), values[i]);
+    }
+
+    /**
+     * Adds the value to the given bucket.
+     * 
+     * @param bucket
+     *            Bucket number, cannot be negative
+     * @param value
+     *            Value
+     * @throws IndexOutOfBoundsException
+     *             If the bucket is negative
+     */
+    public void addToBucket(int bucket, double value) {
+	if (bucket >= counts.length)
+	    grow(bucket);
+	counts[bucket]++;
+	sums[bucket] += value;
+	if (bucket >= size)
+	    size = bucket + 1;
+    }
+
+    private void grow(int bucket) {
+	int capacity = Math.max(bucket + 1, counts.length * 2);
+	counts = Arrays.copyOf(counts, capacity);
+	sums = Arrays.copyOf(sums, capacity);
+    }
+
+    /**
+     * Adds the counts and sums of the other accumulator to this one. Both
+     * must use the same period and base.
+     * 
+     * @param other
+     *            Accumulator to add, cannot be null
+     * @throws IllegalArgumentException
+     *             if the period or the base of the buckets differs
+     */
+    public void merge(BucketAccumulator other) {
+	if (!buckets.equals(other.buckets))
+	    throw new IllegalArgumentException("Other buckets: "
+		    + other.buckets + " instead of " + buckets);
+	for (int bucket = other.size - 1; bucket >= 0; bucket--) {
+	    if (other.counts[bucket] == 0)
+		continue;
+	    if (bucket >= counts.length)
+		grow(bucket);
+	    counts[bucket] += other.counts[bucket];
+	    sums[bucket] += other.sums[bucket];
+	    if (bucket >= size)
+		size = bucket + 1;
+	}
+    }
+
+    /**
+     * @return Number of buckets, so the highest bucket with a value + 1
+     */
+    public int size() {
+	return size;
+    }
+
+    /**
+     * Returns the number of values in the given bucket.
+     */
+    public long getCount(int bucket) {
+	return bucket < size ? counts[bucket] : 0;
+    }
+
+    /**
+     * Returns the sum of the values in the given bucket.
+     */
+    public double getSum(int bucket) {
+	return bucket < size ? sums[bucket] : 0;
+    }
+
+    /**
+     * Returns a copy of the counts of all buckets.
+     */
+    public long[] getCounts() {
+	return Arrays.copyOf(counts, size);
+    }
+
+    /**
+     * Returns a copy of the sums of all buckets.
+     */
+    public double[] getSums() {
+	return Arrays.copyOf(sums, size);
+    }
+
+    /**
+     * Removes all values.
+     */
+    public void clear() {
+	Arrays.fill(counts, 0, size, 0);
+	Arrays.fill(sums, 0, size, 0);
+	size = 0;
+    }
+}
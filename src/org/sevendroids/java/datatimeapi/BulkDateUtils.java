@@ -0,0 +1,371 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.LocalDate;
+
+/**
+ * This class provides the operations of {@link DateUtils} for arrays of dates.
+ * The dates are given as epoch days (int[] or long[]) or as LocalDate[] and
+ * are read from the given offset for the given length. The results are written
+ * into the given output array starting at index 0, so the result for
+ * dates[offset + i] is found at index i. No objects are created.
+ * <p>
+ * Epoch days written into int[] arrays are not checked for overflow, they must
+ * be in the range of an int (about 5.8 million years around 1970).
+ * 
+ * @see EpochDays
+ * 
+ * @author created: 7droids.org on 17.10.2026 22:05:51
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class BulkDateUtils {
+
+    /**
+     * Private constructor.
+     */
+    private BulkDateUtils() {
+	super();
+    }
+
+    /**
+     * Checks whether the bit of the given index is set in a bitset as written
+     * by the isWeekend() methods.
+     * 
+     * @param bits
+     *            Bitset, cannot be null
+     * @param index
+     *            Index of the date
+     * @return TRUE if the bit is set
+     */
+    public static boolean isSet(long[] bits, int index) {
+	return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Checks for the given dates whether they are at the weekend. For every
+     * date one bit is written into the bitset, bit i is stored in
+     * weekend[i / 64] at position i % 64. Unused bits of the last word are
+     * cleared.
+     * 
+     * @param epochDays
+     *            Dates to check, cannot be null
+     * @param offset
+     *            Index of the first date
+     * @param length
+     *            Number of dates
+     * @param weekend
+     *            Bitset for the results, needs (length + 63) / 64 words
+     */
+    public static void isWeekend(int[] epochDays, int offset, int length,
+	    long[] weekend) {
+	checkRange(epochDays.length, offset, length);
+	checkRange(weekend.length, 0, (length + 63) >>> 6);
+	int end = offset + length;
+	int word = 0;
+	for (int start = offset; start < end; start += 64) {
+	    int stop = Math.min(start + 64, end);
+	    long bits = 0;
+	    for (int i = start; i < stop; i++)
+		bits |= weekendBit(epochDays[i]) << (i - start);
+	    weekend[word++] = bits;
+	}
+    }
+
+    /**
+     * Checks for the given dates whether they are at the weekend.
+     * 
+     * @see #isWeekend(int[], int, int, long[])
+     */
+    public static void isWeekend(long[] epochDays, int offset, int length,
+	    long[] weekend) {
+	checkRange(epochDays.length, offset, length);
+	checkRange(weekend.length, 0, (length + 63) >>> 6);
+	int end = offset + length;
+	int word = 0;
+	for (int start = offset; start < end; start += 64) {
+	    int stop = Math.min(start + 64, end);
+	    long bits = 0;
+	    for (int i = start; i < stop; i++)
+		bits |= weekendBit(epochDays[i]) << (i - start);
+	    weekend[word++] = bits;
+	}
+    }
+
+    /**
+     * Checks for the given dates whether they are at the weekend.
+     * 
+     * @see #isWeekend(int[], int, int, long[])
+     */
+    public static void isWeekend(LocalDate[] dates, int offset, int length,
+	    long[] weekend) {
+	checkRange(dates.length, offset, length);
+	checkRange(weekend.length, 0, (length + 63) >>> 6);
+	int end = offset + length;
+	int word = 0;
+	for (int start = offset; start < end; start += 64) {
+	    int stop = Math.min(start + 64, end);
+	    long bits = 0;
+	    for (int i = start; i < stop; i++)
+		bits |= weekendBit(dates[i].toEpochDay()) << (i - start);
+	    weekend[word++] = bits;
+	}
+    }
+
+    /**
+     * Returns 1 for Saturday and Sunday, otherwise 0.
+     */
+    private static long weekendBit(long epochDay) {
+	// Day of week 6 and 7 make the difference negative
+	return (5 - EpochDays.dayOfWeek(epochDay)) >>> 31;
+    }
+
+    /**
+     * Calculates the quarter (0 .. 3) of the given dates.
+     * 
+     * @param epochDays
+     *            Dates, cannot be null
+     * @param offset
+     *            Index of the first date
+     * @param length
+     *            Number of dates
+     * @param quarters
+     *            Array for the results
+     */
+    public static void getQuarter(int[] epochDays, int offset, int length,
+	    byte[] quarters) {
+	checkRange(epochDays.length, offset, length);
+	checkRange(quarters.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    quarters[i] = (byte) EpochDays.quarter(epochDays[offset + i]);
+    }
+
+    /**
+     * Calculates the quarter (0 .. 3) of the given dates.
+     * 
+     * @see #getQuarter(int[], int, int, byte[])
+     */
+    public static void getQuarter(long[] epochDays, int offset, int length,
+	    byte[] quarters) {
+	checkRange(epochDays.length, offset, length);
+	checkRange(quarters.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    quarters[i] = (byte) EpochDays.quarter(epochDays[offset + i]);
+    }
+
+    /**
+     * Calculates the quarter (0 .. 3) of the given dates.
+     * 
+     * @see #getQuarter(int[], int, int, byte[])
+     */
+    public static void getQuarter(LocalDate[] dates, int offset, int length,
+	    byte[] quarters) {
+	checkRange(dates.length, offset, length);
+	checkRange(quarters.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    quarters[i] = (byte) ((dates[offset + i].getMonthValue() - 1) / 3);
+    }
+
+    /**
+     * Calculates the previous working day of the given dates as epoch days.
+     * 
+     * @param epochDays
+     *            Dates, cannot be null
+     * @param offset
+     *            Index of the first date
+     * @param length
+     *            Number of dates
+     * @param result
+     *            Array for the results
+     * @see EpochDays#previousWorkingDay(long)
+     */
+    public static void getPreviousWorkingDay(int[] epochDays, int offset,
+	    int length, int[] result) {
+	checkRange(epochDays.length, offset, length);
+	checkRange(result.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    result[i] = (int) EpochDays
+		    .previousWorkingDay(epochDays[offset + i]);
+    }
+
+    /**
+     * Calculates the previous working day of the given dates as epoch days.
+     * 
+     * @see #getPreviousWorkingDay(int[], int, int, int[])
+     */
+    public static void getPreviousWorkingDay(long[] epochDays, int offset,
+	    int length, long[] result) {
+	checkRange(epochDays.length, offset, length);
+	checkRange(result.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    result[i] = EpochDays.previousWorkingDay(epochDays[offset + i]);
+    }
+
+    /**
+     * Calculates the previous working day of the given dates as epoch days.
+     * 
+     * @see #getPreviousWorkingDay(int[], int, int, int[])
+     */
+    public static void getPreviousWorkingDay(LocalDate[] dates, int offset,
+	    int length, int[] result) {
+	checkRange(dates.length, offset, length);
+	checkRange(result.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    result[i] = (int) EpochDays.previousWorkingDay(dates[offset + i]
+		    .toEpochDay());
+    }
+
+    /**
+     * Calculates the last day of the month of the given dates as epoch days.
+     * 
+     * @param epochDays
+     *            Dates, cannot be null
+     * @param offset
+     *            Index of the first date
+     * @param length
+     *            Number of dates
+     * @param result
+     *            Array for the results
+     * @see EpochDays#endOfMonth(long)
+     */
+    public static void endOfMonth(int[] epochDays, int offset, int length,
+	    int[] result) {
+	checkRange(epochDays.length, offset, length);
+	checkRange(result.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    result[i] = (int) EpochDays.endOfMonth(epochDays[offset + i]);
+    }
+
+    /**
+     * Calculates the last day of the month of the given dates as epoch days.
+     * 
+     * @see #endOfMonth(int[], int, int, int[])
+     */
+    public static void endOfMonth(long[] epochDays, int offset, int length,
+	    long[] result) {
+	checkRange(epochDays.length, offset, length);
+	checkRange(result.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    result[i] = EpochDays.endOfMonth(epochDays[offset + i]);
+    }
+
+    /**
+     * Calculates the last day of the month of the given dates as epoch days.
+     * 
+     * @see #endOfMonth(int[], int, int, int[])
+     */
+    public static void endOfMonth(LocalDate[] dates, int offset, int length,
+	    int[] result) {
+	checkRange(dates.length, offset, length);
+	checkRange(result.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    result[i] = (int) EpochDays.endOfMonth(dates[offset + i]
+		    .toEpochDay());
+    }
+
+    /**
+     * Calculates the first day of the season of the given dates as epoch days.
+     * 
+     * @param epochDays
+     *            Dates, cannot be null
+     * @param offset
+     *            Index of the first date
+     * @param length
+     *            Number of dates
+     * @param result
+     *            Array for the results
+     * @see EpochDays#beginOfSeason(long)
+     */
+    public static void beginOfSeason(int[] epochDays, int offset, int length,
+	    int[] result) {
+	checkRange(epochDays.length, offset, length);
+	checkRange(result.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    result[i] = (int) EpochDays.beginOfSeason(epochDays[offset + i]);
+    }
+
+    /**
+     * Calculates the first day of the season of the given dates as epoch days.
+     * 
+     * @see #beginOfSeason(int[], int, int, int[])
+     */
+    public static void beginOfSeason(long[] epochDays, int offset, int length,
+	    long[] result) {
+	checkRange(epochDays.length, offset, length);
+	checkRange(result.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    result[i] = EpochDays.beginOfSeason(epochDays[offset + i]);
+    }
+
+    /**
+     * Calculates the first day of the season of the given dates as epoch days.
+     * 
+     * @see #beginOfSeason(int[], int, int, int[])
+     */
+    public static void beginOfSeason(LocalDate[] dates, int offset,
+	    int length, int[] result) {
+	checkRange(dates.length, offset, length);
+	checkRange(result.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    result[i] = (int) EpochDays.beginOfSeason(dates[offset + i]
+		    .toEpochDay());
+    }
+
+    /**
+     * Calculates the last day of the season of the given dates as epoch days.
+     * 
+     * @param epochDays
+     *            Dates, cannot be null
+     * @param offset
+     *            Index of the first date
+     * @param length
+     *            Number of dates
+     * @param result
+     *            Array for the results
+     * @see EpochDays#endOfSeason(long)
+     */
+    public static void endOfSeason(int[] epochDays, int offset, int length,
+	    int[] result) {
+	checkRange(epochDays.length, offset, length);
+	checkRange(result.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    result[i] = (int) EpochDays.endOfSeason(epochDays[offset + i]);
+    }
+
+    /**
+     * Calculates the last day of the season of the given dates as epoch days.
+     * 
+     * @see #endOfSeason(int[], int, int, int[])
+     */
+    public static void endOfSeason(long[] epochDays, int offset, int length,
+	    long[] result) {
+	checkRange(epochDays.length, offset, length);
+	checkRange(result.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    result[i] = EpochDays.endOfSeason(epochDays[offset + i]);
+    }
+
+    /**
+     * Calculates the last day of the season of the given dates as epoch days.
+     * 
+     * @see #endOfSeason(int[], int, int, int[])
+     */
+    public static void endOfSeason(LocalDate[] dates, int offset, int length,
+	    int[] result) {
+	checkRange(dates.length, offset, length);
+	checkRange(result.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    result[i] = (int) EpochDays.endOfSeason(dates[offset + i]
+		    .toEpochDay());
+    }
+
+    /**
+     * Checks the range once before the loop, so the JIT can remove the checks
+     * inside the loop.
+     */
+    static void checkRange(int arrayLength, int offset, int length) {
+	if (offset < 0 || length < 0 || offset > arrayLength - length)
+	    throw new IndexOutOfBoundsException("Range [" + offset + ", "
+		    + offset + " + " + length + ") out of bounds for length "
+		    + arrayLength);
+    }
+}
@@ -0,0 +1,455 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A calendar of working days with configurable weekend days and holidays. The
+ * working days of a range of dates are stored in a bitset indexed by epoch
+ * day, so the checks need no lookup in a collection and create no objects.
+ * Outside of the range only the weekend days are recognized.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ * 
+ * @see DateUtils#getPreviousWorkingDay(LocalDate)
+ * 
+ * @author created: 7droids.org on 17.10.2026 22:31:08
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class BusinessCalendar {
+
+    /**
+     * Calendar with Saturday and Sunday as non working days and no holidays.
+     */
+    public static final BusinessCalendar DEFAULT = new BusinessCalendar(
+	    EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY),
+	    Collections.<LocalDate> emptySet());
+
+    /**
+     * Epoch day of a Monday used as origin for the weekly counts.
+     */
+    private static final long MONDAY = -3;
+
+    /**
+     * Maximum number of days in the bitset.
+     */
+    private static final long MAX_DAYS = 1L << 30;
+
+    /**
+     * Bit n is set if day of week n (1 = Monday .. 7 = Sunday) is a weekend
+     * day.
+     */
+    private final int weekendMask;
+
+    /**
+     * Epoch day of the first day in the bitset.
+     */
+    private final long firstDay;
+
+    /**
+     * Epoch day of the last day in the bitset.
+     */
+    private final long lastDay;
+
+    /**
+     * Bit i is set if firstDay + i is a working day.
+     */
+    private final long[] workingDays;
+
+    /**
+     * Number of working days in the words of the bitset before word w.
+     */
+    private final int[] rank;
+
+    /**
+     * Number of working days in a week outside of the range.
+     */
+    private final int workingDaysPerWeek;
+
+    /**
+     * Number of working days in the first n days of a week starting on
+     * Monday.
+     */
+    private final int[] weekCount = new int[8];
+
+    /**
+     * Day of week (0 = Monday) of the n-th working day in a week.
+     */
+    private final int[] weekSelect = new int[7];
+
+    /**
+     * Creates a calendar for the given weekend days and holidays. The bitset
+     * covers the range from the first to the last holiday.
+     * 
+     * @param weekendDays
+     *            Days of week without work, cannot be null
+     * @param holidays
+     *            Holidays, cannot be null
+     */
+    public BusinessCalendar(Set<DayOfWeek> weekendDays,
+	    Collection<LocalDate> holidays) {
+	this(weekendDays, holidays, min(holidays), max(holidays));
+    }
+
+    /**
+     * Creates a calendar for the given weekend days and holidays. The bitset
+     * covers the given range, all holidays must be in this range.
+     * 
+     * @param weekendDays
+     *            Days of week without work, cannot be null
+     * @param holidays
+     *            Holidays, cannot be null
+     * @param from
+     *            First day of the range, null for an empty range
+     * @param to
+     *            Last day of the range, null for an empty range
+     */
+    public BusinessCalendar(Set<DayOfWeek> weekendDays,
+	    Collection<LocalDate> holidays, LocalDate from, LocalDate to) {
+	this(weekendDays, holidays(holidays, from, to),
+		from == null || to == null ? 0 : from.toEpochDay(),
+		from == null || to == null ? -1 : to.toEpochDay());
+    }
+
+    /**
+     * Creates a calendar for the given weekend days and holidays. The bitset
+     * covers the range from the first to the last holiday.
+     * 
+     * @param weekendDays
+     *            Days of week without work, cannot be null
+     * @param holidays
+     *            Holidays as epoch days, cannot be null
+     */
+    public BusinessCalendar(Set<DayOfWeek> weekendDays, DateSet holidays) {
+	this(weekendDays, holidays, holidays.isEmpty() ? 0 : holidays.first(),
+		holidays.isEmpty() ? -1 : holidays.last());
+    }
+
+    private BusinessCalendar(Set<DayOfWeek> weekendDays, DateSet holidays,
+	    long firstDay, long lastDay) {
+	super();
+	int mask = 0;
+	for (DayOfWeek dayOfWeek : weekendDays)
+	    mask |= 1 << dayOfWeek.getValue();
+	if (weekendDays.size() == DayOfWeek.values().length)
+	    throw new IllegalArgumentException("No working day in week");
+	this.weekendMask = mask;
+	this.firstDay = firstDay;
+	this.lastDay = lastDay;
+	if (firstDay > lastDay + 1 || lastDay - firstDay + 1 > MAX_DAYS)
+	    throw new IllegalArgumentException("Range "
+		    + LocalDate.ofEpochDay(firstDay) + " - "
+		    + LocalDate.ofEpochDay(lastDay) + " is invalid");
+	int days = (int) (lastDay - firstDay + 1);
+	long[] bits = new long[(days + 63) >>> 6];
+	for (int i = 0; i < days; i++)
+	    if (!isWeekendDay(firstDay + i))
+		bits[i >>> 6] |= 1L << i;
+	holidays.forEach(firstDay, lastDay + 1, day -> {
+	    int i = (int) (day - firstDay);
+	    bits[i >>> 6] &= ~(1L << i);
+	});
+	this.workingDays = bits;
+	this.rank = new int[workingDays.length + 1];
+	for (int w = 0; w < workingDays.length; w++)
+	    rank[w + 1] = rank[w] + Long.bitCount(workingDays[w]);
+	int count = 0;
+	for (int d = 0; d < 7; d++) {
+	    if (!isWeekendDay(MONDAY + d))
+		weekSelect[count++] = d;
+	    weekCount[d + 1] = count;
+	}
+	this.workingDaysPerWeek = count;
+    }
+
+    /**
+     * Checks that the holidays are in the range and returns them as set.
+     */
+    private static DateSet holidays(Collection<LocalDate> holidays,
+	    LocalDate from, LocalDate to) {
+	DateSet set = new DateSet();
+	for (LocalDate holiday : holidays) {
+	    if (from == null || to == null || holiday.isBefore(from)
+		    || holiday.isAfter(to))
+		throw new IllegalArgumentException("Holiday " + holiday
+			+ " is outside of range " + from + " - " + to);
+	    set.add(holiday);
+	}
+	return set;
+    }
+
+    private static LocalDate min(Collection<LocalDate> dates) {
+	return dates.isEmpty() ? null : Collections.min(dates);
+    }
+
+    private static LocalDate max(Collection<LocalDate> dates) {
+	return dates.isEmpty() ? null : Collections.max(dates);
+    }
+
+    /**
+     * Checks whether the given day of week is a weekend day in this calendar.
+     */
+    private boolean isWeekendDay(long epochDay) {
+	return (weekendMask & (1 << EpochDays.dayOfWeek(epochDay))) != 0;
+    }
+
+    /**
+     * Checks whether the given date is a working day, so neither a weekend
+     * day nor a holiday.
+     * 
+     * @param date
+     *            Date to check, cannot be null
+     * @return TRUE if it is a working day
+     */
+    public boolean isWorkingDay(LocalDate date) {
+	return isWorkingDay(date.toEpochDay());
+    }
+
+    /**
+     * Checks whether the given epoch day is a working day.
+     * 
+     * @see #isWorkingDay(LocalDate)
+     */
+    public boolean isWorkingDay(long epochDay) {
+	if (epochDay < firstDay || epochDay > lastDay)
+	    return !isWeekendDay(epochDay);
+	int i = (int) (epochDay - firstDay);
+	return (workingDays[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Calculates the last working day before the given date.
+     * 
+     * @param date
+     *            Date as starting point for the calculation, cannot be null
+     * @return The previous working day
+     */
+    public LocalDate previousWorkingDay(LocalDate date) {
+	return LocalDate.ofEpochDay(previousWorkingDay(date.toEpochDay()));
+    }
+
+    /**
+     * Calculates the last working day before the given epoch day.
+     * 
+     * @see #previousWorkingDay(LocalDate)
+     */
+    public long previousWorkingDay(long epochDay) {
+	long day = epochDay - 1;
+	// Above the range only weekend days are skipped
+	while (day > lastDay) {
+	    if (!isWeekendDay(day))
+		return day;
+	    day--;
+	}
+	if (day >= firstDay) {
+	    int i = previousSetBit((int) (day - firstDay));
+	    if (i >= 0)
+		return firstDay + i;
+	    day = firstDay - 1;
+	}
+	while (isWeekendDay(day))
+	    day--;
+	return day;
+    }
+
+    /**
+     * Calculates the first working day after the given date.
+     * 
+     * @param date
+     *            Date as starting point for the calculation, cannot be null
+     * @return The next working day
+     */
+    public LocalDate nextWorkingDay(LocalDate date) {
+	return LocalDate.ofEpochDay(nextWorkingDay(date.toEpochDay()));
+    }
+
+    /**
+     * Calculates the first working day after the given epoch day.
+     * 
+     * @see #nextWorkingDay(LocalDate)
+     */
+    public long nextWorkingDay(long epochDay) {
+	long day = epochDay + 1;
+	// Below the range only weekend days are skipped
+	while (day < firstDay) {
+	    if (!isWeekendDay(day))
+		return day;
+	    day++;
+	}
+	if (day <= lastDay) {
+	    int i = nextSetBit((int) (day - firstDay));
+	    if (i >= 0)
+		return firstDay + i;
+	    day = lastDay + 1;
+	}
+	while (isWeekendDay(day))
+	    day++;
+	return day;
+    }
+
+    /**
+     * Calculates the number of working days after the first date up to and
+     * including the second date. If the second date is before the first date,
+     * the result is negative. The result is calculated without iterating over
+     * the days.
+     * 
+     * @param date1
+     *            First date, cannot be null
+     * @param date2
+     *            Second date, cannot be null
+     * @return Number of working days
+     */
+    public long workingDaysBetween(LocalDate date1, LocalDate date2) {
+	return workingDaysBetween(date1.toEpochDay(), date2.toEpochDay());
+    }
+
+    /**
+     * Calculates the number of working days between two epoch days.
+     * 
+     * @see #workingDaysBetween(LocalDate, LocalDate)
+     */
+    public long workingDaysBetween(long epochDay1, long epochDay2) {
+	return countBefore(epochDay2 + 1) - countBefore(epochDay1 + 1);
+    }
+
+    /**
+     * Adds the given number of working days to the date. For a positive number
+     * the n-th working day after the date is returned, for a negative number
+     * the n-th working day before the date. For 0 the date itself is returned.
+     * 
+     * @param date
+     *            Date as starting point for the calculation, cannot be null
+     * @param count
+     *            Number of working days to add
+     * @return The calculated working day
+     */
+    public LocalDate addWorkingDays(LocalDate date, long count) {
+	return LocalDate.ofEpochDay(addWorkingDays(date.toEpochDay(), count));
+    }
+
+    /**
+     * Adds the given number of working days to the epoch day.
+     * 
+     * @see #addWorkingDays(LocalDate, long)
+     */
+    public long addWorkingDays(long epochDay, long count) {
+	if (count > 0)
+	    return select(countBefore(epochDay + 1) + count - 1);
+	else if (count < 0)
+	    return select(countBefore(epochDay) + count);
+	return epochDay;
+    }
+
+    /**
+     * Counts the working days before the given epoch day, starting at an
+     * arbitrary origin. Only the differences of the results are meaningful.
+     */
+    private long countBefore(long epochDay) {
+	if (epochDay <= firstDay)
+	    return countWeekly(epochDay);
+	long inRange = Math.min(epochDay, lastDay + 1) - firstDay;
+	long count = countWeekly(firstDay) + countInRange((int) inRange);
+	if (epochDay > lastDay + 1)
+	    count += countWeekly(epochDay) - countWeekly(lastDay + 1);
+	return count;
+    }
+
+    /**
+     * Counts the working days before the given epoch day recognizing only the
+     * weekend days.
+     */
+    private long countWeekly(long epochDay) {
+	long days = epochDay - MONDAY;
+	return Math.floorDiv(days, 7) * workingDaysPerWeek
+		+ weekCount[(int) Math.floorMod(days, 7)];
+    }
+
+    /**
+     * Counts the working days in the first n days of the bitset.
+     */
+    private int countInRange(int n) {
+	int word = n >>> 6;
+	if (word == workingDays.length)
+	    return rank[word];
+	return rank[word]
+		+ Long.bitCount(workingDays[word] & ((1L << n) - 1));
+    }
+
+    /**
+     * Finds the working day with the given number of working days before it,
+     * so the inverse of countBefore().
+     */
+    private long select(long count) {
+	long countFirst = countWeekly(firstDay);
+	if (count < countFirst)
+	    return selectWeekly(count);
+	long inRange = count - countFirst;
+	if (inRange < rank[workingDays.length])
+	    return firstDay + selectInRange((int) inRange);
+	return selectWeekly(count - countFirst - rank[workingDays.length]
+		+ countWeekly(lastDay + 1));
+    }
+
+    /**
+     * Finds the working day with the given weekly count.
+     */
+    private long selectWeekly(long count) {
+	return MONDAY + Math.floorDiv(count, workingDaysPerWeek) * 7
+		+ weekSelect[(int) Math.floorMod(count, workingDaysPerWeek)];
+    }
+
+    /**
+     * Finds the index of the n-th set bit (starting at 0) in the bitset with a
+     * binary search over the ranks of the words.
+     */
+    private int selectInRange(int n) {
+	int low = 0;
+	int high = workingDays.length - 1;
+	while (low < high) {
+	    int middle = (low + high + 1) >>> 1;
+	    if (rank[middle] <= n)
+		low = middle;
+	    else
+		high = middle - 1;
+	}
+	long bits = workingDays[low];
+	for (int i = rank[low]; i < n; i++)
+	    bits &= bits - 1;
+	return (low << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Returns the index of the last set bit at or before the given index or -1.
+     */
+    private int previousSetBit(int index) {
+	int word = index >>> 6;
+	// Keep the bits up to the index
+	long bits = workingDays[word] & (-1L >>> (63 - (index & 63)));
+	while (bits == 0) {
+	    if (word == 0)
+		return -1;
+	    bits = workingDays[--word];
+	}
+	return (word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+    }
+
+    /**
+     * Returns the index of the first set bit at or after the given index or -1.
+     */
+    private int nextSetBit(int index) {
+	int word = index >>> 6;
+	// Keep the bits from the index
+	long bits = workingDays[word] & (-1L << index);
+	while (bits == 0) {
+	    if (++word == workingDays.length)
+		return -1;
+	    bits = workingDays[word];
+	}
+	return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+}
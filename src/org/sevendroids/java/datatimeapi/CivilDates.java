@@ -0,0 +1,231 @@
+package org.sevendroids.java.datatimeapi;
+
+/**
+ * Bulk decomposition of epoch days into year, month, day of month and day of
+ * week. Year, month and day of month are packed into one int with the bit
+ * layout of {@link PackedDates}, so the results are read with its methods.
+ * The days of week are written into a separate array, only if requested.
+ * The decomposition is done by a {@link Kernel}: if the Vector API (Java 16
+ * or later, module jdk.incubator.vector) and the class in the folder
+ * vector/src are available, the days are decomposed in the lanes of SIMD
+ * registers, otherwise by a scalar loop. Both kernels use the same
+ * branch-free calculation, so the results are identical. The constants of
+ * the calculation are passed to the constructor of the vector kernel.
+ * <p>
+ * The epoch days are not validated, the years must be in the range
+ * -500000 .. 500000.
+ * 
+ * @see PackedDates
+ * @see EpochDays
+ * @see BulkDateUtils
+ * 
+ * @author created: 7droids.org on 18.10.2026 06:02:51
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class CivilDates {
+
+    /**
+     * Name of the system property switching the vector kernel off (false).
+     */
+    public static final String PROPERTY = "org.sevendroids.java.vector";
+
+    private static final String VECTOR_KERNEL = "org.sevendroids.java.vector.VectorCivilKernel";
+
+    /**
+     * Days in a 400 year cycle, which are also four times the days of a
+     * century of the Gregorian calendar.
+     */
+    static final int DAYS_PER_CYCLE = 146097;
+
+    /**
+     * Four times the days of a year of the Julian calendar.
+     */
+    static final int DAYS_PER_YEAR_4 = 1461;
+
+    /**
+     * Number of 400 year cycles added to the day, so that every int is
+     * positive and the divisions need no rounding to the floor.
+     */
+    static final long CYCLES_SHIFT = 14700;
+
+    /**
+     * Value added to an epoch day before the decomposition: the days from
+     * 0000-03-01 to 1970-01-01 and the shifted cycles.
+     */
+    static final long DAY_SHIFT = 719468 + CYCLES_SHIFT * DAYS_PER_CYCLE;
+
+    /**
+     * Value added to a shifted day to get the day of week (0 = Monday) as
+     * remainder of the division by 7.
+     */
+    static final long DAY_OF_WEEK_SHIFT = Math.floorMod(3 - DAY_SHIFT, 7);
+
+    private static final Kernel SCALAR = new ScalarKernel();
+
+    private static final Kernel KERNEL = loadKernel();
+
+    /**
+     * Decomposition of an array of epoch days.
+     */
+    public static interface Kernel {
+
+	/**
+	 * Decomposes the given epoch days. The results for
+	 * epochDays[offset + i] are written to dates[i] and daysOfWeek[i].
+	 * The ranges are checked by the caller.
+	 * 
+	 * @param epochDays
+	 *            Dates, cannot be null
+	 * @param offset
+	 *            Index of the first date
+	 * @param length
+	 *            Number of dates
+	 * @param dates
+	 *            Array for the packed dates
+	 * @param daysOfWeek
+	 *            Array for the days of week or null
+	 */
+	void decompose(int[] epochDays, int offset, int length, int[] dates,
+		int[] daysOfWeek);
+    }
+
+    /**
+     * Loop over {@link CivilDates#civil(long)} and
+     * {@link CivilDates#dayOfWeek(long)}.
+     */
+    private static final class ScalarKernel implements Kernel {
+
+	@Override
+	public void decompose(int[] epochDays, int offset, int length,
+		int[] dates, int[] daysOfWeek) {
+	    for (int i = 0; i < length; i++)
+		dates[i] = civil(epochDays[offset + i]);
+	    if (daysOfWeek != null)
+		for (int i = 0; i < length; i++)
+		    daysOfWeek[i] = dayOfWeek(epochDays[offset + i]);
+	}
+
+	@Override
+	public String toString() {
+	    return "scalar";
+	}
+    }
+
+    /**
+     * Private constructor.
+     */
+    private CivilDates() {
+	super();
+    }
+
+    /**
+     * Decomposes the given epoch days into packed dates (see
+     * {@link PackedDates}).
+     * 
+     * @param epochDays
+     *            Dates, cannot be null
+     * @param offset
+     *            Index of the first date
+     * @param length
+     *            Number of dates
+     * @param dates
+     *            Array for the packed dates
+     */
+    public static void decompose(int[] epochDays, int offset, int length,
+	    int[] dates) {
+	decompose(epochDays, offset, length, dates, null);
+    }
+
+    /**
+     * Decomposes the given epoch days into packed dates (see
+     * {@link PackedDates}) and days of week (1 = Monday .. 7 = Sunday).
+     * 
+     * @param epochDays
+     *            Dates, cannot be null
+     * @param offset
+     *            Index of the first date
+     * @param length
+     *            Number of dates
+     * @param dates
+     *            Array for the packed dates
+     * @param daysOfWeek
+     *            Array for the days of week or null, if they are not needed
+     */
+    public static void decompose(int[] epochDays, int offset, int length,
+	    int[] dates, int[] daysOfWeek) {
+	BulkDateUtils.checkRange(epochDays.length, offset, length);
+	BulkDateUtils.checkRange(dates.length, 0, length);
+	if (daysOfWeek != null)
+	    BulkDateUtils.checkRange(daysOfWeek.length, 0, length);
+	KERNEL.decompose(epochDays, offset, length, dates, daysOfWeek);
+    }
+
+    /**
+     * @return The kernel used by the decompose methods
+     */
+    public static Kernel getKernel() {
+	return KERNEL;
+    }
+
+    /**
+     * Decomposes one epoch day without branches. All divisions are done on
+     * positive values, so the JIT can replace them by multiplications. The
+     * calculation counts quarter days, so that centuries and years are of
+     * equal length (Neri and Schneider, Euclidean affine functions and their
+     * application to calendar algorithms).
+     * 
+     * @param epochDay
+     *            Days since 1970-01-01
+     * @return Packed date like {@link PackedDates#ofEpochDay(long)}
+     */
+    public static int civil(long epochDay) {
+	long day = epochDay + DAY_SHIFT;
+	long quarterDays = 4 * day + 3;
+	long century = quarterDays / DAYS_PER_CYCLE;
+	int dayOfCentury = (int) (quarterDays - century * DAYS_PER_CYCLE) / 4;
+	int quarterDaysOfCentury = 4 * dayOfCentury + 3;
+	int yearOfCentury = quarterDaysOfCentury / DAYS_PER_YEAR_4;
+	int dayOfYear = (quarterDaysOfCentury - yearOfCentury
+		* DAYS_PER_YEAR_4) / 4;
+	// Month counted from March as 3 .. 14
+	int monthDays = 5 * dayOfYear + 461;
+	int monthOfYear = monthDays / 153;
+	int dayOfMonth = (monthDays - monthOfYear * 153) / 5 + 1;
+	// 1 for January and February, which belong to the next year
+	int nextYear = monthOfYear / 13;
+	int month = monthOfYear - 12 * nextYear;
+	long year = century * 100 + yearOfCentury + nextYear - CYCLES_SHIFT
+		* 400;
+	// Same bit layout as PackedDates
+	return (int) year << 9 | month << 5 | dayOfMonth;
+    }
+
+    /**
+     * Calculates the day of week of one epoch day without branches.
+     * 
+     * @param epochDay
+     *            Days since 1970-01-01
+     * @return Day of week (1 = Monday .. 7 = Sunday)
+     */
+    public static int dayOfWeek(long epochDay) {
+	return (int) ((epochDay + DAY_SHIFT + DAY_OF_WEEK_SHIFT) % 7) + 1;
+    }
+
+    private static Kernel loadKernel() {
+	if (!Boolean.parseBoolean(System.getProperty(PROPERTY, "true")))
+	    return SCALAR;
+	try {
+	    return (Kernel) Class
+		    .forName(VECTOR_KERNEL)
+		    .getDeclaredConstructor(int.class, int.class, long.class,
+			    long.class, long.class)
+		    .newInstance(DAYS_PER_CYCLE, DAYS_PER_YEAR_4, CYCLES_SHIFT,
+			    DAY_SHIFT, DAY_OF_WEEK_SHIFT);
+	} catch (ReflectiveOperationException | LinkageError
+		| ClassCastException e) {
+	    // No vector kernel or no Vector API in this JDK
+	    return SCALAR;
+	}
+    }
+}
@@ -0,0 +1,347 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.stream.IntStream;
+
+import org.sevendroids.java.datatimeapi.DateUtils.DayType;
+
+/**
+ * Precomputed results of the {@link DateUtils} operations for every day of a
+ * date range. The results of one day are packed into an int record, dates are
+ * stored as distance to the day. The records are held off-heap in a direct or
+ * memory mapped buffer, so a lookup is a single indexed load and the table
+ * causes no garbage collection work.
+ * <p>
+ * Days outside of the range are calculated on every call with
+ * {@link EpochDays} and {@link DstTransitionIndex}. A table can be written to
+ * a file and mapped from there, so no calculation is needed on startup. The
+ * file holds the tzdb version of the time zone, a table written with other
+ * time zone rules is calculated again when it is read, like a
+ * {@link DstSnapshot} of another version is ignored. Tables are immutable
+ * and safe to use by concurrent threads.
+ * 
+ * @see EpochDays
+ * 
+ * @author created: 7droids.org on 18.10.2026 02:04:19
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class DateDimension {
+
+    /**
+     * First int of a table file ("DDIM").
+     */
+    private static final int MAGIC = 0x4d494444;
+
+    private static final int VERSION = 2;
+
+    /**
+     * Length of the fixed part of the header.
+     */
+    private static final int HEADER = 28;
+
+    private static final DayType[] DAY_TYPES = DayType.values();
+
+    // Bit layout of a record
+    private static final int DAY_OF_WEEK_SHIFT = 0; // 3 bits, 1 .. 7
+    private static final int WEEKEND_SHIFT = 3; // 1 bit
+    private static final int QUARTER_SHIFT = 4; // 2 bits
+    private static final int DST_TYPE_SHIFT = 6; // 2 bits
+    private static final int PREVIOUS_WORKING_DAY_SHIFT = 8; // 2 bits, 1 .. 3
+    private static final int END_OF_MONTH_SHIFT = 10; // 5 bits, 0 .. 30
+    private static final int BEGIN_OF_SEASON_SHIFT = 15; // 8 bits, 0 .. 182
+    private static final int END_OF_SEASON_SHIFT = 23; // 8 bits, 0 .. 182
+
+    private final ZoneId zone;
+
+    private final DstTransitionIndex index;
+
+    private final long firstDay;
+
+    private final int count;
+
+    /**
+     * The records in little endian byte order.
+     */
+    private final ByteBuffer records;
+
+    private DateDimension(ZoneId zone, long firstDay, int count,
+	    ByteBuffer records) {
+	super();
+	this.zone = zone;
+	this.index = DstTransitionIndex.of(zone);
+	this.firstDay = firstDay;
+	this.count = count;
+	this.records = records;
+    }
+
+    /**
+     * Calculates the table for the given range.
+     * 
+     * @param from
+     *            First day (inclusive), cannot be null
+     * @param to
+     *            Last day (exclusive), cannot be null
+     * @param zone
+     *            Time zone of the DST type, cannot be null
+     * @return DateDimension
+     */
+    public static DateDimension build(LocalDate from, LocalDate to,
+	    ZoneId zone) {
+	return build(from, to, zone, false);
+    }
+
+    /**
+     * Calculates the table for the given range, the days are calculated in
+     * parallel if requested.
+     * 
+     * @param from
+     *            First day (inclusive), cannot be null
+     * @param to
+     *            Last day (exclusive), cannot be null
+     * @param zone
+     *            Time zone of the DST type, cannot be null
+     * @param parallel
+     *            TRUE to calculate the days in parallel
+     * @return DateDimension
+     */
+    public static DateDimension build(LocalDate from, LocalDate to,
+	    ZoneId zone, boolean parallel) {
+	long firstDay = from.toEpochDay();
+	long days = Math.max(0, to.toEpochDay() - firstDay);
+	if (days > Integer.MAX_VALUE / 4)
+	    throw new IllegalArgumentException("Range too large: " + from
+		    + " - " + to);
+	int count = (int) days;
+	ByteBuffer records = ByteBuffer.allocateDirect(count * 4).order(
+		ByteOrder.LITTLE_ENDIAN);
+	DstTransitionIndex index = DstTransitionIndex.of(zone);
+	IntStream range = IntStream.range(0, count);
+	if (parallel)
+	    range = range.parallel();
+	// Absolute puts into disjoint positions are safe in parallel
+	range.forEach(i -> records.putInt(i * 4,
+		calculate(firstDay + i, index)));
+	return new DateDimension(zone, firstDay, count, records);
+    }
+
+    /**
+     * Maps a table written by {@link #writeTo(Path)}. The file must not be
+     * changed as long as the table is used. If the file was written with
+     * another tzdb version of the time zone, the table is calculated for the
+     * same range instead.
+     * 
+     * @param path
+     *            Table file, cannot be null
+     * @return DateDimension
+     * @throws IOException
+     *             If the file cannot be read or is no table file
+     */
+    public static DateDimension readFrom(Path path) throws IOException {
+	try (FileChannel channel = FileChannel.open(path,
+		StandardOpenOption.READ)) {
+	    ByteBuffer header = ByteBuffer.allocate(HEADER).order(
+		    ByteOrder.LITTLE_ENDIAN);
+	    while (header.hasRemaining())
+		if (channel.read(header) < 0)
+		    throw new IOException("Incomplete header in " + path);
+	    header.flip();
+	    if (header.getInt() != MAGIC || header.getInt() != VERSION)
+		throw new IOException("No date dimension table: " + path);
+	    long firstDay = header.getLong();
+	    int count = header.getInt();
+	    int zoneLength = header.getInt();
+	    int versionLength = header.getInt();
+	    if (count < 0 || zoneLength < 0 || zoneLength > 255
+		    || versionLength < 0 || versionLength > 255)
+		throw new IOException("Corrupt header in " + path);
+	    ByteBuffer names = ByteBuffer.allocate(zoneLength + versionLength);
+	    while (names.hasRemaining())
+		if (channel.read(names) < 0)
+		    throw new IOException("Incomplete header in " + path);
+	    ZoneId zone = ZoneId.of(new String(names.array(), 0, zoneLength,
+		    StandardCharsets.UTF_8));
+	    String version = new String(names.array(), zoneLength,
+		    versionLength, StandardCharsets.UTF_8);
+	    long position = HEADER + zoneLength + versionLength;
+	    if (channel.size() != position + count * 4L)
+		throw new IOException("Wrong size of " + path);
+	    if (!version.equals(DstSnapshot.tzdbVersion(zone)))
+		return build(LocalDate.ofEpochDay(firstDay),
+			LocalDate.ofEpochDay(firstDay + count), zone);
+	    ByteBuffer records = channel.map(MapMode.READ_ONLY, position,
+		    count * 4L).order(ByteOrder.LITTLE_ENDIAN);
+	    return new DateDimension(zone, firstDay, count, records);
+	}
+    }
+
+    /**
+     * Writes the table with the tzdb version of the time zone into the given
+     * file. An existing file is overwritten.
+     * 
+     * @param path
+     *            Table file, cannot be null
+     * @throws IOException
+     *             If the file cannot be written
+     */
+    public void writeTo(Path path) throws IOException {
+	byte[] zoneBytes = zone.getId().getBytes(StandardCharsets.UTF_8);
+	byte[] versionBytes = DstSnapshot.tzdbVersion(zone).getBytes(
+		StandardCharsets.UTF_8);
+	ByteBuffer header = ByteBuffer.allocate(
+		HEADER + zoneBytes.length + versionBytes.length).order(
+		ByteOrder.LITTLE_ENDIAN);
+	header.putInt(MAGIC).putInt(VERSION).putLong(firstDay).putInt(count)
+		.putInt(zoneBytes.length).putInt(versionBytes.length)
+		.put(zoneBytes).put(versionBytes).flip();
+	try (FileChannel channel = FileChannel.open(path,
+		StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+		StandardOpenOption.TRUNCATE_EXISTING)) {
+	    while (header.hasRemaining())
+		channel.write(header);
+	    ByteBuffer data = records.duplicate();
+	    data.clear();
+	    while (data.hasRemaining())
+		channel.write(data);
+	}
+    }
+
+    /**
+     * Packs the results for the given day into a record.
+     */
+    private static int calculate(long epochDay, DstTransitionIndex index) {
+	int dayOfWeek = EpochDays.dayOfWeek(epochDay);
+	int previous = (int) (epochDay - EpochDays
+		.previousWorkingDay(epochDay));
+	int endOfMonth = (int) (EpochDays.endOfMonth(epochDay) - epochDay);
+	int beginOfSeason = (int) (epochDay - EpochDays
+		.beginOfSeason(epochDay));
+	int endOfSeason = (int) (EpochDays.endOfSeason(epochDay) - epochDay);
+	return dayOfWeek << DAY_OF_WEEK_SHIFT
+		| (dayOfWeek >= 6 ? 1 : 0) << WEEKEND_SHIFT
+		| EpochDays.quarter(epochDay) << QUARTER_SHIFT
+		| index.getDSTType(epochDay).ordinal() << DST_TYPE_SHIFT
+		| previous << PREVIOUS_WORKING_DAY_SHIFT
+		| endOfMonth << END_OF_MONTH_SHIFT
+		| beginOfSeason << BEGIN_OF_SEASON_SHIFT
+		| endOfSeason << END_OF_SEASON_SHIFT;
+    }
+
+    /**
+     * Returns the record of the given day, calculated if it is not in the
+     * table.
+     */
+    private int record(long epochDay) {
+	long i = epochDay - firstDay;
+	if (i >= 0 && i < count)
+	    return records.getInt((int) i << 2);
+	return calculate(epochDay, index);
+    }
+
+    /**
+     * @return The time zone of the DST types
+     */
+    public ZoneId getZone() {
+	return zone;
+    }
+
+    /**
+     * @return The first day of the table
+     */
+    public LocalDate getFrom() {
+	return LocalDate.ofEpochDay(firstDay);
+    }
+
+    /**
+     * @return The day after the last day of the table
+     */
+    public LocalDate getTo() {
+	return LocalDate.ofEpochDay(firstDay + count);
+    }
+
+    /**
+     * Checks whether the given day is in the table.
+     * 
+     * @param epochDay
+     *            Days since 1970-01-01
+     * @return TRUE if the day is in the table
+     */
+    public boolean contains(long epochDay) {
+	return epochDay >= firstDay && epochDay - firstDay < count;
+    }
+
+    /**
+     * Returns the day of week from 1 (Monday) to 7 (Sunday).
+     * 
+     * @see EpochDays#dayOfWeek(long)
+     */
+    public int getDayOfWeek(long epochDay) {
+	return record(epochDay) >>> DAY_OF_WEEK_SHIFT & 7;
+    }
+
+    /**
+     * @see DateUtils#isWeekend(LocalDate)
+     */
+    public boolean isWeekend(long epochDay) {
+	return (record(epochDay) >>> WEEKEND_SHIFT & 1) != 0;
+    }
+
+    /**
+     * @see DateUtils#getQuarter(LocalDate)
+     */
+    public int getQuarter(long epochDay) {
+	return record(epochDay) >>> QUARTER_SHIFT & 3;
+    }
+
+    /**
+     * Returns the type of the day in the time zone of the table.
+     * 
+     * @see DateUtils#getDSTType(LocalDate, ZoneId)
+     */
+    public DayType getDSTType(long epochDay) {
+	return DAY_TYPES[record(epochDay) >>> DST_TYPE_SHIFT & 3];
+    }
+
+    /**
+     * @see DateUtils#getPreviousWorkingDay(LocalDate)
+     */
+    public long getPreviousWorkingDay(long epochDay) {
+	return epochDay - (record(epochDay) >>> PREVIOUS_WORKING_DAY_SHIFT & 3);
+    }
+
+    /**
+     * @see DateUtils#endOfMonth(LocalDate)
+     */
+    public long endOfMonth(long epochDay) {
+	return epochDay + (record(epochDay) >>> END_OF_MONTH_SHIFT & 31);
+    }
+
+    /**
+     * @see DateUtils#beginOfSeason(LocalDate)
+     */
+    public long beginOfSeason(long epochDay) {
+	return epochDay - (record(epochDay) >>> BEGIN_OF_SEASON_SHIFT & 255);
+    }
+
+    /**
+     * @see DateUtils#endOfSeason(LocalDate)
+     */
+    public long endOfSeason(long epochDay) {
+	return epochDay + (record(epochDay) >>> END_OF_SEASON_SHIFT & 255);
+    }
+
+    @Override
+    public String toString() {
+	return "DateDimension[" + getFrom() + " - " + getTo() + ", " + zone
+		+ "]";
+    }
+}
@@ -0,0 +1,165 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.LocalDate;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This class provides streams over the days of a date range. All ranges
+ * include the start date and exclude the end date. The streams know their size
+ * and split evenly, so parallel streams scale without collecting the dates
+ * into a list first. The methods returning LongStream provide epoch days and
+ * create no objects per day.
+ * 
+ * @see EpochDaySpliterator
+ * 
+ * @author created: 7droids.org on 17.10.2026 23:18:45
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class DateRanges {
+
+    /**
+     * Private constructor.
+     */
+    private DateRanges() {
+	super();
+    }
+
+    /**
+     * Returns all days from the start date to the end date.
+     * 
+     * @param from
+     *            First date (inclusive), cannot be null
+     * @param to
+     *            Last date (exclusive), cannot be null
+     * @return Stream of dates
+     */
+    public static Stream<LocalDate> days(LocalDate from, LocalDate to) {
+	return epochDays(from, to).mapToObj(LocalDate::ofEpochDay);
+    }
+
+    /**
+     * Returns all days from the start date to the end date as epoch days.
+     * 
+     * @see #days(LocalDate, LocalDate)
+     */
+    public static LongStream epochDays(LocalDate from, LocalDate to) {
+	long first = from.toEpochDay();
+	return stream(0, Math.max(0, to.toEpochDay() - first),
+		i -> first + i, day -> day + 1);
+    }
+
+    /**
+     * Returns the working days from the start date to the end date. Only
+     * Saturday and Sunday are recognized as non-working days.
+     * 
+     * @see #workingDays(LocalDate, LocalDate, BusinessCalendar)
+     */
+    public static Stream<LocalDate> workingDays(LocalDate from, LocalDate to) {
+	return workingDays(from, to, BusinessCalendar.DEFAULT);
+    }
+
+    /**
+     * Returns the working days of the given calendar from the start date to
+     * the end date.
+     * 
+     * @param from
+     *            First date (inclusive), cannot be null
+     * @param to
+     *            Last date (exclusive), cannot be null
+     * @param calendar
+     *            Calendar of the working days, cannot be null
+     * @return Stream of dates
+     */
+    public static Stream<LocalDate> workingDays(LocalDate from, LocalDate to,
+	    BusinessCalendar calendar) {
+	return workingEpochDays(from, to, calendar).mapToObj(
+		LocalDate::ofEpochDay);
+    }
+
+    /**
+     * Returns the working days of the given calendar from the start date to
+     * the end date as epoch days.
+     * 
+     * @see #workingDays(LocalDate, LocalDate, BusinessCalendar)
+     */
+    public static LongStream workingEpochDays(LocalDate from, LocalDate to,
+	    BusinessCalendar calendar) {
+	long before = from.toEpochDay() - 1;
+	long count = from.isBefore(to) ? calendar.workingDaysBetween(before,
+		to.toEpochDay() - 1) : 0;
+	return stream(0, count, i -> calendar.addWorkingDays(before, i + 1),
+		calendar::nextWorkingDay);
+    }
+
+    /**
+     * Returns the last days of all months from the start date to the end
+     * date.
+     * 
+     * @param from
+     *            First date (inclusive), cannot be null
+     * @param to
+     *            Last date (exclusive), cannot be null
+     * @return Stream of dates
+     * @see DateUtils#endOfMonth(LocalDate)
+     */
+    public static Stream<LocalDate> monthEnds(LocalDate from, LocalDate to) {
+	return monthEndEpochDays(from, to).mapToObj(LocalDate::ofEpochDay);
+    }
+
+    /**
+     * Returns the last days of all months from the start date to the end date
+     * as epoch days.
+     * 
+     * @see #monthEnds(LocalDate, LocalDate)
+     */
+    public static LongStream monthEndEpochDays(LocalDate from, LocalDate to) {
+	long first = EpochDays.monthIndex(from.toEpochDay());
+	long count = from.isBefore(to) ? EpochDays.monthIndex(to.toEpochDay())
+		- first : 0;
+	// The end of a month is the day before the first of the next month
+	return stream(first, first + count,
+		month -> EpochDays.firstOfMonth(month + 1) - 1,
+		day -> EpochDays.endOfMonth(day + 1));
+    }
+
+    /**
+     * Returns the first days of all seasons from the start date to the end
+     * date. A season starts on 1. April and on 1. October.
+     * 
+     * @param from
+     *            First date (inclusive), cannot be null
+     * @param to
+     *            Last date (exclusive), cannot be null
+     * @return Stream of dates
+     * @see DateUtils#beginOfSeason(LocalDate)
+     */
+    public static Stream<LocalDate> seasonStarts(LocalDate from, LocalDate to) {
+	return seasonStartEpochDays(from, to).mapToObj(LocalDate::ofEpochDay);
+    }
+
+    /**
+     * Returns the first days of all seasons from the start date to the end
+     * date as epoch days.
+     * 
+     * @see #seasonStarts(LocalDate, LocalDate)
+     */
+    public static LongStream seasonStartEpochDays(LocalDate from, LocalDate to) {
+	// First season starting at or after the start date
+	long first = EpochDays.seasonIndex(from.toEpochDay() - 1) + 1;
+	long count = from.isBefore(to) ? EpochDays.seasonIndex(to
+		.toEpochDay() - 1) + 1 - first : 0;
+	return stream(first, first + count,
+		season -> EpochDays.firstOfMonth(season * 6 + 3),
+		day -> EpochDays.endOfSeason(day) + 1);
+    }
+
+    private static LongStream stream(long origin, long fence,
+	    LongUnaryOperator nth, LongUnaryOperator next) {
+	return StreamSupport.longStream(new EpochDaySpliterator(origin,
+		fence, nth, next), false);
+    }
+}
@@ -0,0 +1,610 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.LongConsumer;
+
+/**
+ * Set of dates stored as epoch days without objects per date. Dense sets, for
+ * example the days of contiguous ranges, are stored in a bitmap with one bit
+ * per day. Sparse sets, for example holiday lists over many years, are stored
+ * in an open addressing hash table of the epoch days. The representation is
+ * switched automatically by the number of days per bitmap word: a set is
+ * stored as bitmap while it contains at least one day per 64 days of its
+ * range, a bitmap is only changed back into a table if the range grows to
+ * more than twice this size.
+ * <p>
+ * The days are iterated in date order. For the table the days are sorted on
+ * the first ordered access after a modification, lookups and iterations
+ * without modifications create no objects. The set is not thread-safe, a set
+ * shared between threads must not be modified.
+ * 
+ * @see DateToLongMap
+ * @see DateToIntMap
+ * 
+ * @author created: 7droids.org on 18.10.2026 08:05:17
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class DateSet {
+
+    /**
+     * Result of the lookups if there is no such day.
+     */
+    public static final long NONE = Long.MIN_VALUE;
+
+    /**
+     * A table is changed into a bitmap, if it contains at least one day per
+     * DENSITY days of its range.
+     */
+    private static final int DENSITY = 64;
+
+    /**
+     * Tables with less days are never changed into a bitmap.
+     */
+    private static final int MIN_DENSE_SIZE = 64;
+
+    private static final int MAX_WORDS = 1 << 28;
+
+    /**
+     * Hash table of the days, null if the set is a bitmap.
+     */
+    private EpochDayTable table;
+
+    /**
+     * Bit i is set if firstDay + i is in the set, null if the set is a table.
+     */
+    private long[] words;
+
+    /**
+     * Epoch day of the first bit, a multiple of 64.
+     */
+    private long firstDay;
+
+    private int size;
+
+    /**
+     * Smallest and largest day added to the table, removals are not
+     * recognized.
+     */
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    /**
+     * Creates an empty set.
+     */
+    public DateSet() {
+	super();
+	this.table = new EpochDayTable(0);
+    }
+
+    /**
+     * Creates an empty set stored as bitmap for the given range of days.
+     * Adding days within the range never needs new memory.
+     * 
+     * @param from
+     *            First epoch day (inclusive)
+     * @param to
+     *            Last epoch day (exclusive)
+     */
+    public DateSet(long from, long to) {
+	super();
+	if (from >= to || ((to - from) >>> 6) >= MAX_WORDS)
+	    throw new IllegalArgumentException("Range " + from + " - " + to
+		    + " is invalid");
+	this.firstDay = from & -64L;
+	long end = ((to - 1) & -64L) + 64;
+	this.words = new long[(int) ((end - firstDay) >>> 6)];
+    }
+
+    /**
+     * Creates a copy of the given set.
+     * 
+     * @param dates
+     *            Set to copy, cannot be null
+     */
+    public DateSet(DateSet dates) {
+	super();
+	if (dates.words != null) {
+	    this.words = dates.words.clone();
+	    this.firstDay = dates.firstDay;
+	    this.size = dates.size;
+	} else {
+	    this.table = new EpochDayTable(dates.size);
+	    for (long day : dates.table.keys)
+		if (day != EpochDayTable.FREE)
+		    add(day);
+	}
+    }
+
+    /**
+     * Creates a set of the given dates.
+     * 
+     * @param dates
+     *            Dates, cannot be null
+     * @return New set
+     */
+    public static DateSet of(Collection<LocalDate> dates) {
+	DateSet set = new DateSet();
+	for (LocalDate date : dates)
+	    set.add(date.toEpochDay());
+	return set;
+    }
+
+    /**
+     * Creates a new set with the days of both sets.
+     */
+    public static DateSet union(DateSet dates1, DateSet dates2) {
+	DateSet set = new DateSet(dates1);
+	set.addAll(dates2);
+	return set;
+    }
+
+    /**
+     * Creates a new set with the days contained in both sets.
+     */
+    public static DateSet intersection(DateSet dates1, DateSet dates2) {
+	boolean smaller = dates1.size <= dates2.size;
+	DateSet set = new DateSet(smaller ? dates1 : dates2);
+	set.retainAll(smaller ? dates2 : dates1);
+	return set;
+    }
+
+    /**
+     * @return Number of days in the set
+     */
+    public int size() {
+	return size;
+    }
+
+    /**
+     * @return TRUE if the set contains no day
+     */
+    public boolean isEmpty() {
+	return size == 0;
+    }
+
+    /**
+     * Checks if the set is stored as bitmap.
+     */
+    boolean isDense() {
+	return words != null;
+    }
+
+    /**
+     * Adds the given date.
+     * 
+     * @param date
+     *            Date, cannot be null
+     * @return TRUE if the date was not yet in the set
+     */
+    public boolean add(LocalDate date) {
+	return add(date.toEpochDay());
+    }
+
+    /**
+     * Adds the given epoch day.
+     * 
+     * @see #add(LocalDate)
+     */
+    public boolean add(long epochDay) {
+	EpochDayTable.checkKey(epochDay);
+	if (words != null) {
+	    if (!inWindow(epochDay) && !cover(epochDay, epochDay, size + 1L)) {
+		toTable();
+		return add(epochDay);
+	    }
+	    int i = (int) (epochDay - firstDay);
+	    long word = words[i >>> 6];
+	    if ((word & (1L << i)) != 0)
+		return false;
+	    words[i >>> 6] = word | (1L << i);
+	    size++;
+	    return true;
+	}
+	if (table.insert(epochDay) >= 0)
+	    return false;
+	size++;
+	min = Math.min(min, epochDay);
+	max = Math.max(max, epochDay);
+	if (size >= MIN_DENSE_SIZE && max - min < (long) DENSITY * size)
+	    toBitmap();
+	return true;
+    }
+
+    /**
+     * Adds the epoch days from (inclusive) to (exclusive).
+     */
+    public void addRange(long from, long to) {
+	for (long day = from; day < to; day++)
+	    add(day);
+    }
+
+    /**
+     * Removes the given date.
+     * 
+     * @param date
+     *            Date, cannot be null
+     * @return TRUE if the date was in the set
+     */
+    public boolean remove(LocalDate date) {
+	return remove(date.toEpochDay());
+    }
+
+    /**
+     * Removes the given epoch day.
+     * 
+     * @see #remove(LocalDate)
+     */
+    public boolean remove(long epochDay) {
+	if (words != null) {
+	    if (!inWindow(epochDay))
+		return false;
+	    int i = (int) (epochDay - firstDay);
+	    long word = words[i >>> 6];
+	    if ((word & (1L << i)) == 0)
+		return false;
+	    words[i >>> 6] = word & ~(1L << i);
+	} else if (!table.delete(epochDay))
+	    return false;
+	size--;
+	return true;
+    }
+
+    /**
+     * Removes all days. The memory is kept for new days.
+     */
+    public void clear() {
+	if (words != null)
+	    Arrays.fill(words, 0);
+	else
+	    table.clearKeys();
+	size = 0;
+	min = Long.MAX_VALUE;
+	max = Long.MIN_VALUE;
+    }
+
+    /**
+     * Checks if the given date is in the set.
+     * 
+     * @param date
+     *            Date, cannot be null
+     * @return TRUE if the set contains the date
+     */
+    public boolean contains(LocalDate date) {
+	return contains(date.toEpochDay());
+    }
+
+    /**
+     * Checks if the given epoch day is in the set.
+     * 
+     * @see #contains(LocalDate)
+     */
+    public boolean contains(long epochDay) {
+	if (words == null)
+	    return table.find(epochDay) >= 0;
+	if (!inWindow(epochDay))
+	    return false;
+	int i = (int) (epochDay - firstDay);
+	return (words[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * @return The first epoch day of the set or {@link #NONE} if it is empty
+     */
+    public long first() {
+	return ceiling(NONE + 1);
+    }
+
+    /**
+     * @return The last epoch day of the set or {@link #NONE} if it is empty
+     */
+    public long last() {
+	return floor(Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns the first day of the set equal to or after the given epoch day.
+     * 
+     * @return Epoch day or {@link #NONE}
+     */
+    public long ceiling(long epochDay) {
+	if (words == null) {
+	    long[] days = table.sortedKeys();
+	    int i = EpochDayTable.ceilingIndex(days, epochDay);
+	    return i < days.length ? days[i] : NONE;
+	}
+	long end = firstDay + ((long) words.length << 6);
+	if (epochDay >= end)
+	    return NONE;
+	int i = nextBit((int) (Math.max(epochDay, firstDay) - firstDay), false);
+	return i < 0 ? NONE : firstDay + i;
+    }
+
+    /**
+     * Returns the last day of the set equal to or before the given epoch day.
+     * 
+     * @return Epoch day or {@link #NONE}
+     */
+    public long floor(long epochDay) {
+	if (words == null) {
+	    long[] days = table.sortedKeys();
+	    int i = Arrays.binarySearch(days, epochDay);
+	    if (i >= 0)
+		return days[i];
+	    return ~i > 0 ? days[~i - 1] : NONE;
+	}
+	if (epochDay < firstDay)
+	    return NONE;
+	long last = firstDay + ((long) words.length << 6) - 1;
+	int i = previousBit((int) (Math.min(epochDay, last) - firstDay), false);
+	return i < 0 ? NONE : firstDay + i;
+    }
+
+    /**
+     * Returns the last day before the given epoch day, which is not in the
+     * set. For a set of the non-working days it is the previous working day.
+     * 
+     * @see DateUtils#getPreviousWorkingDay(LocalDate)
+     */
+    public long previousAbsent(long epochDay) {
+	long day = epochDay - 1;
+	if (words == null) {
+	    while (table.find(day) >= 0)
+		day--;
+	    return day;
+	}
+	if (!inWindow(day))
+	    return day;
+	int i = previousBit((int) (day - firstDay), true);
+	return i < 0 ? firstDay - 1 : firstDay + i;
+    }
+
+    /**
+     * Returns the first day after the given epoch day, which is not in the
+     * set. For a set of the non-working days it is the next working day.
+     */
+    public long nextAbsent(long epochDay) {
+	long day = epochDay + 1;
+	if (words == null) {
+	    while (table.find(day) >= 0)
+		day++;
+	    return day;
+	}
+	if (!inWindow(day))
+	    return day;
+	int i = nextBit((int) (day - firstDay), true);
+	return i < 0 ? firstDay + ((long) words.length << 6) : firstDay + i;
+    }
+
+    /**
+     * Performs the action for every day of the set in date order.
+     * 
+     * @param action
+     *            Action for the epoch days, cannot be null
+     */
+    public void forEach(LongConsumer action) {
+	forEach(NONE + 1, Long.MAX_VALUE, action);
+    }
+
+    /**
+     * Performs the action for the days of the set from (inclusive) to
+     * (exclusive) in date order. The action must not modify the set.
+     * 
+     * @param from
+     *            First epoch day (inclusive)
+     * @param to
+     *            Last epoch day (exclusive)
+     * @param action
+     *            Action for the epoch days, cannot be null
+     */
+    public void forEach(long from, long to, LongConsumer action) {
+	if (words == null) {
+	    long[] days = table.sortedKeys();
+	    for (int i = EpochDayTable.ceilingIndex(days, from); i < days.length
+		    && days[i] < to; i++)
+		action.accept(days[i]);
+	    return;
+	}
+	long start = Math.max(from, firstDay);
+	long end = Math.min(to, firstDay + ((long) words.length << 6));
+	if (start >= end)
+	    return;
+	int first = (int) (start - firstDay);
+	int last = (int) (end - firstDay) - 1;
+	for (int w = first >>> 6; w <= last >>> 6; w++) {
+	    long bits = words[w];
+	    if (w == first >>> 6)
+		bits &= -1L << first;
+	    if (w == last >>> 6)
+		bits &= -1L >>> (63 - (last & 63));
+	    for (; bits != 0; bits &= bits - 1)
+		action.accept(firstDay + ((long) w << 6)
+			+ Long.numberOfTrailingZeros(bits));
+	}
+    }
+
+    /**
+     * @return The epoch days of the set in date order
+     */
+    public long[] toArray() {
+	if (words == null)
+	    return table.sortedKeys().clone();
+	long[] days = new long[size];
+	int n = 0;
+	for (int w = 0; w < words.length; w++)
+	    for (long bits = words[w]; bits != 0; bits &= bits - 1)
+		days[n++] = firstDay + ((long) w << 6)
+			+ Long.numberOfTrailingZeros(bits);
+	return days;
+    }
+
+    /**
+     * Adds all days of the given set (union). Two bitmaps are combined word
+     * by word.
+     * 
+     * @param dates
+     *            Days to add, cannot be null
+     * @return TRUE if this set has changed
+     */
+    public boolean addAll(DateSet dates) {
+	int before = size;
+	if (dates == this || dates.isEmpty())
+	    return false;
+	long count = (long) size + dates.size;
+	if (words != null && dates.words != null
+		&& cover(dates.first(), dates.last(), count)) {
+	    int offset = (int) ((dates.firstDay - firstDay) >> 6);
+	    int from = Math.max(0, -offset);
+	    int to = Math.min(dates.words.length, words.length - offset);
+	    for (int w = from; w < to; w++)
+		words[offset + w] |= dates.words[w];
+	    recount();
+	} else
+	    dates.forEach(this::add);
+	return size != before;
+    }
+
+    /**
+     * Removes all days, which are not in the given set (intersection). Two
+     * bitmaps are combined word by word.
+     * 
+     * @param dates
+     *            Days to keep, cannot be null
+     * @return TRUE if this set has changed
+     */
+    public boolean retainAll(DateSet dates) {
+	int before = size;
+	if (dates == this)
+	    return false;
+	if (words != null && dates.words != null) {
+	    long offset = (firstDay - dates.firstDay) >> 6;
+	    for (int w = 0; w < words.length; w++) {
+		long other = offset + w;
+		if (other < 0 || other >= dates.words.length)
+		    words[w] = 0;
+		else
+		    words[w] &= dates.words[(int) other];
+	    }
+	    recount();
+	} else
+	    for (long day : toArray())
+		if (!dates.contains(day))
+		    remove(day);
+	return size != before;
+    }
+
+    private void recount() {
+	int count = 0;
+	for (long word : words)
+	    count += Long.bitCount(word);
+	size = count;
+    }
+
+    private boolean inWindow(long epochDay) {
+	long i = epochDay - firstDay;
+	return i >= 0 && i < ((long) words.length << 6);
+    }
+
+    /**
+     * Grows the bitmap, so that it covers the days from first to last, if
+     * the bitmap would still contain one day per 2 * DENSITY days.
+     * 
+     * @return FALSE if the range is too sparse for a bitmap
+     */
+    private boolean cover(long first, long last, long count) {
+	long oldEnd = firstDay + ((long) words.length << 6);
+	long start = Math.min(firstDay, first & -64L);
+	long end = Math.max(oldEnd, (last & -64L) + 64);
+	long span = end - start;
+	long limit = Math.min(2L * DENSITY * count, (long) MAX_WORDS << 6);
+	if (span > limit)
+	    return false;
+	if (start == firstDay && end == oldEnd)
+	    return true;
+	// Room for further days in the direction of growth
+	long slack = Math.min(span >>> 1, limit - span) & -64L;
+	if (start < firstDay)
+	    start -= slack;
+	else
+	    end += slack;
+	long[] grown = new long[(int) ((end - start) >>> 6)];
+	System.arraycopy(words, 0, grown, (int) ((firstDay - start) >>> 6),
+		words.length);
+	words = grown;
+	firstDay = start;
+	return true;
+    }
+
+    private void toTable() {
+	EpochDayTable days = new EpochDayTable(size + 1);
+	for (int w = 0; w < words.length; w++)
+	    for (long bits = words[w]; bits != 0; bits &= bits - 1) {
+		long day = firstDay + ((long) w << 6)
+			+ Long.numberOfTrailingZeros(bits);
+		days.insert(day);
+		min = Math.min(min, day);
+		max = Math.max(max, day);
+	    }
+	table = days;
+	words = null;
+    }
+
+    private void toBitmap() {
+	firstDay = min & -64L;
+	words = new long[(int) (((max & -64L) + 64 - firstDay) >>> 6)];
+	for (long day : table.keys)
+	    if (day != EpochDayTable.FREE) {
+		int i = (int) (day - firstDay);
+		words[i >>> 6] |= 1L << i;
+	    }
+	table = null;
+	min = Long.MAX_VALUE;
+	max = Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns the index of the first set (or clear) bit at or after the given
+     * index or -1.
+     */
+    private int nextBit(int index, boolean clear) {
+	int word = index >>> 6;
+	// Keep the bits from the index
+	long bits = (clear ? ~words[word] : words[word]) & (-1L << index);
+	while (bits == 0) {
+	    if (++word == words.length)
+		return -1;
+	    bits = clear ? ~words[word] : words[word];
+	}
+	return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Returns the index of the last set (or clear) bit at or before the given
+     * index or -1.
+     */
+    private int previousBit(int index, boolean clear) {
+	int word = index >>> 6;
+	// Keep the bits up to the index
+	long bits = (clear ? ~words[word] : words[word])
+		& (-1L >>> (63 - (index & 63)));
+	while (bits == 0) {
+	    if (word == 0)
+		return -1;
+	    bits = clear ? ~words[--word] : words[--word];
+	}
+	return (word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+    }
+
+    @Override
+    public String toString() {
+	StringBuilder text = new StringBuilder("[");
+	for (long day : toArray()) {
+	    if (text.length() > 1)
+		text.append(", ");
+	    text.append(LocalDate.ofEpochDay(day));
+	}
+	return text.append(']').toString();
+    }
+}
@@ -0,0 +1,226 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.LocalDate;
+
+/**
+ * Map from dates to int values, e.g. counts per day, stored in an open
+ * addressing hash table of epoch days with a parallel array of values. No
+ * objects are created per entry and lookups create no objects at all.
+ * <p>
+ * The entries are iterated in date order, the days are sorted on the first
+ * ordered access after a modification. The map is not thread-safe, a map
+ * shared between threads must not be modified.
+ * 
+ * @see DateToLongMap
+ * @see DateSet
+ * 
+ * @author created: 7droids.org on 18.10.2026 08:58:12
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class DateToIntMap extends EpochDayTable {
+
+    /**
+     * Action for the entries of the map.
+     */
+    public static interface EntryConsumer {
+
+	/**
+	 * Performs the action for an entry.
+	 * 
+	 * @param epochDay
+	 *            Day of the entry
+	 * @param value
+	 *            Value of the entry
+	 */
+	void accept(long epochDay, int value);
+    }
+
+    private int[] values;
+
+    /**
+     * Creates an empty map.
+     */
+    public DateToIntMap() {
+	this(0);
+    }
+
+    /**
+     * Creates an empty map for the given number of entries.
+     * 
+     * @param expectedSize
+     *            Number of entries, which can be added without new memory
+     */
+    public DateToIntMap(int expectedSize) {
+	super(expectedSize);
+	this.values = new int[keys.length];
+    }
+
+    /**
+     * @return Number of entries
+     */
+    public int size() {
+	return size;
+    }
+
+    /**
+     * @return TRUE if the map contains no entry
+     */
+    public boolean isEmpty() {
+	return size == 0;
+    }
+
+    /**
+     * Checks if the map contains an entry for the given epoch day.
+     */
+    public boolean containsKey(long epochDay) {
+	return find(epochDay) >= 0;
+    }
+
+    /**
+     * Returns the value of the given date.
+     * 
+     * @param date
+     *            Date, cannot be null
+     * @param defaultValue
+     *            Result if there is no entry for the date
+     * @return The value or the default value
+     */
+    public int get(LocalDate date, int defaultValue) {
+	return get(date.toEpochDay(), defaultValue);
+    }
+
+    /**
+     * Returns the value of the given epoch day.
+     * 
+     * @see #get(LocalDate, int)
+     */
+    public int get(long epochDay, int defaultValue) {
+	int slot = find(epochDay);
+	return slot < 0 ? defaultValue : values[slot];
+    }
+
+    /**
+     * Sets the value of the given date.
+     * 
+     * @param date
+     *            Date, cannot be null
+     * @param value
+     *            New value
+     */
+    public void put(LocalDate date, int value) {
+	put(date.toEpochDay(), value);
+    }
+
+    /**
+     * Sets the value of the given epoch day.
+     * 
+     * @see #put(LocalDate, int)
+     */
+    public void put(long epochDay, int value) {
+	int slot = insert(epochDay);
+	values[slot < 0 ? ~slot : slot] = value;
+    }
+
+    /**
+     * Adds the given amount to the value of the given date. A missing entry
+     * is created with the amount.
+     * 
+     * @param date
+     *            Date, cannot be null
+     * @param amount
+     *            Amount to add
+     * @return The new value
+     */
+    public int add(LocalDate date, int amount) {
+	return add(date.toEpochDay(), amount);
+    }
+
+    /**
+     * Adds the given amount to the value of the given epoch day.
+     * 
+     * @see #add(LocalDate, int)
+     */
+    public int add(long epochDay, int amount) {
+	int slot = insert(epochDay);
+	if (slot < 0)
+	    return values[~slot] = amount;
+	return values[slot] += amount;
+    }
+
+    /**
+     * Removes the entry of the given epoch day.
+     * 
+     * @return TRUE if there was an entry
+     */
+    public boolean remove(long epochDay) {
+	return delete(epochDay);
+    }
+
+    /**
+     * Removes all entries. The memory is kept for new entries.
+     */
+    public void clear() {
+	clearKeys();
+    }
+
+    /**
+     * @return A new set of the days of the entries
+     */
+    public DateSet keys() {
+	DateSet days = new DateSet();
+	for (long day : sortedKeys())
+	    days.add(day);
+	return days;
+    }
+
+    /**
+     * Performs the action for every entry in date order.
+     * 
+     * @param action
+     *            Action for the entries, cannot be null
+     */
+    public void forEach(EntryConsumer action) {
+	forEach(DateSet.NONE + 1, Long.MAX_VALUE, action);
+    }
+
+    /**
+     * Performs the action for the entries from (inclusive) to (exclusive) in
+     * date order. The action must not add or remove entries.
+     * 
+     * @param from
+     *            First epoch day (inclusive)
+     * @param to
+     *            Last epoch day (exclusive)
+     * @param action
+     *            Action for the entries, cannot be null
+     */
+    public void forEach(long from, long to, EntryConsumer action) {
+	long[] days = sortedKeys();
+	for (int i = ceilingIndex(days, from); i < days.length
+		&& days[i] < to; i++)
+	    action.accept(days[i], values[find(days[i])]);
+    }
+
+    @Override
+    void rehashValues(int[] target, int capacity) {
+	int[] old = values;
+	values = new int[capacity];
+	for (int i = 0; i < target.length; i++)
+	    if (target[i] >= 0)
+		values[target[i]] = old[i];
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+	values[to] = values[from];
+    }
+
+    @Override
+    public String toString() {
+	StringBuilder text = new StringBuilder("{");
+	forEach((day, value) -> text.append(text.length() > 1 ? ", " : "")
+		.append(LocalDate.ofEpochDay(day)).append('=').append(value));
+	return text.append('}').toString();
+    }
+}
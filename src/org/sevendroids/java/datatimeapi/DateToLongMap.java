@@ -0,0 +1,226 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.LocalDate;
+
+/**
+ * Map from dates to long values, e.g. aggregates per day, stored in an open
+ * addressing hash table of epoch days with a parallel array of values. No
+ * objects are created per entry and lookups create no objects at all.
+ * <p>
+ * The entries are iterated in date order, the days are sorted on the first
+ * ordered access after a modification. The map is not thread-safe, a map
+ * shared between threads must not be modified.
+ * 
+ * @see DateToIntMap
+ * @see DateSet
+ * 
+ * @author created: 7droids.org on 18.10.2026 08:41:55
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class DateToLongMap extends EpochDayTable {
+
+    /**
+     * Action for the entries of the map.
+     */
+    public static interface EntryConsumer {
+
+	/**
+	 * Performs the action for an entry.
+	 * 
+	 * @param epochDay
+	 *            Day of the entry
+	 * @param value
+	 *            Value of the entry
+	 */
+	void accept(long epochDay, long value);
+    }
+
+    private long[] values;
+
+    /**
+     * Creates an empty map.
+     */
+    public DateToLongMap() {
+	this(0);
+    }
+
+    /**
+     * Creates an empty map for the given number of entries.
+     * 
+     * @param expectedSize
+     *            Number of entries, which can be added without new memory
+     */
+    public DateToLongMap(int expectedSize) {
+	super(expectedSize);
+	this.values = new long[keys.length];
+    }
+
+    /**
+     * @return Number of entries
+     */
+    public int size() {
+	return size;
+    }
+
+    /**
+     * @return TRUE if the map contains no entry
+     */
+    public boolean isEmpty() {
+	return size == 0;
+    }
+
+    /**
+     * Checks if the map contains an entry for the given epoch day.
+     */
+    public boolean containsKey(long epochDay) {
+	return find(epochDay) >= 0;
+    }
+
+    /**
+     * Returns the value of the given date.
+     * 
+     * @param date
+     *            Date, cannot be null
+     * @param defaultValue
+     *            Result if there is no entry for the date
+     * @return The value or the default value
+     */
+    public long get(LocalDate date, long defaultValue) {
+	return get(date.toEpochDay(), defaultValue);
+    }
+
+    /**
+     * Returns the value of the given epoch day.
+     * 
+     * @see #get(LocalDate, long)
+     */
+    public long get(long epochDay, long defaultValue) {
+	int slot = find(epochDay);
+	return slot < 0 ? defaultValue : values[slot];
+    }
+
+    /**
+     * Sets the value of the given date.
+     * 
+     * @param date
+     *            Date, cannot be null
+     * @param value
+     *            New value
+     */
+    public void put(LocalDate date, long value) {
+	put(date.toEpochDay(), value);
+    }
+
+    /**
+     * Sets the value of the given epoch day.
+     * 
+     * @see #put(LocalDate, long)
+     */
+    public void put(long epochDay, long value) {
+	int slot = insert(epochDay);
+	values[slot < 0 ? ~slot : slot] = value;
+    }
+
+    /**
+     * Adds the given amount to the value of the given date. A missing entry
+     * is created with the amount.
+     * 
+     * @param date
+     *            Date, cannot be null
+     * @param amount
+     *            Amount to add
+     * @return The new value
+     */
+    public long add(LocalDate date, long amount) {
+	return add(date.toEpochDay(), amount);
+    }
+
+    /**
+     * Adds the given amount to the value of the given epoch day.
+     * 
+     * @see #add(LocalDate, long)
+     */
+    public long add(long epochDay, long amount) {
+	int slot = insert(epochDay);
+	if (slot < 0)
+	    return values[~slot] = amount;
+	return values[slot] += amount;
+    }
+
+    /**
+     * Removes the entry of the given epoch day.
+     * 
+     * @return TRUE if there was an entry
+     */
+    public boolean remove(long epochDay) {
+	return delete(epochDay);
+    }
+
+    /**
+     * Removes all entries. The memory is kept for new entries.
+     */
+    public void clear() {
+	clearKeys();
+    }
+
+    /**
+     * @return A new set of the days of the entries
+     */
+    public DateSet keys() {
+	DateSet days = new DateSet();
+	for (long day : sortedKeys())
+	    days.add(day);
+	return days;
+    }
+
+    /**
+     * Performs the action for every entry in date order.
+     * 
+     * @param action
+     *            Action for the entries, cannot be null
+     */
+    public void forEach(EntryConsumer action) {
+	forEach(DateSet.NONE + 1, Long.MAX_VALUE, action);
+    }
+
+    /**
+     * Performs the action for the entries from (inclusive) to (exclusive) in
+     * date order. The action must not add or remove entries.
+     * 
+     * @param from
+     *            First epoch day (inclusive)
+     * @param to
+     *            Last epoch day (exclusive)
+     * @param action
+     *            Action for the entries, cannot be null
+     */
+    public void forEach(long from, long to, EntryConsumer action) {
+	long[] days = sortedKeys();
+	for (int i = ceilingIndex(days, from); i < days.length
+		&& days[i] < to; i++)
+	    action.accept(days[i], values[find(days[i])]);
+    }
+
+    @Override
+    void rehashValues(int[] target, int capacity) {
+	long[] old = values;
+	values = new long[capacity];
+	for (int i = 0; i < target.length; i++)
+	    if (target[i] >= 0)
+		values[target[i]] = old[i];
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+	values[to] = values[from];
+    }
+
+    @Override
+    public String toString() {
+	StringBuilder text = new StringBuilder("{");
+	forEach((day, value) -> text.append(text.length() > 1 ? ", " : "")
+		.append(LocalDate.ofEpochDay(day)).append('=').append(value));
+	return text.append('}').toString();
+    }
+}
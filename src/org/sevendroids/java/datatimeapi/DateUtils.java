@@ -1,13 +1,15 @@
 package org.sevendroids.java.datatimeapi;
 
 import java.time.DayOfWeek;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.Month;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoField;
-import java.time.temporal.ChronoUnit;
+import java.time.zone.ZoneRules;
+
+import org.sevendroids.java.datatimeapi.Instrumentation.Probe;
 
 /**
  * This class provides some useful utility methods for date and time operations.
@@ -21,6 +23,32 @@ import java.time.temporal.ChronoUnit;
  */
 public class DateUtils {
 
+    // Probes of the optional instrumentation
+
+    private static final Probe IS_WEEKEND = Instrumentation.probe(
+	    "DateUtils", "isWeekend");
+
+    private static final Probe GET_PREVIOUS_WORKING_DAY = Instrumentation.probe(
+	    "DateUtils", "getPreviousWorkingDay");
+
+    private static final Probe GET_DST_TYPE = Instrumentation.probe(
+	    "DateUtils", "getDSTType");
+
+    private static final Probe GET_QUARTER = Instrumentation.probe(
+	    "DateUtils", "getQuarter");
+
+    private static final Probe GET_QUARTERS_BETWEEN_DATES = Instrumentation
+	    .probe("DateUtils", "getQuartersBetweenDates");
+
+    private static final Probe END_OF_MONTH = Instrumentation.probe(
+	    "DateUtils", "endOfMonth");
+
+    private static final Probe BEGIN_OF_SEASON = Instrumentation.probe(
+	    "DateUtils", "beginOfSeason");
+
+    private static final Probe END_OF_SEASON = Instrumentation.probe(
+	    "DateUtils", "endOfSeason");
+
     /**
      * Constructor.
      */
@@ -37,37 +65,149 @@ public class DateUtils {
      * @return TRUE is Saturday or Sunday
      */
     public static boolean isWeekend(LocalDate date) {
-	DayOfWeek dayOfWeek = DayOfWeek.of(date.get(ChronoField.DAY_OF_WEEK));
-	switch (dayOfWeek) {
-	case SATURDAY:
-	case SUNDAY:
-	    return true;
-	default:
-	    return false;
+	long start = IS_WEEKEND.start();
+	try {
+	    DayOfWeek dayOfWeek = DayOfWeek.of(date
+		    .get(ChronoField.DAY_OF_WEEK));
+	    switch (dayOfWeek) {
+	    case SATURDAY:
+	    case SUNDAY:
+		return true;
+	    default:
+		return false;
+	    }
+	} finally {
+	    IS_WEEKEND.stop(start, date);
 	}
     }
 
+    /**
+     * Checks if the local date of the given point in time is at the weekend
+     * like {@link #isWeekend(LocalDate)}. The point in time is converted with
+     * the {@link OffsetWindows} of the zone, nothing is allocated.
+     * 
+     * @param epochMilli
+     *            Point in time as milliseconds since 1970-01-01T00:00Z
+     * @param zone
+     *            Time zone of the local date, cannot be null
+     * @return TRUE is Saturday or Sunday
+     */
+    public static boolean isWeekend(long epochMilli, ZoneId zone) {
+	return EpochDays
+		.isWeekend(OffsetWindows.of(zone).toEpochDay(epochMilli));
+    }
+
     /**
      * The methods calculates the previous working day. It only recognize
-     * Saturday and Sunday as non -working days.
+     * Saturday and Sunday as non -working days. For holidays or other weekend
+     * days use a {@link BusinessCalendar}.
      * 
      * @param date
      *            Date as starting point for the calculation, cannot be null
      * @return The previous working day
+     * @see BusinessCalendar#DEFAULT
      */
     public static LocalDate getPreviousWorkingDay(LocalDate date) {
-	DayOfWeek dayOfWeek = DayOfWeek.of(date.get(ChronoField.DAY_OF_WEEK));
-	switch (dayOfWeek) {
-	case MONDAY:
-	    return date.minus(3, ChronoUnit.DAYS);
-	case SUNDAY:
-	    return date.minus(2, ChronoUnit.DAYS);
-	default:
-	    return date.minus(1, ChronoUnit.DAYS);
-
+	long start = GET_PREVIOUS_WORKING_DAY.start();
+	try {
+	    return BusinessCalendar.DEFAULT.previousWorkingDay(date);
+	} finally {
+	    GET_PREVIOUS_WORKING_DAY.stop(start, date);
 	}
     }
 
+    /**
+     * Calculates the previous working day of the local date of the given point
+     * in time like {@link #getPreviousWorkingDay(LocalDate)}.
+     * 
+     * @param epochMilli
+     *            Point in time as milliseconds since 1970-01-01T00:00Z
+     * @param zone
+     *            Time zone of the local date, cannot be null
+     * @return Start of the previous working day in the time zone as
+     *         milliseconds since 1970-01-01T00:00Z
+     * @see OffsetWindows#startOfDay(long)
+     */
+    public static long getPreviousWorkingDay(long epochMilli, ZoneId zone) {
+	OffsetWindows windows = OffsetWindows.of(zone);
+	return windows.startOfDay(BusinessCalendar.DEFAULT
+		.previousWorkingDay(windows.toEpochDay(epochMilli)));
+    }
+
+    /**
+     * Adds the given number of working days to the date. It only recognize
+     * Saturday and Sunday as non -working days.
+     * 
+     * @param date
+     *            Date as starting point for the calculation, cannot be null
+     * @param workingDays
+     *            Number of working days to add, may be negative
+     * @return The calculated working day
+     * @see BusinessCalendar#addWorkingDays(LocalDate, long)
+     */
+    public static LocalDate addWorkingDays(LocalDate date, long workingDays) {
+	return BusinessCalendar.DEFAULT.addWorkingDays(date, workingDays);
+    }
+
+    /**
+     * Adds the given number of working days to the local date of the given
+     * point in time like {@link #addWorkingDays(LocalDate, long)}.
+     * 
+     * @param epochMilli
+     *            Point in time as milliseconds since 1970-01-01T00:00Z
+     * @param workingDays
+     *            Number of working days to add, may be negative
+     * @param zone
+     *            Time zone of the local date, cannot be null
+     * @return Start of the calculated working day in the time zone as
+     *         milliseconds since 1970-01-01T00:00Z
+     */
+    public static long addWorkingDays(long epochMilli, long workingDays,
+	    ZoneId zone) {
+	OffsetWindows windows = OffsetWindows.of(zone);
+	return windows.startOfDay(BusinessCalendar.DEFAULT.addWorkingDays(
+		windows.toEpochDay(epochMilli), workingDays));
+    }
+
+    /**
+     * Calculates the number of working days after the first date up to and
+     * including the second date. It only recognize Saturday and Sunday as non
+     * -working days.
+     * 
+     * @return Number of working days, negative if date2 is before date1
+     * @param date1
+     *            First given date cannot be null
+     * @param date2
+     *            Second given date cannot be null
+     * @see BusinessCalendar#workingDaysBetween(LocalDate, LocalDate)
+     */
+    public static long getWorkingDaysBetweenDates(LocalDate date1,
+	    LocalDate date2) {
+	return BusinessCalendar.DEFAULT.workingDaysBetween(date1, date2);
+    }
+
+    /**
+     * Calculates the number of working days between the local dates of the
+     * given points in time like
+     * {@link #getWorkingDaysBetweenDates(LocalDate, LocalDate)}.
+     * 
+     * @param epochMilli1
+     *            First point in time as milliseconds since 1970-01-01T00:00Z
+     * @param epochMilli2
+     *            Second point in time as milliseconds since 1970-01-01T00:00Z
+     * @param zone
+     *            Time zone of the local dates, cannot be null
+     * @return Number of working days, negative if the second date is before
+     *         the first
+     */
+    public static long getWorkingDaysBetweenDates(long epochMilli1,
+	    long epochMilli2, ZoneId zone) {
+	OffsetWindows windows = OffsetWindows.of(zone);
+	return BusinessCalendar.DEFAULT.workingDaysBetween(
+		windows.toEpochDay(epochMilli1),
+		windows.toEpochDay(epochMilli2));
+    }
+
     public static enum DayType {
 	STANDARD_TIME, DAYLIGHT_SAVING_TIME, TO_DAYLIGHT_SAVING_TIME, TO_STANDARD_TIME
     };
@@ -77,34 +217,118 @@ public class DateUtils {
      * time, the date when to switch to daylight saving time (in Europe the last
      * Sunday in March), daylight saving time or the date when to switch back to
      * standard time (in Europe the last Sunday in October).
+     * <p>
+     * The default time zone is read on every call with ZoneId.systemDefault(),
+     * which copies the default TimeZone (56 bytes per call). The lookup itself
+     * allocates nothing, so allocation sensitive callers should keep the
+     * ZoneId and use {@link #getDSTType(LocalDate, ZoneId)}.
      * 
      * @return DayType
      * @param cal
      *            Date to check, cannot be null
      */
     public static DayType getDSTType(LocalDate cal) {
-	DayType status = DayType.DAYLIGHT_SAVING_TIME;
-	LocalDateTime testDate = cal.atStartOfDay();
-	ZonedDateTime zdt = ZonedDateTime.of(testDate, ZoneId.systemDefault());
-	// Find type of day
-	if (zdt.getZone().getRules()
-		.isDaylightSavings(testDate.toInstant(zdt.getOffset())))
-	    status = DayType.DAYLIGHT_SAVING_TIME;
-	else
-	    status = DayType.STANDARD_TIME;
-	// Check the day after
-	testDate = testDate.plusDays(1);
-	zdt = ZonedDateTime.of(testDate, ZoneId.systemDefault());
-	// Find type of day after
-	if (zdt.getZone().getRules()
-		.isDaylightSavings(testDate.toInstant(zdt.getOffset()))) {
-	    if (status != DayType.DAYLIGHT_SAVING_TIME)
-		status = DayType.TO_DAYLIGHT_SAVING_TIME;
-	} else {
-	    if (status == DayType.DAYLIGHT_SAVING_TIME)
-		status = DayType.TO_STANDARD_TIME;
+	long start = GET_DST_TYPE.start();
+	try {
+	    return DstTransitionIndex.of(ZoneId.systemDefault())
+		    .getDSTType(cal);
+	} finally {
+	    GET_DST_TYPE.stop(start, cal);
+	}
+    }
+
+    /**
+     * Checks the type of the given date in the given time zone. See
+     * {@link #getDSTType(LocalDate)} for the possible values. Nothing is
+     * allocated for the lookup.
+     * 
+     * @return DayType
+     * @param cal
+     *            Date to check, cannot be null
+     * @param zone
+     *            Time zone, cannot be null
+     */
+    public static DayType getDSTType(LocalDate cal, ZoneId zone) {
+	return DstTransitionIndex.of(zone).getDSTType(cal);
+    }
+
+    /**
+     * Checks the type of the given date with the given time zone rules. The
+     * rules are not indexed, for repeated calls use a {@link ZoneContext}.
+     * 
+     * @return DayType
+     * @param cal
+     *            Date to check, cannot be null
+     * @param rules
+     *            Time zone rules, cannot be null
+     */
+    public static DayType getDSTType(LocalDate cal, ZoneRules rules) {
+	return DstTransitionIndex.calculateDSTType(rules, cal.toEpochDay());
+    }
+
+    /**
+     * Checks the type of the local date of the given date time in its own time
+     * zone.
+     * 
+     * @return DayType
+     * @param cal
+     *            Date to check, cannot be null
+     */
+    public static DayType getDSTType(ZonedDateTime cal) {
+	return DstTransitionIndex.of(cal.getZone()).getDSTType(cal.toLocalDate());
+    }
+
+    /**
+     * Checks the type of the local date of the given instant in the given time
+     * zone.
+     * 
+     * @return DayType
+     * @param instant
+     *            Instant to check, cannot be null
+     * @param zone
+     *            Time zone, cannot be null
+     */
+    public static DayType getDSTType(Instant instant, ZoneId zone) {
+	return DstTransitionIndex.of(zone).getDSTType(
+		ZoneContext.toEpochDay(instant, zone.getRules()));
+    }
+
+    /**
+     * Checks the type of the local date of the given point in time in the
+     * given time zone. See {@link #getDSTType(LocalDate)} for the possible
+     * values.
+     * 
+     * @return DayType
+     * @param epochMilli
+     *            Point in time as milliseconds since 1970-01-01T00:00Z
+     * @param zone
+     *            Time zone, cannot be null
+     */
+    public static DayType getDSTType(long epochMilli, ZoneId zone) {
+	return DstTransitionIndex.of(zone).getDSTType(
+		OffsetWindows.of(zone).toEpochDay(epochMilli));
+    }
+
+    /**
+     * Primes the caches of the given time zones before the first calls, so
+     * that these calls do not pay for loading the time zone rules and
+     * calculating the switch days. The switch days are taken from the
+     * installed {@link DstSnapshot} where possible.
+     * 
+     * @param fromYear
+     *            First year to prepare
+     * @param toYear
+     *            Last year (inclusive) to prepare
+     * @param zones
+     *            Time zones, the default time zone if none is given
+     */
+    public static void warmUp(int fromYear, int toYear, ZoneId... zones) {
+	if (zones.length == 0)
+	    zones = new ZoneId[] { ZoneId.systemDefault() };
+	for (ZoneId zone : zones) {
+	    DstTransitionIndex.of(zone).warmUp(fromYear, toYear);
+	    OffsetWindows.of(zone);
 	}
-	return status;
     }
 
     /**
@@ -124,30 +348,31 @@ public class DateUtils {
      * @return int (0 .. 3)
      * @param cal
      *            Given date, cannot be null
+     * @see FiscalCalendar#QUARTERS
      */
     public static int getQuarter(LocalDate cal) {
-	int month = cal.get(ChronoField.MONTH_OF_YEAR);
-	switch (Month.of(month)) {
-	case JANUARY:
-	case FEBRUARY:
-	case MARCH:
-	default:
-	    return 0;
-	case APRIL:
-	case MAY:
-	case JUNE:
-	    return 1;
-	case JULY:
-	case AUGUST:
-	case SEPTEMBER:
-	    return 2;
-	case OCTOBER:
-	case NOVEMBER:
-	case DECEMBER:
-	    return 3;
+	long start = GET_QUARTER.start();
+	try {
+	    return FiscalCalendar.QUARTERS.getPeriod(cal);
+	} finally {
+	    GET_QUARTER.stop(start, cal);
 	}
     }
 
+    /**
+     * Returns the quarter of the local date of the given point in time like
+     * {@link #getQuarter(LocalDate)}.
+     * 
+     * @return int (0 .. 3)
+     * @param epochMilli
+     *            Point in time as milliseconds since 1970-01-01T00:00Z
+     * @param zone
+     *            Time zone of the local date, cannot be null
+     */
+    public static int getQuarter(long epochMilli, ZoneId zone) {
+	return EpochDays.quarter(OffsetWindows.of(zone).toEpochDay(epochMilli));
+    }
+
     /**
      * Calculates the number of quarters between two given dates
      * 
@@ -158,19 +383,32 @@ public class DateUtils {
      *            Second given date cannot be null
      */
     public static int getQuartersBetweenDates(LocalDate date1, LocalDate date2) {
-	LocalDate beginn = null;
-	LocalDate end = null;
-	if (date1.isBefore(date2)) {
-	    beginn = date1;
-	    end = date2;
-	} else {
-	    beginn = date2;
-	    end = date1;
+	long start = GET_QUARTERS_BETWEEN_DATES.start();
+	try {
+	    return FiscalCalendar.QUARTERS.getPeriodsBetween(date1, date2);
+	} finally {
+	    GET_QUARTERS_BETWEEN_DATES.stop(start, date1);
 	}
-	int quarters = getQuarter(end) - getQuarter(beginn);
-	int years = end.get(ChronoField.YEAR) - beginn.get(ChronoField.YEAR);
-	quarters += years * 4;
-	return Math.abs(quarters);
+    }
+
+    /**
+     * Calculates the number of quarters between the local dates of the given
+     * points in time like
+     * {@link #getQuartersBetweenDates(LocalDate, LocalDate)}.
+     * 
+     * @return Number of quarters
+     * @param epochMilli1
+     *            First point in time as milliseconds since 1970-01-01T00:00Z
+     * @param epochMilli2
+     *            Second point in time as milliseconds since 1970-01-01T00:00Z
+     * @param zone
+     *            Time zone of the local dates, cannot be null
+     */
+    public static int getQuartersBetweenDates(long epochMilli1,
+	    long epochMilli2, ZoneId zone) {
+	OffsetWindows windows = OffsetWindows.of(zone);
+	return EpochDays.quartersBetween(windows.toEpochDay(epochMilli1),
+		windows.toEpochDay(epochMilli2));
     }
 
     /**
@@ -178,46 +416,91 @@ public class DateUtils {
      * given date.
      */
     public static LocalDate endOfMonth(LocalDate date) {
-	return date.withDayOfMonth(date.lengthOfMonth());
+	long start = END_OF_MONTH.start();
+	try {
+	    return date.withDayOfMonth(date.lengthOfMonth());
+	} finally {
+	    END_OF_MONTH.stop(start, date);
+	}
+    }
+
+    /**
+     * Calculates the last day of the month of the local date of the given
+     * point in time like {@link #endOfMonth(LocalDate)}.
+     * 
+     * @param epochMilli
+     *            Point in time as milliseconds since 1970-01-01T00:00Z
+     * @param zone
+     *            Time zone of the local date, cannot be null
+     * @return Start of the day in the time zone as milliseconds since
+     *         1970-01-01T00:00Z
+     */
+    public static long endOfMonth(long epochMilli, ZoneId zone) {
+	OffsetWindows windows = OffsetWindows.of(zone);
+	long epochDay = windows.toEpochDay(epochMilli);
+	return windows.startOfDay(EpochDays.endOfMonth(epochDay));
     }
 
     /**
      * Creates a new date object with the first date in the same season as the
      * given date. A season is defined as a period from April to September and
      * from October to March.
+     * 
+     * @see FiscalCalendar#SEASONS
      */
     public static LocalDate beginOfSeason(LocalDate date) {
-	int nMonth = date.get(ChronoField.MONTH_OF_YEAR);
-	switch (Month.of(nMonth)) {
-	case JANUARY:
-	case FEBRUARY:
-	case MARCH:
-	    // Jan-Mar --> move to the previous year 1. October
-	    return date.minusMonths(
-		    nMonth + Month.DECEMBER.getValue()
-			    - Month.OCTOBER.getValue()).withDayOfMonth(1);
-	case APRIL:
-	case MAY:
-	case JUNE:
-	case JULY:
-	case AUGUST:
-	case SEPTEMBER:
-	    // Apr-Sep --> move to 1. April
-	    return date.minusMonths(nMonth - Month.APRIL.getValue())
-		    .withDayOfMonth(1);
-	default:
-	    // Oct-Dec --> move to 1. October
-	    return date.minusMonths(nMonth - Month.OCTOBER.getValue())
-		    .withDayOfMonth(1);
+	long start = BEGIN_OF_SEASON.start();
+	try {
+	    return FiscalCalendar.SEASONS.beginOfPeriod(date);
+	} finally {
+	    BEGIN_OF_SEASON.stop(start, date);
 	}
     }
 
+    /**
+     * Calculates the first day of the season of the local date of the given
+     * point in time like {@link #beginOfSeason(LocalDate)}.
+     * 
+     * @param epochMilli
+     *            Point in time as milliseconds since 1970-01-01T00:00Z
+     * @param zone
+     *            Time zone of the local date, cannot be null
+     * @return Start of the day in the time zone as milliseconds since
+     *         1970-01-01T00:00Z
+     */
+    public static long beginOfSeason(long epochMilli, ZoneId zone) {
+	OffsetWindows windows = OffsetWindows.of(zone);
+	long epochDay = windows.toEpochDay(epochMilli);
+	return windows.startOfDay(EpochDays.beginOfSeason(epochDay));
+    }
+
     /**
      * Creates a new date object with the last day of the season of the given
      * date. The time is set to 0 o'clock.
      */
     public static LocalDate endOfSeason(LocalDate date) {
-	LocalDate result = beginOfSeason(date);
-	return endOfMonth(result.plusMonths(5));
+	long start = END_OF_SEASON.start();
+	try {
+	    return FiscalCalendar.SEASONS.endOfPeriod(date);
+	} finally {
+	    END_OF_SEASON.stop(start, date);
+	}
+    }
+
+    /**
+     * Calculates the last day of the season of the local date of the given
+     * point in time like {@link #endOfSeason(LocalDate)}.
+     * 
+     * @param epochMilli
+     *            Point in time as milliseconds since 1970-01-01T00:00Z
+     * @param zone
+     *            Time zone of the local date, cannot be null
+     * @return Start of the day in the time zone as milliseconds since
+     *         1970-01-01T00:00Z
+     */
+    public static long endOfSeason(long epochMilli, ZoneId zone) {
+	OffsetWindows windows = OffsetWindows.of(zone);
+	long epochDay = windows.toEpochDay(epochMilli);
+	return windows.startOfDay(EpochDays.endOfSeason(epochDay));
     }
 }
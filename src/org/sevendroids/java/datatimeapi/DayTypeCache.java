@@ -0,0 +1,285 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.sevendroids.java.datatimeapi.DateUtils.DayType;
+
+/**
+ * Bounded cache for the DayType of (time zone, epoch day) pairs. Unlike the
+ * {@link DstTransitionIndex}, which holds every year used for every time
+ * zone, the cache only holds a fixed number of days, the days used most
+ * recently.
+ * <p>
+ * Every entry is a single long holding the key, the DayType ordinal and a
+ * reference bit, stored in an open addressed table of sets with four entries.
+ * Lookups and updates use no locks. When a set is full, the entries are
+ * evicted with the clock algorithm: an entry used since the last pass keeps
+ * its place once. Hits, misses and evictions are counted with striped
+ * counters.
+ * <p>
+ * Time zones with a fixed offset are not cached, their type is calculated on
+ * every call. So only the region ids of the time zone rules are kept, at
+ * most {@value #MAX_ZONES} of them.
+ * 
+ * @see DateUtils#getDSTType(LocalDate, ZoneId)
+ * 
+ * @author created: 7droids.org on 18.10.2026 02:31:48
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class DayTypeCache {
+
+    /**
+     * Entries per set.
+     */
+    private static final int WAYS = 4;
+
+    /**
+     * Maximum number of time zones, the zone index has 16 bits.
+     */
+    private static final int MAX_ZONES = 1 << 16;
+
+    /**
+     * First epoch day, the day has 44 bits.
+     */
+    private static final long MIN_DAY = LocalDate.MIN.toEpochDay();
+
+    /**
+     * Last epoch day.
+     */
+    private static final long MAX_DAY = LocalDate.MAX.toEpochDay();
+
+    // Bit layout of an entry, an empty entry is 0
+    private static final long VALID = 1;
+    private static final int TYPE_SHIFT = 1; // 2 bits
+    private static final long REFERENCED = 1 << 3;
+    private static final int ZONE_SHIFT = 4; // 16 bits
+    private static final int DAY_SHIFT = 20; // 44 bits, signed
+
+    /**
+     * Bits of the key: valid, zone and day.
+     */
+    private static final long KEY_MASK = ~(3L << TYPE_SHIFT | REFERENCED);
+
+    private static final DayType[] DAY_TYPES = DayType.values();
+
+    private final AtomicLongArray entries;
+
+    private final int setMask;
+
+    private final ConcurrentMap<ZoneId, Zone> zones = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * A time zone with its index in the keys.
+     */
+    private static final class Zone {
+
+	final int index;
+
+	final ZoneRules rules;
+
+	Zone(int index, ZoneRules rules) {
+	    super();
+	    this.index = index;
+	    this.rules = rules;
+	}
+    }
+
+    /**
+     * Creates a cache for the given number of entries. The number is rounded
+     * up to a power of two.
+     * 
+     * @param capacity
+     *            Maximum number of entries
+     */
+    public DayTypeCache(int capacity) {
+	super();
+	if (capacity <= 0 || capacity > 1 << 30)
+	    throw new IllegalArgumentException("Invalid capacity: "
+		    + capacity);
+	int size = Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+	this.entries = new AtomicLongArray(size);
+	this.setMask = size / WAYS - 1;
+    }
+
+    /**
+     * Returns the type of the given date in the given time zone. See
+     * {@link DateUtils#getDSTType(LocalDate)} for the possible values.
+     * 
+     * @param date
+     *            Date to check, cannot be null
+     * @param zone
+     *            Time zone, cannot be null
+     * @return DayType
+     */
+    public DayType getDSTType(LocalDate date, ZoneId zone) {
+	return getDSTType(date.toEpochDay(), zone);
+    }
+
+    /**
+     * Returns the type of the given epoch day in the given time zone.
+     * 
+     * @throws IllegalArgumentException
+     *             if the day is not in the range of LocalDate
+     * @see #getDSTType(LocalDate, ZoneId)
+     */
+    public DayType getDSTType(long epochDay, ZoneId zone) {
+	if (epochDay < MIN_DAY || epochDay > MAX_DAY)
+	    throw new IllegalArgumentException("Invalid epoch day: "
+		    + epochDay);
+	Zone cached = zone(zone);
+	if (cached == null) {
+	    misses.increment();
+	    return DstTransitionIndex.calculateDSTType(zone.getRules(),
+		    epochDay);
+	}
+	long key = epochDay << DAY_SHIFT | (long) cached.index << ZONE_SHIFT
+		| VALID;
+	int base = (int) (hash(key) & setMask) * WAYS;
+	for (int i = base; i < base + WAYS; i++) {
+	    long entry = entries.get(i);
+	    if ((entry & KEY_MASK) == key) {
+		if ((entry & REFERENCED) == 0)
+		    entries.compareAndSet(i, entry, entry | REFERENCED);
+		hits.increment();
+		return DAY_TYPES[(int) (entry >>> TYPE_SHIFT) & 3];
+	    }
+	}
+	misses.increment();
+	DayType type = DstTransitionIndex.calculateDSTType(cached.rules,
+		epochDay);
+	insert(base, key | (long) type.ordinal() << TYPE_SHIFT);
+	return type;
+    }
+
+    /**
+     * Stores the entry in the set starting at base. An empty place is used
+     * first, otherwise the clock algorithm selects the entry to replace. A
+     * lost race with another thread only means that one entry is not cached.
+     */
+    private void insert(int base, long entry) {
+	for (int pass = 0; pass < 2; pass++) {
+	    for (int i = base; i < base + WAYS; i++) {
+		long old = entries.get(i);
+		if (old == 0) {
+		    if (entries.compareAndSet(i, 0, entry))
+			return;
+		} else if ((old & REFERENCED) == 0) {
+		    if (entries.compareAndSet(i, old, entry)) {
+			evictions.increment();
+			return;
+		    }
+		} else {
+		    // Second chance
+		    entries.compareAndSet(i, old, old & ~REFERENCED);
+		}
+	    }
+	}
+    }
+
+    /**
+     * Returns the cached time zone or null, if the time zone has a fixed
+     * offset or there are too many zones.
+     */
+    private Zone zone(ZoneId zone) {
+	Zone cached = zones.get(zone);
+	if (cached == null) {
+	    ZoneRules rules = zone.getRules();
+	    if (rules.isFixedOffset())
+		return null;
+	    synchronized (zones) {
+		cached = zones.get(zone);
+		if (cached == null) {
+		    if (zones.size() == MAX_ZONES)
+			return null;
+		    cached = new Zone(zones.size(), rules);
+		    zones.put(zone, cached);
+		}
+	    }
+	}
+	return cached;
+    }
+
+    private static long hash(long key) {
+	// Finalizer of MurmurHash3
+	long h = key;
+	h ^= h >>> 33;
+	h *= 0xff51afd7ed558ccdL;
+	h ^= h >>> 33;
+	h *= 0xc4ceb9fe1a85ec53L;
+	h ^= h >>> 33;
+	return h;
+    }
+
+    /**
+     * @return Maximum number of entries
+     */
+    public int getCapacity() {
+	return entries.length();
+    }
+
+    /**
+     * Counts the entries in the cache. The result is only exact, if no other
+     * thread changes the cache at the same time.
+     * 
+     * @return Number of entries
+     */
+    public int size() {
+	int size = 0;
+	for (int i = 0; i < entries.length(); i++)
+	    if (entries.get(i) != 0)
+		size++;
+	return size;
+    }
+
+    /**
+     * @return Number of lookups found in the cache
+     */
+    public long getHits() {
+	return hits.sum();
+    }
+
+    /**
+     * @return Number of lookups calculated
+     */
+    public long getMisses() {
+	return misses.sum();
+    }
+
+    /**
+     * @return Number of entries replaced by other entries
+     */
+    public long getEvictions() {
+	return evictions.sum();
+    }
+
+    /**
+     * Removes all entries and resets the counters.
+     */
+    public void clear() {
+	for (int i = 0; i < entries.length(); i++)
+	    entries.set(i, 0);
+	hits.reset();
+	misses.reset();
+	evictions.reset();
+    }
+
+    @Override
+    public String toString() {
+	return "DayTypeCache[capacity=" + getCapacity() + ", hits="
+		+ getHits() + ", misses=" + getMisses() + ", evictions="
+		+ getEvictions() + "]";
+    }
+}
@@ -0,0 +1,419 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.time.zone.ZoneRulesException;
+import java.time.zone.ZoneRulesProvider;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Precomputed switch days of {@link DstTransitionIndex} for a set of time
+ * zones and a range of years in a compact binary form. A snapshot is created
+ * once, e.g. at build time with {@link #main(String[])}, and loaded at startup
+ * with a single read, so the first calls of getDSTType() find their years
+ * already calculated.
+ * <p>
+ * The installed snapshot is used for every index created by
+ * {@link DstTransitionIndex#of(ZoneId)}. Without a call of
+ * {@link #install(DstSnapshot)} the snapshot is loaded lazily on the first use
+ * from the file of the system property {@value #PROPERTY} or from the
+ * resource {@value #RESOURCE} next to this class. A zone is taken from the
+ * snapshot only if the snapshot was created with the same tzdb version as the
+ * running one, otherwise its years are calculated as usual.
+ * <p>
+ * Format (big endian): the magic number, the tzdb version, the first and the
+ * last year, the number of zones and the zone ids with the offsets of their
+ * years. For every year of a zone one byte with the state at the start of the
+ * year (bit 7) and the number of switches, followed by the switch days as
+ * unsigned shorts counted from 1 January.
+ * 
+ * @see DstTransitionIndex
+ * @see DateUtils#warmUp(int, int, ZoneId...)
+ * 
+ * @author created: 7droids.org on 18.10.2026 10:52:41
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class DstSnapshot {
+
+    /**
+     * System property with the path of the snapshot file to load.
+     */
+    public static final String PROPERTY = "org.sevendroids.java.dst.snapshot";
+
+    /**
+     * Name of the snapshot resource loaded with this class.
+     */
+    public static final String RESOURCE = "dst.snapshot";
+
+    /**
+     * "DST" and the version of the format.
+     */
+    private static final int MAGIC = 0x44535401;
+
+    private static final int DST_AT_START = 0x80;
+
+    private static volatile DstSnapshot installed;
+
+    /**
+     * Holder of the snapshot loaded on first use.
+     */
+    private static final class Default {
+	static final DstSnapshot SNAPSHOT = loadDefault();
+    }
+
+    private final String version;
+
+    private final int fromYear;
+
+    private final int toYear;
+
+    /**
+     * Offsets of the years of a zone in data.
+     */
+    private final Map<String, Integer> offsets;
+
+    private final byte[] data;
+
+    private DstSnapshot(String version, int fromYear, int toYear,
+	    Map<String, Integer> offsets, byte[] data) {
+	super();
+	this.version = version;
+	this.fromYear = fromYear;
+	this.toYear = toYear;
+	this.offsets = offsets;
+	this.data = data;
+    }
+
+    /**
+     * Calculates the switch days of the given zones and years. Zones with a
+     * fixed offset are skipped, they never switch.
+     * 
+     * @param zones
+     *            Time zones, cannot be null
+     * @param fromYear
+     *            First year, not before {@link DstTransitionIndex#MIN_YEAR}
+     * @param toYear
+     *            Last year (inclusive), not after
+     *            {@link DstTransitionIndex#MAX_YEAR}
+     * @return DstSnapshot
+     */
+    public static DstSnapshot create(Collection<ZoneId> zones, int fromYear,
+	    int toYear) {
+	if (fromYear < DstTransitionIndex.MIN_YEAR
+		|| toYear > DstTransitionIndex.MAX_YEAR || fromYear > toYear)
+	    throw new IllegalArgumentException("Invalid years " + fromYear
+		    + " to " + toYear);
+	String version = null;
+	Map<String, Integer> offsets = new HashMap<>();
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	DataOutputStream out = new DataOutputStream(bytes);
+	try {
+	    for (ZoneId zone : zones) {
+		ZoneRules rules = zone.getRules();
+		if (rules.isFixedOffset() || offsets.containsKey(zone.getId()))
+		    continue;
+		String zoneVersion = tzdbVersion(zone);
+		if (version == null)
+		    version = zoneVersion;
+		else if (!version.equals(zoneVersion))
+		    throw new IllegalArgumentException("Zone " + zone
+			    + " has the tzdb version " + zoneVersion
+			    + " instead of " + version);
+		offsets.put(zone.getId(), out.size());
+		for (int year = fromYear; year <= toYear; year++)
+		    writeYear(out, year,
+			    DstTransitionIndex.calculateYear(rules, year));
+	    }
+	} catch (IOException e) {
+	    // Not thrown by a ByteArrayOutputStream
+	    throw new IllegalStateException(e);
+	}
+	return new DstSnapshot(version == null ? "" : version, fromYear,
+		toYear, offsets, bytes.toByteArray());
+    }
+
+    private static void writeYear(DataOutputStream out, int year,
+	    DstTransitionIndex.Year entry) throws IOException {
+	int count = entry.switchDays.length;
+	if (count >= DST_AT_START)
+	    throw new IllegalArgumentException(count + " switches in " + year);
+	out.writeByte(count | (entry.dstAtStart ? DST_AT_START : 0));
+	long first = EpochDays.of(year, 1, 1);
+	for (int switchDay : entry.switchDays)
+	    out.writeShort((int) (switchDay - first));
+    }
+
+    /**
+     * Returns the version of the tzdb rules of the given region zone.
+     */
+    static String tzdbVersion(ZoneId zone) {
+	try {
+	    return ZoneRulesProvider.getVersions(zone.getId()).lastKey();
+	} catch (ZoneRulesException e) {
+	    // Zones not known to a provider, e.g. ZoneId.of("GMT+01:00")
+	    return "";
+	}
+    }
+
+    /**
+     * Writes the snapshot in the binary format.
+     * 
+     * @param out
+     *            Stream, not closed by this method
+     * @throws IOException
+     *             If writing fails
+     */
+    public void write(OutputStream out) throws IOException {
+	DataOutputStream data = new DataOutputStream(out);
+	data.writeInt(MAGIC);
+	data.writeUTF(version);
+	data.writeShort(fromYear);
+	data.writeShort(toYear);
+	data.writeInt(offsets.size());
+	for (String zone : new TreeSet<>(offsets.keySet())) {
+	    data.writeUTF(zone);
+	    data.writeInt(offsets.get(zone));
+	}
+	data.writeInt(this.data.length);
+	data.write(this.data);
+	data.flush();
+    }
+
+    /**
+     * Reads a snapshot written by {@link #write(OutputStream)}. The stream is
+     * read completely at once; the years of a zone are decoded when an index
+     * of the zone is created.
+     * 
+     * @param in
+     *            Stream, not closed by this method
+     * @return DstSnapshot
+     * @throws IOException
+     *             If reading fails or the stream is not a valid snapshot
+     */
+    public static DstSnapshot read(InputStream in) throws IOException {
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+	byte[] buffer = new byte[1 << 16];
+	for (int n = in.read(buffer); n >= 0; n = in.read(buffer))
+	    bytes.write(buffer, 0, n);
+	DataInputStream data = new DataInputStream(new ByteArrayInputStream(
+		bytes.toByteArray()));
+	if (data.readInt() != MAGIC)
+	    throw new IOException("Not a DST snapshot");
+	String version = data.readUTF();
+	int fromYear = data.readShort();
+	int toYear = data.readShort();
+	if (fromYear < DstTransitionIndex.MIN_YEAR
+		|| toYear > DstTransitionIndex.MAX_YEAR || fromYear > toYear)
+	    throw new IOException("Invalid years " + fromYear + " to "
+		    + toYear);
+	int zones = data.readInt();
+	if (zones < 0)
+	    throw new IOException("Invalid number of zones " + zones);
+	Map<String, Integer> offsets = new HashMap<>();
+	for (int i = 0; i < zones; i++)
+	    offsets.put(data.readUTF(), data.readInt());
+	int length = data.readInt();
+	if (length < 0 || length > data.available())
+	    throw new IOException("Invalid length " + length);
+	byte[] years = new byte[length];
+	data.readFully(years);
+	// Every zone has at least one byte per year
+	int size = toYear - fromYear + 1;
+	for (Map.Entry<String, Integer> entry : offsets.entrySet())
+	    if (entry.getValue() < 0 || entry.getValue() > length - size)
+		throw new IOException("Invalid offset " + entry.getValue()
+			+ " of " + entry.getKey());
+	return new DstSnapshot(version, fromYear, toYear, offsets, years);
+    }
+
+    /**
+     * Installs the snapshot for all indexes created afterwards. Indexes
+     * already created keep their years.
+     * 
+     * @param snapshot
+     *            Snapshot or null to use none
+     */
+    public static void install(DstSnapshot snapshot) {
+	installed = snapshot == null ? new DstSnapshot("", 0, -1,
+		Collections.emptyMap(), new byte[0]) : snapshot;
+    }
+
+    /**
+     * Returns the installed snapshot, loading the default one on the first
+     * call.
+     * 
+     * @return DstSnapshot or null if none is installed or found
+     */
+    public static DstSnapshot installed() {
+	DstSnapshot snapshot = installed;
+	if (snapshot == null)
+	    snapshot = Default.SNAPSHOT;
+	return snapshot == null || snapshot.data.length == 0 ? null : snapshot;
+    }
+
+    /**
+     * Loads the snapshot of the system property or the resource. A missing or
+     * unreadable snapshot is ignored, the years are calculated then.
+     */
+    private static DstSnapshot loadDefault() {
+	String path = System.getProperty(PROPERTY);
+	try (InputStream in = path != null ? new FileInputStream(path)
+		: DstSnapshot.class.getResourceAsStream(RESOURCE)) {
+	    return in == null ? null : read(in);
+	} catch (IOException | SecurityException e) {
+	    return null;
+	}
+    }
+
+    /**
+     * Loads the years of the zone from the installed snapshot into the index.
+     * A snapshot failing for the zone is ignored, the years are calculated
+     * then.
+     */
+    static void preloadInstalled(ZoneId zone, DstTransitionIndex index) {
+	DstSnapshot snapshot = installed();
+	if (snapshot != null)
+	    try {
+		snapshot.preload(zone, index);
+	    } catch (RuntimeException e) {
+		// Calculated on first use like without snapshot
+	    }
+    }
+
+    /**
+     * Loads the years of the zone into the index. The years are decoded
+     * completely before the first one is set, so the index is not changed if
+     * the data of the zone is corrupt.
+     * 
+     * @return FALSE if the zone is not in the snapshot, the tzdb version
+     *         differs or the data is corrupt
+     */
+    boolean preload(ZoneId zone, DstTransitionIndex index) {
+	Integer offset = offsets.get(zone.getId());
+	if (offset == null || zone instanceof ZoneOffset
+		|| !version.equals(tzdbVersion(zone)))
+	    return false;
+	DstTransitionIndex.Year[] years = decode(offset);
+	if (years == null)
+	    return false;
+	for (int year = fromYear; year <= toYear; year++)
+	    index.preload(year, years[year - fromYear]);
+	return true;
+    }
+
+    /**
+     * Decodes the years starting at the given offset.
+     * 
+     * @return Years or null if the data is corrupt
+     */
+    private DstTransitionIndex.Year[] decode(int offset) {
+	DstTransitionIndex.Year[] years = new DstTransitionIndex.Year[toYear
+		- fromYear + 1];
+	ByteBuffer buf = ByteBuffer.wrap(data);
+	buf.position(offset);
+	for (int year = fromYear; year <= toYear; year++) {
+	    if (!buf.hasRemaining())
+		return null;
+	    int header = buf.get() & 0xff;
+	    int[] switchDays = new int[header & ~DST_AT_START];
+	    if (buf.remaining() < switchDays.length * 2)
+		return null;
+	    long first = EpochDays.of(year, 1, 1);
+	    int length = EpochDays.isLeapYear(year) ? 366 : 365;
+	    int previous = -1;
+	    for (int i = 0; i < switchDays.length; i++) {
+		int dayOfYear = buf.getShort() & 0xffff;
+		// Switch days are ascending within the year
+		if (dayOfYear <= previous || dayOfYear >= length)
+		    return null;
+		previous = dayOfYear;
+		switchDays[i] = (int) (first + dayOfYear);
+	    }
+	    years[year - fromYear] = new DstTransitionIndex.Year(
+		    (header & DST_AT_START) != 0, switchDays);
+	}
+	return years;
+    }
+
+    /**
+     * @return Version of the tzdb rules the snapshot was created with
+     */
+    public String getVersion() {
+	return version;
+    }
+
+    /**
+     * @return First year of the snapshot
+     */
+    public int getFromYear() {
+	return fromYear;
+    }
+
+    /**
+     * @return Last year (inclusive) of the snapshot
+     */
+    public int getToYear() {
+	return toYear;
+    }
+
+    /**
+     * @return Ids of the zones in the snapshot
+     */
+    public Set<String> getZoneIds() {
+	return Collections.unmodifiableSet(offsets.keySet());
+    }
+
+    @Override
+    public String toString() {
+	return "DstSnapshot[" + version + ", " + fromYear + "-" + toYear + ", "
+		+ offsets.size() + " zones]";
+    }
+
+    /**
+     * Writes a snapshot file, e.g. as a build step.
+     * 
+     * @param args
+     *            File, first year, last year and optionally the zone ids;
+     *            all available zones without ids
+     * @throws IOException
+     *             If writing fails
+     */
+    public static void main(String[] args) throws IOException {
+	if (args.length < 3) {
+	    System.err.println("Usage: DstSnapshot <file> <fromYear> <toYear>"
+		    + " [zoneId...]");
+	    System.exit(1);
+	}
+	List<ZoneId> zones = new ArrayList<>();
+	Collection<String> ids = args.length > 3 ? Arrays.asList(args).subList(
+		3, args.length) : new TreeSet<>(ZoneId.getAvailableZoneIds());
+	for (String id : ids)
+	    zones.add(ZoneId.of(id));
+	DstSnapshot snapshot = create(zones, Integer.parseInt(args[1]),
+		Integer.parseInt(args[2]));
+	try (OutputStream out = new FileOutputStream(args[0])) {
+	    snapshot.write(out);
+	}
+	System.out.println(snapshot);
+    }
+}
@@ -0,0 +1,269 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.sevendroids.java.datatimeapi.DateUtils.DayType;
+
+/**
+ * Index of the days on which a time zone switches between standard time and
+ * daylight saving time. For every year the epoch days of the switches (in
+ * Europe the last Sunday in March and the last Sunday in October) are
+ * calculated once, so the type of a day is found by comparing the epoch day
+ * with these values. Nothing is allocated for a lookup.
+ * <p>
+ * The years are calculated lazily on first use or loaded from a
+ * {@link DstSnapshot} when the index is created. Years outside of
+ * {@link #MIN_YEAR} and {@link #MAX_YEAR} are not cached but calculated on
+ * every call. The index is safe to use by concurrent threads.
+ * <p>
+ * The indexes are shared per region id, at most {@value #MAX_ZONES} of them.
+ * Time zones with a fixed offset have no daylight saving time and share one
+ * index, which is not kept per id.
+ * 
+ * @see DateUtils#getDSTType(LocalDate)
+ * @see DstSnapshot
+ * 
+ * @author created: 7droids.org on 17.10.2026 20:48:15
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class DstTransitionIndex {
+
+    /**
+     * First year held in the index.
+     */
+    public static final int MIN_YEAR = 1900;
+
+    /**
+     * Last year held in the index.
+     */
+    public static final int MAX_YEAR = 2199;
+
+    /**
+     * Maximum number of shared indexes, far more than the regions of the
+     * time zone database.
+     */
+    private static final int MAX_ZONES = 4096;
+
+    private static final ConcurrentMap<ZoneId, DstTransitionIndex> INDEXES = new ConcurrentHashMap<>();
+
+    /**
+     * Index of all time zones with a fixed offset.
+     */
+    private static final DstTransitionIndex FIXED_OFFSET = new DstTransitionIndex(
+	    ZoneOffset.UTC.getRules());
+
+    private final ZoneRules rules;
+
+    private final AtomicReferenceArray<Year> years;
+
+    private DstTransitionIndex(ZoneRules rules) {
+	super();
+	this.rules = rules;
+	this.years = new AtomicReferenceArray<>(MAX_YEAR - MIN_YEAR + 1);
+    }
+
+    /**
+     * Returns the index for the given time zone. The index is created once per
+     * zone and shared afterwards. If {@value #MAX_ZONES} indexes are shared
+     * already, a new index is returned for other zones.
+     * 
+     * @param zone
+     *            Time zone, cannot be null
+     * @return DstTransitionIndex
+     */
+    public static DstTransitionIndex of(ZoneId zone) {
+	DstTransitionIndex index = INDEXES.get(zone);
+	if (index == null) {
+	    if (zone.getRules().isFixedOffset())
+		return FIXED_OFFSET;
+	    if (INDEXES.size() >= MAX_ZONES)
+		return create(zone);
+	    index = INDEXES.computeIfAbsent(zone, DstTransitionIndex::create);
+	}
+	return index;
+    }
+
+    /**
+     * Creates a new index for the given time zone with the years of the
+     * installed snapshot.
+     */
+    static DstTransitionIndex create(ZoneId zone) {
+	DstTransitionIndex index = new DstTransitionIndex(zone.getRules());
+	DstSnapshot.preloadInstalled(zone, index);
+	return index;
+    }
+
+    /**
+     * Creates a new index for the given rules. The index is not shared, so the
+     * caller should keep it as long as the rules are used.
+     */
+    static DstTransitionIndex of(ZoneRules rules) {
+	return new DstTransitionIndex(rules);
+    }
+
+    /**
+     * Calculates the given years in advance, so that the first lookups of
+     * these years need no calculation. Years already calculated or outside of
+     * {@link #MIN_YEAR} and {@link #MAX_YEAR} are skipped.
+     * 
+     * @param fromYear
+     *            First year
+     * @param toYear
+     *            Last year (inclusive)
+     */
+    public void warmUp(int fromYear, int toYear) {
+	for (int year = Math.max(fromYear, MIN_YEAR); year <= Math.min(toYear,
+		MAX_YEAR); year++)
+	    if (years.get(year - MIN_YEAR) == null)
+		years.set(year - MIN_YEAR, calculateYear(rules, year));
+    }
+
+    /**
+     * Sets a year loaded from a snapshot, unless it is already calculated.
+     */
+    void preload(int year, Year entry) {
+	years.compareAndSet(year - MIN_YEAR, null, entry);
+    }
+
+    /**
+     * Checks if the given year is calculated or loaded.
+     */
+    boolean isLoaded(int year) {
+	return years.get(year - MIN_YEAR) != null;
+    }
+
+    /**
+     * Returns the type of the given date in the time zone of this index. See
+     * {@link DateUtils#getDSTType(LocalDate)} for the possible values.
+     * 
+     * @param date
+     *            Date to check, cannot be null
+     * @return DayType
+     */
+    public DayType getDSTType(LocalDate date) {
+	return getDSTType(date.getYear(), date.toEpochDay());
+    }
+
+    /**
+     * Returns the type of the given epoch day in the time zone of this index.
+     * 
+     * @param epochDay
+     *            Day to check as days since 1970-01-01
+     * @return DayType
+     */
+    public DayType getDSTType(long epochDay) {
+	return getDSTType(EpochDays.year(epochDay), epochDay);
+    }
+
+    /**
+     * Returns the type of the given epoch day. The year must be the year of
+     * the epoch day.
+     */
+    DayType getDSTType(int year, long epochDay) {
+	if (year < MIN_YEAR || year > MAX_YEAR)
+	    return calculateDSTType(rules, epochDay);
+	Year entry = years.get(year - MIN_YEAR);
+	if (entry == null) {
+	    entry = calculateYear(rules, year);
+	    years.set(year - MIN_YEAR, entry);
+	}
+	boolean dst = entry.dstAtStart;
+	for (int switchDay : entry.switchDays) {
+	    if (epochDay == switchDay)
+		return dst ? DayType.TO_STANDARD_TIME
+			: DayType.TO_DAYLIGHT_SAVING_TIME;
+	    if (epochDay < switchDay)
+		break;
+	    dst = !dst;
+	}
+	return dst ? DayType.DAYLIGHT_SAVING_TIME : DayType.STANDARD_TIME;
+    }
+
+    /**
+     * Calculates the type of the given epoch day without using the index.
+     */
+    static DayType calculateDSTType(ZoneRules rules, long epochDay) {
+	boolean dst = isDaylightSavings(rules, epochDay);
+	// Check the day after
+	if (isDaylightSavings(rules, epochDay + 1)) {
+	    if (!dst)
+		return DayType.TO_DAYLIGHT_SAVING_TIME;
+	} else {
+	    if (dst)
+		return DayType.TO_STANDARD_TIME;
+	}
+	return dst ? DayType.DAYLIGHT_SAVING_TIME : DayType.STANDARD_TIME;
+    }
+
+    /**
+     * Checks if daylight saving time is active at the start of the given epoch
+     * day. If the start of the day is in a gap, the offset after the gap is
+     * used like in ZonedDateTime.of().
+     */
+    static boolean isDaylightSavings(ZoneRules rules, long epochDay) {
+	return rules.isDaylightSavings(Instant.ofEpochSecond(startOfDay(rules,
+		epochDay)));
+    }
+
+    /**
+     * Returns the epoch second of the start of the given epoch day. If the
+     * start of the day is in a gap, the offset after the gap is used, in an
+     * overlap the earlier offset.
+     */
+    static long startOfDay(ZoneRules rules, long epochDay) {
+	LocalDateTime startOfDay = LocalDate.ofEpochDay(epochDay)
+		.atStartOfDay();
+	List<ZoneOffset> offsets = rules.getValidOffsets(startOfDay);
+	ZoneOffset offset;
+	if (offsets.isEmpty())
+	    offset = rules.getTransition(startOfDay).getOffsetAfter();
+	else
+	    offset = offsets.get(0);
+	return startOfDay.toEpochSecond(offset);
+    }
+
+    static Year calculateYear(ZoneRules rules, int year) {
+	long first = EpochDays.of(year, 1, 1);
+	long end = EpochDays.of(year + 1, 1, 1);
+	boolean dstAtStart = isDaylightSavings(rules, first);
+	int[] switchDays = new int[4];
+	int count = 0;
+	DstTransitions.Cursor cursor = new DstTransitions.Cursor(null, rules,
+		first, end);
+	while (cursor.next()) {
+	    if (count == switchDays.length)
+		switchDays = Arrays.copyOf(switchDays, count * 2);
+	    switchDays[count++] = (int) cursor.getEpochDay();
+	}
+	return new Year(dstAtStart, Arrays.copyOf(switchDays, count));
+    }
+
+    /**
+     * Switch days of one year. The state at the start of the year toggles on
+     * the day after every switch day.
+     */
+    static final class Year {
+	final boolean dstAtStart;
+
+	/**
+	 * Epoch days of the switches.
+	 */
+	final int[] switchDays;
+
+	Year(boolean dstAtStart, int[] switchDays) {
+	    this.dstAtStart = dstAtStart;
+	    this.switchDays = switchDays;
+	}
+    }
+}
@@ -0,0 +1,427 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.sevendroids.java.datatimeapi.DateUtils.DayType;
+
+/**
+ * Enumerates the days on which a time zone switches between standard time and
+ * daylight saving time. The switches are found with
+ * ZoneRules.nextTransition(). Transitions which do not change between
+ * standard time and daylight saving time are skipped.
+ * <p>
+ * A switch without a change of the offset (only the standard offset
+ * changes) is no transition, so up to the last historical transition of the
+ * rules the daylight saving time flag is also checked day by day between two
+ * transitions. The cost in this range depends on the number of days. After
+ * the last historical transition the flag is only compared at both ends of
+ * the interval between two transitions, so the cost depends on the number
+ * of transitions only.
+ * <p>
+ * Every switch is reported with the epoch second of the transition, the epoch
+ * day of the switch and its DayType, which is
+ * {@link DayType#TO_DAYLIGHT_SAVING_TIME} or {@link DayType#TO_STANDARD_TIME}.
+ * The days are exactly the days for which
+ * {@link DateUtils#getDSTType(LocalDate, ZoneId)} returns one of these
+ * types. The switches are enumerated lazily with a {@link Cursor}
+ * returning primitive values, an Iterator or a Stream.
+ * 
+ * @see DstTransitionIndex
+ * 
+ * @author created: 7droids.org on 18.10.2026 04:20:37
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class DstTransitions {
+
+    private static final long SECONDS_PER_DAY = 86400;
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    /**
+     * Private constructor.
+     */
+    private DstTransitions() {
+	super();
+    }
+
+    /**
+     * A switch of one time zone.
+     */
+    public static final class Transition {
+
+	private final ZoneId zone;
+
+	private final long epochSecond;
+
+	private final long epochDay;
+
+	private final DayType dayType;
+
+	private final int offsetBefore;
+
+	private final int offsetAfter;
+
+	Transition(ZoneId zone, long epochSecond, long epochDay,
+		DayType dayType, int offsetBefore, int offsetAfter) {
+	    super();
+	    this.zone = zone;
+	    this.epochSecond = epochSecond;
+	    this.epochDay = epochDay;
+	    this.dayType = dayType;
+	    this.offsetBefore = offsetBefore;
+	    this.offsetAfter = offsetAfter;
+	}
+
+	/**
+	 * @return The time zone
+	 */
+	public ZoneId getZone() {
+	    return zone;
+	}
+
+	/**
+	 * @return Point in time of the transition as seconds since
+	 *         1970-01-01T00:00Z
+	 */
+	public long getEpochSecond() {
+	    return epochSecond;
+	}
+
+	/**
+	 * @return Local day of the switch as days since 1970-01-01
+	 */
+	public long getEpochDay() {
+	    return epochDay;
+	}
+
+	/**
+	 * @return TO_DAYLIGHT_SAVING_TIME or TO_STANDARD_TIME
+	 */
+	public DayType getDayType() {
+	    return dayType;
+	}
+
+	/**
+	 * @return Offset before the transition in seconds
+	 */
+	public int getOffsetBefore() {
+	    return offsetBefore;
+	}
+
+	/**
+	 * @return Offset after the transition in seconds
+	 */
+	public int getOffsetAfter() {
+	    return offsetAfter;
+	}
+
+	@Override
+	public String toString() {
+	    return "Transition[" + zone + ", "
+		    + Instant.ofEpochSecond(epochSecond) + ", "
+		    + LocalDate.ofEpochDay(epochDay) + ", " + dayType + "]";
+	}
+    }
+
+    /**
+     * Lazy enumeration of the switches of one time zone in a range of days.
+     * The values of the current switch are returned as primitives, so nothing
+     * is allocated besides the transitions of the ZoneRules. A cursor is not
+     * safe to use by concurrent threads.
+     */
+    public static final class Cursor {
+
+	private final ZoneId zone;
+
+	private final ZoneRules rules;
+
+	private final long fromDay;
+
+	private final long toDay;
+
+	/**
+	 * Epoch second after the last switch in the range.
+	 */
+	private final long end;
+
+	/**
+	 * Epoch second of the last transition not calculated from the rules of
+	 * the last year.
+	 */
+	private final long horizon;
+
+	private Instant position;
+
+	private long epochSecond;
+
+	private long epochDay = Long.MIN_VALUE;
+
+	private DayType dayType;
+
+	private int offsetBefore;
+
+	private int offsetAfter;
+
+	Cursor(ZoneId zone, ZoneRules rules, long fromDay, long toDay) {
+	    super();
+	    this.zone = zone;
+	    this.rules = rules;
+	    this.fromDay = fromDay;
+	    this.toDay = toDay;
+	    // A switch day may start up to a day before its transition
+	    this.position = Instant.ofEpochSecond((fromDay - 2)
+		    * SECONDS_PER_DAY);
+	    this.end = (toDay + 2) * SECONDS_PER_DAY;
+	    List<ZoneOffsetTransition> transitions = rules.getTransitions();
+	    this.horizon = transitions.isEmpty() ? Long.MIN_VALUE : transitions
+		    .get(transitions.size() - 1).toEpochSecond();
+	}
+
+	/**
+	 * Moves to the next switch.
+	 * 
+	 * @return FALSE if there is no further switch in the range
+	 */
+	public boolean next() {
+	    while (true) {
+		ZoneOffsetTransition transition = rules
+			.nextTransition(position);
+		if (transition != null && transition.toEpochSecond() > end)
+		    transition = null;
+		long limit = transition != null ? transition.toEpochSecond()
+			: end;
+		long second = standardChange(position.getEpochSecond(), limit);
+		int before;
+		int after;
+		if (second != NONE) {
+		    // A change of the standard offset only, e.g. from daylight
+		    // saving time to standard time with the same offset
+		    position = Instant.ofEpochSecond(second);
+		    before = rules.getOffset(position).getTotalSeconds();
+		    after = before;
+		} else if (transition == null) {
+		    return false;
+		} else {
+		    position = transition.getInstant();
+		    second = limit;
+		    before = transition.getOffsetBefore().getTotalSeconds();
+		    after = transition.getOffsetAfter().getTotalSeconds();
+		}
+		long day = switchDay(second,
+			Math.floorDiv(second + before, SECONDS_PER_DAY));
+		if (day >= toDay)
+		    return false;
+		if (day < fromDay || day == epochDay)
+		    continue;
+		boolean dst = DstTransitionIndex.isDaylightSavings(rules, day);
+		if (dst == DstTransitionIndex.isDaylightSavings(rules, day + 1))
+		    continue;
+		this.epochSecond = second;
+		this.epochDay = day;
+		this.dayType = dst ? DayType.TO_STANDARD_TIME
+			: DayType.TO_DAYLIGHT_SAVING_TIME;
+		this.offsetBefore = before;
+		this.offsetAfter = after;
+		return true;
+	    }
+	}
+
+	/**
+	 * Searches the first second in (from, limit) at which the daylight
+	 * saving time flag changes without a change of the offset. ZoneRules
+	 * has no public list of the changes of the standard offset, so the flag
+	 * is compared day by day in the historical part of the rules and at
+	 * both ends in the part calculated from the rules of the last year. The
+	 * change is found by bisection.
+	 * 
+	 * @return The second or NONE
+	 */
+	private long standardChange(long from, long limit) {
+	    long step = from < horizon ? SECONDS_PER_DAY : limit - from;
+	    boolean dst = isDaylightSavings(from);
+	    for (long low = from; low < limit - 1; low += step) {
+		long high = Math.min(low + step, limit - 1);
+		if (isDaylightSavings(high) != dst) {
+		    while (high - low > 1) {
+			long middle = low + (high - low) / 2;
+			if (isDaylightSavings(middle) == dst)
+			    low = middle;
+			else
+			    high = middle;
+		    }
+		    return high;
+		}
+	    }
+	    return NONE;
+	}
+
+	private boolean isDaylightSavings(long second) {
+	    return rules.isDaylightSavings(Instant.ofEpochSecond(second));
+	}
+
+	/**
+	 * Returns the day whose start is before the transition and the start
+	 * of the following day is not. The local day of the transition is only
+	 * a guess, gaps and overlaps at midnight move the switch a day.
+	 */
+	private long switchDay(long second, long localDay) {
+	    if (DstTransitionIndex.startOfDay(rules, localDay + 1) < second)
+		return localDay + 1;
+	    if (DstTransitionIndex.startOfDay(rules, localDay) < second)
+		return localDay;
+	    return localDay - 1;
+	}
+
+	/**
+	 * @return Time zone of the switches
+	 */
+	public ZoneId getZone() {
+	    return zone;
+	}
+
+	/**
+	 * @return Point in time of the current transition as seconds since
+	 *         1970-01-01T00:00Z
+	 */
+	public long getEpochSecond() {
+	    return epochSecond;
+	}
+
+	/**
+	 * @return Local day of the current switch as days since 1970-01-01
+	 */
+	public long getEpochDay() {
+	    return epochDay;
+	}
+
+	/**
+	 * @return TO_DAYLIGHT_SAVING_TIME or TO_STANDARD_TIME
+	 */
+	public DayType getDayType() {
+	    return dayType;
+	}
+
+	/**
+	 * @return Offset before the current transition in seconds
+	 */
+	public int getOffsetBefore() {
+	    return offsetBefore;
+	}
+
+	/**
+	 * @return Offset after the current transition in seconds
+	 */
+	public int getOffsetAfter() {
+	    return offsetAfter;
+	}
+
+	/**
+	 * @return The current switch as object
+	 */
+	public Transition toTransition() {
+	    return new Transition(zone, epochSecond, epochDay, dayType,
+		    offsetBefore, offsetAfter);
+	}
+    }
+
+    /**
+     * Creates a cursor over the switches of the given time zone from the
+     * first day (inclusive) to the last day (exclusive).
+     * 
+     * @param zone
+     *            Time zone, cannot be null
+     * @param fromDay
+     *            First day as days since 1970-01-01
+     * @param toDay
+     *            Last day (exclusive) as days since 1970-01-01
+     * @return Cursor before the first switch
+     */
+    public static Cursor cursor(ZoneId zone, long fromDay, long toDay) {
+	return new Cursor(zone, zone.getRules(), fromDay, toDay);
+    }
+
+    /**
+     * Returns an iterator over the switches of the given time zone.
+     * 
+     * @param zone
+     *            Time zone, cannot be null
+     * @param from
+     *            First day (inclusive), cannot be null
+     * @param to
+     *            Last day (exclusive), cannot be null
+     * @return Iterator
+     */
+    public static Iterator<Transition> iterator(ZoneId zone, LocalDate from,
+	    LocalDate to) {
+	Cursor cursor = cursor(zone, from.toEpochDay(), to.toEpochDay());
+	return new Iterator<Transition>() {
+	    private Transition next;
+
+	    @Override
+	    public boolean hasNext() {
+		if (next == null && cursor.next())
+		    next = cursor.toTransition();
+		return next != null;
+	    }
+
+	    @Override
+	    public Transition next() {
+		if (!hasNext())
+		    throw new NoSuchElementException();
+		Transition result = next;
+		next = null;
+		return result;
+	    }
+	};
+    }
+
+    /**
+     * Returns the switches of the given time zone as stream.
+     * 
+     * @param zone
+     *            Time zone, cannot be null
+     * @param from
+     *            First day (inclusive), cannot be null
+     * @param to
+     *            Last day (exclusive), cannot be null
+     * @return Stream ordered by time
+     */
+    public static Stream<Transition> stream(ZoneId zone, LocalDate from,
+	    LocalDate to) {
+	return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+		iterator(zone, from, to), Spliterator.ORDERED
+			| Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    /**
+     * Returns the switches of the given time zones as stream. The switches of
+     * a time zone are ordered by time, the time zones are in the order of
+     * the collection. A parallel stream enumerates the time zones in
+     * parallel.
+     * 
+     * @param zones
+     *            Time zones, cannot be null
+     * @param from
+     *            First day (inclusive), cannot be null
+     * @param to
+     *            Last day (exclusive), cannot be null
+     * @return Stream
+     */
+    public static Stream<Transition> stream(Collection<ZoneId> zones,
+	    LocalDate from, LocalDate to) {
+	return zones.stream().flatMap(zone -> stream(zone, from, to));
+    }
+}
@@ -0,0 +1,131 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Spliterator over a sequence of epoch days with a known size. The sequence is
+ * described by two functions: one calculates the n-th day directly, the other
+ * calculates the following day from a day. Splitting halves the range of
+ * indices, so every part knows its exact size and starts with a direct
+ * calculation, while the traversal inside a part only steps from day to day.
+ * 
+ * @see DateRanges
+ * 
+ * @author created: 7droids.org on 17.10.2026 23:02:16
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+final class EpochDaySpliterator implements Spliterator.OfLong {
+
+    /**
+     * Parts smaller than this are not split any more.
+     */
+    private static final long MIN_SPLIT_SIZE = 64;
+
+    private final LongUnaryOperator nth;
+
+    private final LongUnaryOperator next;
+
+    /**
+     * Index of the next day.
+     */
+    private long index;
+
+    /**
+     * Index after the last day.
+     */
+    private final long fence;
+
+    /**
+     * The last day returned, only valid if index is greater than start.
+     */
+    private long current;
+
+    /**
+     * Index of the first day of this part.
+     */
+    private long start;
+
+    /**
+     * Creates a spliterator for the days with the indices from origin
+     * (inclusive) to fence (exclusive).
+     * 
+     * @param origin
+     *            Index of the first day
+     * @param fence
+     *            Index after the last day
+     * @param nth
+     *            Calculates the day of an index
+     * @param next
+     *            Calculates the day following a day
+     */
+    EpochDaySpliterator(long origin, long fence, LongUnaryOperator nth,
+	    LongUnaryOperator next) {
+	super();
+	this.index = origin;
+	this.start = origin;
+	this.fence = fence;
+	this.nth = nth;
+	this.next = next;
+    }
+
+    @Override
+    public OfLong trySplit() {
+	long size = fence - index;
+	if (size < MIN_SPLIT_SIZE || index != start)
+	    return null;
+	long middle = index + (size >>> 1);
+	EpochDaySpliterator prefix = new EpochDaySpliterator(index, middle,
+		nth, next);
+	index = middle;
+	start = middle;
+	return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+	if (index >= fence)
+	    return false;
+	current = index == start ? nth.applyAsLong(index) : next
+		.applyAsLong(current);
+	index++;
+	action.accept(current);
+	return true;
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+	if (index >= fence)
+	    return;
+	long day = index == start ? nth.applyAsLong(index) : next
+		.applyAsLong(current);
+	long end = fence;
+	for (long i = index; i < end - 1; i++) {
+	    action.accept(day);
+	    day = next.applyAsLong(day);
+	}
+	action.accept(day);
+	current = day;
+	index = end;
+    }
+
+    @Override
+    public long estimateSize() {
+	return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+	return ORDERED | DISTINCT | SORTED | SIZED | SUBSIZED | NONNULL
+		| IMMUTABLE;
+    }
+
+    @Override
+    public Comparator<? super Long> getComparator() {
+	// Natural order
+	return null;
+    }
+}
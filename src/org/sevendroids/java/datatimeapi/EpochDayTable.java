@@ -0,0 +1,223 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash table of epoch days with linear probing. Free slots
+ * contain {@link #FREE}, which is no valid epoch day of a LocalDate. Removed
+ * keys are not marked, the following keys of the probe sequence are shifted
+ * back instead, so lookups never pass deleted slots.
+ * <p>
+ * Subclasses keep their values in arrays parallel to the keys and are
+ * notified by {@link #rehashValues(int[], int)} and
+ * {@link #moveValue(int, int)} when keys change their slot. The keys in date
+ * order are sorted on demand and kept until the next modification.
+ * 
+ * @see DateSet
+ * @see DateToLongMap
+ * @see DateToIntMap
+ * 
+ * @author created: 7droids.org on 18.10.2026 07:52:40
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+class EpochDayTable {
+
+    /**
+     * Content of a free slot.
+     */
+    static final long FREE = Long.MIN_VALUE;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * 2^64 divided by the golden ratio, spreads consecutive days over the
+     * table.
+     */
+    private static final long GOLDEN = 0x9e3779b97f4a7c15L;
+
+    long[] keys;
+
+    int size;
+
+    private int mask;
+
+    /**
+     * 64 - log2(capacity), the hash is taken from the high bits of the
+     * product.
+     */
+    private int shift;
+
+    /**
+     * Keys in date order, null after a modification.
+     */
+    private long[] sorted;
+
+    /**
+     * Creates a table for the given number of keys.
+     */
+    EpochDayTable(int expectedSize) {
+	super();
+	int capacity = MIN_CAPACITY;
+	while (capacity < MAX_CAPACITY && capacity < 2L * expectedSize)
+	    capacity <<= 1;
+	allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+	keys = new long[capacity];
+	Arrays.fill(keys, FREE);
+	mask = capacity - 1;
+	shift = Long.numberOfLeadingZeros(capacity) + 1;
+    }
+
+    /**
+     * Rejects the key marking free slots.
+     */
+    static void checkKey(long epochDay) {
+	if (epochDay == FREE)
+	    throw new IllegalArgumentException("Invalid epoch day "
+		    + epochDay);
+    }
+
+    private int home(long key) {
+	return (int) ((key * GOLDEN) >>> shift);
+    }
+
+    /**
+     * Returns the slot of the given key or -1.
+     */
+    final int find(long key) {
+	for (int slot = home(key);; slot = (slot + 1) & mask) {
+	    long k = keys[slot];
+	    if (k == key)
+		return slot;
+	    if (k == FREE)
+		return -1;
+	}
+    }
+
+    /**
+     * Adds the given key if it is missing.
+     * 
+     * @return The slot of an existing key or the complement (~slot) of the
+     *         slot of a new key
+     */
+    final int insert(long key) {
+	checkKey(key);
+	// The load factor is at most 1/2
+	if (size >= keys.length >>> 1)
+	    grow();
+	int slot = home(key);
+	for (long k; (k = keys[slot]) != FREE; slot = (slot + 1) & mask)
+	    if (k == key)
+		return slot;
+	keys[slot] = key;
+	size++;
+	sorted = null;
+	return ~slot;
+    }
+
+    /**
+     * Removes the given key and shifts the following keys of the probe
+     * sequence back into the gap.
+     * 
+     * @return TRUE if the key was removed
+     */
+    final boolean delete(long key) {
+	int slot = find(key);
+	if (slot < 0)
+	    return false;
+	int hole = slot;
+	for (int next = (hole + 1) & mask; keys[next] != FREE; next = (next + 1)
+		& mask) {
+	    // The key can fill the hole, if its home is not between both
+	    if (((next - home(keys[next])) & mask) >= ((next - hole) & mask)) {
+		keys[hole] = keys[next];
+		moveValue(next, hole);
+		hole = next;
+	    }
+	}
+	keys[hole] = FREE;
+	size--;
+	sorted = null;
+	return true;
+    }
+
+    /**
+     * Removes all keys.
+     */
+    final void clearKeys() {
+	Arrays.fill(keys, FREE);
+	size = 0;
+	sorted = null;
+    }
+
+    private void grow() {
+	if (keys.length == MAX_CAPACITY)
+	    throw new IllegalStateException("Table is full");
+	long[] old = keys;
+	int[] target = new int[old.length];
+	allocate(old.length << 1);
+	for (int i = 0; i < old.length; i++) {
+	    if (old[i] == FREE) {
+		target[i] = -1;
+		continue;
+	    }
+	    int slot = home(old[i]);
+	    while (keys[slot] != FREE)
+		slot = (slot + 1) & mask;
+	    keys[slot] = old[i];
+	    target[i] = slot;
+	}
+	rehashValues(target, keys.length);
+    }
+
+    /**
+     * Called after the table has grown. The value of the old slot i moves to
+     * the slot target[i], free slots have the target -1.
+     * 
+     * @param target
+     *            New slots of the old slots
+     * @param capacity
+     *            New number of slots
+     */
+    void rehashValues(int[] target, int capacity) {
+	// No values
+    }
+
+    /**
+     * Called if a key is moved to another slot during a removal.
+     */
+    void moveValue(int from, int to) {
+	// No values
+    }
+
+    /**
+     * Returns the keys in date order. The array is shared until the next
+     * modification and must not be changed.
+     */
+    final long[] sortedKeys() {
+	if (sorted == null) {
+	    long[] days = new long[size];
+	    int n = 0;
+	    for (long key : keys)
+		if (key != FREE)
+		    days[n++] = key;
+	    Arrays.sort(days);
+	    sorted = days;
+	}
+	return sorted;
+    }
+
+    /**
+     * Returns the index of the first sorted key equal to or after the given
+     * day.
+     */
+    static int ceilingIndex(long[] sortedKeys, long epochDay) {
+	int i = Arrays.binarySearch(sortedKeys, epochDay);
+	return i >= 0 ? i : ~i;
+    }
+}
@@ -0,0 +1,273 @@
+package org.sevendroids.java.datatimeapi;
+
+/**
+ * This class provides the operations of {@link DateUtils} for dates given as
+ * epoch days (days since 1970-01-01, see LocalDate.toEpochDay()). All methods
+ * only use integer arithmetic and create no objects, so they can be used in
+ * tight loops over date columns. The results are the same as the results of
+ * the LocalDate methods in DateUtils.
+ * <p>
+ * The epoch days are not validated, they must be in the range of LocalDate.
+ * Months are counted from 1 (January) to 12 (December), days of week from 1
+ * (Monday) to 7 (Sunday) like in java.time.
+ * 
+ * @see DateUtils
+ * 
+ * @author created: 7droids.org on 17.10.2026 21:40:27
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class EpochDays {
+
+    /**
+     * Days in a 400 year cycle.
+     */
+    private static final int DAYS_PER_CYCLE = 146097;
+
+    /**
+     * Days from 0000-03-01 to 1970-01-01.
+     */
+    private static final long DAYS_0000_TO_1970 = 719468;
+
+    /**
+     * Private constructor.
+     */
+    private EpochDays() {
+	super();
+    }
+
+    /**
+     * Calculates the epoch day of the given date.
+     * 
+     * @param year
+     *            Year
+     * @param month
+     *            Month (1 .. 12)
+     * @param dayOfMonth
+     *            Day of month (1 .. 31)
+     * @return Days since 1970-01-01
+     */
+    public static long of(int year, int month, int dayOfMonth) {
+	// Years start in March, so the leap day is the last day of the year
+	long y = month <= 2 ? year - 1L : year;
+	long era = Math.floorDiv(y, 400);
+	long yearOfEra = y - era * 400;
+	int monthOfYear = month > 2 ? month - 3 : month + 9;
+	long dayOfYear = (153 * monthOfYear + 2) / 5 + dayOfMonth - 1;
+	long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100
+		+ dayOfYear;
+	return era * DAYS_PER_CYCLE + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Returns the year of the given epoch day.
+     */
+    public static int year(long epochDay) {
+	return unpackYear(civil(epochDay));
+    }
+
+    /**
+     * Returns the month (1 .. 12) of the given epoch day.
+     */
+    public static int month(long epochDay) {
+	return unpackMonth(civil(epochDay));
+    }
+
+    /**
+     * Returns the day of month (1 .. 31) of the given epoch day.
+     */
+    public static int dayOfMonth(long epochDay) {
+	return unpackDayOfMonth(civil(epochDay));
+    }
+
+    /**
+     * Returns the day of week (1 = Monday .. 7 = Sunday) of the given epoch
+     * day.
+     */
+    public static int dayOfWeek(long epochDay) {
+	// 1970-01-01 was a Thursday
+	return (int) Math.floorMod(epochDay + 3, 7) + 1;
+    }
+
+    /**
+     * Checks if the given year is a leap year.
+     */
+    public static boolean isLeapYear(int year) {
+	return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * Returns the number of days of the given month.
+     * 
+     * @param year
+     *            Year
+     * @param month
+     *            Month (1 .. 12)
+     * @return Days of the month (28 .. 31)
+     */
+    public static int lengthOfMonth(int year, int month) {
+	if (month == 2)
+	    return isLeapYear(year) ? 29 : 28;
+	// 31 days alternating from March to July and from August to January
+	return 30 + ((month + (month >> 3)) & 1);
+    }
+
+    /**
+     * This method checks whether the given day is at the weekend (Saturday or
+     * Sunday).
+     * 
+     * @see DateUtils#isWeekend(java.time.LocalDate)
+     */
+    public static boolean isWeekend(long epochDay) {
+	return dayOfWeek(epochDay) >= 6;
+    }
+
+    /**
+     * The methods calculates the previous working day. It only recognize
+     * Saturday and Sunday as non -working days.
+     * 
+     * @see DateUtils#getPreviousWorkingDay(java.time.LocalDate)
+     */
+    public static long previousWorkingDay(long epochDay) {
+	switch (dayOfWeek(epochDay)) {
+	case 1: // Monday
+	    return epochDay - 3;
+	case 7: // Sunday
+	    return epochDay - 2;
+	default:
+	    return epochDay - 1;
+	}
+    }
+
+    /**
+     * Returns the quarter (0 .. 3) of the given day.
+     * 
+     * @see DateUtils#getQuarter(java.time.LocalDate)
+     */
+    public static int quarter(long epochDay) {
+	return (month(epochDay) - 1) / 3;
+    }
+
+    /**
+     * Calculates the number of quarters between two given days.
+     * 
+     * @see DateUtils#getQuartersBetweenDates(java.time.LocalDate,
+     *      java.time.LocalDate)
+     */
+    public static int quartersBetween(long epochDay1, long epochDay2) {
+	return (int) Math.abs(quarterIndex(epochDay2) - quarterIndex(epochDay1));
+    }
+
+    /**
+     * Returns the number of quarters since the begin of year 0.
+     */
+    static long quarterIndex(long epochDay) {
+	long civil = civil(epochDay);
+	return unpackYear(civil) * 4L + (unpackMonth(civil) - 1) / 3;
+    }
+
+    /**
+     * Returns the number of months since January of year 0.
+     */
+    static long monthIndex(long epochDay) {
+	long civil = civil(epochDay);
+	return unpackYear(civil) * 12L + unpackMonth(civil) - 1;
+    }
+
+    /**
+     * Returns the number of seasons since April of year 0. Seasons before are
+     * negative.
+     */
+    static long seasonIndex(long epochDay) {
+	return Math.floorDiv(monthIndex(epochDay) - 3, 6);
+    }
+
+    /**
+     * Returns the epoch day of the first day of the given month index.
+     */
+    static long firstOfMonth(long monthIndex) {
+	return of((int) Math.floorDiv(monthIndex, 12),
+		(int) Math.floorMod(monthIndex, 12) + 1, 1);
+    }
+
+    /**
+     * Returns the last day of the month of the given day.
+     * 
+     * @see DateUtils#endOfMonth(java.time.LocalDate)
+     */
+    public static long endOfMonth(long epochDay) {
+	long civil = civil(epochDay);
+	return epochDay
+		+ lengthOfMonth(unpackYear(civil), unpackMonth(civil))
+		- unpackDayOfMonth(civil);
+    }
+
+    /**
+     * Returns the first day of the season of the given day. A season is
+     * defined as a period from April to September and from October to March.
+     * 
+     * @see DateUtils#beginOfSeason(java.time.LocalDate)
+     */
+    public static long beginOfSeason(long epochDay) {
+	long civil = civil(epochDay);
+	int year = unpackYear(civil);
+	int month = unpackMonth(civil);
+	if (month < 4) // Jan-Mar --> 1. October of the previous year
+	    return of(year - 1, 10, 1);
+	else if (month < 10) // Apr-Sep --> 1. April
+	    return of(year, 4, 1);
+	else
+	    // Oct-Dec --> 1. October
+	    return of(year, 10, 1);
+    }
+
+    /**
+     * Returns the last day of the season of the given day.
+     * 
+     * @see DateUtils#endOfSeason(java.time.LocalDate)
+     */
+    public static long endOfSeason(long epochDay) {
+	long civil = civil(epochDay);
+	int year = unpackYear(civil);
+	int month = unpackMonth(civil);
+	if (month < 4) // Jan-Mar --> 31. March
+	    return of(year, 4, 1) - 1;
+	else if (month < 10) // Apr-Sep --> 30. September
+	    return of(year, 10, 1) - 1;
+	else
+	    // Oct-Dec --> 31. March of the next year
+	    return of(year + 1, 4, 1) - 1;
+    }
+
+    /**
+     * Splits the given epoch day into year, month and day of month. The result
+     * is packed into a long, use the unpack methods to read the values.
+     */
+    static long civil(long epochDay) {
+	long z = epochDay + DAYS_0000_TO_1970;
+	long era = Math.floorDiv(z, DAYS_PER_CYCLE);
+	long dayOfEra = z - era * DAYS_PER_CYCLE;
+	long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524
+		- dayOfEra / (DAYS_PER_CYCLE - 1)) / 365;
+	long dayOfYear = dayOfEra
+		- (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+	// Month counted from March
+	int monthOfYear = (int) (5 * dayOfYear + 2) / 153;
+	int day = (int) dayOfYear - (153 * monthOfYear + 2) / 5 + 1;
+	int month = monthOfYear < 10 ? monthOfYear + 3 : monthOfYear - 9;
+	long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+	return year << 9 | month << 5 | day;
+    }
+
+    static int unpackYear(long civil) {
+	return (int) (civil >> 9);
+    }
+
+    static int unpackMonth(long civil) {
+	return (int) (civil >>> 5) & 15;
+    }
+
+    static int unpackDayOfMonth(long civil) {
+	return (int) civil & 31;
+    }
+}
@@ -0,0 +1,413 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+
+/**
+ * Definition of fiscal years and their periods. A fiscal year starts either on
+ * the first day of a month or, for retail calendars like 4-4-5, on the given
+ * day of week nearest to the first day of a month. The fiscal year is split
+ * into periods by a pattern of months or weeks, which is repeated until the
+ * year is filled. In retail calendars the year has 52 or 53 weeks, the 53rd
+ * week is added to the last period.
+ * <p>
+ * A fiscal year is numbered with the calendar year it starts in. The periods
+ * of the years 1900 to 2199 are compiled into tables when the calendar is
+ * created: the first day of every period and the period of every month (or
+ * week in retail calendars). Within these years all queries are table
+ * lookups, other dates are calculated on every call. In calendars of months
+ * the LocalDate methods look the month up with the year and month of the
+ * date, without converting it to an epoch day. Instances are immutable and
+ * can be shared between threads.
+ * <p>
+ * The quarters of {@link DateUtils#getQuarter(LocalDate)} and the seasons of
+ * {@link DateUtils#beginOfSeason(LocalDate)} are the predefined calendars
+ * {@link #QUARTERS} and {@link #SEASONS}.
+ * 
+ * @see PeriodBuckets
+ * 
+ * @author created: 7droids.org on 18.10.2026 05:12:48
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class FiscalCalendar {
+
+    /**
+     * First year in the tables.
+     */
+    private static final int FIRST_YEAR = 1900;
+
+    /**
+     * Number of years in the tables.
+     */
+    private static final int YEARS = 300;
+
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private static final int WEEKS_PER_YEAR = 52;
+
+    /**
+     * Calendar quarters starting in January, see
+     * {@link DateUtils#getQuarter(LocalDate)}.
+     */
+    public static final FiscalCalendar QUARTERS = ofMonths(Month.JANUARY, 3);
+
+    /**
+     * Seasons from April to September and from October to March, see
+     * {@link DateUtils#beginOfSeason(LocalDate)}.
+     */
+    public static final FiscalCalendar SEASONS = ofMonths(Month.APRIL, 6);
+
+    private final Month startMonth;
+
+    /**
+     * First day of the week of a retail calendar, null if the periods are
+     * months.
+     */
+    private final DayOfWeek firstDayOfWeek;
+
+    private final int[] pattern;
+
+    private final int periodsPerYear;
+
+    /**
+     * Number of months or weeks in a fiscal year before the start of every
+     * period.
+     */
+    private final int[] offsets;
+
+    /**
+     * Period index of the first period in the tables.
+     */
+    private final long firstPeriod;
+
+    /**
+     * First day of every period in the tables and the first day after the
+     * last period.
+     */
+    private final long[] starts;
+
+    /**
+     * Month index of the first month or the first day of the first week in
+     * the tables.
+     */
+    private final long firstBlock;
+
+    /**
+     * Period of every month or week in the tables, relative to firstPeriod.
+     */
+    private final int[] periodOfBlock;
+
+    private FiscalCalendar(Month startMonth, DayOfWeek firstDayOfWeek,
+	    int[] pattern, int unitsPerYear) {
+	super();
+	this.startMonth = startMonth;
+	this.firstDayOfWeek = firstDayOfWeek;
+	this.pattern = pattern.clone();
+	int sum = 0;
+	for (int units : pattern) {
+	    if (units <= 0)
+		throw new IllegalArgumentException("Invalid pattern "
+			+ Arrays.toString(pattern));
+	    sum += units;
+	}
+	if (sum == 0 || unitsPerYear % sum != 0)
+	    throw new IllegalArgumentException("The pattern "
+		    + Arrays.toString(pattern) + " does not divide "
+		    + unitsPerYear);
+	this.periodsPerYear = unitsPerYear / sum * pattern.length;
+	this.offsets = new int[periodsPerYear];
+	for (int period = 1; period < periodsPerYear; period++)
+	    offsets[period] = offsets[period - 1]
+		    + pattern[(period - 1) % pattern.length];
+	this.firstPeriod = (long) FIRST_YEAR * periodsPerYear;
+	this.starts = new long[YEARS * periodsPerYear + 1];
+	for (int year = 0; year < YEARS; year++)
+	    for (int period = 0; period < periodsPerYear; period++)
+		starts[year * periodsPerYear + period] = calculateFirstDay(
+			FIRST_YEAR + year, period);
+	starts[starts.length - 1] = firstDayOfYear(FIRST_YEAR + YEARS);
+	this.firstBlock = block(starts[0]);
+	int blocks = (int) (block(starts[starts.length - 1]) - firstBlock);
+	this.periodOfBlock = new int[blocks];
+	for (int period = 0; period < starts.length - 1; period++) {
+	    int first = (int) (block(starts[period]) - firstBlock);
+	    int end = (int) (block(starts[period + 1]) - firstBlock);
+	    Arrays.fill(periodOfBlock, first, end, period);
+	}
+    }
+
+    /**
+     * Creates a calendar with periods of whole months.
+     * 
+     * @param startMonth
+     *            First month of the fiscal year, cannot be null
+     * @param monthsPerPeriod
+     *            Number of months of the periods, repeated until the year is
+     *            filled, e.g. 3 for quarters or 1, 2 for alternating periods
+     *            of one and two months
+     * @return Calendar
+     * @throws IllegalArgumentException
+     *             if the pattern does not fill a year of 12 months
+     */
+    public static FiscalCalendar ofMonths(Month startMonth,
+	    int... monthsPerPeriod) {
+	return new FiscalCalendar(startMonth, null, monthsPerPeriod,
+		MONTHS_PER_YEAR);
+    }
+
+    /**
+     * Creates a retail calendar with periods of whole weeks. The fiscal year
+     * starts on the given day of week nearest to the first day of the start
+     * month, so it has 52 or 53 weeks.
+     * 
+     * @param startMonth
+     *            Month of the start of the fiscal year, cannot be null
+     * @param firstDayOfWeek
+     *            First day of the weeks, cannot be null
+     * @param weeksPerPeriod
+     *            Number of weeks of the periods, repeated until the year is
+     *            filled, e.g. 4, 4, 5 for a 4-4-5 calendar with twelve
+     *            periods or 13 for its quarters
+     * @return Calendar
+     * @throws IllegalArgumentException
+     *             if the pattern does not fill a year of 52 weeks
+     */
+    public static FiscalCalendar ofWeeks(Month startMonth,
+	    DayOfWeek firstDayOfWeek, int... weeksPerPeriod) {
+	if (firstDayOfWeek == null)
+	    throw new NullPointerException("firstDayOfWeek");
+	return new FiscalCalendar(startMonth, firstDayOfWeek, weeksPerPeriod,
+		WEEKS_PER_YEAR);
+    }
+
+    /**
+     * @return First month of the fiscal year
+     */
+    public Month getStartMonth() {
+	return startMonth;
+    }
+
+    /**
+     * @return First day of the weeks or null if the periods are months
+     */
+    public DayOfWeek getFirstDayOfWeek() {
+	return firstDayOfWeek;
+    }
+
+    /**
+     * @return Number of periods of a fiscal year
+     */
+    public int getPeriodsPerYear() {
+	return periodsPerYear;
+    }
+
+    /**
+     * Returns the period of the given date in its fiscal year.
+     * 
+     * @param date
+     *            Date, cannot be null
+     * @return Period (0 .. periods per year - 1)
+     */
+    public int getPeriod(LocalDate date) {
+	return (int) Math.floorMod(periodIndex(date), periodsPerYear);
+    }
+
+    /**
+     * Returns the period of the given epoch day in its fiscal year.
+     * 
+     * @see #getPeriod(LocalDate)
+     */
+    public int period(long epochDay) {
+	return (int) Math.floorMod(periodIndex(epochDay), periodsPerYear);
+    }
+
+    /**
+     * Returns the fiscal year of the given date.
+     * 
+     * @param date
+     *            Date, cannot be null
+     * @return The calendar year the fiscal year starts in
+     */
+    public int getYear(LocalDate date) {
+	return (int) Math.floorDiv(periodIndex(date), periodsPerYear);
+    }
+
+    /**
+     * Returns the fiscal year of the given epoch day.
+     * 
+     * @see #getYear(LocalDate)
+     */
+    public int year(long epochDay) {
+	return (int) Math.floorDiv(periodIndex(epochDay), periodsPerYear);
+    }
+
+    /**
+     * Returns the number of periods since the begin of the fiscal year 0.
+     * Periods before are negative.
+     * 
+     * @param epochDay
+     *            Days since 1970-01-01
+     * @return Period index
+     */
+    public long periodIndex(long epochDay) {
+	long block = block(epochDay) - firstBlock;
+	if (block >= 0 && block < periodOfBlock.length)
+	    return firstPeriod + periodOfBlock[(int) block];
+	return calculatePeriodIndex(epochDay);
+    }
+
+    /**
+     * Returns the period index of the given date like
+     * {@link #periodIndex(long)}. Calendars of months look up the month of the
+     * date directly.
+     */
+    private long periodIndex(LocalDate date) {
+	if (firstDayOfWeek != null)
+	    return periodIndex(date.toEpochDay());
+	long block = date.getYear() * 12L + date.getMonthValue() - 1
+		- firstBlock;
+	if (block >= 0 && block < periodOfBlock.length)
+	    return firstPeriod + periodOfBlock[(int) block];
+	return calculatePeriodIndex(date.toEpochDay());
+    }
+
+    /**
+     * Returns the first day of the period with the given index.
+     * 
+     * @param periodIndex
+     *            Number of periods since the begin of the fiscal year 0
+     * @return Days since 1970-01-01
+     */
+    public long firstDayOfPeriod(long periodIndex) {
+	long period = periodIndex - firstPeriod;
+	if (period >= 0 && period < starts.length)
+	    return starts[(int) period];
+	int year = (int) Math.floorDiv(periodIndex, periodsPerYear);
+	return calculateFirstDay(year,
+		(int) Math.floorMod(periodIndex, periodsPerYear));
+    }
+
+    /**
+     * Creates a new date object with the first day of the period of the given
+     * date.
+     */
+    public LocalDate beginOfPeriod(LocalDate date) {
+	if (firstDayOfWeek != null)
+	    return LocalDate.ofEpochDay(beginOfPeriod(date.toEpochDay()));
+	long month = firstMonthOfPeriod(periodIndex(date));
+	return LocalDate.of((int) Math.floorDiv(month, 12),
+		(int) Math.floorMod(month, 12) + 1, 1);
+    }
+
+    /**
+     * Returns the first day of the period of the given epoch day.
+     */
+    public long beginOfPeriod(long epochDay) {
+	return firstDayOfPeriod(periodIndex(epochDay));
+    }
+
+    /**
+     * Creates a new date object with the last day of the period of the given
+     * date.
+     */
+    public LocalDate endOfPeriod(LocalDate date) {
+	if (firstDayOfWeek != null)
+	    return LocalDate.ofEpochDay(endOfPeriod(date.toEpochDay()));
+	long month = firstMonthOfPeriod(periodIndex(date) + 1) - 1;
+	int year = (int) Math.floorDiv(month, 12);
+	int monthOfYear = (int) Math.floorMod(month, 12) + 1;
+	return LocalDate.of(year, monthOfYear,
+		EpochDays.lengthOfMonth(year, monthOfYear));
+    }
+
+    /**
+     * Returns the last day of the period of the given epoch day.
+     */
+    public long endOfPeriod(long epochDay) {
+	return firstDayOfPeriod(periodIndex(epochDay) + 1) - 1;
+    }
+
+    /**
+     * Calculates the number of periods between two given dates.
+     * 
+     * @return Number of periods, not negative
+     * @param date1
+     *            First given date cannot be null
+     * @param date2
+     *            Second given date cannot be null
+     */
+    public int getPeriodsBetween(LocalDate date1, LocalDate date2) {
+	return (int) Math.abs(periodIndex(date2) - periodIndex(date1));
+    }
+
+    /**
+     * Returns the month index of the first month of the period with the given
+     * index in calendars of months.
+     */
+    private long firstMonthOfPeriod(long periodIndex) {
+	long year = Math.floorDiv(periodIndex, periodsPerYear);
+	int period = (int) Math.floorMod(periodIndex, periodsPerYear);
+	return year * MONTHS_PER_YEAR + startMonth.getValue() - 1
+		+ offsets[period];
+    }
+
+    /**
+     * Returns the month index of the given day for calendars of months and
+     * the number of weeks since the first day of the first week in the
+     * tables for retail calendars.
+     */
+    private long block(long epochDay) {
+	if (firstDayOfWeek == null)
+	    return EpochDays.monthIndex(epochDay);
+	return Math.floorDiv(epochDay - starts[0], 7);
+    }
+
+    /**
+     * Returns the first day of the given fiscal year without the tables.
+     */
+    private long firstDayOfYear(int year) {
+	long first = EpochDays.of(year, startMonth.getValue(), 1);
+	if (firstDayOfWeek == null)
+	    return first;
+	// Nearest day of week, up to three days before or after
+	int days = Math.floorMod(firstDayOfWeek.getValue()
+		- EpochDays.dayOfWeek(first), 7);
+	return first + (days > 3 ? days - 7 : days);
+    }
+
+    /**
+     * Returns the first day of the given period without the tables.
+     */
+    long calculateFirstDay(int year, int period) {
+	if (firstDayOfWeek == null)
+	    return EpochDays.firstOfMonth(EpochDays
+		    .monthIndex(firstDayOfYear(year)) + offsets[period]);
+	return firstDayOfYear(year) + offsets[period] * 7L;
+    }
+
+    /**
+     * Returns the period index of the given day without the tables.
+     */
+    long calculatePeriodIndex(long epochDay) {
+	int year = EpochDays.year(epochDay);
+	// Retail years may start up to three days before the calendar year
+	if (epochDay >= firstDayOfYear(year + 1))
+	    year++;
+	else if (epochDay < firstDayOfYear(year))
+	    year--;
+	int period = periodsPerYear - 1;
+	while (period > 0 && epochDay < calculateFirstDay(year, period))
+	    period--;
+	return (long) year * periodsPerYear + period;
+    }
+
+    @Override
+    public String toString() {
+	return "FiscalCalendar[" + startMonth
+		+ (firstDayOfWeek == null ? ", months " : ", " + firstDayOfWeek
+			+ ", weeks ") + Arrays.toString(pattern) + "]";
+    }
+}
@@ -0,0 +1,547 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Optional instrumentation of the methods of {@link DateUtils} and
+ * {@link org.sevendroids.java.calendardateapi.OldDateUtils}. Every
+ * instrumented method has a {@link Probe}, which counts the calls and records
+ * their duration in a histogram. The instrumentation is switched on with the
+ * system property {@value #PROPERTY}=true. The property is read once into a
+ * static final field, so the JIT removes the probes completely if the
+ * instrumentation is switched off.
+ * <p>
+ * Every thread records into its own histogram without locks or atomic
+ * read-modify-write operations, only with ordered stores. The histograms of
+ * all threads are summed up when they are read.
+ * The histograms of terminated threads are added to one histogram per probe
+ * and dropped, so thread pools replacing their threads do not grow the
+ * memory.
+ * The buckets are log-linear like in HdrHistogram: 8 buckets per power of two,
+ * so a value is reported with a precision of 12.5%. If the property
+ * {@value #PROPERTY}.allocations=true is set too, the bytes allocated by the
+ * calling thread are recorded as well (only available on HotSpot).
+ * <p>
+ * The probes are registered as MXBeans with the name
+ * org.sevendroids.java:type=&lt;class&gt;,name=&lt;method&gt;. Calls taking
+ * at least {@value #PROPERTY}.slowNanos nanoseconds (default 100000) are
+ * passed to an {@link EventSink}. If the JDK provides the Flight Recorder
+ * (jdk.jfr, Java 11 and later) and the class
+ * org.sevendroids.java.jfr.JfrEventSink from the folder jfr/src is on the
+ * classpath, the slow calls are recorded as Flight Recorder events. Another
+ * sink can be set with the property {@value #PROPERTY}.sink.
+ * 
+ * @see DateUtils
+ * 
+ * @author created: 7droids.org on 18.10.2026 02:58:14
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class Instrumentation {
+
+    /**
+     * Name of the system property switching the instrumentation on.
+     */
+    public static final String PROPERTY = "org.sevendroids.java.instrumentation";
+
+    /**
+     * TRUE if the instrumentation is switched on.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    private static final boolean ALLOCATIONS = ENABLED
+	    && Boolean.getBoolean(PROPERTY + ".allocations");
+
+    private static final long SLOW_NANOS = Long.getLong(PROPERTY
+	    + ".slowNanos", 100000);
+
+    private static final String DEFAULT_SINK = "org.sevendroids.java.jfr.JfrEventSink";
+
+    /**
+     * Buckets per power of two.
+     */
+    private static final int SUB_BUCKETS = 8;
+
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * Number of buckets to hold every positive long.
+     */
+    static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private static final ConcurrentMap<String, Probe> PROBES = new ConcurrentHashMap<>();
+
+    private static final EventSink SINK = ENABLED ? loadSink() : null;
+
+    /**
+     * Receiver of slow calls.
+     */
+    public static interface EventSink {
+
+	/**
+	 * Called after a slow call in the calling thread.
+	 * 
+	 * @param probe
+	 *            Probe of the method
+	 * @param input
+	 *            First argument of the call, may be null
+	 * @param nanos
+	 *            Duration of the call
+	 */
+	void slowCall(Probe probe, Object input, long nanos);
+    }
+
+    /**
+     * Management interface of a probe.
+     */
+    public static interface ProbeMXBean {
+
+	/**
+	 * @return Name of the class
+	 */
+	String getClassName();
+
+	/**
+	 * @return Name of the method
+	 */
+	String getMethodName();
+
+	/**
+	 * @return Number of calls
+	 */
+	long getCount();
+
+	/**
+	 * @return Sum of the durations in nanoseconds
+	 */
+	long getTotalNanos();
+
+	/**
+	 * @return Longest duration in nanoseconds
+	 */
+	long getMaxNanos();
+
+	/**
+	 * @return Average duration in nanoseconds
+	 */
+	double getMeanNanos();
+
+	/**
+	 * @return Median of the durations in nanoseconds
+	 */
+	long getMedianNanos();
+
+	/**
+	 * @return 99th percentile of the durations in nanoseconds
+	 */
+	long get99thPercentileNanos();
+
+	/**
+	 * @return 99.9th percentile of the durations in nanoseconds
+	 */
+	long get999thPercentileNanos();
+
+	/**
+	 * @return Bytes allocated by the calls, 0 if not recorded
+	 */
+	long getAllocatedBytes();
+    }
+
+    /**
+     * Counter and histogram of one method.
+     */
+    public static final class Probe implements ProbeMXBean {
+
+	private final String className;
+
+	private final String methodName;
+
+	private final Queue<Recorder> recorders = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Sum of the recorders of terminated threads, guarded by itself.
+	 */
+	private final Recorder retired = new Recorder(null);
+
+	private final ThreadLocal<Recorder> recorder = ThreadLocal
+		.withInitial(this::newRecorder);
+
+	private Probe(String className, String methodName) {
+	    super();
+	    this.className = className;
+	    this.methodName = methodName;
+	}
+
+	private Recorder newRecorder() {
+	    retireRecorders();
+	    Recorder result = new Recorder(Thread.currentThread());
+	    recorders.add(result);
+	    return result;
+	}
+
+	/**
+	 * Adds the recorders of terminated threads to the retired one and
+	 * removes them. Only the caller removing a recorder adds it, so
+	 * concurrent calls do not count it twice.
+	 */
+	private void retireRecorders() {
+	    for (Recorder r : recorders) {
+		Thread owner = r.owner.get();
+		if ((owner == null || !owner.isAlive()) && recorders.remove(r))
+		    synchronized (retired) {
+			retired.add(r);
+		    }
+	    }
+	}
+
+	/**
+	 * Sums up the recorders of all threads.
+	 */
+	private Recorder sum() {
+	    retireRecorders();
+	    Recorder sum = new Recorder(null);
+	    synchronized (retired) {
+		sum.add(retired);
+	    }
+	    for (Recorder r : recorders)
+		sum.add(r);
+	    return sum;
+	}
+
+	/**
+	 * @return Number of recorders of threads, which may still record
+	 */
+	int getRecorders() {
+	    retireRecorders();
+	    return recorders.size();
+	}
+
+	/**
+	 * Starts a measurement, to be called before the body of the method.
+	 * 
+	 * @return Start time for {@link #stop(long, Object)}
+	 */
+	public long start() {
+	    if (!ENABLED)
+		return 0;
+	    if (ALLOCATIONS)
+		recorder.get().allocationStart = allocatedBytes();
+	    return System.nanoTime();
+	}
+
+	/**
+	 * Ends a measurement, to be called in a finally block after the body
+	 * of the method.
+	 * 
+	 * @param start
+	 *            Result of {@link #start()}
+	 * @param input
+	 *            First argument of the call, may be null
+	 */
+	public void stop(long start, Object input) {
+	    if (!ENABLED)
+		return;
+	    long nanos = System.nanoTime() - start;
+	    Recorder r = recorder.get();
+	    if (ALLOCATIONS)
+		r.allocated(allocatedBytes() - r.allocationStart);
+	    r.record(nanos);
+	    if (nanos >= SLOW_NANOS && SINK != null)
+		SINK.slowCall(this, input, nanos);
+	}
+
+	/**
+	 * Records the duration without the check of {@link #ENABLED}.
+	 */
+	void record(long nanos) {
+	    recorder.get().record(nanos);
+	}
+
+	@Override
+	public String getClassName() {
+	    return className;
+	}
+
+	@Override
+	public String getMethodName() {
+	    return methodName;
+	}
+
+	@Override
+	public long getCount() {
+	    return sum().count();
+	}
+
+	@Override
+	public long getTotalNanos() {
+	    return sum().total();
+	}
+
+	@Override
+	public long getMaxNanos() {
+	    return sum().max();
+	}
+
+	@Override
+	public double getMeanNanos() {
+	    Recorder sum = sum();
+	    return sum.count() == 0 ? 0 : (double) sum.total() / sum.count();
+	}
+
+	@Override
+	public long getMedianNanos() {
+	    return getPercentileNanos(50);
+	}
+
+	@Override
+	public long get99thPercentileNanos() {
+	    return getPercentileNanos(99);
+	}
+
+	@Override
+	public long get999thPercentileNanos() {
+	    return getPercentileNanos(99.9);
+	}
+
+	/**
+	 * Returns the duration not exceeded by the given percentage of the
+	 * calls. The result is the highest value of its histogram bucket, but
+	 * not more than the longest duration.
+	 * 
+	 * @param percentile
+	 *            Percentage (0 .. 100)
+	 * @return Duration in nanoseconds, 0 if there was no call
+	 */
+	public long getPercentileNanos(double percentile) {
+	    if (percentile < 0 || percentile > 100)
+		throw new IllegalArgumentException("Invalid percentile: "
+			+ percentile);
+	    Recorder sum = sum();
+	    long count = 0;
+	    for (int i = 0; i < BUCKETS; i++)
+		count += sum.counts.get(i);
+	    if (count == 0)
+		return 0;
+	    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+	    long below = 0;
+	    for (int i = 0; i < BUCKETS; i++) {
+		below += sum.counts.get(i);
+		if (below >= rank)
+		    return Math.min(highestValue(i), sum.max());
+	    }
+	    return sum.max();
+	}
+
+	@Override
+	public long getAllocatedBytes() {
+	    return sum().allocated();
+	}
+
+	@Override
+	public String toString() {
+	    return className + "." + methodName + "[count=" + getCount()
+		    + ", mean=" + getMeanNanos() + "ns, max=" + getMaxNanos()
+		    + "ns]";
+	}
+    }
+
+    /**
+     * Values recorded by one thread. Only the owning thread writes, with
+     * ordered stores (lazySet), so other threads read complete values, which
+     * may be slightly outdated.
+     */
+    private static final class Recorder {
+
+	private static final int COUNT = 0;
+
+	private static final int TOTAL = 1;
+
+	private static final int MAX = 2;
+
+	private static final int ALLOCATED = 3;
+
+	/**
+	 * Thread writing into the recorder.
+	 */
+	final WeakReference<Thread> owner;
+
+	final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * Count, total, max and allocated bytes.
+	 */
+	private final AtomicLongArray values = new AtomicLongArray(4);
+
+	/**
+	 * Allocated bytes at the start of the call, only used by the owner.
+	 */
+	long allocationStart;
+
+	Recorder(Thread owner) {
+	    super();
+	    this.owner = new WeakReference<>(owner);
+	}
+
+	long count() {
+	    return values.get(COUNT);
+	}
+
+	long total() {
+	    return values.get(TOTAL);
+	}
+
+	long max() {
+	    return values.get(MAX);
+	}
+
+	long allocated() {
+	    return values.get(ALLOCATED);
+	}
+
+	/**
+	 * Adds the values of the other recorder.
+	 */
+	void add(Recorder other) {
+	    for (int i = 0; i < BUCKETS; i++)
+		increase(counts, i, other.counts.get(i));
+	    increase(values, COUNT, other.count());
+	    increase(values, TOTAL, other.total());
+	    if (other.max() > max())
+		values.lazySet(MAX, other.max());
+	    increase(values, ALLOCATED, other.allocated());
+	}
+
+	void record(long nanos) {
+	    long value = Math.max(0, nanos);
+	    increase(counts, bucket(value), 1);
+	    increase(values, COUNT, 1);
+	    increase(values, TOTAL, value);
+	    if (value > max())
+		values.lazySet(MAX, value);
+	}
+
+	void allocated(long bytes) {
+	    increase(values, ALLOCATED, bytes);
+	}
+
+	/**
+	 * Adds to a value of the given array. There is only one writer, so an
+	 * ordered store is sufficient.
+	 */
+	private static void increase(AtomicLongArray array, int index,
+		long value) {
+	    array.lazySet(index, array.get(index) + value);
+	}
+    }
+
+    /**
+     * Private constructor.
+     */
+    private Instrumentation() {
+	super();
+    }
+
+    /**
+     * Returns the probe of the given method. The probe is created once per
+     * method and registered as MXBean if the instrumentation is switched on.
+     * 
+     * @param className
+     *            Simple name of the class, cannot be null
+     * @param methodName
+     *            Name of the method, cannot be null
+     * @return Probe
+     */
+    public static Probe probe(String className, String methodName) {
+	String key = className + "." + methodName;
+	Probe probe = PROBES.get(key);
+	if (probe == null)
+	    probe = PROBES.computeIfAbsent(key, k -> register(new Probe(
+		    className, methodName)));
+	return probe;
+    }
+
+    /**
+     * @return All probes created so far
+     */
+    public static Collection<Probe> getProbes() {
+	return Collections.unmodifiableCollection(new ArrayList<>(PROBES
+		.values()));
+    }
+
+    private static Probe register(Probe probe) {
+	if (ENABLED) {
+	    try {
+		ManagementFactory.getPlatformMBeanServer().registerMBean(
+			probe,
+			new ObjectName("org.sevendroids.java:type="
+				+ probe.className + ",name="
+				+ probe.methodName));
+	    } catch (JMException e) {
+		// The probe is still recorded, only not visible in JMX
+	    }
+	}
+	return probe;
+    }
+
+    private static EventSink loadSink() {
+	String name = System.getProperty(PROPERTY + ".sink", DEFAULT_SINK);
+	try {
+	    return (EventSink) Class.forName(name).getDeclaredConstructor()
+		    .newInstance();
+	} catch (ReflectiveOperationException | LinkageError
+		| ClassCastException e) {
+	    // No sink or no Flight Recorder in this JDK
+	    return null;
+	}
+    }
+
+    private static long allocatedBytes() {
+	java.lang.management.ThreadMXBean bean = ManagementFactory
+		.getThreadMXBean();
+	if (bean instanceof com.sun.management.ThreadMXBean)
+	    return ((com.sun.management.ThreadMXBean) bean)
+		    .getThreadAllocatedBytes(Thread.currentThread().getId());
+	return 0;
+    }
+
+    /**
+     * Returns the histogram bucket of the given value (>= 0).
+     */
+    static int bucket(long value) {
+	if (value < SUB_BUCKETS)
+	    return (int) value;
+	int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+	return (shift + 1) * SUB_BUCKETS
+		+ (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Returns the lowest value of the given histogram bucket.
+     */
+    static long lowestValue(int bucket) {
+	if (bucket < SUB_BUCKETS)
+	    return bucket;
+	int shift = bucket / SUB_BUCKETS - 1;
+	return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    }
+
+    /**
+     * Returns the highest value of the given histogram bucket.
+     */
+    static long highestValue(int bucket) {
+	return bucket == BUCKETS - 1 ? Long.MAX_VALUE
+		: lowestValue(bucket + 1) - 1;
+    }
+}
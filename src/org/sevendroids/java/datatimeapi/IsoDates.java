@@ -0,0 +1,284 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * This class parses and formats dates in the ISO-8601 format yyyy-MM-dd
+ * (e.g. 2014-03-30) directly from and to epoch days. The text is read from a
+ * CharSequence, a byte[] or a ByteBuffer and written into a byte[] or a
+ * StringBuilder given by the caller, so no objects are created unless the
+ * text is invalid.
+ * <p>
+ * Only the fixed format with a four digit year (0000 .. 9999) is supported.
+ * The validation is as strict as LocalDate.of(): the month must be 1 .. 12
+ * and the day must exist in the month, so 2014-02-29 is rejected.
+ * 
+ * @see EpochDays
+ * 
+ * @author created: 7droids.org on 18.10.2026 01:12:05
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class IsoDates {
+
+    /**
+     * Number of characters of a date.
+     */
+    public static final int LENGTH = 10;
+
+    /**
+     * Returned by parse() for invalid text.
+     */
+    private static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * Private constructor.
+     */
+    private IsoDates() {
+	super();
+    }
+
+    /**
+     * Parses the given text to a LocalDate.
+     * 
+     * @param text
+     *            Date as yyyy-MM-dd, cannot be null
+     * @return LocalDate
+     * @throws DateTimeParseException
+     *             If the text is no valid date
+     */
+    public static LocalDate parse(CharSequence text) {
+	return LocalDate.ofEpochDay(parseEpochDay(text));
+    }
+
+    /**
+     * Parses the given text to an epoch day.
+     * 
+     * @param text
+     *            Date as yyyy-MM-dd, cannot be null
+     * @return Days since 1970-01-01
+     * @throws DateTimeParseException
+     *             If the text is no valid date
+     */
+    public static long parseEpochDay(CharSequence text) {
+	if (text.length() != LENGTH)
+	    throw invalid(text, 0);
+	return parseEpochDay(text, 0);
+    }
+
+    /**
+     * Parses the date starting at the given index of the text to an epoch
+     * day. Exactly {@link #LENGTH} characters are read.
+     * 
+     * @param text
+     *            Text containing a date as yyyy-MM-dd, cannot be null
+     * @param index
+     *            Index of the first character of the date
+     * @return Days since 1970-01-01
+     * @throws DateTimeParseException
+     *             If the text is no valid date
+     */
+    public static long parseEpochDay(CharSequence text, int index) {
+	if (index < 0 || index > text.length() - LENGTH)
+	    throw new IndexOutOfBoundsException("Index: " + index
+		    + ", length: " + text.length());
+	long epochDay = parse(text.charAt(index), text.charAt(index + 1),
+		text.charAt(index + 2), text.charAt(index + 3),
+		text.charAt(index + 4), text.charAt(index + 5),
+		text.charAt(index + 6), text.charAt(index + 7),
+		text.charAt(index + 8), text.charAt(index + 9));
+	if (epochDay == INVALID)
+	    throw invalid(text.subSequence(index, index + LENGTH), index);
+	return epochDay;
+    }
+
+    /**
+     * Parses the date starting at the given offset of the bytes to an epoch
+     * day. The bytes are read as ASCII, exactly {@link #LENGTH} bytes are
+     * read.
+     * 
+     * @param bytes
+     *            Bytes containing a date as yyyy-MM-dd, cannot be null
+     * @param offset
+     *            Index of the first byte of the date
+     * @return Days since 1970-01-01
+     * @throws DateTimeParseException
+     *             If the bytes are no valid date
+     */
+    public static long parseEpochDay(byte[] bytes, int offset) {
+	BulkDateUtils.checkRange(bytes.length, offset, LENGTH);
+	long epochDay = parse(bytes[offset], bytes[offset + 1],
+		bytes[offset + 2], bytes[offset + 3], bytes[offset + 4],
+		bytes[offset + 5], bytes[offset + 6], bytes[offset + 7],
+		bytes[offset + 8], bytes[offset + 9]);
+	if (epochDay == INVALID)
+	    throw invalid(new String(bytes, offset, LENGTH,
+		    StandardCharsets.ISO_8859_1), offset);
+	return epochDay;
+    }
+
+    /**
+     * Parses the date starting at the given index of the buffer to an epoch
+     * day. The bytes are read as ASCII with absolute get, so the position of
+     * the buffer is not changed.
+     * 
+     * @param buffer
+     *            Buffer containing a date as yyyy-MM-dd, cannot be null
+     * @param index
+     *            Index of the first byte of the date
+     * @return Days since 1970-01-01
+     * @throws DateTimeParseException
+     *             If the bytes are no valid date
+     */
+    public static long parseEpochDay(ByteBuffer buffer, int index) {
+	BulkDateUtils.checkRange(buffer.limit(), index, LENGTH);
+	long epochDay = parse(buffer.get(index), buffer.get(index + 1),
+		buffer.get(index + 2), buffer.get(index + 3),
+		buffer.get(index + 4), buffer.get(index + 5),
+		buffer.get(index + 6), buffer.get(index + 7),
+		buffer.get(index + 8), buffer.get(index + 9));
+	if (epochDay == INVALID) {
+	    byte[] bytes = new byte[LENGTH];
+	    for (int i = 0; i < LENGTH; i++)
+		bytes[i] = buffer.get(index + i);
+	    throw invalid(new String(bytes, StandardCharsets.ISO_8859_1),
+		    index);
+	}
+	return epochDay;
+    }
+
+    /**
+     * Parses dates in fixed-width records. The date of record i starts at
+     * offset + i * stride and its epoch day is written to epochDays[i].
+     * 
+     * @param bytes
+     *            Records containing dates as yyyy-MM-dd, cannot be null
+     * @param offset
+     *            Index of the first byte of the first date
+     * @param stride
+     *            Distance between the dates of two records, at least
+     *            {@link #LENGTH}
+     * @param length
+     *            Number of dates
+     * @param epochDays
+     *            Array for the results
+     * @throws DateTimeParseException
+     *             If a date is invalid
+     */
+    public static void parseEpochDays(byte[] bytes, int offset, int stride,
+	    int length, int[] epochDays) {
+	if (stride < LENGTH)
+	    throw new IllegalArgumentException("Stride too small: " + stride);
+	BulkDateUtils.checkRange(epochDays.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    epochDays[i] = (int) parseEpochDay(bytes, offset + i * stride);
+    }
+
+    /**
+     * Calculates the epoch day from the characters of yyyy-MM-dd or returns
+     * INVALID.
+     */
+    private static long parse(int y1, int y2, int y3, int y4, int separator1,
+	    int m1, int m2, int separator2, int d1, int d2) {
+	// A character which is no digit makes one of the values negative
+	int digits = digit(y1) | digit(y2) | digit(y3) | digit(y4)
+		| digit(m1) | digit(m2) | digit(d1) | digit(d2);
+	if (digits < 0 || separator1 != '-' || separator2 != '-')
+	    return INVALID;
+	int year = (y1 - '0') * 1000 + (y2 - '0') * 100 + (y3 - '0') * 10
+		+ (y4 - '0');
+	int month = (m1 - '0') * 10 + (m2 - '0');
+	int day = (d1 - '0') * 10 + (d2 - '0');
+	if (month < 1 || month > 12 || day < 1
+		|| day > EpochDays.lengthOfMonth(year, month))
+	    return INVALID;
+	return EpochDays.of(year, month, day);
+    }
+
+    /**
+     * Returns a negative value if the character is no digit.
+     */
+    private static int digit(int c) {
+	return (c - '0') | ('9' - c);
+    }
+
+    private static DateTimeParseException invalid(CharSequence text,
+	    int index) {
+	return new DateTimeParseException("Text '" + text
+		+ "' could not be parsed as yyyy-MM-dd", text, index);
+    }
+
+    /**
+     * Writes the given epoch day as yyyy-MM-dd into the bytes.
+     * 
+     * @param epochDay
+     *            Days since 1970-01-01
+     * @param bytes
+     *            Array for the text, cannot be null
+     * @param offset
+     *            Index for the first byte
+     * @return Index after the last byte written
+     * @throws DateTimeException
+     *             If the year is not in the range 0 .. 9999
+     */
+    public static int format(long epochDay, byte[] bytes, int offset) {
+	BulkDateUtils.checkRange(bytes.length, offset, LENGTH);
+	long civil = civil(epochDay);
+	int year = EpochDays.unpackYear(civil);
+	int month = EpochDays.unpackMonth(civil);
+	int day = EpochDays.unpackDayOfMonth(civil);
+	bytes[offset] = (byte) ('0' + year / 1000);
+	bytes[offset + 1] = (byte) ('0' + year / 100 % 10);
+	bytes[offset + 2] = (byte) ('0' + year / 10 % 10);
+	bytes[offset + 3] = (byte) ('0' + year % 10);
+	bytes[offset + 4] = '-';
+	bytes[offset + 5] = (byte) ('0' + month / 10);
+	bytes[offset + 6] = (byte) ('0' + month % 10);
+	bytes[offset + 7] = '-';
+	bytes[offset + 8] = (byte) ('0' + day / 10);
+	bytes[offset + 9] = (byte) ('0' + day % 10);
+	return offset + LENGTH;
+    }
+
+    /**
+     * Appends the given epoch day as yyyy-MM-dd to the builder.
+     * 
+     * @param epochDay
+     *            Days since 1970-01-01
+     * @param builder
+     *            Builder for the text, cannot be null
+     * @return The builder
+     * @throws DateTimeException
+     *             If the year is not in the range 0 .. 9999
+     */
+    public static StringBuilder format(long epochDay, StringBuilder builder) {
+	long civil = civil(epochDay);
+	int year = EpochDays.unpackYear(civil);
+	int month = EpochDays.unpackMonth(civil);
+	int day = EpochDays.unpackDayOfMonth(civil);
+	return builder.append((char) ('0' + year / 1000))
+		.append((char) ('0' + year / 100 % 10))
+		.append((char) ('0' + year / 10 % 10))
+		.append((char) ('0' + year % 10)).append('-')
+		.append((char) ('0' + month / 10))
+		.append((char) ('0' + month % 10)).append('-')
+		.append((char) ('0' + day / 10))
+		.append((char) ('0' + day % 10));
+    }
+
+    /**
+     * Splits the epoch day like EpochDays.civil() and checks the year.
+     */
+    private static long civil(long epochDay) {
+	long civil = EpochDays.civil(epochDay);
+	int year = EpochDays.unpackYear(civil);
+	if (year < 0 || year > 9999)
+	    throw new DateTimeException("Year " + year
+		    + " cannot be formatted as yyyy-MM-dd");
+	return civil;
+    }
+}
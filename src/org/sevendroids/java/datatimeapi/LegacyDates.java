@@ -0,0 +1,401 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.sevendroids.java.datatimeapi.DateUtils.DayType;
+
+/**
+ * Bridge from the old date classes (java.util.Date and its subclasses
+ * java.sql.Date and java.sql.Timestamp, and Calendar) to the operations of
+ * {@link DateUtils}. The point in time of the old object is converted to the
+ * local day in the time zone of the bridge with {@link OffsetWindows}, so no
+ * Instant, ZonedDateTime or LocalDate is created in between. Only the methods
+ * returning a LocalDate create that object.
+ * <p>
+ * The time zone of a Calendar is ignored, its point in time is taken in the
+ * time zone of the bridge. Use {@link #of(TimeZone)} with the time zone of the
+ * Calendar to get the same day as Calendar.get().
+ * <p>
+ * A TimeZone without a java.time zone of the same rules (e.g. a
+ * SimpleTimeZone with custom rules) is used with the TimeZone methods
+ * instead: the local day is calculated with TimeZone.getOffset() and the
+ * DST type with TimeZone.inDaylightTime() at the start of the days, which
+ * creates a Date.
+ * 
+ * @see OffsetWindows
+ * @see org.sevendroids.java.calendardateapi.OldDateUtils
+ * 
+ * @author created: 7droids.org on 18.10.2026 00:46:10
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class LegacyDates {
+
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    private static final ConcurrentMap<ZoneId, LegacyDates> ZONES = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<TimeZone, LegacyDates> TIME_ZONES = new ConcurrentHashMap<>();
+
+    /**
+     * The time zone or null, if the bridge uses a TimeZone.
+     */
+    private final ZoneId zone;
+
+    /**
+     * The TimeZone without java.time zone or null.
+     */
+    private final TimeZone timeZone;
+
+    private final OffsetWindows windows;
+
+    private final DstTransitionIndex index;
+
+    private LegacyDates(ZoneId zone) {
+	super();
+	ZoneRules rules = zone.getRules();
+	this.zone = zone;
+	this.timeZone = null;
+	this.windows = rules.isFixedOffset() ? OffsetWindows.of(rules)
+		: OffsetWindows.of(zone);
+	this.index = DstTransitionIndex.of(zone);
+    }
+
+    private LegacyDates(TimeZone timeZone) {
+	super();
+	this.zone = null;
+	this.timeZone = timeZone;
+	this.windows = null;
+	this.index = null;
+    }
+
+    /**
+     * Returns the bridge for the given time zone. The bridge is created once
+     * per time zone and shared afterwards, only bridges of time zones with a
+     * fixed offset are created on every call.
+     * 
+     * @param zone
+     *            Time zone, cannot be null
+     * @return LegacyDates
+     */
+    public static LegacyDates of(ZoneId zone) {
+	LegacyDates dates = ZONES.get(zone);
+	if (dates == null) {
+	    if (zone.getRules().isFixedOffset())
+		return new LegacyDates(zone);
+	    dates = ZONES.computeIfAbsent(zone, LegacyDates::new);
+	}
+	return dates;
+    }
+
+    /**
+     * Returns the bridge for the given time zone. The bridge is created once
+     * per time zone with the same rules (TimeZone.equals()) and shared
+     * afterwards, so custom time zones with the same id and other rules get
+     * their own bridge. A time zone must not be changed after its first use.
+     * 
+     * @param zone
+     *            Time zone, cannot be null
+     * @return LegacyDates
+     */
+    public static LegacyDates of(TimeZone zone) {
+	LegacyDates dates = TIME_ZONES.get(zone);
+	if (dates == null)
+	    dates = TIME_ZONES.computeIfAbsent((TimeZone) zone.clone(),
+		    LegacyDates::create);
+	return dates;
+    }
+
+    private static LegacyDates create(TimeZone zone) {
+	try {
+	    ZoneId id = zone.toZoneId();
+	    if (zone.hasSameRules(TimeZone.getTimeZone(id)))
+		return of(id);
+	} catch (DateTimeException e) {
+	    // Id unknown to java.time
+	}
+	return new LegacyDates(zone);
+    }
+
+    /**
+     * Returns the bridge for the default time zone of the JVM, which is the
+     * time zone of java.sql.Date. Later changes of the default time zone are
+     * not recognized by the returned bridge.
+     * 
+     * @return LegacyDates
+     */
+    public static LegacyDates systemDefault() {
+	return of(TimeZone.getDefault());
+    }
+
+    /**
+     * @return The time zone of the bridge or null, if the bridge uses a
+     *         TimeZone without java.time zone
+     */
+    public ZoneId getZone() {
+	return zone;
+    }
+
+    /**
+     * Calculates the local day of the given point in time in the time zone
+     * of the bridge.
+     * 
+     * @param epochMilli
+     *            Milliseconds since 1970-01-01T00:00Z
+     * @return Days since 1970-01-01
+     */
+    public long toEpochDay(long epochMilli) {
+	if (timeZone == null)
+	    return windows.toEpochDay(epochMilli);
+	return Math.floorDiv(epochMilli + timeZone.getOffset(epochMilli),
+		MILLIS_PER_DAY);
+    }
+
+    /**
+     * Calculates the local day of the given date in the time zone of the
+     * bridge.
+     * 
+     * @param date
+     *            Date to convert, cannot be null
+     * @return Days since 1970-01-01
+     */
+    public long toEpochDay(Date date) {
+	return toEpochDay(date.getTime());
+    }
+
+    /**
+     * Calculates the local day of the point in time of the given calendar in
+     * the time zone of the bridge.
+     * 
+     * @param cal
+     *            Calendar to convert, cannot be null
+     * @return Days since 1970-01-01
+     */
+    public long toEpochDay(Calendar cal) {
+	return toEpochDay(cal.getTimeInMillis());
+    }
+
+    /**
+     * Converts the given date to the local date in the time zone of the
+     * bridge.
+     * 
+     * @param date
+     *            Date to convert, cannot be null
+     * @return LocalDate
+     */
+    public LocalDate toLocalDate(Date date) {
+	return LocalDate.ofEpochDay(toEpochDay(date));
+    }
+
+    /**
+     * Converts the point in time of the given calendar to the local date in
+     * the time zone of the bridge.
+     * 
+     * @param cal
+     *            Calendar to convert, cannot be null
+     * @return LocalDate
+     */
+    public LocalDate toLocalDate(Calendar cal) {
+	return LocalDate.ofEpochDay(toEpochDay(cal));
+    }
+
+    /**
+     * Calculates the local days of the given points in time.
+     * 
+     * @see OffsetWindows#toEpochDays(long[], int, int, int[])
+     */
+    public void toEpochDays(long[] epochMillis, int offset, int length,
+	    int[] epochDays) {
+	if (timeZone == null) {
+	    windows.toEpochDays(epochMillis, offset, length, epochDays);
+	    return;
+	}
+	BulkDateUtils.checkRange(epochMillis.length, offset, length);
+	BulkDateUtils.checkRange(epochDays.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    epochDays[i] = (int) toEpochDay(epochMillis[offset + i]);
+    }
+
+    /**
+     * Calculates the local days of the given dates. The result for
+     * dates[offset + i] is written to epochDays[i].
+     * 
+     * @param dates
+     *            Dates to convert, cannot be null
+     * @param offset
+     *            Index of the first date
+     * @param length
+     *            Number of dates
+     * @param epochDays
+     *            Array for the days since 1970-01-01
+     */
+    public void toEpochDays(Date[] dates, int offset, int length,
+	    int[] epochDays) {
+	BulkDateUtils.checkRange(dates.length, offset, length);
+	BulkDateUtils.checkRange(epochDays.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    epochDays[i] = (int) toEpochDay(dates[offset + i].getTime());
+    }
+
+    /**
+     * @see DateUtils#isWeekend(LocalDate)
+     */
+    public boolean isWeekend(Date date) {
+	return EpochDays.isWeekend(toEpochDay(date));
+    }
+
+    /**
+     * @see DateUtils#isWeekend(LocalDate)
+     */
+    public boolean isWeekend(Calendar cal) {
+	return EpochDays.isWeekend(toEpochDay(cal));
+    }
+
+    /**
+     * @see DateUtils#getPreviousWorkingDay(LocalDate)
+     */
+    public LocalDate getPreviousWorkingDay(Date date) {
+	return LocalDate.ofEpochDay(EpochDays
+		.previousWorkingDay(toEpochDay(date)));
+    }
+
+    /**
+     * @see DateUtils#getPreviousWorkingDay(LocalDate)
+     */
+    public LocalDate getPreviousWorkingDay(Calendar cal) {
+	return LocalDate.ofEpochDay(EpochDays
+		.previousWorkingDay(toEpochDay(cal)));
+    }
+
+    /**
+     * Returns the type of the local day of the given date in the time zone of
+     * the bridge.
+     * 
+     * @see DateUtils#getDSTType(LocalDate, ZoneId)
+     */
+    public DayType getDSTType(Date date) {
+	return getDSTType(toEpochDay(date));
+    }
+
+    /**
+     * Returns the type of the local day of the given calendar in the time
+     * zone of the bridge.
+     * 
+     * @see DateUtils#getDSTType(LocalDate, ZoneId)
+     */
+    public DayType getDSTType(Calendar cal) {
+	return getDSTType(toEpochDay(cal));
+    }
+
+    private DayType getDSTType(long epochDay) {
+	if (timeZone == null)
+	    return index.getDSTType(epochDay);
+	boolean dst = inDaylightTime(epochDay);
+	// Check the day after
+	if (inDaylightTime(epochDay + 1)) {
+	    if (!dst)
+		return DayType.TO_DAYLIGHT_SAVING_TIME;
+	} else {
+	    if (dst)
+		return DayType.TO_STANDARD_TIME;
+	}
+	return dst ? DayType.DAYLIGHT_SAVING_TIME : DayType.STANDARD_TIME;
+    }
+
+    /**
+     * Checks the TimeZone for daylight saving time at the start of the day.
+     * If midnight is in a gap, the day starts at the end of the gap like
+     * with LocalDate.atStartOfDay().
+     */
+    private boolean inDaylightTime(long epochDay) {
+	long midnight = epochDay * MILLIS_PER_DAY;
+	long start = midnight
+		- timeZone.getOffset(midnight - timeZone.getRawOffset());
+	if (start + timeZone.getOffset(start) != midnight)
+	    start = midnight - timeZone.getOffset(start);
+	return timeZone.inDaylightTime(new Date(start));
+    }
+
+    /**
+     * @see DateUtils#getQuarter(LocalDate)
+     */
+    public int getQuarter(Date date) {
+	return EpochDays.quarter(toEpochDay(date));
+    }
+
+    /**
+     * @see DateUtils#getQuarter(LocalDate)
+     */
+    public int getQuarter(Calendar cal) {
+	return EpochDays.quarter(toEpochDay(cal));
+    }
+
+    /**
+     * @see DateUtils#getQuartersBetweenDates(LocalDate, LocalDate)
+     */
+    public int getQuartersBetweenDates(Date date1, Date date2) {
+	return EpochDays.quartersBetween(toEpochDay(date1), toEpochDay(date2));
+    }
+
+    /**
+     * @see DateUtils#getQuartersBetweenDates(LocalDate, LocalDate)
+     */
+    public int getQuartersBetweenDates(Calendar date1, Calendar date2) {
+	return EpochDays.quartersBetween(toEpochDay(date1), toEpochDay(date2));
+    }
+
+    /**
+     * @see DateUtils#endOfMonth(LocalDate)
+     */
+    public LocalDate endOfMonth(Date date) {
+	return LocalDate.ofEpochDay(EpochDays.endOfMonth(toEpochDay(date)));
+    }
+
+    /**
+     * @see DateUtils#endOfMonth(LocalDate)
+     */
+    public LocalDate endOfMonth(Calendar cal) {
+	return LocalDate.ofEpochDay(EpochDays.endOfMonth(toEpochDay(cal)));
+    }
+
+    /**
+     * @see DateUtils#beginOfSeason(LocalDate)
+     */
+    public LocalDate beginOfSeason(Date date) {
+	return LocalDate.ofEpochDay(EpochDays.beginOfSeason(toEpochDay(date)));
+    }
+
+    /**
+     * @see DateUtils#beginOfSeason(LocalDate)
+     */
+    public LocalDate beginOfSeason(Calendar cal) {
+	return LocalDate.ofEpochDay(EpochDays.beginOfSeason(toEpochDay(cal)));
+    }
+
+    /**
+     * @see DateUtils#endOfSeason(LocalDate)
+     */
+    public LocalDate endOfSeason(Date date) {
+	return LocalDate.ofEpochDay(EpochDays.endOfSeason(toEpochDay(date)));
+    }
+
+    /**
+     * @see DateUtils#endOfSeason(LocalDate)
+     */
+    public LocalDate endOfSeason(Calendar cal) {
+	return LocalDate.ofEpochDay(EpochDays.endOfSeason(toEpochDay(cal)));
+    }
+
+    @Override
+    public String toString() {
+	return "LegacyDates[" + (zone != null ? zone : timeZone.getID()) + "]";
+    }
+}
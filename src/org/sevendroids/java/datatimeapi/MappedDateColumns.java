@@ -0,0 +1,293 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * This class runs the operations of {@link DateUtils} on date columns stored
+ * in files. A date column is a binary file of int32 epoch days without any
+ * header. The input file and the result files are memory mapped chunk by
+ * chunk and the chunks are processed in parallel, so the dates are never
+ * copied into the heap.
+ * <p>
+ * Every result column is written into its own file with one value per input
+ * row: flags and small numbers as one byte, dates as int32 epoch days in the
+ * byte order of the input. Existing result files are overwritten. Every
+ * chunk of the results is forced to the storage device, so the result files
+ * are complete on the device when the process method returns.
+ * <p>
+ * Java 8 cannot unmap a file explicitly, the mappings are released when they
+ * are garbage collected.
+ * 
+ * @see BulkDateUtils
+ * 
+ * @author created: 7droids.org on 18.10.2026 01:38:52
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class MappedDateColumns {
+
+    /**
+     * Number of rows mapped and processed at once.
+     */
+    static final int CHUNK_ROWS = 1 << 22;
+
+    /**
+     * Result columns.
+     */
+    public static enum Column {
+	/**
+	 * 1 for Saturday and Sunday, otherwise 0 as byte.
+	 */
+	WEEKEND(1) {
+	    @Override
+	    void apply(IntBuffer days, ByteBuffer result,
+		    DstTransitionIndex index) {
+		for (int i = 0; i < days.limit(); i++)
+		    result.put(i, (byte) (EpochDays.isWeekend(days.get(i)) ? 1
+			    : 0));
+	    }
+	},
+	/**
+	 * Quarter (0 .. 3) as byte.
+	 */
+	QUARTER(1) {
+	    @Override
+	    void apply(IntBuffer days, ByteBuffer result,
+		    DstTransitionIndex index) {
+		for (int i = 0; i < days.limit(); i++)
+		    result.put(i, (byte) EpochDays.quarter(days.get(i)));
+	    }
+	},
+	/**
+	 * Previous working day as epoch day.
+	 */
+	PREVIOUS_WORKING_DAY(4) {
+	    @Override
+	    void apply(IntBuffer days, ByteBuffer result,
+		    DstTransitionIndex index) {
+		IntBuffer dates = result.asIntBuffer();
+		for (int i = 0; i < days.limit(); i++)
+		    dates.put(i, (int) EpochDays.previousWorkingDay(days
+			    .get(i)));
+	    }
+	},
+	/**
+	 * Last day of the month as epoch day.
+	 */
+	END_OF_MONTH(4) {
+	    @Override
+	    void apply(IntBuffer days, ByteBuffer result,
+		    DstTransitionIndex index) {
+		IntBuffer dates = result.asIntBuffer();
+		for (int i = 0; i < days.limit(); i++)
+		    dates.put(i, (int) EpochDays.endOfMonth(days.get(i)));
+	    }
+	},
+	/**
+	 * First day of the season as epoch day.
+	 */
+	BEGIN_OF_SEASON(4) {
+	    @Override
+	    void apply(IntBuffer days, ByteBuffer result,
+		    DstTransitionIndex index) {
+		IntBuffer dates = result.asIntBuffer();
+		for (int i = 0; i < days.limit(); i++)
+		    dates.put(i, (int) EpochDays.beginOfSeason(days.get(i)));
+	    }
+	},
+	/**
+	 * Last day of the season as epoch day.
+	 */
+	END_OF_SEASON(4) {
+	    @Override
+	    void apply(IntBuffer days, ByteBuffer result,
+		    DstTransitionIndex index) {
+		IntBuffer dates = result.asIntBuffer();
+		for (int i = 0; i < days.limit(); i++)
+		    dates.put(i, (int) EpochDays.endOfSeason(days.get(i)));
+	    }
+	},
+	/**
+	 * Ordinal of the DayType as byte.
+	 */
+	DST_TYPE(1) {
+	    @Override
+	    void apply(IntBuffer days, ByteBuffer result,
+		    DstTransitionIndex index) {
+		for (int i = 0; i < days.limit(); i++)
+		    result.put(i, (byte) index.getDSTType(days.get(i))
+			    .ordinal());
+	    }
+	};
+
+	private final int width;
+
+	private Column(int width) {
+	    this.width = width;
+	}
+
+	/**
+	 * @return Number of bytes per row in the result file
+	 */
+	public int getWidth() {
+	    return width;
+	}
+
+	/**
+	 * Writes the results for all days into the result buffer.
+	 */
+	abstract void apply(IntBuffer days, ByteBuffer result,
+		DstTransitionIndex index);
+    }
+
+    /**
+     * Private constructor.
+     */
+    private MappedDateColumns() {
+	super();
+    }
+
+    /**
+     * Calculates one result column for a date column in little endian byte
+     * order. The DST type is calculated for the default time zone.
+     * 
+     * @param input
+     *            File with the epoch days, cannot be null
+     * @param column
+     *            Result column, cannot be null
+     * @param output
+     *            File for the results, cannot be null
+     * @return Number of rows
+     * @throws IOException
+     *             If a file cannot be read or written
+     */
+    public static long process(Path input, Column column, Path output)
+	    throws IOException {
+	return process(input, ByteOrder.LITTLE_ENDIAN, ZoneId.systemDefault(),
+		Collections.singletonMap(column, output));
+    }
+
+    /**
+     * Calculates the given result columns for a date column.
+     * 
+     * @param input
+     *            File with the epoch days, cannot be null
+     * @param order
+     *            Byte order of the input and the int32 results, cannot be
+     *            null
+     * @param zone
+     *            Time zone for the DST type, cannot be null
+     * @param outputs
+     *            File for every result column, cannot be null
+     * @return Number of rows
+     * @throws IOException
+     *             If a file cannot be read or written
+     */
+    public static long process(Path input, ByteOrder order, ZoneId zone,
+	    Map<Column, Path> outputs) throws IOException {
+	return process(input, order, zone, outputs, CHUNK_ROWS);
+    }
+
+    /**
+     * Calculates the given result columns with the given chunk size.
+     */
+    static long process(Path input, ByteOrder order, ZoneId zone,
+	    Map<Column, Path> outputs, int chunkRows) throws IOException {
+	Column[] columns = outputs.keySet().toArray(new Column[0]);
+	FileChannel[] channels = new FileChannel[columns.length];
+	Throwable failure = null;
+	try (FileChannel in = FileChannel.open(input,
+		StandardOpenOption.READ)) {
+	    long size = in.size();
+	    if (size % 4 != 0)
+		throw new IllegalArgumentException("Size of " + input
+			+ " is no multiple of 4: " + size);
+	    long rows = size / 4;
+	    for (int i = 0; i < columns.length; i++) {
+		channels[i] = FileChannel.open(outputs.get(columns[i]),
+			StandardOpenOption.READ, StandardOpenOption.WRITE,
+			StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING);
+		// Set the size once, so the parallel mappings do not grow it
+		if (rows > 0)
+		    channels[i].write(ByteBuffer.allocate(1), rows
+			    * columns[i].width - 1);
+	    }
+	    DstTransitionIndex index = DstTransitionIndex.of(zone);
+	    long chunks = (rows + chunkRows - 1) / chunkRows;
+	    try {
+		LongStream.range(0, chunks).parallel().forEach(chunk -> {
+		    long first = chunk * chunkRows;
+		    int count = (int) Math.min(chunkRows, rows - first);
+		    try {
+			processChunk(in, channels, columns, order, index,
+				first, count);
+		    } catch (IOException e) {
+			throw new UncheckedIOException(e);
+		    }
+		});
+	    } catch (UncheckedIOException e) {
+		throw e.getCause();
+	    }
+	    return rows;
+	} catch (Throwable e) {
+	    failure = e;
+	    throw e;
+	} finally {
+	    close(channels, failure);
+	}
+    }
+
+    /**
+     * Closes all given channels. If closing fails, the exception is added as
+     * suppressed to the given failure or thrown after all channels are
+     * closed.
+     */
+    private static void close(FileChannel[] channels, Throwable failure)
+	    throws IOException {
+	IOException first = null;
+	for (FileChannel channel : channels) {
+	    if (channel == null)
+		continue;
+	    try {
+		channel.close();
+	    } catch (IOException e) {
+		if (failure != null)
+		    failure.addSuppressed(e);
+		else if (first == null)
+		    first = e;
+		else
+		    first.addSuppressed(e);
+	    }
+	}
+	if (first != null)
+	    throw first;
+    }
+
+    private static void processChunk(FileChannel in, FileChannel[] channels,
+	    Column[] columns, ByteOrder order, DstTransitionIndex index,
+	    long first, int count) throws IOException {
+	IntBuffer days = in.map(MapMode.READ_ONLY, first * 4, count * 4L)
+		.order(order).asIntBuffer();
+	for (int i = 0; i < columns.length; i++) {
+	    int width = columns[i].width;
+	    MappedByteBuffer result = channels[i].map(MapMode.READ_WRITE,
+		    first * width, (long) count * width);
+	    columns[i].apply(days, result.order(order), index);
+	    result.force();
+	}
+    }
+}
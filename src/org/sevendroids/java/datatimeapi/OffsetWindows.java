@@ -0,0 +1,248 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The offsets of a time zone as windows of milliseconds since
+ * 1970-01-01T00:00Z, in which the offset does not change. The windows are
+ * calculated once from the transitions of the time zone, so converting a point
+ * in time to the local day is a range check and an addition as long as the
+ * point in time is in the same window as the previous one. Otherwise the
+ * window is found by a binary search. Nothing is allocated for a conversion.
+ * <p>
+ * The windows cover the years from {@link DstTransitionIndex#MIN_YEAR} to
+ * {@link DstTransitionIndex#MAX_YEAR} (in UTC). Points in time outside are
+ * converted with the rules of the time zone on every call. The windows are
+ * safe to use by concurrent threads.
+ * 
+ * @see ZoneContext
+ * 
+ * @author created: 7droids.org on 18.10.2026 00:21:37
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class OffsetWindows {
+
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    /**
+     * Largest offset of a time zone (18 hours).
+     */
+    private static final long MAX_OFFSET_MILLIS = 64800000L;
+
+    private static final ConcurrentMap<ZoneId, OffsetWindows> WINDOWS = new ConcurrentHashMap<>();
+
+    private final ZoneRules rules;
+
+    /**
+     * Start of every window and as last entry the end of the last window.
+     */
+    private final long[] starts;
+
+    /**
+     * Offset in milliseconds of every window.
+     */
+    private final int[] offsets;
+
+    /**
+     * Index of the window used last. Threads may overwrite each other's value,
+     * this only costs a search on the next call.
+     */
+    private int last;
+
+    private OffsetWindows(ZoneRules rules) {
+	super();
+	this.rules = rules;
+	long start = startOfYear(DstTransitionIndex.MIN_YEAR);
+	long end = startOfYear(DstTransitionIndex.MAX_YEAR + 1);
+	long[] windowStarts = new long[65];
+	int[] windowOffsets = new int[64];
+	windowStarts[0] = start;
+	windowOffsets[0] = offsetMillis(rules, start);
+	int count = 1;
+	ZoneOffsetTransition transition = rules.nextTransition(Instant
+		.ofEpochMilli(start));
+	while (transition != null
+		&& transition.getInstant().toEpochMilli() < end) {
+	    if (count == windowOffsets.length) {
+		windowStarts = Arrays.copyOf(windowStarts, count * 2 + 1);
+		windowOffsets = Arrays.copyOf(windowOffsets, count * 2);
+	    }
+	    windowStarts[count] = transition.getInstant().toEpochMilli();
+	    windowOffsets[count++] = transition.getOffsetAfter()
+		    .getTotalSeconds() * 1000;
+	    transition = rules.nextTransition(transition.getInstant());
+	}
+	windowStarts[count] = end;
+	this.starts = Arrays.copyOf(windowStarts, count + 1);
+	this.offsets = Arrays.copyOf(windowOffsets, count);
+    }
+
+    /**
+     * Returns the windows for the given time zone. The windows are created once
+     * per zone and shared afterwards.
+     * 
+     * @param zone
+     *            Time zone, cannot be null
+     * @return OffsetWindows
+     */
+    public static OffsetWindows of(ZoneId zone) {
+	OffsetWindows windows = WINDOWS.get(zone);
+	if (windows == null)
+	    windows = WINDOWS.computeIfAbsent(zone,
+		    z -> new OffsetWindows(z.getRules()));
+	return windows;
+    }
+
+    /**
+     * Creates new windows for the given rules. The windows are not shared, so
+     * the caller should keep them as long as the rules are used.
+     */
+    static OffsetWindows of(ZoneRules rules) {
+	return new OffsetWindows(rules);
+    }
+
+    private static long startOfYear(int year) {
+	return LocalDate.of(year, 1, 1).toEpochDay() * MILLIS_PER_DAY;
+    }
+
+    private static int offsetMillis(ZoneRules rules, long epochMilli) {
+	return rules.getOffset(Instant.ofEpochMilli(epochMilli))
+		.getTotalSeconds() * 1000;
+    }
+
+    /**
+     * Returns the offset of the time zone at the given point in time.
+     * 
+     * @param epochMilli
+     *            Milliseconds since 1970-01-01T00:00Z
+     * @return Offset in milliseconds
+     */
+    public int getOffsetMillis(long epochMilli) {
+	int window = last;
+	if (epochMilli >= starts[window] && epochMilli < starts[window + 1])
+	    return offsets[window];
+	window = window(epochMilli);
+	if (window < 0)
+	    return offsetMillis(rules, epochMilli);
+	last = window;
+	return offsets[window];
+    }
+
+    /**
+     * Returns the offset of the time zone at the given point in time.
+     * 
+     * @param epochMilli
+     *            Milliseconds since 1970-01-01T00:00Z
+     * @return ZoneOffset
+     */
+    public ZoneOffset getOffset(long epochMilli) {
+	return ZoneOffset.ofTotalSeconds(getOffsetMillis(epochMilli) / 1000);
+    }
+
+    /**
+     * Returns the index of the window containing the point in time or -1 if
+     * the point in time is not covered by the windows.
+     */
+    private int window(long epochMilli) {
+	if (epochMilli < starts[0] || epochMilli >= starts[offsets.length])
+	    return -1;
+	int window = Arrays.binarySearch(starts, epochMilli);
+	return window >= 0 ? window : -window - 2;
+    }
+
+    /**
+     * Calculates the local day of the given point in time in this time zone.
+     * 
+     * @param epochMilli
+     *            Milliseconds since 1970-01-01T00:00Z
+     * @return Days since 1970-01-01
+     */
+    public long toEpochDay(long epochMilli) {
+	return Math.floorDiv(epochMilli + getOffsetMillis(epochMilli),
+		MILLIS_PER_DAY);
+    }
+
+    /**
+     * Calculates the first point in time of the given local day in this time
+     * zone like LocalDate.atStartOfDay(ZoneId): if midnight is in a gap, the
+     * day starts at the end of the gap, in an overlap the earlier point in
+     * time is used.
+     * 
+     * @param epochDay
+     *            Days since 1970-01-01
+     * @return Milliseconds since 1970-01-01T00:00Z
+     */
+    public long startOfDay(long epochDay) {
+	long midnight = epochDay * MILLIS_PER_DAY;
+	int window = window(midnight - MAX_OFFSET_MILLIS);
+	if (window >= 0)
+	    // The first window containing midnight in local time
+	    for (; window < offsets.length; window++) {
+		if (midnight < starts[window] + offsets[window])
+		    return starts[window];
+		if (midnight < starts[window + 1] + offsets[window])
+		    return midnight - offsets[window];
+	    }
+	LocalDateTime startOfDay = LocalDate.ofEpochDay(epochDay)
+		.atStartOfDay();
+	ZoneOffsetTransition transition = rules.getTransition(startOfDay);
+	if (transition != null && transition.isGap())
+	    return transition.getInstant().toEpochMilli();
+	return startOfDay.toEpochSecond(rules.getOffset(startOfDay)) * 1000;
+    }
+
+    /**
+     * Calculates the local days of the given points in time. The result for
+     * epochMillis[offset + i] is written to epochDays[i]. Consecutive points in
+     * time in the same window are converted without any search, so sorted
+     * input is converted fastest.
+     * 
+     * @param epochMillis
+     *            Milliseconds since 1970-01-01T00:00Z, cannot be null
+     * @param offset
+     *            Index of the first point in time
+     * @param length
+     *            Number of points in time
+     * @param epochDays
+     *            Array for the days since 1970-01-01
+     */
+    public void toEpochDays(long[] epochMillis, int offset, int length,
+	    int[] epochDays) {
+	BulkDateUtils.checkRange(epochMillis.length, offset, length);
+	BulkDateUtils.checkRange(epochDays.length, 0, length);
+	// Empty window until the first lookup
+	long low = 0;
+	long high = 0;
+	int offsetMillis = 0;
+	for (int i = 0; i < length; i++) {
+	    long epochMilli = epochMillis[offset + i];
+	    if (epochMilli < low || epochMilli >= high) {
+		int window = window(epochMilli);
+		if (window < 0) {
+		    epochDays[i] = (int) toEpochDay(epochMilli);
+		    continue;
+		}
+		low = starts[window];
+		high = starts[window + 1];
+		offsetMillis = offsets[window];
+	    }
+	    epochDays[i] = (int) Math.floorDiv(epochMilli + offsetMillis,
+		    MILLIS_PER_DAY);
+	}
+    }
+
+    @Override
+    public String toString() {
+	return "OffsetWindows[" + rules + ", " + offsets.length + " windows]";
+    }
+}
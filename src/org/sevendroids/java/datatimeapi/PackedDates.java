@@ -0,0 +1,320 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.LocalDate;
+
+/**
+ * This class provides the operations of {@link DateUtils} for dates packed
+ * into an int. A packed date holds the year, month and day of month as bit
+ * fields (year &lt;&lt; 9 | month &lt;&lt; 5 | day), so it needs 4 bytes
+ * instead of a LocalDate object and can be stored in int[] columns. The year
+ * is the signed high part, so the natural order of the ints is the
+ * chronological order: packed dates are compared with the int operators and
+ * sorted with Arrays.sort(int[]).
+ * <p>
+ * All methods only use integer arithmetic and create no objects except the
+ * conversion to LocalDate. The packed values are not validated, use
+ * {@link #of(int, int, int)} or {@link #of(LocalDate)} to create them.
+ * Months are counted from 1 (January) to 12 (December), days of week from 1
+ * (Monday) to 7 (Sunday) like in java.time.
+ * 
+ * @see DateUtils
+ * @see EpochDays
+ * 
+ * @author created: 7droids.org on 18.10.2026 07:14:36
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class PackedDates {
+
+    private static final int YEAR_SHIFT = 9;
+    private static final int MONTH_SHIFT = 5;
+
+    /**
+     * The smallest year of a packed date.
+     */
+    public static final int MIN_YEAR = Integer.MIN_VALUE >> YEAR_SHIFT;
+
+    /**
+     * The largest year of a packed date.
+     */
+    public static final int MAX_YEAR = Integer.MAX_VALUE >> YEAR_SHIFT;
+
+    /**
+     * The packed date of 1 January of {@link #MIN_YEAR}.
+     */
+    public static final int MIN = pack(MIN_YEAR, 1, 1);
+
+    /**
+     * The packed date of 31 December of {@link #MAX_YEAR}.
+     */
+    public static final int MAX = pack(MAX_YEAR, 12, 31);
+
+    /**
+     * Private constructor.
+     */
+    private PackedDates() {
+	super();
+    }
+
+    /**
+     * Creates a packed date.
+     * 
+     * @param year
+     *            Year ({@link #MIN_YEAR} .. {@link #MAX_YEAR})
+     * @param month
+     *            Month (1 .. 12)
+     * @param dayOfMonth
+     *            Day of month (1 .. 28/31)
+     * @return Packed date
+     * @throws IllegalArgumentException
+     *             if the date is invalid
+     */
+    public static int of(int year, int month, int dayOfMonth) {
+	if (year < MIN_YEAR || year > MAX_YEAR || month < 1 || month > 12
+		|| dayOfMonth < 1
+		|| dayOfMonth > EpochDays.lengthOfMonth(year, month))
+	    throw new IllegalArgumentException("Invalid date " + year + "-"
+		    + month + "-" + dayOfMonth);
+	return pack(year, month, dayOfMonth);
+    }
+
+    /**
+     * Creates a packed date of the given date.
+     * 
+     * @param date
+     *            Date, cannot be null
+     * @return Packed date
+     * @throws IllegalArgumentException
+     *             if the year is out of the range of packed dates
+     */
+    public static int of(LocalDate date) {
+	return of(date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+    }
+
+    /**
+     * Creates a packed date of the given epoch day.
+     * 
+     * @param epochDay
+     *            Days since 1970-01-01, the year must be in the range of
+     *            packed dates
+     * @return Packed date
+     */
+    public static int ofEpochDay(long epochDay) {
+	// EpochDays uses the same bit layout
+	return (int) EpochDays.civil(epochDay);
+    }
+
+    /**
+     * Creates a new date object of the packed date.
+     */
+    public static LocalDate toLocalDate(int date) {
+	return LocalDate.of(year(date), month(date), dayOfMonth(date));
+    }
+
+    /**
+     * Returns the epoch day (days since 1970-01-01) of the packed date.
+     */
+    public static long toEpochDay(int date) {
+	return EpochDays.of(year(date), month(date), dayOfMonth(date));
+    }
+
+    /**
+     * Returns the year of the packed date.
+     */
+    public static int year(int date) {
+	return EpochDays.unpackYear(date);
+    }
+
+    /**
+     * Returns the month (1 .. 12) of the packed date.
+     */
+    public static int month(int date) {
+	return EpochDays.unpackMonth(date);
+    }
+
+    /**
+     * Returns the day of month (1 .. 31) of the packed date.
+     */
+    public static int dayOfMonth(int date) {
+	return EpochDays.unpackDayOfMonth(date);
+    }
+
+    /**
+     * Returns the day of week (1 = Monday .. 7 = Sunday) of the packed date.
+     */
+    public static int dayOfWeek(int date) {
+	return EpochDays.dayOfWeek(toEpochDay(date));
+    }
+
+    /**
+     * Returns the packed date the given number of days after the date.
+     * 
+     * @param date
+     *            Packed date
+     * @param days
+     *            Days to add, may be negative
+     * @return Packed date
+     */
+    public static int plusDays(int date, long days) {
+	int dayOfMonth = dayOfMonth(date) + (int) days;
+	// Within the same month only the day field changes
+	if (days == (int) days && dayOfMonth >= 1 && dayOfMonth <= 28)
+	    return date + (int) days;
+	return ofEpochDay(toEpochDay(date) + days);
+    }
+
+    /**
+     * Returns the number of days from the first to the second date, negative
+     * if the second date is before the first.
+     */
+    public static long daysBetween(int date1, int date2) {
+	return toEpochDay(date2) - toEpochDay(date1);
+    }
+
+    /**
+     * This method checks whether the packed date is at the weekend (Saturday
+     * or Sunday).
+     * 
+     * @see DateUtils#isWeekend(LocalDate)
+     */
+    public static boolean isWeekend(int date) {
+	return dayOfWeek(date) >= 6;
+    }
+
+    /**
+     * The methods calculates the previous working day. It only recognize
+     * Saturday and Sunday as non -working days.
+     * 
+     * @see DateUtils#getPreviousWorkingDay(LocalDate)
+     */
+    public static int previousWorkingDay(int date) {
+	switch (dayOfWeek(date)) {
+	case 1: // Monday
+	    return plusDays(date, -3);
+	case 7: // Sunday
+	    return plusDays(date, -2);
+	default:
+	    return plusDays(date, -1);
+	}
+    }
+
+    /**
+     * Returns the quarter (0 .. 3) of the packed date.
+     * 
+     * @see DateUtils#getQuarter(LocalDate)
+     */
+    public static int quarter(int date) {
+	return (month(date) - 1) / 3;
+    }
+
+    /**
+     * Calculates the number of quarters between two packed dates.
+     * 
+     * @see DateUtils#getQuartersBetweenDates(LocalDate, LocalDate)
+     */
+    public static int quartersBetween(int date1, int date2) {
+	return (int) Math.abs(quarterIndex(date2) - quarterIndex(date1));
+    }
+
+    /**
+     * Returns the number of quarters since the begin of year 0.
+     */
+    private static long quarterIndex(int date) {
+	return year(date) * 4L + quarter(date);
+    }
+
+    /**
+     * Returns the last day of the month of the packed date.
+     * 
+     * @see DateUtils#endOfMonth(LocalDate)
+     */
+    public static int endOfMonth(int date) {
+	int year = year(date);
+	int month = month(date);
+	return pack(year, month, EpochDays.lengthOfMonth(year, month));
+    }
+
+    /**
+     * Returns the first day of the season of the packed date. A season is
+     * defined as a period from April to September and from October to March.
+     * 
+     * @see DateUtils#beginOfSeason(LocalDate)
+     */
+    public static int beginOfSeason(int date) {
+	int year = year(date);
+	int month = month(date);
+	if (month < 4) // Jan-Mar --> 1. October of the previous year
+	    return pack(year - 1, 10, 1);
+	else if (month < 10) // Apr-Sep --> 1. April
+	    return pack(year, 4, 1);
+	else
+	    // Oct-Dec --> 1. October
+	    return pack(year, 10, 1);
+    }
+
+    /**
+     * Returns the last day of the season of the packed date.
+     * 
+     * @see DateUtils#endOfSeason(LocalDate)
+     */
+    public static int endOfSeason(int date) {
+	int year = year(date);
+	int month = month(date);
+	if (month < 4) // Jan-Mar --> 31. March
+	    return pack(year, 3, 31);
+	else if (month < 10) // Apr-Sep --> 30. September
+	    return pack(year, 9, 30);
+	else
+	    // Oct-Dec --> 31. March of the next year
+	    return pack(year + 1, 3, 31);
+    }
+
+    /**
+     * Compares two packed dates.
+     * 
+     * @return Negative if date1 is before date2, 0 if both are equal and
+     *         positive if date1 is after date2
+     */
+    public static int compare(int date1, int date2) {
+	return Integer.compare(date1, date2);
+    }
+
+    /**
+     * Checks if the first packed date is before the second.
+     */
+    public static boolean isBefore(int date1, int date2) {
+	return date1 < date2;
+    }
+
+    /**
+     * Checks if the first packed date is after the second.
+     */
+    public static boolean isAfter(int date1, int date2) {
+	return date1 > date2;
+    }
+
+    /**
+     * Returns the earlier of two packed dates.
+     */
+    public static int min(int date1, int date2) {
+	return Math.min(date1, date2);
+    }
+
+    /**
+     * Returns the later of two packed dates.
+     */
+    public static int max(int date1, int date2) {
+	return Math.max(date1, date2);
+    }
+
+    /**
+     * Returns the date as ISO string (yyyy-MM-dd) like LocalDate.
+     */
+    public static String toString(int date) {
+	return toLocalDate(date).toString();
+    }
+
+    private static int pack(int year, int month, int dayOfMonth) {
+	return year << YEAR_SHIFT | month << MONTH_SHIFT | dayOfMonth;
+    }
+}
@@ -0,0 +1,244 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.LocalDate;
+
+/**
+ * Maps dates to dense bucket numbers of a period (month, quarter or season),
+ * counted from the period containing a base date. The bucket of the base date
+ * is 0, the following period 1 and so on, dates before the base date get
+ * negative buckets. The bucket numbers can be used directly as index into
+ * primitive arrays, see {@link BucketAccumulator}.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ * 
+ * @see DateUtils#getQuarter(LocalDate)
+ * @see DateUtils#beginOfSeason(LocalDate)
+ * 
+ * @author created: 7droids.org on 17.10.2026 23:44:30
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class PeriodBuckets {
+
+    /**
+     * Periods supported as buckets.
+     */
+    public static enum Period {
+	/**
+	 * Calendar month.
+	 */
+	MONTH {
+	    @Override
+	    long index(long epochDay) {
+		return EpochDays.monthIndex(epochDay);
+	    }
+
+	    @Override
+	    long firstDay(long index) {
+		return EpochDays.firstOfMonth(index);
+	    }
+	},
+	/**
+	 * Calendar quarter as returned by DateUtils.getQuarter().
+	 */
+	QUARTER {
+	    @Override
+	    long index(long epochDay) {
+		return EpochDays.quarterIndex(epochDay);
+	    }
+
+	    @Override
+	    long firstDay(long index) {
+		return EpochDays.firstOfMonth(index * 3);
+	    }
+	},
+	/**
+	 * Season from April to September and from October to March as
+	 * returned by DateUtils.beginOfSeason().
+	 */
+	SEASON {
+	    @Override
+	    long index(long epochDay) {
+		return EpochDays.seasonIndex(epochDay);
+	    }
+
+	    @Override
+	    long firstDay(long index) {
+		return EpochDays.firstOfMonth(index * 6 + 3);
+	    }
+	};
+
+	/**
+	 * Returns the number of the period containing the epoch day.
+	 */
+	abstract long index(long epochDay);
+
+	/**
+	 * Returns the first epoch day of the period with the given number.
+	 */
+	abstract long firstDay(long index);
+    }
+
+    private final Period period;
+
+    private final long baseIndex;
+
+    /**
+     * Creates the buckets for the given period starting at the period of the
+     * base date.
+     * 
+     * @param period
+     *            Period of the buckets, cannot be null
+     * @param base
+     *            Date in the period of bucket 0, cannot be null
+     */
+    public PeriodBuckets(Period period, LocalDate base) {
+	super();
+	this.period = period;
+	this.baseIndex = period.index(base.toEpochDay());
+    }
+
+    /**
+     * Creates quarter buckets starting at the quarter of the base date.
+     */
+    public static PeriodBuckets quarters(LocalDate base) {
+	return new PeriodBuckets(Period.QUARTER, base);
+    }
+
+    /**
+     * Creates season buckets starting at the season of the base date.
+     */
+    public static PeriodBuckets seasons(LocalDate base) {
+	return new PeriodBuckets(Period.SEASON, base);
+    }
+
+    /**
+     * @return The period of the buckets
+     */
+    public Period getPeriod() {
+	return period;
+    }
+
+    /**
+     * Returns the bucket of the given date.
+     * 
+     * @param date
+     *            Date, cannot be null
+     * @return Bucket number, negative before the base date
+     */
+    public int bucket(LocalDate date) {
+	return bucket(date.toEpochDay());
+    }
+
+    /**
+     * Returns the bucket of the given epoch day.
+     * 
+     * @see #bucket(LocalDate)
+     */
+    public int bucket(long epochDay) {
+	return (int) (period.index(epochDay) - baseIndex);
+    }
+
+    /**
+     * Returns the first day of the given bucket.
+     * 
+     * @param bucket
+     *            Bucket number
+     * @return First day of the period
+     */
+    public LocalDate firstDay(int bucket) {
+	return LocalDate.ofEpochDay(period.firstDay(baseIndex + bucket));
+    }
+
+    /**
+     * Returns the last day of the given bucket.
+     * 
+     * @param bucket
+     *            Bucket number
+     * @return Last day of the period
+     */
+    public LocalDate lastDay(int bucket) {
+	return LocalDate
+		.ofEpochDay(period.firstDay(baseIndex + bucket + 1) - 1);
+    }
+
+    /**
+     * Calculates the buckets of the given epoch days. The result for
+     * epochDays[offset + i] is written to buckets[i].
+     * 
+     * @param epochDays
+     *            Dates, cannot be null
+     * @param offset
+     *            Index of the first date
+     * @param length
+     *            Number of dates
+     * @param buckets
+     *            Array for the results
+     */
+    public void buckets(int[] epochDays, int offset, int length,
+	    int[] buckets) {
+	BulkDateUtils.checkRange(epochDays.length, offset, length);
+	BulkDateUtils.checkRange(buckets.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    buckets[i] = bucket(epochDays[offset + i]);
+    }
+
+    /**
+     * Calculates the buckets of the given epoch days.
+     * 
+     * @see #buckets(int[], int, int, int[])
+     */
+    public void buckets(long[] epochDays, int offset, int length,
+	    int[] buckets) {
+	BulkDateUtils.checkRange(epochDays.length, offset, length);
+	BulkDateUtils.checkRange(buckets.length, 0, length);
+	for (int i = 0; i < length; i++)
+	    buckets[i] = bucket(epochDays[offset + i]);
+    }
+
+    /**
+     * Calculates the buckets of the given points in time (milliseconds since
+     * 1970-01-01T00:00Z). The local date is taken in the time zone of the
+     * given context with its {@link OffsetWindows}, so nothing is allocated
+     * per point in time.
+     * 
+     * @param epochMillis
+     *            Points in time, cannot be null
+     * @param offset
+     *            Index of the first point in time
+     * @param length
+     *            Number of points in time
+     * @param zone
+     *            Time zone of the local dates, cannot be null
+     * @param buckets
+     *            Array for the results
+     */
+    public void bucketsOfEpochMillis(long[] epochMillis, int offset,
+	    int length, ZoneContext zone, int[] buckets) {
+	BulkDateUtils.checkRange(epochMillis.length, offset, length);
+	BulkDateUtils.checkRange(buckets.length, 0, length);
+	// Contexts created from rules have no shared windows
+	OffsetWindows windows = zone.getZone() != null ? OffsetWindows
+		.of(zone.getZone()) : OffsetWindows.of(zone.getRules());
+	for (int i = 0; i < length; i++)
+	    buckets[i] = bucket(windows.toEpochDay(epochMillis[offset + i]));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+	if (!(obj instanceof PeriodBuckets))
+	    return false;
+	PeriodBuckets other = (PeriodBuckets) obj;
+	return period == other.period && baseIndex == other.baseIndex;
+    }
+
+    @Override
+    public int hashCode() {
+	return period.hashCode() * 31 + Long.hashCode(baseIndex);
+    }
+
+    @Override
+    public String toString() {
+	return "PeriodBuckets[" + period + ", " + firstDay(0) + "]";
+    }
+}
@@ -0,0 +1,316 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.sevendroids.java.datatimeapi.PeriodBuckets.Period;
+
+/**
+ * Running aggregates (count, sum, minimum and maximum) of the latest periods
+ * of a stream of values, e.g. the current and the previous quarter or the
+ * current season. The periods are the months, quarters and seasons of
+ * {@link PeriodBuckets}, so the windows roll over at the same boundaries as
+ * DateUtils.getQuarter() and DateUtils.beginOfSeason(). A value of a new
+ * period opens a new window and evicts the oldest one, values of evicted
+ * periods are dropped and only counted.
+ * <p>
+ * Values can be added by many threads without locks: the windows are kept in
+ * a ring, which is replaced slot by slot with compare-and-set, and every
+ * window aggregates with striped adders. A value racing with the eviction of
+ * its window may be dropped with the window. The aggregates of a window are
+ * read one by one, they are not a consistent snapshot while values are added.
+ * 
+ * @see PeriodBuckets
+ * @see BucketAccumulator
+ * 
+ * @author created: 7droids.org on 18.10.2026 09:36:20
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class RollingWindows {
+
+    /**
+     * Aggregates of one period.
+     */
+    private static final class Window {
+
+	final long index;
+
+	final LongAdder count = new LongAdder();
+
+	final DoubleAdder sum = new DoubleAdder();
+
+	final DoubleAccumulator min = new DoubleAccumulator(Math::min,
+		Double.POSITIVE_INFINITY);
+
+	final DoubleAccumulator max = new DoubleAccumulator(Math::max,
+		Double.NEGATIVE_INFINITY);
+
+	Window(long index) {
+	    super();
+	    this.index = index;
+	}
+
+	void add(double value) {
+	    count.increment();
+	    sum.add(value);
+	    min.accumulate(value);
+	    max.accumulate(value);
+	}
+    }
+
+    private final Period period;
+
+    private final OffsetWindows zone;
+
+    /**
+     * Window of period index i in slot i mod history.
+     */
+    private final AtomicReferenceArray<Window> windows;
+
+    private final int history;
+
+    /**
+     * Index of the latest period, Long.MIN_VALUE before the first value.
+     */
+    private final AtomicLong latest = new AtomicLong(Long.MIN_VALUE);
+
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Creates the windows for the given period. Points in time are converted
+     * to dates in the default time zone.
+     * 
+     * @param period
+     *            Period of the windows, cannot be null
+     * @param history
+     *            Number of windows kept, e.g. 2 for the current and the
+     *            previous period
+     */
+    public RollingWindows(Period period, int history) {
+	this(period, history, ZoneId.systemDefault());
+    }
+
+    /**
+     * Creates the windows for the given period.
+     * 
+     * @param period
+     *            Period of the windows, cannot be null
+     * @param history
+     *            Number of windows kept, e.g. 2 for the current and the
+     *            previous period
+     * @param zone
+     *            Time zone of the dates of points in time, cannot be null
+     */
+    public RollingWindows(Period period, int history, ZoneId zone) {
+	super();
+	if (history <= 0)
+	    throw new IllegalArgumentException("Invalid history " + history);
+	if (period == null)
+	    throw new NullPointerException("period");
+	this.period = period;
+	this.zone = OffsetWindows.of(zone);
+	this.history = history;
+	this.windows = new AtomicReferenceArray<>(history);
+    }
+
+    /**
+     * @return The period of the windows
+     */
+    public Period getPeriod() {
+	return period;
+    }
+
+    /**
+     * @return Number of windows kept
+     */
+    public int getHistory() {
+	return history;
+    }
+
+    /**
+     * Adds the value to the window of the given date.
+     * 
+     * @param date
+     *            Date of the value, cannot be null
+     * @param value
+     *            Value
+     * @return FALSE if the period of the date is already evicted
+     */
+    public boolean add(LocalDate date, double value) {
+	return add(date.toEpochDay(), value);
+    }
+
+    /**
+     * Adds the value to the window of the given epoch day.
+     * 
+     * @see #add(LocalDate, double)
+     */
+    public boolean add(long epochDay, double value) {
+	Window window = window(period.index(epochDay));
+	if (window == null) {
+	    dropped.increment();
+	    return false;
+	}
+	window.add(value);
+	return true;
+    }
+
+    /**
+     * Adds the value to the window of the local date of the given point in
+     * time.
+     * 
+     * @param epochMilli
+     *            Milliseconds since 1970-01-01T00:00Z
+     * @param value
+     *            Value
+     * @return FALSE if the period of the date is already evicted
+     */
+    public boolean addAt(long epochMilli, double value) {
+	return add(zone.toEpochDay(epochMilli), value);
+    }
+
+    /**
+     * Rolls the windows over to the period of the given epoch day without a
+     * value, e.g. on a timer at the end of a period.
+     */
+    public void advanceTo(long epochDay) {
+	window(period.index(epochDay));
+    }
+
+    /**
+     * Returns the window of the given period index. A newer period replaces
+     * the window in its slot.
+     * 
+     * @return Window or null if the period is already evicted
+     */
+    private Window window(long index) {
+	long newest = latest.get();
+	if (newest != Long.MIN_VALUE && index <= newest - history)
+	    return null;
+	int slot = (int) Math.floorMod(index, (long) history);
+	Window window = windows.get(slot);
+	while (window == null || window.index < index) {
+	    Window next = new Window(index);
+	    if (windows.compareAndSet(slot, window, next)) {
+		latest.accumulateAndGet(index, Math::max);
+		return next;
+	    }
+	    window = windows.get(slot);
+	}
+	return window.index == index ? window : null;
+    }
+
+    /**
+     * Returns the index of the period the given number of periods before the
+     * latest one.
+     * 
+     * @return Period index or Long.MIN_VALUE if there were no values
+     */
+    private long index(int periods) {
+	if (periods < 0 || periods >= history)
+	    throw new IndexOutOfBoundsException("Period " + periods
+		    + " is not in the history of " + history);
+	long newest = latest.get();
+	return newest == Long.MIN_VALUE ? newest : newest - periods;
+    }
+
+    /**
+     * Returns the window the given number of periods before the latest one.
+     * 
+     * @return Window or null if there were no values
+     */
+    private Window back(int periods) {
+	long index = index(periods);
+	if (index == Long.MIN_VALUE)
+	    return null;
+	Window window = windows.get((int) Math.floorMod(index, (long) history));
+	return window != null && window.index == index ? window : null;
+    }
+
+    /**
+     * Returns the number of values of a window.
+     * 
+     * @param periods
+     *            Number of periods before the latest period, 0 for the
+     *            latest one
+     * @return Number of values
+     */
+    public long getCount(int periods) {
+	Window window = back(periods);
+	return window == null ? 0 : window.count.sum();
+    }
+
+    /**
+     * Returns the sum of the values of a window.
+     * 
+     * @see #getCount(int)
+     */
+    public double getSum(int periods) {
+	Window window = back(periods);
+	return window == null ? 0 : window.sum.sum();
+    }
+
+    /**
+     * Returns the smallest value of a window, NaN without values.
+     * 
+     * @see #getCount(int)
+     */
+    public double getMin(int periods) {
+	Window window = back(periods);
+	return window == null || window.count.sum() == 0 ? Double.NaN
+		: window.min.get();
+    }
+
+    /**
+     * Returns the largest value of a window, NaN without values.
+     * 
+     * @see #getCount(int)
+     */
+    public double getMax(int periods) {
+	Window window = back(periods);
+	return window == null || window.count.sum() == 0 ? Double.NaN
+		: window.max.get();
+    }
+
+    /**
+     * Returns the first day of a window.
+     * 
+     * @return First day of the period or null before the first value
+     * @see #getCount(int)
+     */
+    public LocalDate getFirstDay(int periods) {
+	long index = index(periods);
+	return index == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(period
+		.firstDay(index));
+    }
+
+    /**
+     * Returns the last day of a window.
+     * 
+     * @return Last day of the period or null before the first value
+     * @see #getCount(int)
+     */
+    public LocalDate getLastDay(int periods) {
+	long index = index(periods);
+	return index == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(period
+		.firstDay(index + 1) - 1);
+    }
+
+    /**
+     * @return Number of values dropped, because their period was evicted
+     */
+    public long getDropped() {
+	return dropped.sum();
+    }
+
+    @Override
+    public String toString() {
+	return "RollingWindows[" + period + ", " + history + "]";
+    }
+}
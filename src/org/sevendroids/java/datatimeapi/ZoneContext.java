@@ -0,0 +1,170 @@
+package org.sevendroids.java.datatimeapi;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+
+import org.sevendroids.java.datatimeapi.DateUtils.DayType;
+
+/**
+ * A time zone with its rules and DST transition index resolved once. Create
+ * one context per time zone and reuse it for all calls, so no time zone lookup
+ * is done for the single date.
+ * 
+ * @see DstTransitionIndex
+ * 
+ * @author created: 7droids.org on 17.10.2026 21:12:44
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class ZoneContext {
+
+    private static final long SECONDS_PER_DAY = 86400;
+
+    private final ZoneId zone;
+
+    private final ZoneRules rules;
+
+    private final DstTransitionIndex index;
+
+    private ZoneContext(ZoneId zone, ZoneRules rules,
+	    DstTransitionIndex index) {
+	super();
+	this.zone = zone;
+	this.rules = rules;
+	this.index = index;
+    }
+
+    /**
+     * Creates a context for the given time zone.
+     * 
+     * @param zone
+     *            Time zone, cannot be null
+     * @return ZoneContext
+     */
+    public static ZoneContext of(ZoneId zone) {
+	return new ZoneContext(zone, zone.getRules(),
+		DstTransitionIndex.of(zone));
+    }
+
+    /**
+     * Creates a context for the given rules. The context has no zone id.
+     * 
+     * @param rules
+     *            Time zone rules, cannot be null
+     * @return ZoneContext
+     */
+    public static ZoneContext of(ZoneRules rules) {
+	return new ZoneContext(null, rules, DstTransitionIndex.of(rules));
+    }
+
+    /**
+     * Creates a context for the default time zone of the JVM. Later changes of
+     * the default time zone are not recognized by the context.
+     * 
+     * @return ZoneContext
+     */
+    public static ZoneContext systemDefault() {
+	return of(ZoneId.systemDefault());
+    }
+
+    /**
+     * @return The time zone or null, if the context was created from rules
+     */
+    public ZoneId getZone() {
+	return zone;
+    }
+
+    /**
+     * @return The rules of the time zone
+     */
+    public ZoneRules getRules() {
+	return rules;
+    }
+
+    /**
+     * Calculates the local day of the given instant in this time zone.
+     * 
+     * @param instant
+     *            Instant to convert, cannot be null
+     * @return Days since 1970-01-01
+     */
+    public long toEpochDay(Instant instant) {
+	return toEpochDay(instant, rules);
+    }
+
+    /**
+     * Calculates the local day of the given instant with the given rules.
+     */
+    static long toEpochDay(Instant instant, ZoneRules rules) {
+	ZoneOffset offset = rules.getOffset(instant);
+	return Math.floorDiv(
+		instant.getEpochSecond() + offset.getTotalSeconds(),
+		SECONDS_PER_DAY);
+    }
+
+    /**
+     * Calculates the local date of the given instant in this time zone.
+     * 
+     * @param instant
+     *            Instant to convert, cannot be null
+     * @return LocalDate
+     */
+    public LocalDate toLocalDate(Instant instant) {
+	return LocalDate.ofEpochDay(toEpochDay(instant));
+    }
+
+    /**
+     * Returns the type of the given date in this time zone. See
+     * {@link DateUtils#getDSTType(LocalDate)} for the possible values.
+     * 
+     * @param date
+     *            Date to check, cannot be null
+     * @return DayType
+     */
+    public DayType getDSTType(LocalDate date) {
+	return index.getDSTType(date);
+    }
+
+    /**
+     * Returns the type of the date of the given date time in this time zone.
+     * 
+     * @param dateTime
+     *            Date to check, cannot be null
+     * @return DayType
+     */
+    public DayType getDSTType(LocalDateTime dateTime) {
+	return index.getDSTType(dateTime.toLocalDate());
+    }
+
+    /**
+     * Returns the type of the local day of the given instant in this time
+     * zone.
+     * 
+     * @param instant
+     *            Instant to check, cannot be null
+     * @return DayType
+     */
+    public DayType getDSTType(Instant instant) {
+	return index.getDSTType(toEpochDay(instant));
+    }
+
+    /**
+     * Returns the type of the given epoch day in this time zone.
+     * 
+     * @param epochDay
+     *            Day to check as days since 1970-01-01
+     * @return DayType
+     */
+    public DayType getDSTType(long epochDay) {
+	return index.getDSTType(epochDay);
+    }
+
+    @Override
+    public String toString() {
+	return "ZoneContext[" + (zone != null ? zone : rules) + "]";
+    }
+}
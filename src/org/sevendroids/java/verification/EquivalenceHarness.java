@@ -0,0 +1,945 @@
+package org.sevendroids.java.verification;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TimeZone;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.sevendroids.java.calendardateapi.OldDateUtils;
+import org.sevendroids.java.datatimeapi.DateUtils;
+import org.sevendroids.java.datatimeapi.DstTransitionIndex;
+import org.sevendroids.java.datatimeapi.EpochDays;
+import org.sevendroids.java.datatimeapi.LegacyDates;
+
+/**
+ * Differential test of implementations of the {@link DateUtils} operations.
+ * Every operation is run by a reference engine and by candidate engines for
+ * the same days and time zones, and every result of a candidate is compared
+ * with the result of the reference. The days are either every day of a range
+ * or random days of a range, the time zones are typically all available time
+ * zones. The work is split into tasks of one time zone and up to
+ * {@value #CHUNK_DAYS} days, which run in parallel on the common fork join
+ * pool.
+ * <p>
+ * The {@link Report} shows the mismatches and the throughput of every engine
+ * side by side, so a faster implementation can be checked before it is used.
+ * The second day of {@link Operation#QUARTERS_BETWEEN_DATES} is the day at the
+ * mirrored position of the range, or another random day.
+ * <p>
+ * Days without any point in time in a time zone are skipped in that time
+ * zone, e.g. 2011-12-30 in Pacific/Apia, which moved across the date line.
+ * They cannot be passed as point in time to an engine and are counted by
+ * {@link Report#getSkippedDays()}. The engines with points in time cannot
+ * return them as result either, they return the next day, which is reported
+ * as mismatch.
+ * <p>
+ * The reference is usually {@link #baseline(ZoneId)}, the original
+ * implementation of DateUtils, so every faster implementation including the
+ * current DateUtils is compared with the original results.
+ * 
+ * @see DateUtils
+ * @see OldDateUtils
+ * 
+ * @author created: 7droids.org on 18.10.2026 03:47:26
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public final class EquivalenceHarness {
+
+    /**
+     * Maximum number of days per task.
+     */
+    static final int CHUNK_DAYS = 1 << 16;
+
+    /**
+     * Number of mismatches kept per candidate.
+     */
+    private static final int SAMPLES = 20;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    /**
+     * The compared operations. Every result is encoded as long: booleans as 1
+     * and 0, DayTypes as ordinal and dates as epoch day.
+     */
+    public static enum Operation {
+	IS_WEEKEND, PREVIOUS_WORKING_DAY, DST_TYPE, QUARTER,
+	QUARTERS_BETWEEN_DATES, END_OF_MONTH, BEGIN_OF_SEASON, END_OF_SEASON;
+
+	/**
+	 * Returns the text of the given result.
+	 */
+	String format(long result) {
+	    switch (this) {
+	    case PREVIOUS_WORKING_DAY:
+	    case END_OF_MONTH:
+	    case BEGIN_OF_SEASON:
+	    case END_OF_SEASON:
+		return LocalDate.ofEpochDay(result).toString();
+	    case DST_TYPE:
+		return DateUtils.DayType.values()[(int) result].toString();
+	    default:
+		return Long.toString(result);
+	    }
+	}
+    }
+
+    /**
+     * An implementation of the operations for one time zone. An engine is
+     * used by one thread only.
+     */
+    @FunctionalInterface
+    public static interface Engine {
+
+	/**
+	 * Runs the operation for the given day.
+	 * 
+	 * @param operation
+	 *            Operation
+	 * @param epochDay
+	 *            Days since 1970-01-01
+	 * @param otherDay
+	 *            Second day of {@link Operation#QUARTERS_BETWEEN_DATES}
+	 * @return Encoded result
+	 */
+	long apply(Operation operation, long epochDay, long otherDay);
+    }
+
+    /**
+     * A result of a candidate different from the result of the reference.
+     */
+    public static final class Mismatch {
+
+	private final ZoneId zone;
+
+	private final Operation operation;
+
+	private final long epochDay;
+
+	private final long otherDay;
+
+	private final long expected;
+
+	private final long actual;
+
+	Mismatch(ZoneId zone, Operation operation, long epochDay,
+		long otherDay, long expected, long actual) {
+	    super();
+	    this.zone = zone;
+	    this.operation = operation;
+	    this.epochDay = epochDay;
+	    this.otherDay = otherDay;
+	    this.expected = expected;
+	    this.actual = actual;
+	}
+
+	public ZoneId getZone() {
+	    return zone;
+	}
+
+	public Operation getOperation() {
+	    return operation;
+	}
+
+	public long getEpochDay() {
+	    return epochDay;
+	}
+
+	public long getOtherDay() {
+	    return otherDay;
+	}
+
+	public long getExpected() {
+	    return expected;
+	}
+
+	public long getActual() {
+	    return actual;
+	}
+
+	@Override
+	public String toString() {
+	    return operation
+		    + " "
+		    + LocalDate.ofEpochDay(epochDay)
+		    + (operation == Operation.QUARTERS_BETWEEN_DATES ? " "
+			    + LocalDate.ofEpochDay(otherDay) : "") + " ("
+		    + zone + "): expected " + operation.format(expected)
+		    + ", actual " + operation.format(actual);
+	}
+    }
+
+    /**
+     * Mismatches and time of one engine.
+     */
+    private static final class Tally {
+
+	final LongAdder[] mismatches = new LongAdder[OPERATIONS.length];
+
+	final LongAdder nanos = new LongAdder();
+
+	final Collection<Mismatch> samples = new ConcurrentLinkedQueue<>();
+
+	final AtomicInteger sampleCount = new AtomicInteger();
+
+	Tally() {
+	    super();
+	    for (int i = 0; i < mismatches.length; i++)
+		mismatches[i] = new LongAdder();
+	}
+
+	void mismatch(ZoneId zone, Operation operation, long epochDay,
+		long otherDay, long expected, long actual) {
+	    mismatches[operation.ordinal()].increment();
+	    if (sampleCount.getAndIncrement() < SAMPLES)
+		samples.add(new Mismatch(zone, operation, epochDay, otherDay,
+			expected, actual));
+	}
+
+	long getMismatches() {
+	    long sum = 0;
+	    for (LongAdder adder : mismatches)
+		sum += adder.sum();
+	    return sum;
+	}
+    }
+
+    /**
+     * Result of a run.
+     */
+    public static final class Report {
+
+	private final String referenceName;
+
+	private final Map<String, Tally> tallies;
+
+	private final long evaluations;
+
+	private final long skippedDays;
+
+	private final long wallNanos;
+
+	Report(String referenceName, Map<String, Tally> tallies,
+		long evaluations, long skippedDays, long wallNanos) {
+	    super();
+	    this.referenceName = referenceName;
+	    this.tallies = tallies;
+	    this.evaluations = evaluations;
+	    this.skippedDays = skippedDays;
+	    this.wallNanos = wallNanos;
+	}
+
+	/**
+	 * @return Name of the reference engine
+	 */
+	public String getReferenceName() {
+	    return referenceName;
+	}
+
+	/**
+	 * @return Names of the candidate engines
+	 */
+	public List<String> getCandidateNames() {
+	    List<String> names = new ArrayList<>(tallies.keySet());
+	    names.remove(referenceName);
+	    return names;
+	}
+
+	/**
+	 * @return Number of operations run by every engine
+	 */
+	public long getEvaluations() {
+	    return evaluations;
+	}
+
+	/**
+	 * @return Number of days skipped summed over all time zones, because
+	 *         the day has no point in time in the time zone
+	 */
+	public long getSkippedDays() {
+	    return skippedDays;
+	}
+
+	/**
+	 * @return Elapsed time of the run
+	 */
+	public long getWallNanos() {
+	    return wallNanos;
+	}
+
+	/**
+	 * @return Number of results of the engine different from the reference
+	 */
+	public long getMismatches(String engine) {
+	    return tally(engine).getMismatches();
+	}
+
+	/**
+	 * @return Number of results of the operation of the engine different
+	 *         from the reference
+	 */
+	public long getMismatches(String engine, Operation operation) {
+	    return tally(engine).mismatches[operation.ordinal()].sum();
+	}
+
+	/**
+	 * @return The first mismatches of the engine, at most 20
+	 */
+	public List<Mismatch> getSamples(String engine) {
+	    return Collections.unmodifiableList(new ArrayList<>(
+		    tally(engine).samples));
+	}
+
+	/**
+	 * @return Time spent in the engine summed over all threads
+	 */
+	public long getNanos(String engine) {
+	    return tally(engine).nanos.sum();
+	}
+
+	/**
+	 * @return Operations per second and thread of the engine
+	 */
+	public double getOperationsPerSecond(String engine) {
+	    long nanos = getNanos(engine);
+	    return nanos == 0 ? 0 : evaluations * 1e9 / nanos;
+	}
+
+	private Tally tally(String engine) {
+	    Tally tally = tallies.get(engine);
+	    if (tally == null)
+		throw new IllegalArgumentException("Unknown engine: " + engine);
+	    return tally;
+	}
+
+	/**
+	 * @return TRUE if no candidate has a mismatch
+	 */
+	public boolean isEquivalent() {
+	    for (String name : getCandidateNames())
+		if (getMismatches(name) != 0)
+		    return false;
+	    return true;
+	}
+
+	@Override
+	public String toString() {
+	    StringBuilder text = new StringBuilder();
+	    text.append(String.format("%-20s %14s %12s %14s%n", "engine",
+		    "evaluations", "mismatches", "ops/s/thread"));
+	    for (String name : tallies.keySet())
+		text.append(String.format(
+			"%-20s %14d %12s %14.0f%n",
+			name,
+			evaluations,
+			name.equals(referenceName) ? "reference" : Long
+				.toString(getMismatches(name)),
+			getOperationsPerSecond(name)));
+	    if (skippedDays != 0)
+		text.append(skippedDays)
+			.append(" days without a point in time skipped")
+			.append(System.lineSeparator());
+	    for (String name : getCandidateNames())
+		for (Mismatch mismatch : getSamples(name))
+		    text.append(name).append(": ").append(mismatch)
+			    .append(System.lineSeparator());
+	    return text.toString();
+	}
+    }
+
+    private final String referenceName;
+
+    private final Function<ZoneId, Engine> reference;
+
+    private final Map<String, Function<ZoneId, Engine>> candidates = new LinkedHashMap<>();
+
+    /**
+     * Creates a harness with the given reference engine.
+     * 
+     * @param referenceName
+     *            Name of the reference in the report, cannot be null
+     * @param reference
+     *            Creates the reference engine for a time zone, cannot be null
+     */
+    public EquivalenceHarness(String referenceName,
+	    Function<ZoneId, Engine> reference) {
+	super();
+	this.referenceName = referenceName;
+	this.reference = reference;
+    }
+
+    /**
+     * Creates a harness with {@link #baseline(ZoneId)} as reference.
+     * 
+     * @return EquivalenceHarness
+     */
+    public static EquivalenceHarness ofBaseline() {
+	return new EquivalenceHarness("Baseline", EquivalenceHarness::baseline);
+    }
+
+    /**
+     * Creates a harness with {@link #dateUtils(ZoneId)} as reference.
+     * 
+     * @return EquivalenceHarness
+     */
+    public static EquivalenceHarness ofDateUtils() {
+	return new EquivalenceHarness("DateUtils",
+		EquivalenceHarness::dateUtils);
+    }
+
+    /**
+     * Adds a candidate engine. The engine is created once per task, so it
+     * may keep state which is not thread-safe.
+     * 
+     * @param name
+     *            Unique name of the candidate in the report, cannot be null
+     * @param candidate
+     *            Creates the candidate engine for a time zone, cannot be null
+     */
+    public void addCandidate(String name, Function<ZoneId, Engine> candidate) {
+	if (name.equals(referenceName) || candidates.containsKey(name))
+	    throw new IllegalArgumentException("Duplicate engine: " + name);
+	candidates.put(name, candidate);
+    }
+
+    /**
+     * Compares the engines for every day of the given range in every given
+     * time zone.
+     * 
+     * @param from
+     *            First day (inclusive), cannot be null
+     * @param to
+     *            Last day (exclusive), cannot be null
+     * @param zones
+     *            Time zones, cannot be null
+     * @return Report
+     */
+    public Report run(LocalDate from, LocalDate to, Collection<ZoneId> zones) {
+	long first = from.toEpochDay();
+	long last = to.toEpochDay() - 1;
+	return run(zones, Math.max(0, last - first + 1), (task, offset, days,
+		others) -> {
+	    for (int i = 0; i < days.length; i++) {
+		days[i] = first + offset + i;
+		others[i] = last - offset - i;
+	    }
+	});
+    }
+
+    /**
+     * Compares the engines for random days of the given range in every given
+     * time zone. Runs with the same seed use the same days.
+     * 
+     * @param from
+     *            First day (inclusive), cannot be null
+     * @param to
+     *            Last day (exclusive), cannot be null
+     * @param zones
+     *            Time zones, cannot be null
+     * @param daysPerZone
+     *            Number of random days per time zone
+     * @param seed
+     *            Seed of the random days
+     * @return Report
+     */
+    public Report runRandom(LocalDate from, LocalDate to,
+	    Collection<ZoneId> zones, long daysPerZone, long seed) {
+	long first = from.toEpochDay();
+	long end = to.toEpochDay();
+	if (end <= first)
+	    throw new IllegalArgumentException("Empty range: " + from + " - "
+		    + to);
+	return run(zones, daysPerZone, (task, offset, days, others) -> {
+	    SplittableRandom random = new SplittableRandom(seed + task);
+	    for (int i = 0; i < days.length; i++) {
+		days[i] = random.nextLong(first, end);
+		others[i] = random.nextLong(first, end);
+	    }
+	});
+    }
+
+    /**
+     * Fills the days of a task.
+     */
+    @FunctionalInterface
+    private static interface DaySource {
+	void fill(long task, long offset, long[] days, long[] others);
+    }
+
+    private Report run(Collection<ZoneId> zones, long daysPerZone,
+	    DaySource source) {
+	List<ZoneId> zoneList = new ArrayList<>(zones);
+	Map<String, Tally> tallies = new LinkedHashMap<>();
+	tallies.put(referenceName, new Tally());
+	for (String name : candidates.keySet())
+	    tallies.put(name, new Tally());
+	Tally[] candidateTallies = candidates.keySet().stream()
+		.map(tallies::get).toArray(Tally[]::new);
+	List<Function<ZoneId, Engine>> factories = new ArrayList<>(
+		candidates.values());
+	long chunks = (daysPerZone + CHUNK_DAYS - 1) / CHUNK_DAYS;
+	LongAdder skipped = new LongAdder();
+	long start = System.nanoTime();
+	LongStream.range(0, zoneList.size() * chunks).parallel()
+		.forEach(task -> {
+		    ZoneId zone = zoneList.get((int) (task / chunks));
+		    long offset = task % chunks * CHUNK_DAYS;
+		    int count = (int) Math.min(CHUNK_DAYS, daysPerZone
+			    - offset);
+		    long[] days = new long[count];
+		    long[] others = new long[count];
+		    source.fill(task, offset, days, others);
+		    skipped.add(runTask(zone, days, others,
+			    tallies.get(referenceName), factories,
+			    candidateTallies));
+		});
+	long wallNanos = System.nanoTime() - start;
+	return new Report(referenceName, tallies,
+		(zoneList.size() * daysPerZone - skipped.sum())
+			* OPERATIONS.length, skipped.sum(), wallNanos);
+    }
+
+    /**
+     * Runs the engines for the days of a task.
+     * 
+     * @return Number of skipped days
+     */
+    private int runTask(ZoneId zone, long[] days, long[] others,
+	    Tally referenceTally, List<Function<ZoneId, Engine>> factories,
+	    Tally[] candidateTallies) {
+	long[] missing = missingDays(zone.getRules());
+	int skipped = 0;
+	if (missing.length != 0) {
+	    int count = 0;
+	    for (int i = 0; i < days.length; i++)
+		if (Arrays.binarySearch(missing, days[i]) < 0
+			&& Arrays.binarySearch(missing, others[i]) < 0) {
+		    days[count] = days[i];
+		    others[count++] = others[i];
+		}
+	    skipped = days.length - count;
+	    days = Arrays.copyOf(days, count);
+	    others = Arrays.copyOf(others, count);
+	}
+	Engine referenceEngine = reference.apply(zone);
+	Engine[] engines = new Engine[factories.size()];
+	for (int c = 0; c < engines.length; c++)
+	    engines[c] = factories.get(c).apply(zone);
+	long[] expected = new long[days.length];
+	for (Operation operation : OPERATIONS) {
+	    long start = System.nanoTime();
+	    for (int i = 0; i < days.length; i++)
+		expected[i] = referenceEngine.apply(operation, days[i],
+			others[i]);
+	    referenceTally.nanos.add(System.nanoTime() - start);
+	    for (int c = 0; c < engines.length; c++) {
+		Engine engine = engines[c];
+		Tally tally = candidateTallies[c];
+		start = System.nanoTime();
+		for (int i = 0; i < days.length; i++) {
+		    long actual = engine.apply(operation, days[i], others[i]);
+		    if (actual != expected[i])
+			tally.mismatch(zone, operation, days[i], others[i],
+				expected[i], actual);
+		}
+		tally.nanos.add(System.nanoTime() - start);
+	    }
+	}
+	return skipped;
+    }
+
+    /**
+     * Returns the days without any point in time, in ascending order. These
+     * are the days in a gap of at least one day, when a time zone moved
+     * across the date line. Such gaps only exist in the historic
+     * transitions.
+     * 
+     * @param rules
+     *            Rules of the time zone, cannot be null
+     * @return Epoch days
+     */
+    static long[] missingDays(ZoneRules rules) {
+	LongStream.Builder days = LongStream.builder();
+	for (ZoneOffsetTransition transition : rules.getTransitions()) {
+	    if (!transition.isGap())
+		continue;
+	    LocalDateTime before = transition.getDateTimeBefore();
+	    long day = before.toLocalDate().toEpochDay();
+	    if (!before.equals(before.toLocalDate().atStartOfDay()))
+		day++;
+	    // The day is missing if its end is in the gap as well
+	    long end = transition.getDateTimeAfter().toLocalDate()
+		    .toEpochDay();
+	    for (; day < end; day++)
+		days.add(day);
+	}
+	return days.build().toArray();
+    }
+
+    /**
+     * @return All available time zones sorted by id
+     */
+    public static List<ZoneId> availableZones() {
+	return new TreeSet<>(ZoneId.getAvailableZoneIds()).stream()
+		.map(ZoneId::of).collect(Collectors.toList());
+    }
+
+    /**
+     * Engine with the original implementation of the methods of
+     * {@link DateUtils} taking a LocalDate, as they were before any
+     * optimization. The DayType is calculated from the time zone rules on
+     * every call.
+     * 
+     * @param zone
+     *            Time zone, cannot be null
+     * @return Engine
+     */
+    public static Engine baseline(ZoneId zone) {
+	return (operation, epochDay, otherDay) -> {
+	    LocalDate date = LocalDate.ofEpochDay(epochDay);
+	    switch (operation) {
+	    case IS_WEEKEND:
+		return BaselineDateUtils.isWeekend(date) ? 1 : 0;
+	    case PREVIOUS_WORKING_DAY:
+		return BaselineDateUtils.getPreviousWorkingDay(date)
+			.toEpochDay();
+	    case DST_TYPE:
+		return BaselineDateUtils.getDSTType(date, zone).ordinal();
+	    case QUARTER:
+		return BaselineDateUtils.getQuarter(date);
+	    case QUARTERS_BETWEEN_DATES:
+		return BaselineDateUtils.getQuartersBetweenDates(date,
+			LocalDate.ofEpochDay(otherDay));
+	    case END_OF_MONTH:
+		return BaselineDateUtils.endOfMonth(date).toEpochDay();
+	    case BEGIN_OF_SEASON:
+		return BaselineDateUtils.beginOfSeason(date).toEpochDay();
+	    case END_OF_SEASON:
+		return BaselineDateUtils.endOfSeason(date).toEpochDay();
+	    default:
+		throw new IllegalArgumentException("Unknown operation: "
+			+ operation);
+	    }
+	};
+    }
+
+    /**
+     * Engine with the methods of {@link DateUtils} taking a LocalDate. The
+     * DayType is calculated from the time zone rules without any index.
+     * 
+     * @param zone
+     *            Time zone, cannot be null
+     * @return Engine
+     */
+    public static Engine dateUtils(ZoneId zone) {
+	ZoneRules rules = zone.getRules();
+	return (operation, epochDay, otherDay) -> {
+	    LocalDate date = LocalDate.ofEpochDay(epochDay);
+	    switch (operation) {
+	    case IS_WEEKEND:
+		return DateUtils.isWeekend(date) ? 1 : 0;
+	    case PREVIOUS_WORKING_DAY:
+		return DateUtils.getPreviousWorkingDay(date).toEpochDay();
+	    case DST_TYPE:
+		return DateUtils.getDSTType(date, rules).ordinal();
+	    case QUARTER:
+		return DateUtils.getQuarter(date);
+	    case QUARTERS_BETWEEN_DATES:
+		return DateUtils.getQuartersBetweenDates(date,
+			LocalDate.ofEpochDay(otherDay));
+	    case END_OF_MONTH:
+		return DateUtils.endOfMonth(date).toEpochDay();
+	    case BEGIN_OF_SEASON:
+		return DateUtils.beginOfSeason(date).toEpochDay();
+	    case END_OF_SEASON:
+		return DateUtils.endOfSeason(date).toEpochDay();
+	    default:
+		throw new IllegalArgumentException("Unknown operation: "
+			+ operation);
+	    }
+	};
+    }
+
+    /**
+     * Engine with the methods of {@link DateUtils} taking a point in time in
+     * milliseconds and a time zone. The day is passed as the start of the day
+     * in the time zone.
+     * 
+     * @param zone
+     *            Time zone, cannot be null
+     * @return Engine
+     */
+    public static Engine dateUtilsOfMillis(ZoneId zone) {
+	return (operation, epochDay, otherDay) -> {
+	    long time = startOfDay(epochDay, zone);
+	    switch (operation) {
+	    case IS_WEEKEND:
+		return DateUtils.isWeekend(time, zone) ? 1 : 0;
+	    case PREVIOUS_WORKING_DAY:
+		return toEpochDay(DateUtils.getPreviousWorkingDay(time, zone),
+			zone);
+	    case DST_TYPE:
+		return DateUtils.getDSTType(time, zone).ordinal();
+	    case QUARTER:
+		return DateUtils.getQuarter(time, zone);
+	    case QUARTERS_BETWEEN_DATES:
+		return DateUtils.getQuartersBetweenDates(time,
+			startOfDay(otherDay, zone), zone);
+	    case END_OF_MONTH:
+		return toEpochDay(DateUtils.endOfMonth(time, zone), zone);
+	    case BEGIN_OF_SEASON:
+		return toEpochDay(DateUtils.beginOfSeason(time, zone), zone);
+	    case END_OF_SEASON:
+		return toEpochDay(DateUtils.endOfSeason(time, zone), zone);
+	    default:
+		throw new IllegalArgumentException("Unknown operation: "
+			+ operation);
+	    }
+	};
+    }
+
+    /**
+     * Engine with {@link EpochDays} and the {@link DstTransitionIndex}.
+     * 
+     * @param zone
+     *            Time zone, cannot be null
+     * @return Engine
+     */
+    public static Engine epochDays(ZoneId zone) {
+	DstTransitionIndex index = DstTransitionIndex.of(zone);
+	return (operation, epochDay, otherDay) -> {
+	    switch (operation) {
+	    case IS_WEEKEND:
+		return EpochDays.isWeekend(epochDay) ? 1 : 0;
+	    case PREVIOUS_WORKING_DAY:
+		return EpochDays.previousWorkingDay(epochDay);
+	    case DST_TYPE:
+		return index.getDSTType(epochDay).ordinal();
+	    case QUARTER:
+		return EpochDays.quarter(epochDay);
+	    case QUARTERS_BETWEEN_DATES:
+		return EpochDays.quartersBetween(epochDay, otherDay);
+	    case END_OF_MONTH:
+		return EpochDays.endOfMonth(epochDay);
+	    case BEGIN_OF_SEASON:
+		return EpochDays.beginOfSeason(epochDay);
+	    case END_OF_SEASON:
+		return EpochDays.endOfSeason(epochDay);
+	    default:
+		throw new IllegalArgumentException("Unknown operation: "
+			+ operation);
+	    }
+	};
+    }
+
+    /**
+     * Engine with {@link LegacyDates}, the day is passed as Date at the start
+     * of the day in the time zone.
+     * 
+     * @param zone
+     *            Time zone, cannot be null
+     * @return Engine
+     */
+    public static Engine legacyDates(ZoneId zone) {
+	LegacyDates dates = LegacyDates.of(zone);
+	Date date = new Date();
+	Date other = new Date();
+	return (operation, epochDay, otherDay) -> {
+	    date.setTime(startOfDay(epochDay, zone));
+	    switch (operation) {
+	    case IS_WEEKEND:
+		return dates.isWeekend(date) ? 1 : 0;
+	    case PREVIOUS_WORKING_DAY:
+		return dates.getPreviousWorkingDay(date).toEpochDay();
+	    case DST_TYPE:
+		return dates.getDSTType(date).ordinal();
+	    case QUARTER:
+		return dates.getQuarter(date);
+	    case QUARTERS_BETWEEN_DATES:
+		other.setTime(startOfDay(otherDay, zone));
+		return dates.getQuartersBetweenDates(date, other);
+	    case END_OF_MONTH:
+		return dates.endOfMonth(date).toEpochDay();
+	    case BEGIN_OF_SEASON:
+		return dates.beginOfSeason(date).toEpochDay();
+	    case END_OF_SEASON:
+		return dates.endOfSeason(date).toEpochDay();
+	    default:
+		throw new IllegalArgumentException("Unknown operation: "
+			+ operation);
+	    }
+	};
+    }
+
+    /**
+     * Engine with the methods of {@link OldDateUtils} taking a Calendar. The
+     * day is passed as Calendar at 0 o'clock in the time zone. OldDateUtils
+     * creates its results in the default time zone with the Julian calendar
+     * before 1582, so only days after 1582 in the default time zone are
+     * expected to match.
+     * 
+     * @param zone
+     *            Time zone, cannot be null
+     * @return Engine
+     */
+    public static Engine oldDateUtils(ZoneId zone) {
+	TimeZone timeZone = TimeZone.getTimeZone(zone);
+	Calendar cal = new GregorianCalendar(timeZone);
+	Calendar other = new GregorianCalendar(timeZone);
+	return (operation, epochDay, otherDay) -> {
+	    setDay(cal, epochDay);
+	    switch (operation) {
+	    case IS_WEEKEND:
+		return OldDateUtils.isWeekend(cal) ? 1 : 0;
+	    case PREVIOUS_WORKING_DAY:
+		return toEpochDay(OldDateUtils.getPreviousWorkingDay(cal));
+	    case DST_TYPE:
+		// Both DayType enums have the same order
+		return OldDateUtils.getDSTType(cal, timeZone).ordinal();
+	    case QUARTER:
+		return OldDateUtils.getQuarter(cal);
+	    case QUARTERS_BETWEEN_DATES:
+		setDay(other, otherDay);
+		return OldDateUtils.getQuartersBetweenDates(cal, other);
+	    case END_OF_MONTH:
+		return toEpochDay(OldDateUtils.endOfMonth(cal));
+	    case BEGIN_OF_SEASON:
+		return toEpochDay(OldDateUtils.beginOfSeason(cal));
+	    case END_OF_SEASON:
+		return toEpochDay(OldDateUtils.endOfSeason(cal));
+	    default:
+		throw new IllegalArgumentException("Unknown operation: "
+			+ operation);
+	    }
+	};
+    }
+
+    /**
+     * Engine with the methods of {@link OldDateUtils} taking a point in time
+     * in milliseconds and a TimeZone. The day is passed as the start of the
+     * day in the time zone. Like {@link #oldDateUtils(ZoneId)} only days in
+     * the default time zone are expected to match.
+     * 
+     * @param zone
+     *            Time zone, cannot be null
+     * @return Engine
+     */
+    public static Engine oldDateUtilsOfMillis(ZoneId zone) {
+	TimeZone timeZone = TimeZone.getTimeZone(zone);
+	return (operation, epochDay, otherDay) -> {
+	    long time = startOfDay(epochDay, zone);
+	    switch (operation) {
+	    case IS_WEEKEND:
+		return OldDateUtils.isWeekend(time, timeZone) ? 1 : 0;
+	    case PREVIOUS_WORKING_DAY:
+		return OldDateUtils.toEpochDay(
+			OldDateUtils.getPreviousWorkingDay(time, timeZone),
+			timeZone);
+	    case DST_TYPE:
+		return OldDateUtils.getDSTType(time, timeZone).ordinal();
+	    case QUARTER:
+		return OldDateUtils.getQuarter(time, timeZone);
+	    case QUARTERS_BETWEEN_DATES:
+		return OldDateUtils.getQuartersBetweenDates(time,
+			startOfDay(otherDay, zone), timeZone);
+	    case END_OF_MONTH:
+		return OldDateUtils.toEpochDay(
+			OldDateUtils.endOfMonth(time, timeZone), timeZone);
+	    case BEGIN_OF_SEASON:
+		return OldDateUtils.toEpochDay(
+			OldDateUtils.beginOfSeason(time, timeZone), timeZone);
+	    case END_OF_SEASON:
+		return OldDateUtils.toEpochDay(
+			OldDateUtils.endOfSeason(time, timeZone), timeZone);
+	    default:
+		throw new IllegalArgumentException("Unknown operation: "
+			+ operation);
+	    }
+	};
+    }
+
+    private static long startOfDay(long epochDay, ZoneId zone) {
+	return LocalDate.ofEpochDay(epochDay).atStartOfDay(zone).toInstant()
+		.toEpochMilli();
+    }
+
+    private static long toEpochDay(long epochMilli, ZoneId zone) {
+	return Instant.ofEpochMilli(epochMilli).atZone(zone).toLocalDate()
+		.toEpochDay();
+    }
+
+    private static void setDay(Calendar cal, long epochDay) {
+	cal.clear();
+	cal.set(EpochDays.year(epochDay), EpochDays.month(epochDay) - 1,
+		EpochDays.dayOfMonth(epochDay));
+    }
+
+    private static long toEpochDay(Calendar cal) {
+	int year = cal.get(Calendar.YEAR);
+	if (cal.get(Calendar.ERA) == GregorianCalendar.BC)
+	    year = 1 - year;
+	return EpochDays.of(year, cal.get(Calendar.MONTH) + 1,
+		cal.get(Calendar.DAY_OF_MONTH));
+    }
+
+    /**
+     * Compares {@link DateUtils}, {@link EpochDays}, {@link LegacyDates} and
+     * {@link OldDateUtils} with the original implementation of DateUtils. The
+     * arguments are the first and the last day (exclusive) as yyyy-MM-dd,
+     * default 1900-01-01 and 2100-01-01, and optionally the number of random
+     * days per time zone. Without the number every day of the range is
+     * compared. OldDateUtils is only compared in the default time zone.
+     * 
+     * @param args
+     *            [from [to [random days]]]
+     */
+    public static void main(String[] args) {
+	LocalDate from = LocalDate.parse(args.length > 0 ? args[0]
+		: "1900-01-01");
+	LocalDate to = LocalDate.parse(args.length > 1 ? args[1]
+		: "2100-01-01");
+	List<ZoneId> zones = availableZones();
+	EquivalenceHarness harness = ofBaseline();
+	harness.addCandidate("DateUtils", EquivalenceHarness::dateUtils);
+	harness.addCandidate("DateUtils(millis)",
+		EquivalenceHarness::dateUtilsOfMillis);
+	harness.addCandidate("EpochDays", EquivalenceHarness::epochDays);
+	harness.addCandidate("LegacyDates", EquivalenceHarness::legacyDates);
+	Report report = args.length > 2 ? harness.runRandom(from, to, zones,
+		Long.parseLong(args[2]), 4711) : harness.run(from, to, zones);
+	System.out.println(zones.size() + " time zones, "
+		+ report.getWallNanos() / 1000000 + " ms");
+	System.out.print(report);
+
+	EquivalenceHarness old = ofBaseline();
+	old.addCandidate("OldDateUtils", EquivalenceHarness::oldDateUtils);
+	old.addCandidate("OldDateUtils(millis)",
+		EquivalenceHarness::oldDateUtilsOfMillis);
+	List<ZoneId> defaultZone = Collections.singletonList(ZoneId
+		.systemDefault());
+	System.out.print(args.length > 2 ? old.runRandom(from, to,
+		defaultZone, Long.parseLong(args[2]), 4711) : old.run(from, to,
+		defaultZone));
+    }
+}
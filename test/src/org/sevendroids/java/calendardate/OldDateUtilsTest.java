@@ -6,6 +6,8 @@ import static org.junit.Assert.assertTrue;
 
 import java.text.DateFormat;
 import java.util.Calendar;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
 
 import org.junit.Test;
 import org.sevendroids.java.calendardateapi.OldDateUtils;
@@ -102,6 +104,15 @@ public class OldDateUtilsTest {
 		OldDateUtils.getDSTType(date30032014));
     }
 
+    @Test
+    public final void test09_03_2014IsChangeDayToDSTInNewYork() {
+	TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+	Calendar date09032014 = Calendar.getInstance(newYork);
+	date09032014.set(2014, Calendar.MARCH, 9);
+	assertEquals(DayType.TO_DAYLIGHT_SAVING_TIME,
+		OldDateUtils.getDSTType(date09032014, newYork));
+    }
+
     @Test
     public final void test29_03_2014IsStandardTime() {
 	Calendar date29032014 = Calendar.getInstance();
@@ -271,4 +282,157 @@ public class OldDateUtilsTest {
 	expected.set(Calendar.MILLISECOND, 0);
 	assertEquals(expected, OldDateUtils.endOfSeason(in));
     }
+
+    @Test
+    public final void testTargetVariantsAreSameAsOriginal() {
+	Calendar in = Calendar.getInstance();
+	in.set(2011, Calendar.DECEMBER, 1, 12, 13, 14);
+	Calendar target = Calendar.getInstance();
+	for (int i = 0; i < 3 * 366; i++) {
+	    String message = dateFormat.format(in.getTime());
+	    assertEquals(message, OldDateUtils.getPreviousWorkingDay(in),
+		    OldDateUtils.getPreviousWorkingDay(in, target));
+	    assertEquals(message, OldDateUtils.endOfMonth(in),
+		    OldDateUtils.endOfMonth(in, target));
+	    assertEquals(message, OldDateUtils.beginOfSeason(in),
+		    OldDateUtils.beginOfSeason(in, target));
+	    assertEquals(message, OldDateUtils.endOfSeason(in),
+		    OldDateUtils.endOfSeason(in, target));
+	    in.add(Calendar.DAY_OF_MONTH, 1);
+	}
+    }
+
+    @Test
+    public final void testMillisVariantsAreSameAsOriginal() {
+	TimeZone zone = TimeZone.getDefault();
+	Calendar in = Calendar.getInstance();
+	in.set(2011, Calendar.DECEMBER, 1, 12, 13, 14);
+	for (int i = 0; i < 3 * 366; i++) {
+	    String message = dateFormat.format(in.getTime());
+	    long timeInMillis = in.getTimeInMillis();
+	    assertEquals(message, OldDateUtils.isWeekend(in),
+		    OldDateUtils.isWeekend(timeInMillis, zone));
+	    assertEquals(message, OldDateUtils.getQuarter(in),
+		    OldDateUtils.getQuarter(timeInMillis, zone));
+	    assertEquals(message, epochDay(OldDateUtils
+		    .getPreviousWorkingDay(in)), OldDateUtils.toEpochDay(
+		    OldDateUtils.getPreviousWorkingDay(timeInMillis, zone),
+		    zone));
+	    assertEquals(message, OldDateUtils.endOfMonth(in)
+		    .getTimeInMillis(), OldDateUtils.endOfMonth(timeInMillis,
+		    zone));
+	    assertEquals(message, OldDateUtils.beginOfSeason(in)
+		    .getTimeInMillis(), OldDateUtils.beginOfSeason(
+		    timeInMillis, zone));
+	    assertEquals(message, OldDateUtils.endOfSeason(in)
+		    .getTimeInMillis(), OldDateUtils.endOfSeason(timeInMillis,
+		    zone));
+	    in.add(Calendar.DAY_OF_MONTH, 1);
+	}
+    }
+
+    private static long epochDay(Calendar cal) {
+	return OldDateUtils.toEpochDay(cal.getTimeInMillis(),
+		cal.getTimeZone());
+    }
+
+    @Test
+    public final void testMillisVariantsStartAtMidnightLikeCalendar() {
+	for (String id : TimeZone.getAvailableIDs()) {
+	    TimeZone zone = TimeZone.getTimeZone(id);
+	    Calendar in = Calendar.getInstance(zone);
+	    in.clear();
+	    in.set(1970, Calendar.JANUARY, 15, 12, 13, 14);
+	    Calendar target = Calendar.getInstance(zone);
+	    while (in.get(Calendar.YEAR) <= 2030) {
+		assertEquals(id + " " + in.getTime(), OldDateUtils.endOfMonth(
+			in, target).getTimeInMillis(), OldDateUtils
+			.endOfMonth(in.getTimeInMillis(), zone));
+		in.add(Calendar.MONTH, 1);
+	    }
+	}
+    }
+
+    @Test
+    public final void testDSTTypeIsTakenInZoneOfCalendar() {
+	SimpleTimeZone custom = new SimpleTimeZone(3600000, "Custom/Zone",
+		Calendar.MAY, 1, 0, 0, Calendar.SEPTEMBER, 1, 0, 0);
+	TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+	for (TimeZone zone : new TimeZone[] { newYork, custom }) {
+	    Calendar in = Calendar.getInstance(zone);
+	    in.clear();
+	    in.set(2014, Calendar.JANUARY, 1, 12, 0);
+	    for (int i = 0; i < 365; i++) {
+		assertEquals(zone.getID() + " " + in.getTime(),
+			OldDateUtils.getDSTType(in, zone),
+			OldDateUtils.getDSTType(in));
+		in.add(Calendar.DAY_OF_MONTH, 1);
+	    }
+	}
+    }
+
+    @Test
+    public final void testTargetVariantsWorkInPlace() {
+	Calendar in = Calendar.getInstance();
+	in.set(2014, Calendar.DECEMBER, 13, 12, 13, 14);
+	Calendar expected = Calendar.getInstance();
+	expected.set(2015, Calendar.MARCH, 31, 0, 0, 0);
+	expected.set(Calendar.MILLISECOND, 0);
+	assertEquals(expected, OldDateUtils.endOfSeason(in, in));
+	assertEquals(expected, in);
+    }
+
+    @Test
+    public final void testDSTTypeOfMillisIsSameAsCalendar() {
+	for (String id : TimeZone.getAvailableIDs()) {
+	    TimeZone zone = TimeZone.getTimeZone(id);
+	    Calendar in = Calendar.getInstance(zone);
+	    in.clear();
+	    in.set(1970, Calendar.JANUARY, 1, 12, 13, 14);
+	    while (in.get(Calendar.YEAR) <= 2030) {
+		assertEquals(id + " " + in.getTime(),
+			OldDateUtils.getDSTType(in, zone),
+			OldDateUtils.getDSTType(in.getTimeInMillis(), zone));
+		in.add(Calendar.DAY_OF_MONTH, 1);
+	    }
+	}
+    }
+
+    @Test
+    public final void testDSTTypeOfCustomTimeZones() {
+	// Same id as a known zone, but other rules
+	SimpleTimeZone custom = new SimpleTimeZone(3600000, "Europe/Berlin",
+		Calendar.MAY, 1, 0, 0, Calendar.SEPTEMBER, 1, 0, 0);
+	SimpleTimeZone unknown = new SimpleTimeZone(3600000, "Custom/Zone",
+		Calendar.MAY, 1, 0, 0, Calendar.SEPTEMBER, 1, 0, 0);
+	TimeZone berlin = TimeZone.getTimeZone("Europe/Berlin");
+	for (TimeZone zone : new TimeZone[] { berlin, custom, unknown }) {
+	    Calendar in = Calendar.getInstance(zone);
+	    in.clear();
+	    in.set(2014, Calendar.JANUARY, 1, 12, 0);
+	    for (int i = 0; i < 365; i++) {
+		assertEquals(zone.getID() + " " + in.getTime(),
+			OldDateUtils.getDSTType(in, zone),
+			OldDateUtils.getDSTType(in.getTimeInMillis(), zone));
+		in.add(Calendar.DAY_OF_MONTH, 1);
+	    }
+	}
+	OldDateUtils.warmUp(2014, 2015, custom, unknown);
+    }
+
+    @Test
+    public final void testQuartersBetweenMillisIsSameAsCalendar() {
+	TimeZone zone = TimeZone.getDefault();
+	Calendar first = Calendar.getInstance();
+	first.set(2013, Calendar.OCTOBER, 2);
+	Calendar second = Calendar.getInstance();
+	second.set(2012, Calendar.JANUARY, 1);
+	for (int i = 0; i < 1000; i++) {
+	    assertEquals(OldDateUtils.getQuartersBetweenDates(first, second),
+		    OldDateUtils.getQuartersBetweenDates(
+			    first.getTimeInMillis(), second.getTimeInMillis(),
+			    zone));
+	    second.add(Calendar.DAY_OF_MONTH, 3);
+	}
+    }
 }
@@ -0,0 +1,99 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+import org.junit.Test;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class BucketAccumulatorTest {
+    private final LocalDate base = LocalDate.of(2010, Month.JANUARY, 1);
+
+    @Test
+    public final void testAddCountsAndSumsPerBucket() {
+	BucketAccumulator accumulator = new BucketAccumulator(
+		PeriodBuckets.quarters(base), 1);
+	accumulator.add(LocalDate.of(2010, Month.MARCH, 31), 1.5);
+	accumulator.add(LocalDate.of(2010, Month.JANUARY, 1), 2);
+	accumulator.add(LocalDate.of(2012, Month.DECEMBER, 31).toEpochDay(),
+		4);
+	assertEquals(12, accumulator.size());
+	assertEquals(2, accumulator.getCount(0));
+	assertEquals(3.5, accumulator.getSum(0), 0);
+	assertEquals(0, accumulator.getCount(5));
+	assertEquals(1, accumulator.getCount(11));
+	assertEquals(4, accumulator.getSum(11), 0);
+	assertEquals(0, accumulator.getCount(100));
+    }
+
+    @Test
+    public final void testAddAllIsSameAsAdd() {
+	PeriodBuckets buckets = PeriodBuckets.seasons(base);
+	int[] days = new int[500];
+	double[] values = new double[days.length];
+	for (int i = 0; i < days.length; i++) {
+	    days[i] = (int) base.toEpochDay() + i * 11;
+	    values[i] = i;
+	}
+	BucketAccumulator single = new BucketAccumulator(buckets);
+	for (int i = 5; i < days.length; i++)
+	    single.add(days[i], values[i]);
+	BucketAccumulator bulk = new BucketAccumulator(buckets);
+	bulk.addAll(days, values, 5, days.length - 5);
+	assertArrayEquals(single.getCounts(), bulk.getCounts());
+	assertArrayEquals(single.getSums(), bulk.getSums(), 0);
+    }
+
+    @Test
+    public final void testMergeIsSameAsSingleAccumulator() {
+	PeriodBuckets buckets = PeriodBuckets.quarters(base);
+	BucketAccumulator all = new BucketAccumulator(buckets);
+	BucketAccumulator first = new BucketAccumulator(buckets);
+	BucketAccumulator second = new BucketAccumulator(buckets, 1);
+	for (int i = 0; i < 3000; i++) {
+	    long day = base.toEpochDay() + i;
+	    all.add(day, i);
+	    (i % 3 == 0 ? first : second).add(day, i);
+	}
+	second.merge(first);
+	assertArrayEquals(all.getCounts(), second.getCounts());
+	assertArrayEquals(all.getSums(), second.getSums(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testMergeOfOtherBaseIsRejected() {
+	BucketAccumulator accumulator = new BucketAccumulator(
+		PeriodBuckets.quarters(base));
+	accumulator.merge(new BucketAccumulator(PeriodBuckets.quarters(base
+		.plusYears(1))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testMergeOfOtherPeriodIsRejected() {
+	BucketAccumulator accumulator = new BucketAccumulator(
+		PeriodBuckets.quarters(base));
+	accumulator.merge(new BucketAccumulator(PeriodBuckets.seasons(base)));
+    }
+
+    @Test
+    public final void testClear() {
+	BucketAccumulator accumulator = new BucketAccumulator(
+		PeriodBuckets.quarters(base));
+	accumulator.add(base, 1);
+	accumulator.clear();
+	assertEquals(0, accumulator.size());
+	assertEquals(0, accumulator.getCount(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public final void testDateBeforeBaseIsRejected() {
+	new BucketAccumulator(PeriodBuckets.quarters(base)).add(
+		base.minusDays(1), 1);
+    }
+}
@@ -0,0 +1,135 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class BulkDateUtilsTest {
+    private static final int SIZE = 1000;
+    private static final int OFFSET = 7;
+    private static final int LENGTH = SIZE - 2 * OFFSET;
+
+    private final int[] intDays = new int[SIZE];
+    private final long[] longDays = new long[SIZE];
+    private final LocalDate[] dates = new LocalDate[SIZE];
+
+    public BulkDateUtilsTest() {
+	Random random = new Random(4711);
+	for (int i = 0; i < SIZE; i++) {
+	    intDays[i] = random.nextInt(200000) - 100000;
+	    longDays[i] = intDays[i];
+	    dates[i] = LocalDate.ofEpochDay(intDays[i]);
+	}
+    }
+
+    @Test
+    public final void testIsWeekendIsSameAsDateUtils() {
+	long[] fromInt = new long[(LENGTH + 63) / 64];
+	long[] fromLong = new long[(LENGTH + 63) / 64];
+	long[] fromDates = new long[(LENGTH + 63) / 64];
+	BulkDateUtils.isWeekend(intDays, OFFSET, LENGTH, fromInt);
+	BulkDateUtils.isWeekend(longDays, OFFSET, LENGTH, fromLong);
+	BulkDateUtils.isWeekend(dates, OFFSET, LENGTH, fromDates);
+	for (int i = 0; i < LENGTH; i++) {
+	    boolean expected = DateUtils.isWeekend(dates[OFFSET + i]);
+	    assertEquals(expected, BulkDateUtils.isSet(fromInt, i));
+	    assertEquals(expected, BulkDateUtils.isSet(fromLong, i));
+	    assertEquals(expected, BulkDateUtils.isSet(fromDates, i));
+	}
+    }
+
+    @Test
+    public final void testIsWeekendClearsUnusedBits() {
+	long[] weekend = { -1L };
+	// 01.03.2014 is a Saturday
+	int[] saturday = { (int) LocalDate.of(2014, 3, 1).toEpochDay() };
+	BulkDateUtils.isWeekend(saturday, 0, 1, weekend);
+	assertEquals(1L, weekend[0]);
+    }
+
+    @Test
+    public final void testGetQuarterIsSameAsDateUtils() {
+	byte[] fromInt = new byte[LENGTH];
+	byte[] fromLong = new byte[LENGTH];
+	byte[] fromDates = new byte[LENGTH];
+	BulkDateUtils.getQuarter(intDays, OFFSET, LENGTH, fromInt);
+	BulkDateUtils.getQuarter(longDays, OFFSET, LENGTH, fromLong);
+	BulkDateUtils.getQuarter(dates, OFFSET, LENGTH, fromDates);
+	for (int i = 0; i < LENGTH; i++) {
+	    int expected = DateUtils.getQuarter(dates[OFFSET + i]);
+	    assertEquals(expected, fromInt[i]);
+	    assertEquals(expected, fromLong[i]);
+	    assertEquals(expected, fromDates[i]);
+	}
+    }
+
+    @Test
+    public final void testGetPreviousWorkingDayIsSameAsDateUtils() {
+	int[] fromInt = new int[LENGTH];
+	long[] fromLong = new long[LENGTH];
+	int[] fromDates = new int[LENGTH];
+	BulkDateUtils.getPreviousWorkingDay(intDays, OFFSET, LENGTH, fromInt);
+	BulkDateUtils.getPreviousWorkingDay(longDays, OFFSET, LENGTH, fromLong);
+	BulkDateUtils.getPreviousWorkingDay(dates, OFFSET, LENGTH, fromDates);
+	for (int i = 0; i < LENGTH; i++) {
+	    long expected = DateUtils.getPreviousWorkingDay(dates[OFFSET + i])
+		    .toEpochDay();
+	    assertEquals(expected, fromInt[i]);
+	    assertEquals(expected, fromLong[i]);
+	    assertEquals(expected, fromDates[i]);
+	}
+    }
+
+    @Test
+    public final void testEndOfMonthIsSameAsDateUtils() {
+	int[] fromInt = new int[LENGTH];
+	long[] fromLong = new long[LENGTH];
+	int[] fromDates = new int[LENGTH];
+	BulkDateUtils.endOfMonth(intDays, OFFSET, LENGTH, fromInt);
+	BulkDateUtils.endOfMonth(longDays, OFFSET, LENGTH, fromLong);
+	BulkDateUtils.endOfMonth(dates, OFFSET, LENGTH, fromDates);
+	for (int i = 0; i < LENGTH; i++) {
+	    long expected = DateUtils.endOfMonth(dates[OFFSET + i])
+		    .toEpochDay();
+	    assertEquals(expected, fromInt[i]);
+	    assertEquals(expected, fromLong[i]);
+	    assertEquals(expected, fromDates[i]);
+	}
+    }
+
+    @Test
+    public final void testSeasonIsSameAsDateUtils() {
+	int[] begin = new int[LENGTH];
+	long[] end = new long[LENGTH];
+	int[] beginFromDates = new int[LENGTH];
+	int[] endFromDates = new int[LENGTH];
+	BulkDateUtils.beginOfSeason(intDays, OFFSET, LENGTH, begin);
+	BulkDateUtils.endOfSeason(longDays, OFFSET, LENGTH, end);
+	BulkDateUtils.beginOfSeason(dates, OFFSET, LENGTH, beginFromDates);
+	BulkDateUtils.endOfSeason(dates, OFFSET, LENGTH, endFromDates);
+	for (int i = 0; i < LENGTH; i++) {
+	    LocalDate date = dates[OFFSET + i];
+	    assertEquals(DateUtils.beginOfSeason(date).toEpochDay(), begin[i]);
+	    assertEquals(DateUtils.endOfSeason(date).toEpochDay(), end[i]);
+	    assertEquals(begin[i], beginFromDates[i]);
+	    assertEquals(end[i], endFromDates[i]);
+	}
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public final void testRangeOutsideOfArrayIsRejected() {
+	BulkDateUtils.getQuarter(intDays, OFFSET, SIZE, new byte[SIZE]);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public final void testTooSmallResultIsRejected() {
+	BulkDateUtils.endOfMonth(intDays, 0, SIZE, new int[SIZE - 1]);
+    }
+}
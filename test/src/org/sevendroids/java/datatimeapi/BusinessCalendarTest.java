@@ -0,0 +1,205 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class BusinessCalendarTest {
+    private static final LocalDate GOOD_FRIDAY = LocalDate.of(2014,
+	    Month.APRIL, 18);
+    private static final LocalDate EASTER_MONDAY = LocalDate.of(2014,
+	    Month.APRIL, 21);
+
+    private final BusinessCalendar easter = new BusinessCalendar(EnumSet.of(
+	    DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), Arrays.asList(GOOD_FRIDAY,
+	    EASTER_MONDAY));
+
+    @Test
+    public final void testHolidayIsNoWorkingDay() {
+	assertFalse(easter.isWorkingDay(GOOD_FRIDAY));
+	assertTrue(easter.isWorkingDay(GOOD_FRIDAY.minusDays(1)));
+    }
+
+    @Test
+    public final void testPreviousWorkingDayForTuesdayAfterEasterIsThursday() {
+	assertEquals(LocalDate.of(2014, Month.APRIL, 17),
+		easter.previousWorkingDay(LocalDate.of(2014, Month.APRIL, 22)));
+    }
+
+    @Test
+    public final void testNextWorkingDayForThursdayBeforeEasterIsTuesday() {
+	assertEquals(LocalDate.of(2014, Month.APRIL, 22),
+		easter.nextWorkingDay(LocalDate.of(2014, Month.APRIL, 17)));
+    }
+
+    @Test
+    public final void testHolidaysAsDateSet() {
+	DateSet holidays = DateSet.of(Arrays.asList(GOOD_FRIDAY,
+		EASTER_MONDAY));
+	BusinessCalendar calendar = new BusinessCalendar(EnumSet.of(
+		DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), holidays);
+	for (long day = GOOD_FRIDAY.toEpochDay() - 10; day < EASTER_MONDAY
+		.toEpochDay() + 10; day++) {
+	    assertEquals(easter.isWorkingDay(day), calendar.isWorkingDay(day));
+	    assertEquals(easter.previousWorkingDay(day),
+		    calendar.previousWorkingDay(day));
+	}
+    }
+
+    @Test
+    public final void testDefaultIsSameAsEpochDays() {
+	for (long day = -1000; day < 1000; day++) {
+	    assertEquals(!EpochDays.isWeekend(day),
+		    BusinessCalendar.DEFAULT.isWorkingDay(day));
+	    assertEquals(EpochDays.previousWorkingDay(day),
+		    BusinessCalendar.DEFAULT.previousWorkingDay(day));
+	}
+    }
+
+    @Test
+    public final void testOtherWeekendDays() {
+	BusinessCalendar calendar = new BusinessCalendar(EnumSet.of(
+		DayOfWeek.FRIDAY, DayOfWeek.SATURDAY), Arrays.<LocalDate> asList());
+	// 01.03.2014 is a Saturday, 02.03.2014 a Sunday
+	assertEquals(LocalDate.of(2014, Month.FEBRUARY, 27),
+		calendar.previousWorkingDay(LocalDate.of(2014, Month.MARCH, 2)));
+	assertEquals(LocalDate.of(2014, Month.MARCH, 2),
+		calendar.nextWorkingDay(LocalDate.of(2014, Month.FEBRUARY, 27)));
+    }
+
+    @Test
+    public final void testRandomHolidaysAreSameAsSet() {
+	Random random = new Random(4711);
+	LocalDate from = LocalDate.of(2000, Month.JANUARY, 1);
+	LocalDate to = LocalDate.of(2003, Month.DECEMBER, 31);
+	Set<LocalDate> holidays = new HashSet<>();
+	for (int i = 0; i < 300; i++)
+	    holidays.add(from.plusDays(random.nextInt(4 * 365)));
+	// A long block of holidays spanning several words of the bitset
+	for (int i = 0; i < 150; i++)
+	    holidays.add(from.plusDays(500 + i));
+	Set<DayOfWeek> weekend = EnumSet.of(DayOfWeek.SUNDAY);
+	BusinessCalendar calendar = new BusinessCalendar(weekend, holidays,
+		from, to);
+	for (LocalDate date = from.minusDays(30); date.isBefore(to
+		.plusDays(30)); date = date.plusDays(1)) {
+	    assertEquals(date.toString(), isWorkingDay(date, weekend, holidays),
+		    calendar.isWorkingDay(date));
+	    LocalDate previous = date.minusDays(1);
+	    while (!isWorkingDay(previous, weekend, holidays))
+		previous = previous.minusDays(1);
+	    assertEquals(date.toString(), previous,
+		    calendar.previousWorkingDay(date));
+	    LocalDate next = date.plusDays(1);
+	    while (!isWorkingDay(next, weekend, holidays))
+		next = next.plusDays(1);
+	    assertEquals(date.toString(), next, calendar.nextWorkingDay(date));
+	}
+    }
+
+    @Test
+    public final void testSettlementDateAfterEasterIsTPlus2() {
+	// Thursday before Easter + 2 working days is Tuesday after Easter
+	LocalDate thursday = LocalDate.of(2014, Month.APRIL, 17);
+	LocalDate tuesday = LocalDate.of(2014, Month.APRIL, 22);
+	assertEquals(LocalDate.of(2014, Month.APRIL, 23),
+		easter.addWorkingDays(thursday, 2));
+	assertEquals(thursday, easter.addWorkingDays(tuesday, -1));
+	assertEquals(1, easter.workingDaysBetween(thursday, tuesday));
+	assertEquals(-1, easter.workingDaysBetween(tuesday, thursday));
+	assertEquals(thursday, easter.addWorkingDays(thursday, 0));
+    }
+
+    @Test
+    public final void testWorkingDaysAreSameAsIteration() {
+	Random random = new Random(4711);
+	LocalDate from = LocalDate.of(2000, Month.JANUARY, 1);
+	LocalDate to = LocalDate.of(2001, Month.DECEMBER, 31);
+	Set<LocalDate> holidays = new HashSet<>();
+	for (int i = 0; i < 100; i++)
+	    holidays.add(from.plusDays(random.nextInt(2 * 365)));
+	Set<DayOfWeek> weekend = EnumSet.of(DayOfWeek.SATURDAY,
+		DayOfWeek.SUNDAY);
+	BusinessCalendar calendar = new BusinessCalendar(weekend, holidays,
+		from, to);
+	for (int i = 0; i < 2000; i++) {
+	    LocalDate start = from.plusDays(random.nextInt(1000) - 150);
+	    int n = random.nextInt(600) - 300;
+	    LocalDate expected = start;
+	    for (int j = 0; j < Math.abs(n); j++) {
+		do {
+		    expected = expected.plusDays(n > 0 ? 1 : -1);
+		} while (!isWorkingDay(expected, weekend, holidays));
+	    }
+	    assertEquals(start + " + " + n, expected,
+		    calendar.addWorkingDays(start, n));
+	    if (n >= 0)
+		assertEquals(start + " - " + expected, n,
+			calendar.workingDaysBetween(start, expected));
+	    LocalDate end = start.plusDays(n);
+	    long count = 0;
+	    for (LocalDate date = start.plusDays(1); !date.isAfter(end); date = date
+		    .plusDays(1))
+		if (isWorkingDay(date, weekend, holidays))
+		    count++;
+	    if (n >= 0)
+		assertEquals(start + " - " + end, count,
+			calendar.workingDaysBetween(start, end));
+	}
+    }
+
+    @Test
+    public final void testDefaultAddWorkingDaysOverManyYears() {
+	LocalDate monday = LocalDate.of(2014, Month.MARCH, 3);
+	// 5 working days per week
+	assertEquals(monday.plusWeeks(1000),
+		BusinessCalendar.DEFAULT.addWorkingDays(monday, 5000));
+	assertEquals(monday.minusWeeks(1000),
+		BusinessCalendar.DEFAULT.addWorkingDays(monday, -5000));
+	assertEquals(5000, BusinessCalendar.DEFAULT.workingDaysBetween(monday,
+		monday.plusWeeks(1000)));
+    }
+
+    private static boolean isWorkingDay(LocalDate date, Set<DayOfWeek> weekend,
+	    Set<LocalDate> holidays) {
+	return !weekend.contains(date.getDayOfWeek())
+		&& !holidays.contains(date);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testHolidayOutsideOfRangeIsRejected() {
+	List<LocalDate> holidays = Arrays.asList(GOOD_FRIDAY);
+	new BusinessCalendar(EnumSet.of(DayOfWeek.SUNDAY), holidays,
+		EASTER_MONDAY, EASTER_MONDAY.plusDays(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testTooLargeRangeIsRejected() {
+	// More than Integer.MAX_VALUE days
+	new BusinessCalendar(EnumSet.of(DayOfWeek.SUNDAY),
+		Arrays.<LocalDate> asList(), LocalDate.of(-3000000, 1, 1),
+		LocalDate.of(3000000, 1, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testWeekWithoutWorkingDayIsRejected() {
+	new BusinessCalendar(EnumSet.allOf(DayOfWeek.class),
+		Arrays.<LocalDate> asList());
+    }
+}
@@ -0,0 +1,77 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class CivilDatesTest {
+
+    private static void assertCivil(LocalDate date, int civil, int dayOfWeek) {
+	assertEquals(date.toString(), date.getYear(), PackedDates.year(civil));
+	assertEquals(date.toString(), date.getMonthValue(),
+		PackedDates.month(civil));
+	assertEquals(date.toString(), date.getDayOfMonth(),
+		PackedDates.dayOfMonth(civil));
+	assertEquals(date.toString(), date.getDayOfWeek().getValue(),
+		dayOfWeek);
+    }
+
+    private static void assertCivil(LocalDate date) {
+	long day = date.toEpochDay();
+	assertCivil(date, CivilDates.civil(day), CivilDates.dayOfWeek(day));
+    }
+
+    @Test
+    public final void testCivilIsSameAsLocalDate() {
+	long first = LocalDate.of(-1000, 1, 1).toEpochDay();
+	long end = LocalDate.of(3000, 1, 1).toEpochDay();
+	for (long day = first; day < end; day++) {
+	    assertCivil(LocalDate.ofEpochDay(day));
+	    assertEquals(PackedDates.ofEpochDay(day), CivilDates.civil(day));
+	}
+    }
+
+    @Test
+    public final void testLimits() {
+	LocalDate[] dates = { LocalDate.of(-500000, 1, 1),
+		LocalDate.of(500000, 12, 31), LocalDate.of(0, 2, 29),
+		LocalDate.of(-1, 12, 31), LocalDate.of(1970, 1, 1) };
+	for (LocalDate date : dates)
+	    assertCivil(date);
+	assertEquals(PackedDates.of(2014, 3, 30),
+		CivilDates.civil(LocalDate.of(2014, 3, 30).toEpochDay()));
+	assertEquals(PackedDates.of(-1, 12, 31),
+		CivilDates.civil(LocalDate.of(-1, 12, 31).toEpochDay()));
+    }
+
+    @Test
+    public final void testDecompose() {
+	Random random = new Random(4711);
+	int[] epochDays = new int[1003];
+	for (int i = 0; i < epochDays.length; i++)
+	    epochDays[i] = random.nextInt(300000000) - 150000000;
+	int[] dates = new int[epochDays.length - 3];
+	int[] daysOfWeek = new int[dates.length];
+	CivilDates.decompose(epochDays, 3, dates.length, dates, daysOfWeek);
+	for (int i = 0; i < dates.length; i++)
+	    assertCivil(LocalDate.ofEpochDay(epochDays[3 + i]), dates[i],
+		    daysOfWeek[i]);
+	// Without the days of week
+	int[] datesOnly = new int[dates.length];
+	CivilDates.decompose(epochDays, 3, datesOnly.length, datesOnly);
+	assertArrayEquals(dates, datesOnly);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public final void testDecomposeChecksRange() {
+	CivilDates.decompose(new int[10], 5, 6, new int[10]);
+    }
+}
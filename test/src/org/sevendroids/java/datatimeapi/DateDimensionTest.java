@@ -0,0 +1,124 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneId;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class DateDimensionTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final LocalDate from = LocalDate.of(1990, Month.JANUARY, 1);
+    private final LocalDate to = LocalDate.of(2030, Month.JANUARY, 1);
+    private final ZoneId zone = ZoneId.of("Australia/Sydney");
+
+    private void assertSameAsDateUtils(DateDimension table, LocalDate start,
+	    LocalDate end) {
+	for (LocalDate date = start; date.isBefore(end); date = date
+		.plusDays(1)) {
+	    long day = date.toEpochDay();
+	    String message = date.toString();
+	    assertEquals(message, date.getDayOfWeek().getValue(),
+		    table.getDayOfWeek(day));
+	    assertEquals(message, DateUtils.isWeekend(date),
+		    table.isWeekend(day));
+	    assertEquals(message, DateUtils.getQuarter(date),
+		    table.getQuarter(day));
+	    assertEquals(message, DateUtils.getDSTType(date, zone),
+		    table.getDSTType(day));
+	    assertEquals(message, DateUtils.getPreviousWorkingDay(date)
+		    .toEpochDay(), table.getPreviousWorkingDay(day));
+	    assertEquals(message, DateUtils.endOfMonth(date).toEpochDay(),
+		    table.endOfMonth(day));
+	    assertEquals(message, DateUtils.beginOfSeason(date).toEpochDay(),
+		    table.beginOfSeason(day));
+	    assertEquals(message, DateUtils.endOfSeason(date).toEpochDay(),
+		    table.endOfSeason(day));
+	}
+    }
+
+    @Test
+    public final void testLookupsAreSameAsDateUtils() {
+	DateDimension table = DateDimension.build(from, to, zone);
+	assertEquals(from, table.getFrom());
+	assertEquals(to, table.getTo());
+	assertSameAsDateUtils(table, from, to);
+    }
+
+    @Test
+    public final void testDaysOutsideAreCalculated() {
+	DateDimension table = DateDimension.build(from, to, zone);
+	assertFalse(table.contains(from.minusDays(1).toEpochDay()));
+	assertTrue(table.contains(from.toEpochDay()));
+	assertFalse(table.contains(to.toEpochDay()));
+	assertSameAsDateUtils(table, from.minusYears(2), from);
+	assertSameAsDateUtils(table, to, to.plusYears(2));
+    }
+
+    @Test
+    public final void testParallelBuildIsSameAsSequential() {
+	DateDimension sequential = DateDimension.build(from, to, zone);
+	DateDimension parallel = DateDimension.build(from, to, zone, true);
+	for (long day = from.toEpochDay(); day < to.toEpochDay(); day++) {
+	    assertEquals(sequential.endOfSeason(day),
+		    parallel.endOfSeason(day));
+	    assertEquals(sequential.getDSTType(day), parallel.getDSTType(day));
+	}
+    }
+
+    @Test
+    public final void testWrittenTableIsMappedAgain() throws IOException {
+	Path path = folder.newFile().toPath();
+	DateDimension.build(from, to, zone, true).writeTo(path);
+	DateDimension table = DateDimension.readFrom(path);
+	assertEquals(zone, table.getZone());
+	assertEquals(from, table.getFrom());
+	assertEquals(to, table.getTo());
+	assertSameAsDateUtils(table, from, to);
+    }
+
+    @Test
+    public final void testTableOfOtherTzdbVersionIsCalculated()
+	    throws IOException {
+	Path path = folder.newFile().toPath();
+	DateDimension.build(from, to, zone).writeTo(path);
+	byte[] bytes = Files.readAllBytes(path);
+	String version = DstSnapshot.tzdbVersion(zone);
+	// Header of 28 bytes, the zone id and the tzdb version
+	int versionStart = 28 + zone.getId().length();
+	assertEquals(version, new String(bytes, versionStart,
+		version.length(), StandardCharsets.UTF_8));
+	bytes[versionStart] ^= 1;
+	// Wrong DST types in all records
+	for (int i = versionStart + version.length(); i < bytes.length; i += 4)
+	    bytes[i] ^= 3 << 6;
+	Files.write(path, bytes);
+	DateDimension table = DateDimension.readFrom(path);
+	assertEquals(from, table.getFrom());
+	assertEquals(to, table.getTo());
+	assertSameAsDateUtils(table, from, to);
+    }
+
+    @Test(expected = IOException.class)
+    public final void testOtherFileIsRejected() throws IOException {
+	Path path = folder.newFile().toPath();
+	Files.write(path, new byte[100]);
+	DateDimension.readFrom(path);
+    }
+}
@@ -0,0 +1,112 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class DateRangesTest {
+    private final LocalDate from = LocalDate.of(1990, Month.FEBRUARY, 13);
+    private final LocalDate to = LocalDate.of(2030, Month.OCTOBER, 1);
+
+    @Test
+    public final void testDaysAreSameAsIteration() {
+	List<LocalDate> expected = new ArrayList<>();
+	for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1))
+	    expected.add(date);
+	assertEquals(expected,
+		DateRanges.days(from, to).collect(Collectors.toList()));
+	assertEquals(expected, DateRanges.days(from, to).parallel()
+		.collect(Collectors.toList()));
+    }
+
+    @Test
+    public final void testWorkingDaysAreSameAsIteration() {
+	List<LocalDate> expected = new ArrayList<>();
+	for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1))
+	    if (!DateUtils.isWeekend(date))
+		expected.add(date);
+	assertEquals(expected,
+		DateRanges.workingDays(from, to).collect(Collectors.toList()));
+	assertEquals(expected, DateRanges.workingDays(from, to).parallel()
+		.collect(Collectors.toList()));
+    }
+
+    @Test
+    public final void testMonthEndsAreSameAsIteration() {
+	List<LocalDate> expected = new ArrayList<>();
+	for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1))
+	    if (DateUtils.endOfMonth(date).equals(date))
+		expected.add(date);
+	assertEquals(expected,
+		DateRanges.monthEnds(from, to).collect(Collectors.toList()));
+	assertEquals(expected, DateRanges.monthEnds(from, to).parallel()
+		.collect(Collectors.toList()));
+    }
+
+    @Test
+    public final void testSeasonStartsAreSameAsIteration() {
+	List<LocalDate> expected = new ArrayList<>();
+	for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1))
+	    if (DateUtils.beginOfSeason(date).equals(date))
+		expected.add(date);
+	assertEquals(expected,
+		DateRanges.seasonStarts(from, to).collect(Collectors.toList()));
+	assertEquals(expected, DateRanges.seasonStarts(from, to).parallel()
+		.collect(Collectors.toList()));
+    }
+
+    @Test
+    public final void testRangeStartingOnSeasonStartContainsIt() {
+	LocalDate april = LocalDate.of(2014, Month.APRIL, 1);
+	assertEquals(1, DateRanges.seasonStarts(april, april.plusDays(1))
+		.count());
+	assertEquals(0, DateRanges.seasonStarts(april.plusDays(1),
+		april.plusMonths(6)).count());
+    }
+
+    @Test
+    public final void testEmptyRange() {
+	assertEquals(0, DateRanges.days(to, from).count());
+	assertEquals(0, DateRanges.workingDays(to, from).count());
+	assertEquals(0, DateRanges.monthEnds(to, to).count());
+	assertEquals(0, DateRanges.seasonStarts(to, from).count());
+    }
+
+    @Test
+    public final void testSpliteratorIsSizedAndSplitsEvenly() {
+	Spliterator.OfLong spliterator = DateRanges.epochDays(from, to)
+		.spliterator();
+	long size = to.toEpochDay() - from.toEpochDay();
+	assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED
+		| Spliterator.SUBSIZED));
+	assertEquals(size, spliterator.getExactSizeIfKnown());
+	Spliterator.OfLong prefix = spliterator.trySplit();
+	assertNotNull(prefix);
+	assertEquals(size / 2, prefix.getExactSizeIfKnown());
+	assertEquals(size - size / 2, spliterator.getExactSizeIfKnown());
+	long[] first = new long[1];
+	spliterator.tryAdvance((long day) -> first[0] = day);
+	assertEquals(from.toEpochDay() + size / 2, first[0]);
+    }
+
+    @Test
+    public final void testParallelSumIsSameAsSequential() {
+	assertEquals(DateRanges.workingEpochDays(from, to,
+		BusinessCalendar.DEFAULT).sum(), DateRanges
+		.workingEpochDays(from, to, BusinessCalendar.DEFAULT)
+		.parallel().sum());
+    }
+}
@@ -0,0 +1,163 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class DateSetTest {
+
+    private static void assertSameAs(TreeSet<Long> expected, DateSet set) {
+	assertEquals(expected.size(), set.size());
+	long[] days = new long[expected.size()];
+	int n = 0;
+	for (long day : expected)
+	    days[n++] = day;
+	assertArrayEquals(days, set.toArray());
+	List<Long> iterated = new ArrayList<>();
+	set.forEach(iterated::add);
+	assertEquals(new ArrayList<>(expected), iterated);
+    }
+
+    private static void assertLookups(TreeSet<Long> expected, DateSet set,
+	    long day) {
+	assertEquals(expected.contains(day), set.contains(day));
+	Long ceiling = expected.ceiling(day);
+	assertEquals(ceiling == null ? DateSet.NONE : ceiling,
+		set.ceiling(day));
+	Long floor = expected.floor(day);
+	assertEquals(floor == null ? DateSet.NONE : floor, set.floor(day));
+	long previous = day - 1;
+	while (expected.contains(previous))
+	    previous--;
+	assertEquals(previous, set.previousAbsent(day));
+	long next = day + 1;
+	while (expected.contains(next))
+	    next++;
+	assertEquals(next, set.nextAbsent(day));
+    }
+
+    @Test
+    public final void testAddRemoveAndLookups() {
+	Random random = new Random(4711);
+	// Sparse, dense and changing between both
+	int[] ranges = { 100000, 200, 5000 };
+	for (int range : ranges) {
+	    TreeSet<Long> expected = new TreeSet<>();
+	    DateSet set = new DateSet();
+	    for (int i = 0; i < 3000; i++) {
+		long day = random.nextInt(range) - range / 3;
+		if (random.nextInt(4) == 0)
+		    assertEquals(expected.remove(day), set.remove(day));
+		else
+		    assertEquals(expected.add(day), set.add(day));
+		if (i % 100 == 0)
+		    assertLookups(expected, set, random.nextInt(range + 20)
+			    - range / 3 - 10);
+	    }
+	    assertSameAs(expected, set);
+	    for (long day = -range / 3 - 70; day < range; day += 7)
+		assertLookups(expected, set, day);
+	    set.clear();
+	    assertTrue(set.isEmpty());
+	    assertEquals(DateSet.NONE, set.first());
+	}
+    }
+
+    @Test
+    public final void testRepresentation() {
+	DateSet set = new DateSet();
+	for (long day = 0; day < 1000; day += 3)
+	    set.add(day);
+	assertTrue(set.isDense());
+	assertEquals(0, set.first());
+	assertEquals(999, set.last());
+	set.add(100000000);
+	assertFalse(set.isDense());
+	assertTrue(set.contains(999));
+	assertTrue(set.contains(100000000));
+	DateSet range = new DateSet(-10, 10);
+	assertTrue(range.isDense());
+	range.addRange(-10, 10);
+	assertEquals(20, range.size());
+	assertEquals(-11, range.previousAbsent(5));
+	assertEquals(10, range.nextAbsent(-10));
+    }
+
+    @Test
+    public final void testRangeIteration() {
+	LocalDate first = LocalDate.of(2014, Month.JANUARY, 1);
+	DateSet set = new DateSet();
+	set.addRange(first.toEpochDay(), first.plusYears(1).toEpochDay());
+	List<Long> days = new ArrayList<>();
+	LocalDate from = LocalDate.of(2014, Month.MARCH, 30);
+	set.forEach(from.toEpochDay(), from.plusDays(5).toEpochDay(),
+		days::add);
+	assertEquals(5, days.size());
+	assertEquals(from.toEpochDay(), (long) days.get(0));
+	assertEquals(from.toEpochDay() + 4, (long) days.get(4));
+	days.clear();
+	set.forEach(first.minusDays(5).toEpochDay(), first.plusDays(1)
+		.toEpochDay(), days::add);
+	assertEquals(Arrays.asList(first.toEpochDay()), days);
+    }
+
+    @Test
+    public final void testUnionAndIntersection() {
+	Random random = new Random(815);
+	for (int range : new int[] { 1000, 100000 }) {
+	    DateSet set1 = new DateSet();
+	    DateSet set2 = new DateSet(-range, range);
+	    TreeSet<Long> expected1 = new TreeSet<>();
+	    TreeSet<Long> expected2 = new TreeSet<>();
+	    for (int i = 0; i < 2000; i++) {
+		long day = random.nextInt(range);
+		set1.add(day);
+		expected1.add(day);
+		day = random.nextInt(2 * range) - range;
+		set2.add(day);
+		expected2.add(day);
+	    }
+	    TreeSet<Long> union = new TreeSet<>(expected1);
+	    union.addAll(expected2);
+	    assertSameAs(union, DateSet.union(set1, set2));
+	    assertSameAs(union, DateSet.union(set2, set1));
+	    TreeSet<Long> intersection = new TreeSet<>(expected1);
+	    intersection.retainAll(expected2);
+	    assertSameAs(intersection, DateSet.intersection(set1, set2));
+	    assertSameAs(intersection, DateSet.intersection(set2, set1));
+	    assertSameAs(expected1, set1);
+	    assertSameAs(expected2, set2);
+	}
+    }
+
+    @Test
+    public final void testLocalDates() {
+	LocalDate date = LocalDate.of(2014, Month.MARCH, 30);
+	DateSet set = DateSet.of(Arrays.asList(date, date.plusDays(2)));
+	assertTrue(set.contains(date));
+	assertFalse(set.contains(date.plusDays(1)));
+	assertEquals("[2014-03-30, 2014-04-01]", set.toString());
+	assertTrue(set.remove(date));
+	assertEquals(1, set.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testNoneIsRejected() {
+	new DateSet().add(DateSet.NONE);
+    }
+}
@@ -0,0 +1,44 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class DateToIntMapTest {
+
+    @Test
+    public final void testCountsPerDay() {
+	LocalDate first = LocalDate.of(2014, Month.JANUARY, 1);
+	DateToIntMap map = new DateToIntMap();
+	// Many entries, so that the table grows several times
+	for (int i = 0; i < 10000; i++)
+	    map.add(first.plusDays(i % 1000 * 7), 1);
+	assertEquals(1000, map.size());
+	for (int i = 0; i < 1000; i++)
+	    assertEquals(10, map.get(first.plusDays(i * 7), 0));
+	for (int i = 0; i < 1000; i += 2)
+	    assertTrue(map.remove(first.plusDays(i * 7).toEpochDay()));
+	assertFalse(map.remove(first.toEpochDay()));
+	assertEquals(500, map.size());
+	List<Long> days = new ArrayList<>();
+	map.forEach((day, count) -> {
+	    assertEquals(10, count);
+	    days.add(day);
+	});
+	assertEquals(500, days.size());
+	for (int i = 0; i < days.size(); i++)
+	    assertEquals(first.plusDays(i * 14 + 7).toEpochDay(),
+		    (long) days.get(i));
+    }
+}
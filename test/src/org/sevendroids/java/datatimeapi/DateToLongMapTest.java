@@ -0,0 +1,79 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class DateToLongMapTest {
+
+    @Test
+    public final void testSameAsTreeMap() {
+	Random random = new Random(4711);
+	TreeMap<Long, Long> expected = new TreeMap<>();
+	DateToLongMap map = new DateToLongMap();
+	for (int i = 0; i < 20000; i++) {
+	    long day = random.nextInt(3000) - 1000;
+	    switch (random.nextInt(4)) {
+	    case 0:
+		assertEquals(expected.remove(day) != null, map.remove(day));
+		break;
+	    case 1:
+		expected.put(day, (long) i);
+		map.put(day, i);
+		break;
+	    default:
+		expected.merge(day, (long) i, Long::sum);
+		assertEquals((long) expected.get(day), map.add(day, i));
+	    }
+	    long key = random.nextInt(3000) - 1000;
+	    assertEquals(expected.containsKey(key), map.containsKey(key));
+	    assertEquals(expected.getOrDefault(key, -1L).longValue(),
+		    map.get(key, -1));
+	}
+	assertEquals(expected.size(), map.size());
+	List<Long> days = new ArrayList<>();
+	List<Long> values = new ArrayList<>();
+	map.forEach((day, value) -> {
+	    days.add(day);
+	    values.add(value);
+	});
+	assertEquals(new ArrayList<>(expected.keySet()), days);
+	assertEquals(new ArrayList<>(expected.values()), values);
+	days.clear();
+	map.forEach(0, 100, (day, value) -> days.add(day));
+	assertEquals(new ArrayList<>(expected.subMap(0L, 100L).keySet()), days);
+	DateSet keys = map.keys();
+	assertEquals(expected.size(), keys.size());
+	for (Map.Entry<Long, Long> entry : expected.entrySet())
+	    assertTrue(keys.contains(entry.getKey()));
+	map.clear();
+	assertTrue(map.isEmpty());
+	assertFalse(map.containsKey(expected.firstKey()));
+    }
+
+    @Test
+    public final void testLocalDates() {
+	LocalDate date = LocalDate.of(2014, Month.MARCH, 30);
+	DateToLongMap map = new DateToLongMap(2);
+	map.put(date, 5);
+	assertEquals(7, map.add(date, 2));
+	assertEquals(3, map.add(date.plusDays(1), 3));
+	assertEquals(7, map.get(date, 0));
+	assertEquals(0, map.get(date.minusDays(1), 0));
+	assertEquals("{2014-03-30=7, 2014-03-31=3}", map.toString());
+    }
+}
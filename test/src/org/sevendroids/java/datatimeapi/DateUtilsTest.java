@@ -4,9 +4,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Random;
 
 import org.junit.Test;
 import org.sevendroids.java.datatimeapi.DateUtils.DayType;
@@ -62,6 +66,18 @@ public class DateUtilsTest {
 	assertEquals(friday, DateUtils.getPreviousWorkingDay(saturday));
     }
 
+    @Test
+    public final void testAddTwoWorkingDaysToFridayIsTuesday() {
+	assertEquals(tuesday, DateUtils.addWorkingDays(friday, 2));
+	assertEquals(friday, DateUtils.addWorkingDays(tuesday, -2));
+    }
+
+    @Test
+    public final void testWorkingDaysBetweenFridayAndTuesdayIs2() {
+	assertEquals(2, DateUtils.getWorkingDaysBetweenDates(friday, tuesday));
+	assertEquals(0, DateUtils.getWorkingDaysBetweenDates(friday, sunday));
+    }
+
     @Test
     public final void test30_03_2014IsChangeDayToDST() {
 	LocalDate date30032014 = LocalDate.of(2014, Month.MARCH, 30);
@@ -77,6 +93,30 @@ public class DateUtilsTest {
 		DateUtils.getDSTType(date30032014));
     }
 
+    @Test
+    public final void test09_03_2014IsChangeDayToDSTInNewYork() {
+	LocalDate date09032014 = LocalDate.of(2014, Month.MARCH, 9);
+	assertEquals(DayType.TO_DAYLIGHT_SAVING_TIME,
+		DateUtils.getDSTType(date09032014, ZoneId.of("America/New_York")));
+	assertEquals(DayType.TO_DAYLIGHT_SAVING_TIME, DateUtils.getDSTType(
+		date09032014, ZoneId.of("America/New_York").getRules()));
+    }
+
+    @Test
+    public final void test30_03_2014IsChangeDayToDSTInZoneOfZonedDateTime() {
+	ZonedDateTime date30032014 = ZonedDateTime.of(2014, 3, 30, 12, 0, 0,
+		0, ZoneId.of("Europe/London"));
+	assertEquals(DayType.TO_DAYLIGHT_SAVING_TIME,
+		DateUtils.getDSTType(date30032014));
+    }
+
+    @Test
+    public final void test30_03_2014IsDSTForInstantInNewYork() {
+	Instant instant = Instant.parse("2014-03-30T01:00:00Z");
+	assertEquals(DayType.DAYLIGHT_SAVING_TIME,
+		DateUtils.getDSTType(instant, ZoneId.of("America/New_York")));
+    }
+
     @Test
     public final void test29_03_2014IsStandardTime() {
 	LocalDate date29032014 = LocalDate.of(2014, Month.MARCH, 29);
@@ -203,4 +243,52 @@ public class DateUtilsTest {
 	LocalDate expected = LocalDate.of(2015, Month.MARCH, 31);
 	assertEquals(expected, DateUtils.endOfSeason(in));
     }
+
+    @Test
+    public final void testEpochMilliOverloadsAreSameAsLocalDate() {
+	Random random = new Random(4711);
+	for (String id : new String[] { "Europe/Berlin", "America/Sao_Paulo",
+		"Asia/Kolkata" }) {
+	    ZoneId zone = ZoneId.of(id);
+	    for (int i = 0; i < 10000; i++) {
+		long epochMilli = (long) ((random.nextDouble() * 130)
+			* 365.25 * 86400000L);
+		long other = epochMilli + random.nextInt(1000) * 86400000L;
+		LocalDate date = Instant.ofEpochMilli(epochMilli).atZone(zone)
+			.toLocalDate();
+		LocalDate otherDate = Instant.ofEpochMilli(other).atZone(zone)
+			.toLocalDate();
+		String message = id + " " + date;
+		assertEquals(message, DateUtils.isWeekend(date),
+			DateUtils.isWeekend(epochMilli, zone));
+		assertEquals(message, startOfDay(DateUtils
+			.getPreviousWorkingDay(date), zone), DateUtils
+			.getPreviousWorkingDay(epochMilli, zone));
+		assertEquals(message, startOfDay(DateUtils.addWorkingDays(date,
+			-7), zone), DateUtils.addWorkingDays(epochMilli, -7,
+			zone));
+		assertEquals(message, DateUtils.getWorkingDaysBetweenDates(
+			date, otherDate), DateUtils.getWorkingDaysBetweenDates(
+			epochMilli, other, zone));
+		assertEquals(message, DateUtils.getDSTType(date, zone),
+			DateUtils.getDSTType(epochMilli, zone));
+		assertEquals(message, DateUtils.getQuarter(date),
+			DateUtils.getQuarter(epochMilli, zone));
+		assertEquals(message, DateUtils.getQuartersBetweenDates(date,
+			otherDate), DateUtils.getQuartersBetweenDates(
+			epochMilli, other, zone));
+		assertEquals(message, startOfDay(DateUtils.endOfMonth(date),
+			zone), DateUtils.endOfMonth(epochMilli, zone));
+		assertEquals(message, startOfDay(
+			DateUtils.beginOfSeason(date), zone), DateUtils
+			.beginOfSeason(epochMilli, zone));
+		assertEquals(message, startOfDay(DateUtils.endOfSeason(date),
+			zone), DateUtils.endOfSeason(epochMilli, zone));
+	    }
+	}
+    }
+
+    private static long startOfDay(LocalDate date, ZoneId zone) {
+	return date.atStartOfDay(zone).toInstant().toEpochMilli();
+    }
 }
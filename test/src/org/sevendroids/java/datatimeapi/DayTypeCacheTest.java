@@ -0,0 +1,141 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.sevendroids.java.datatimeapi.DateUtils.DayType;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class DayTypeCacheTest {
+    private final ZoneId berlin = ZoneId.of("Europe/Berlin");
+    private final ZoneId sydney = ZoneId.of("Australia/Sydney");
+
+    @Test
+    public final void testTypesAreSameAsDateUtils() {
+	DayTypeCache cache = new DayTypeCache(256);
+	for (int round = 0; round < 2; round++)
+	    for (LocalDate date = LocalDate.of(2013, Month.JANUARY, 1); date
+		    .getYear() < 2016; date = date.plusDays(1)) {
+		assertEquals(date.toString(), DateUtils.getDSTType(date,
+			berlin), cache.getDSTType(date, berlin));
+		assertEquals(date.toString(), DateUtils.getDSTType(date,
+			sydney), cache.getDSTType(date, sydney));
+	    }
+    }
+
+    @Test
+    public final void testHitsAndMissesAreCounted() {
+	DayTypeCache cache = new DayTypeCache(16);
+	LocalDate date = LocalDate.of(2014, Month.MARCH, 30);
+	assertEquals(DayType.TO_DAYLIGHT_SAVING_TIME,
+		cache.getDSTType(date, berlin));
+	assertEquals(DayType.TO_DAYLIGHT_SAVING_TIME,
+		cache.getDSTType(date, berlin));
+	assertEquals(DayType.DAYLIGHT_SAVING_TIME,
+		cache.getDSTType(date, sydney));
+	assertEquals(1, cache.getHits());
+	assertEquals(2, cache.getMisses());
+	assertEquals(2, cache.size());
+	cache.clear();
+	assertEquals(0, cache.size());
+	assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public final void testSizeIsBounded() {
+	DayTypeCache cache = new DayTypeCache(60);
+	assertEquals(64, cache.getCapacity());
+	long first = LocalDate.of(2000, Month.JANUARY, 1).toEpochDay();
+	for (long day = first; day < first + 1000; day++)
+	    cache.getDSTType(day, berlin);
+	assertTrue(cache.size() <= cache.getCapacity());
+	assertTrue(cache.getEvictions() >= 1000 - cache.getCapacity());
+    }
+
+    @Test
+    public final void testRecentlyUsedDaysStayInCache() {
+	DayTypeCache cache = new DayTypeCache(1024);
+	long today = LocalDate.of(2014, Month.OCTOBER, 26).toEpochDay();
+	for (long day = today - 5001; day < today - 1; day++) {
+	    cache.getDSTType(today, berlin);
+	    cache.getDSTType(today - 1, berlin);
+	    cache.getDSTType(day, berlin);
+	}
+	// Only the first lookups of today and yesterday miss
+	assertEquals(5000 + 2, cache.getMisses());
+    }
+
+    @Test
+    public final void testFixedOffsetsAreNotCached() {
+	DayTypeCache cache = new DayTypeCache(16);
+	LocalDate date = LocalDate.of(2014, Month.MARCH, 30);
+	for (int hours = -18; hours <= 18; hours++)
+	    assertEquals(DayType.STANDARD_TIME,
+		    cache.getDSTType(date, ZoneOffset.ofHours(hours)));
+	assertEquals(DayType.STANDARD_TIME,
+		cache.getDSTType(date, ZoneId.of("UTC")));
+	assertEquals(0, cache.size());
+	assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public final void testDaysOutOfRange() {
+	DayTypeCache cache = new DayTypeCache(16);
+	assertEquals(DateUtils.getDSTType(LocalDate.MIN, berlin),
+		cache.getDSTType(LocalDate.MIN, berlin));
+	try {
+	    // Same key as day 0 without the range check
+	    cache.getDSTType(1L << 44, berlin);
+	    fail("Day out of range");
+	} catch (IllegalArgumentException e) {
+	    // expected
+	}
+	try {
+	    cache.getDSTType(LocalDate.MIN.toEpochDay() - 1, berlin);
+	    fail("Day out of range");
+	} catch (IllegalArgumentException e) {
+	    // expected
+	}
+    }
+
+    @Test
+    public final void testConcurrentLookups() throws Exception {
+	DayTypeCache cache = new DayTypeCache(128);
+	ExecutorService executor = Executors.newFixedThreadPool(8);
+	try {
+	    List<Future<?>> futures = new ArrayList<>();
+	    for (int t = 0; t < 8; t++) {
+		int thread = t;
+		futures.add(executor.submit(() -> {
+		    LocalDate start = LocalDate.of(2014, Month.JANUARY, 1);
+		    for (int i = 0; i < 20000; i++) {
+			LocalDate date = start.plusDays((i * 7 + thread) % 400);
+			ZoneId zone = i % 2 == 0 ? berlin : sydney;
+			assertEquals(DateUtils.getDSTType(date, zone),
+				cache.getDSTType(date, zone));
+		    }
+		}));
+	    }
+	    for (Future<?> future : futures)
+		future.get();
+	} finally {
+	    executor.shutdown();
+	}
+	assertEquals(8 * 20000, cache.getHits() + cache.getMisses());
+    }
+}
@@ -0,0 +1,153 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class DstSnapshotTest {
+
+    private static DstSnapshot roundTrip(DstSnapshot snapshot)
+	    throws IOException {
+	ByteArrayOutputStream out = new ByteArrayOutputStream();
+	snapshot.write(out);
+	return DstSnapshot.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    public final void testSameAsCalculated() throws IOException {
+	ZoneId[] zones = { ZoneId.of("Europe/Berlin"),
+		ZoneId.of("America/Sao_Paulo"), ZoneId.of("Australia/Sydney"),
+		ZoneId.of("Asia/Tokyo"), ZoneOffset.ofHours(2) };
+	DstSnapshot snapshot = roundTrip(DstSnapshot.create(
+		Arrays.asList(zones), 1970, 2040));
+	assertEquals(1970, snapshot.getFromYear());
+	assertEquals(2040, snapshot.getToYear());
+	// The fixed offset is skipped
+	assertEquals(new HashSet<>(Arrays.asList("Europe/Berlin",
+		"America/Sao_Paulo", "Australia/Sydney", "Asia/Tokyo")),
+		snapshot.getZoneIds());
+	for (ZoneId zone : zones) {
+	    ZoneRules rules = zone.getRules();
+	    DstTransitionIndex index = DstTransitionIndex.of(rules);
+	    assertEquals(!rules.isFixedOffset(),
+		    snapshot.preload(zone, index));
+	    if (rules.isFixedOffset())
+		continue;
+	    assertTrue(index.isLoaded(1970));
+	    assertTrue(index.isLoaded(2040));
+	    assertFalse(index.isLoaded(2041));
+	    long end = LocalDate.of(2041, 1, 1).toEpochDay();
+	    long first = LocalDate.of(1970, 1, 1).toEpochDay();
+	    for (long day = first; day < end; day++)
+		assertEquals(zone + " " + LocalDate.ofEpochDay(day),
+			DstTransitionIndex.calculateDSTType(rules, day),
+			index.getDSTType(day));
+	}
+    }
+
+    @Test
+    public final void testInstalledSnapshot() {
+	ZoneId zone = ZoneId.of("America/Havana");
+	DstSnapshot snapshot = DstSnapshot.create(Arrays.asList(zone), 2000,
+		2030);
+	DstSnapshot previous = DstSnapshot.installed();
+	DstSnapshot.install(snapshot);
+	try {
+	    assertEquals(snapshot, DstSnapshot.installed());
+	    // A new index is created with the years of the snapshot, the
+	    // shared one may exist already
+	    DstTransitionIndex index = DstTransitionIndex.create(zone);
+	    assertTrue(index.isLoaded(2000));
+	    assertTrue(index.isLoaded(2030));
+	    index.warmUp(2031, 2035);
+	    assertTrue(index.isLoaded(2035));
+	} finally {
+	    DstSnapshot.install(previous);
+	}
+    }
+
+    @Test
+    public final void testWarmUp() {
+	ZoneId zone = ZoneId.of("Pacific/Chatham");
+	DateUtils.warmUp(2010, 2020, zone);
+	DstTransitionIndex index = DstTransitionIndex.of(zone);
+	assertTrue(index.isLoaded(2010));
+	assertTrue(index.isLoaded(2020));
+	assertEquals(DateUtils.getDSTType(LocalDate.of(2014, 4, 5),
+		zone.getRules()), index.getDSTType(LocalDate.of(2014, 4, 5)));
+    }
+
+    @Test(expected = IOException.class)
+    public final void testNoSnapshot() throws IOException {
+	DstSnapshot.read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4 }));
+    }
+
+    private static byte[] bytes(DstSnapshot snapshot) throws IOException {
+	ByteArrayOutputStream out = new ByteArrayOutputStream();
+	snapshot.write(out);
+	return out.toByteArray();
+    }
+
+    @Test
+    public final void testCorruptedSnapshot() throws IOException {
+	ZoneId zone = ZoneId.of("Europe/Berlin");
+	DstSnapshot snapshot = DstSnapshot.create(Arrays.asList(zone), 2000,
+		2010);
+	byte[] valid = bytes(snapshot);
+	// Magic number, length and version of the tzdb version
+	int years = 4 + 2 + snapshot.getVersion().length();
+	byte[] corrupted = valid.clone();
+	// First year 1850
+	corrupted[years] = (byte) (1850 >> 8);
+	corrupted[years + 1] = (byte) 1850;
+	try {
+	    DstSnapshot.read(new ByteArrayInputStream(corrupted));
+	    fail("Years out of the index");
+	} catch (IOException e) {
+	    // expected
+	}
+	// Offset of the zone after the data
+	corrupted = valid.clone();
+	int offset = years + 4 + 4 + 2 + zone.getId().length();
+	corrupted[offset] = 0x7f;
+	try {
+	    DstSnapshot.read(new ByteArrayInputStream(corrupted));
+	    fail("Offset after the data");
+	} catch (IOException e) {
+	    // expected
+	}
+	// Number of switches in 2000 larger than the data
+	corrupted = valid.clone();
+	corrupted[offset + 4 + 4] = 0x7f;
+	DstSnapshot broken = DstSnapshot.read(new ByteArrayInputStream(
+		corrupted));
+	DstTransitionIndex index = DstTransitionIndex.of(zone.getRules());
+	assertFalse(broken.preload(zone, index));
+	assertFalse(index.isLoaded(2000));
+	assertEquals(DateUtils.DayType.TO_DAYLIGHT_SAVING_TIME,
+		index.getDSTType(LocalDate.of(2010, 3, 28)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testYearsOutOfIndex() {
+	DstSnapshot.create(Arrays.asList(ZoneId.of("Europe/Berlin")), 1800,
+		2000);
+    }
+}
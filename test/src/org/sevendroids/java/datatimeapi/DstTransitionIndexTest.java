@@ -0,0 +1,127 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.junit.Test;
+import org.sevendroids.java.datatimeapi.DateUtils.DayType;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class DstTransitionIndexTest {
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    /**
+     * Original implementation of DateUtils.getDSTType() used as reference.
+     */
+    private static DayType referenceDSTType(LocalDate cal, ZoneId zone) {
+	DayType status;
+	LocalDateTime testDate = cal.atStartOfDay();
+	ZonedDateTime zdt = ZonedDateTime.of(testDate, zone);
+	if (zdt.getZone().getRules()
+		.isDaylightSavings(testDate.toInstant(zdt.getOffset())))
+	    status = DayType.DAYLIGHT_SAVING_TIME;
+	else
+	    status = DayType.STANDARD_TIME;
+	testDate = testDate.plusDays(1);
+	zdt = ZonedDateTime.of(testDate, zone);
+	if (zdt.getZone().getRules()
+		.isDaylightSavings(testDate.toInstant(zdt.getOffset()))) {
+	    if (status != DayType.DAYLIGHT_SAVING_TIME)
+		status = DayType.TO_DAYLIGHT_SAVING_TIME;
+	} else {
+	    if (status == DayType.DAYLIGHT_SAVING_TIME)
+		status = DayType.TO_STANDARD_TIME;
+	}
+	return status;
+    }
+
+    private static void assertSameAsReference(String zoneId, int fromYear,
+	    int toYear) {
+	ZoneId zone = ZoneId.of(zoneId);
+	DstTransitionIndex index = DstTransitionIndex.of(zone);
+	LocalDate end = LocalDate.of(toYear + 1, 1, 1);
+	for (LocalDate date = LocalDate.of(fromYear, 1, 1); date
+		.isBefore(end); date = date.plusDays(1)) {
+	    assertEquals(zoneId + " " + date, referenceDSTType(date, zone),
+		    index.getDSTType(date));
+	}
+    }
+
+    @Test
+    public final void testIndexIsSharedPerZone() {
+	assertSame(DstTransitionIndex.of(BERLIN),
+		DstTransitionIndex.of(ZoneId.of("Europe/Berlin")));
+    }
+
+    @Test
+    public final void testFixedOffsetsShareOneIndex() {
+	DstTransitionIndex index = DstTransitionIndex.of(ZoneOffset.ofHours(2));
+	assertSame(index, DstTransitionIndex.of(ZoneId.of("UTC+05:30")));
+	assertSame(index, DstTransitionIndex.of(ZoneOffset.ofHoursMinutes(-3,
+		-30)));
+	for (LocalDate date = LocalDate.of(2014, Month.JANUARY, 1); date
+		.getYear() == 2014; date = date.plusDays(1))
+	    assertEquals(DayType.STANDARD_TIME, index.getDSTType(date));
+    }
+
+    @Test
+    public final void test30_03_2014IsChangeDayToDST() {
+	assertEquals(DayType.TO_DAYLIGHT_SAVING_TIME, DstTransitionIndex
+		.of(BERLIN).getDSTType(LocalDate.of(2014, Month.MARCH, 30)));
+    }
+
+    @Test
+    public final void test26_10_2014IsChangeDayToStandardTime() {
+	assertEquals(DayType.TO_STANDARD_TIME, DstTransitionIndex.of(BERLIN)
+		.getDSTType(LocalDate.of(2014, Month.OCTOBER, 26)));
+    }
+
+    @Test
+    public final void testEuropeIsSameAsReference() {
+	assertSameAsReference("Europe/Berlin", 1970, 2040);
+    }
+
+    @Test
+    public final void testSouthernHemisphereIsSameAsReference() {
+	assertSameAsReference("Australia/Sydney", 1970, 2040);
+    }
+
+    @Test
+    public final void testSwitchAtMidnightIsSameAsReference() {
+	assertSameAsReference("America/Sao_Paulo", 1970, 2040);
+    }
+
+    @Test
+    public final void testNegativeDSTIsSameAsReference() {
+	assertSameAsReference("Europe/Dublin", 1970, 2040);
+    }
+
+    @Test
+    public final void testSeveralSwitchesPerYearIsSameAsReference() {
+	assertSameAsReference("Africa/Casablanca", 2008, 2030);
+    }
+
+    @Test
+    public final void testZoneWithoutDSTIsStandardTime() {
+	assertSameAsReference("Asia/Kolkata", 2000, 2001);
+	assertEquals(DayType.STANDARD_TIME,
+		DstTransitionIndex.of(ZoneId.of("UTC")).getDSTType(
+			LocalDate.of(2014, Month.MARCH, 30)));
+    }
+
+    @Test
+    public final void testYearsOutsideIndexAreSameAsReference() {
+	assertSameAsReference("Europe/Berlin", 1890, 1899);
+	assertSameAsReference("Europe/Berlin", 2200, 2201);
+    }
+}
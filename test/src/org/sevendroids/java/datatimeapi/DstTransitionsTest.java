@@ -0,0 +1,134 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.sevendroids.java.datatimeapi.DateUtils.DayType;
+import org.sevendroids.java.datatimeapi.DstTransitions.Cursor;
+import org.sevendroids.java.datatimeapi.DstTransitions.Transition;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class DstTransitionsTest {
+    private final ZoneId berlin = ZoneId.of("Europe/Berlin");
+    private final LocalDate from = LocalDate.of(2014, Month.JANUARY, 1);
+    private final LocalDate to = LocalDate.of(2015, Month.JANUARY, 1);
+
+    @Test
+    public final void testCursor() {
+	Cursor cursor = DstTransitions.cursor(berlin, from.toEpochDay(),
+		to.toEpochDay());
+	assertTrue(cursor.next());
+	assertEquals(LocalDateTime.of(2014, Month.MARCH, 30, 1, 0)
+		.toEpochSecond(ZoneOffset.UTC), cursor.getEpochSecond());
+	assertEquals(LocalDate.of(2014, Month.MARCH, 30).toEpochDay(),
+		cursor.getEpochDay());
+	assertEquals(DayType.TO_DAYLIGHT_SAVING_TIME, cursor.getDayType());
+	assertEquals(3600, cursor.getOffsetBefore());
+	assertEquals(7200, cursor.getOffsetAfter());
+	assertTrue(cursor.next());
+	assertEquals(LocalDateTime.of(2014, Month.OCTOBER, 26, 1, 0)
+		.toEpochSecond(ZoneOffset.UTC), cursor.getEpochSecond());
+	assertEquals(LocalDate.of(2014, Month.OCTOBER, 26).toEpochDay(),
+		cursor.getEpochDay());
+	assertEquals(DayType.TO_STANDARD_TIME, cursor.getDayType());
+	assertFalse(cursor.next());
+	assertFalse(cursor.next());
+    }
+
+    @Test
+    public final void testRangeIsExclusive() {
+	LocalDate switchDay = LocalDate.of(2014, Month.MARCH, 30);
+	assertEquals(0, DstTransitions.stream(berlin, from, switchDay).count());
+	assertEquals(1,
+		DstTransitions.stream(berlin, switchDay, switchDay.plusDays(1))
+			.count());
+    }
+
+    @Test
+    public final void testIterator() {
+	Iterator<Transition> iterator = DstTransitions.iterator(
+		ZoneId.of("Australia/Sydney"), from, to);
+	assertTrue(iterator.hasNext());
+	Transition transition = iterator.next();
+	assertEquals(LocalDate.of(2014, Month.APRIL, 6).toEpochDay(),
+		transition.getEpochDay());
+	assertEquals(DayType.TO_STANDARD_TIME, transition.getDayType());
+	transition = iterator.next();
+	assertEquals(LocalDate.of(2014, Month.OCTOBER, 5).toEpochDay(),
+		transition.getEpochDay());
+	assertEquals(DayType.TO_DAYLIGHT_SAVING_TIME, transition.getDayType());
+	assertFalse(iterator.hasNext());
+	try {
+	    iterator.next();
+	    throw new AssertionError("NoSuchElementException expected");
+	} catch (NoSuchElementException e) {
+	    // expected
+	}
+    }
+
+    @Test
+    public final void testNoTransitions() {
+	assertEquals(0, DstTransitions.stream(ZoneId.of("Asia/Tokyo"), from, to)
+		.count());
+	assertEquals(0, DstTransitions.stream(ZoneOffset.ofHours(2), from, to)
+		.count());
+    }
+
+    @Test
+    public final void testSameDaysAsGetDSTType() {
+	LocalDate first = LocalDate.of(2010, Month.JANUARY, 1);
+	LocalDate end = LocalDate.of(2020, Month.JANUARY, 1);
+	List<ZoneId> zones = ZoneId.getAvailableZoneIds().stream()
+		.map(ZoneId::of).collect(Collectors.toList());
+	for (ZoneId zone : zones) {
+	    List<String> expected = new ArrayList<>();
+	    for (long day = first.toEpochDay(); day < end.toEpochDay(); day++) {
+		DayType type = DstTransitionIndex.calculateDSTType(
+			zone.getRules(), day);
+		if (type == DayType.TO_DAYLIGHT_SAVING_TIME
+			|| type == DayType.TO_STANDARD_TIME)
+		    expected.add(LocalDate.ofEpochDay(day) + " " + type);
+	    }
+	    List<String> actual = DstTransitions
+		    .stream(zone, first, end)
+		    .map(t -> LocalDate.ofEpochDay(t.getEpochDay()) + " "
+			    + t.getDayType()).collect(Collectors.toList());
+	    assertEquals(zone.toString(), expected, actual);
+	}
+    }
+
+    @Test
+    public final void testManyZones() {
+	List<ZoneId> zones = ZoneId.getAvailableZoneIds().stream()
+		.map(ZoneId::of).collect(Collectors.toList());
+	LocalDate end = from.plusYears(10);
+	List<Transition> sequential = DstTransitions.stream(zones, from, end)
+		.collect(Collectors.toList());
+	List<Transition> parallel = DstTransitions.stream(zones, from, end)
+		.parallel().collect(Collectors.toList());
+	assertEquals(sequential.size(), parallel.size());
+	assertTrue(sequential.size() > 1000);
+	for (Transition transition : sequential) {
+	    assertEquals(transition.toString(), transition.getDayType(),
+		    DateUtils.getDSTType(
+			    LocalDate.ofEpochDay(transition.getEpochDay()),
+			    transition.getZone()));
+	}
+    }
+}
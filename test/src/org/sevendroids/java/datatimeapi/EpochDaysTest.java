@@ -0,0 +1,110 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+import org.junit.Test;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class EpochDaysTest {
+    private long friday = LocalDate.of(2014, Month.FEBRUARY, 28).toEpochDay();
+    private long saturday = LocalDate.of(2014, Month.MARCH, 1).toEpochDay();
+    private long sunday = LocalDate.of(2014, Month.MARCH, 2).toEpochDay();
+    private long monday = LocalDate.of(2014, Month.MARCH, 3).toEpochDay();
+    private long tuesday = LocalDate.of(2014, Month.MARCH, 4).toEpochDay();
+
+    private static void assertSameAsDateUtils(LocalDate date) {
+	long epochDay = date.toEpochDay();
+	assertEquals(date.toString(), epochDay, EpochDays.of(date.getYear(),
+		date.getMonthValue(), date.getDayOfMonth()));
+	assertEquals(date.toString(), date.getYear(), EpochDays.year(epochDay));
+	assertEquals(date.toString(), date.getMonthValue(),
+		EpochDays.month(epochDay));
+	assertEquals(date.toString(), date.getDayOfMonth(),
+		EpochDays.dayOfMonth(epochDay));
+	assertEquals(date.toString(), date.getDayOfWeek().getValue(),
+		EpochDays.dayOfWeek(epochDay));
+	assertEquals(date.toString(), DateUtils.isWeekend(date),
+		EpochDays.isWeekend(epochDay));
+	assertEquals(date.toString(), DateUtils.getPreviousWorkingDay(date)
+		.toEpochDay(), EpochDays.previousWorkingDay(epochDay));
+	assertEquals(date.toString(), DateUtils.getQuarter(date),
+		EpochDays.quarter(epochDay));
+	assertEquals(date.toString(), DateUtils.endOfMonth(date).toEpochDay(),
+		EpochDays.endOfMonth(epochDay));
+	assertEquals(date.toString(), DateUtils.beginOfSeason(date)
+		.toEpochDay(), EpochDays.beginOfSeason(epochDay));
+	assertEquals(date.toString(), DateUtils.endOfSeason(date)
+		.toEpochDay(), EpochDays.endOfSeason(epochDay));
+    }
+
+    @Test
+    public final void testFridayIsNotWeekend() {
+	assertFalse(EpochDays.isWeekend(friday));
+    }
+
+    @Test
+    public final void testSaturdayIsWeekend() {
+	assertTrue(EpochDays.isWeekend(saturday));
+    }
+
+    @Test
+    public final void testSundayIsWeekend() {
+	assertTrue(EpochDays.isWeekend(sunday));
+    }
+
+    @Test
+    public final void testPreviousWorkingDayForMondayIsFriday() {
+	assertEquals(friday, EpochDays.previousWorkingDay(monday));
+	assertEquals(monday, EpochDays.previousWorkingDay(tuesday));
+    }
+
+    @Test
+    public final void testEndOfMonthForFeb2012Gives29Feb2012() {
+	assertEquals(LocalDate.of(2012, Month.FEBRUARY, 29).toEpochDay(),
+		EpochDays.endOfMonth(LocalDate.of(2012, Month.FEBRUARY, 3)
+			.toEpochDay()));
+    }
+
+    @Test
+    public final void test1DateInMarchAnd1DateInOctoberPlusOneYearReturn7Quarter() {
+	long date01032014 = LocalDate.of(2014, Month.MARCH, 1).toEpochDay();
+	long date02102015 = LocalDate.of(2015, Month.OCTOBER, 2).toEpochDay();
+	assertEquals(7, EpochDays.quartersBetween(date01032014, date02102015));
+	assertEquals(7, EpochDays.quartersBetween(date02102015, date01032014));
+    }
+
+    @Test
+    public final void testEveryDayFrom1600To2400IsSameAsDateUtils() {
+	LocalDate end = LocalDate.of(2400, Month.DECEMBER, 31);
+	for (LocalDate date = LocalDate.of(1600, Month.JANUARY, 1); !date
+		.isAfter(end); date = date.plusDays(1))
+	    assertSameAsDateUtils(date);
+    }
+
+    @Test
+    public final void testDaysNearLimitsOfLocalDateAreSameAsDateUtils() {
+	for (int i = 0; i < 400; i++) {
+	    assertSameAsDateUtils(LocalDate.MIN.plusDays(i * 97 + 400));
+	    assertSameAsDateUtils(LocalDate.MAX.minusDays(i * 97 + 400));
+	}
+    }
+
+    @Test
+    public final void testQuartersBetweenIsSameAsDateUtils() {
+	LocalDate date1 = LocalDate.of(1999, Month.NOVEMBER, 30);
+	for (int i = -3000; i < 3000; i += 7) {
+	    LocalDate date2 = date1.plusDays(i);
+	    assertEquals(DateUtils.getQuartersBetweenDates(date1, date2),
+		    EpochDays.quartersBetween(date1.toEpochDay(),
+			    date2.toEpochDay()));
+	}
+    }
+}
@@ -0,0 +1,141 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+
+import org.junit.Test;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class FiscalCalendarTest {
+
+    @Test
+    public final void testQuartersAndSeasons() {
+	long first = LocalDate.of(1890, Month.JANUARY, 1).toEpochDay();
+	long end = LocalDate.of(2210, Month.JANUARY, 1).toEpochDay();
+	for (long day = first; day < end; day++) {
+	    assertEquals(EpochDays.quarter(day),
+		    FiscalCalendar.QUARTERS.period(day));
+	    assertEquals(EpochDays.quarterIndex(day),
+		    FiscalCalendar.QUARTERS.periodIndex(day));
+	    assertEquals(EpochDays.beginOfSeason(day),
+		    FiscalCalendar.SEASONS.beginOfPeriod(day));
+	    assertEquals(EpochDays.endOfSeason(day),
+		    FiscalCalendar.SEASONS.endOfPeriod(day));
+	    assertEquals(EpochDays.seasonIndex(day),
+		    FiscalCalendar.SEASONS.periodIndex(day));
+	}
+    }
+
+    @Test
+    public final void testFiscalYearStartingInJuly() {
+	FiscalCalendar calendar = FiscalCalendar.ofMonths(Month.JULY, 3);
+	assertEquals(4, calendar.getPeriodsPerYear());
+	LocalDate date = LocalDate.of(2015, Month.MARCH, 30);
+	assertEquals(2, calendar.getPeriod(date));
+	assertEquals(2014, calendar.getYear(date));
+	assertEquals(LocalDate.of(2015, Month.JANUARY, 1),
+		calendar.beginOfPeriod(date));
+	assertEquals(LocalDate.of(2015, Month.MARCH, 31),
+		calendar.endOfPeriod(date));
+	date = LocalDate.of(2015, Month.JULY, 1);
+	assertEquals(0, calendar.getPeriod(date));
+	assertEquals(2015, calendar.getYear(date));
+	assertEquals(1, calendar.getPeriodsBetween(
+		LocalDate.of(2015, Month.JUNE, 30), date));
+	assertEquals(5, calendar.getPeriodsBetween(date,
+		LocalDate.of(2014, Month.APRIL, 1)));
+    }
+
+    @Test
+    public final void testRetailCalendar() {
+	FiscalCalendar calendar = FiscalCalendar.ofWeeks(Month.FEBRUARY,
+		DayOfWeek.SUNDAY, 4, 4, 5);
+	assertEquals(12, calendar.getPeriodsPerYear());
+	// Sunday nearest to 1 February
+	LocalDate first = LocalDate.of(2015, Month.FEBRUARY, 1);
+	assertEquals(first, calendar.beginOfPeriod(first));
+	assertEquals(2015, calendar.getYear(first));
+	assertEquals(2014, calendar.getYear(first.minusDays(1)));
+	assertEquals(11, calendar.getPeriod(first.minusDays(1)));
+	assertEquals(LocalDate.of(2015, Month.FEBRUARY, 28),
+		calendar.endOfPeriod(first));
+	assertEquals(LocalDate.of(2015, Month.MARCH, 28),
+		calendar.endOfPeriod(LocalDate.of(2015, Month.MARCH, 1)));
+	assertEquals(LocalDate.of(2015, Month.MAY, 2),
+		calendar.endOfPeriod(LocalDate.of(2015, Month.MARCH, 29)));
+	// 2017 has 53 weeks, the last period has 6 weeks
+	LocalDate next = LocalDate.of(2018, Month.FEBRUARY, 4);
+	assertEquals(next.minusWeeks(6),
+		calendar.beginOfPeriod(next.minusDays(1)));
+	assertEquals(2018, calendar.getYear(next));
+	assertEquals(0, calendar.getPeriod(next));
+    }
+
+    @Test
+    public final void testTablesAndCalculationAreEqual() {
+	FiscalCalendar[] calendars = {
+		FiscalCalendar.ofMonths(Month.OCTOBER, 1, 2),
+		FiscalCalendar
+			.ofWeeks(Month.JANUARY, DayOfWeek.MONDAY, 4, 5, 4),
+		FiscalCalendar.ofWeeks(Month.JULY, DayOfWeek.SATURDAY, 13) };
+	long first = LocalDate.of(1880, Month.JANUARY, 1).toEpochDay();
+	long end = LocalDate.of(2220, Month.JANUARY, 1).toEpochDay();
+	for (FiscalCalendar calendar : calendars) {
+	    for (long day = first; day < end; day++) {
+		long index = calendar.periodIndex(day);
+		assertEquals(calendar.toString(),
+			calendar.calculatePeriodIndex(day), index);
+		long begin = calendar.beginOfPeriod(day);
+		assertEquals(calendar.calculateFirstDay(calendar.year(day),
+			calendar.period(day)), begin);
+		assertEquals(index, calendar.periodIndex(begin));
+		assertEquals(index + 1,
+			calendar.periodIndex(calendar.endOfPeriod(day) + 1));
+	    }
+	}
+    }
+
+    @Test
+    public final void testDatesAndEpochDaysAreEqual() {
+	FiscalCalendar[] calendars = { FiscalCalendar.QUARTERS,
+		FiscalCalendar.SEASONS,
+		FiscalCalendar.ofMonths(Month.OCTOBER, 1, 2),
+		FiscalCalendar.ofWeeks(Month.JULY, DayOfWeek.SATURDAY, 13) };
+	LocalDate other = LocalDate.of(2014, Month.MAY, 17);
+	for (FiscalCalendar calendar : calendars) {
+	    // Inside and outside of the tables
+	    for (LocalDate date = LocalDate.of(1880, Month.JANUARY, 1); date
+		    .getYear() < 2220; date = date.plusDays(1)) {
+		long day = date.toEpochDay();
+		String message = calendar + " " + date;
+		assertEquals(message, calendar.period(day),
+			calendar.getPeriod(date));
+		assertEquals(message, calendar.year(day),
+			calendar.getYear(date));
+		assertEquals(message, calendar.beginOfPeriod(day), calendar
+			.beginOfPeriod(date).toEpochDay());
+		assertEquals(message, calendar.endOfPeriod(day), calendar
+			.endOfPeriod(date).toEpochDay());
+		assertEquals(message, Math.abs(calendar.periodIndex(day)
+			- calendar.periodIndex(other.toEpochDay())),
+			calendar.getPeriodsBetween(date, other));
+	    }
+	}
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testPatternNotFillingTheYear() {
+	FiscalCalendar.ofMonths(Month.JANUARY, 5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testEmptyPattern() {
+	FiscalCalendar.ofWeeks(Month.JANUARY, DayOfWeek.MONDAY);
+    }
+}
@@ -0,0 +1,142 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.sevendroids.java.datatimeapi.Instrumentation.Probe;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class InstrumentationTest {
+
+    @Test
+    public final void testBucketsCoverAllValues() {
+	assertEquals(0, Instrumentation.bucket(0));
+	assertEquals(7, Instrumentation.bucket(7));
+	assertEquals(Instrumentation.BUCKETS - 1,
+		Instrumentation.bucket(Long.MAX_VALUE));
+	for (int bucket = 0; bucket < Instrumentation.BUCKETS; bucket++) {
+	    long lowest = Instrumentation.lowestValue(bucket);
+	    long highest = Instrumentation.highestValue(bucket);
+	    assertEquals(bucket, Instrumentation.bucket(lowest));
+	    assertEquals(bucket, Instrumentation.bucket(highest));
+	    // 8 buckets per power of two
+	    assertTrue(highest - lowest <= lowest / 8);
+	}
+    }
+
+    @Test
+    public final void testPercentiles() {
+	Probe probe = Instrumentation.probe("InstrumentationTest",
+		"testPercentiles");
+	for (long nanos = 1; nanos <= 1000; nanos++)
+	    probe.record(nanos);
+	assertEquals(1000, probe.getCount());
+	assertEquals(500500, probe.getTotalNanos());
+	assertEquals(1000, probe.getMaxNanos());
+	assertEquals(500.5, probe.getMeanNanos(), 0);
+	assertPercentile(500, probe.getMedianNanos());
+	assertPercentile(990, probe.get99thPercentileNanos());
+	assertEquals(1000, probe.get999thPercentileNanos());
+	assertEquals(1000, probe.getPercentileNanos(100));
+	assertEquals(1, probe.getPercentileNanos(0));
+    }
+
+    private static void assertPercentile(long expected, long actual) {
+	assertTrue(actual + " < " + expected, actual >= expected);
+	assertTrue(actual + " > " + expected, actual <= expected * 9 / 8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testInvalidPercentile() {
+	Instrumentation.probe("InstrumentationTest", "testInvalidPercentile")
+		.getPercentileNanos(101);
+    }
+
+    @Test
+    public final void testEmptyProbe() {
+	Probe probe = Instrumentation.probe("InstrumentationTest",
+		"testEmptyProbe");
+	assertEquals(0, probe.getCount());
+	assertEquals(0, probe.getMeanNanos(), 0);
+	assertEquals(0, probe.getMedianNanos());
+	assertEquals(0, probe.getAllocatedBytes());
+    }
+
+    @Test
+    public final void testProbeIsShared() {
+	Probe probe = Instrumentation.probe("InstrumentationTest",
+		"testProbeIsShared");
+	assertSame(probe, Instrumentation.probe("InstrumentationTest",
+		"testProbeIsShared"));
+	assertTrue(Instrumentation.getProbes().contains(probe));
+    }
+
+    @Test
+    public final void testThreadsAreSummedUp() throws Exception {
+	Probe probe = Instrumentation.probe("InstrumentationTest",
+		"testThreadsAreSummedUp");
+	ExecutorService executor = Executors.newFixedThreadPool(4);
+	try {
+	    List<Future<?>> futures = new ArrayList<>();
+	    for (int t = 0; t < 4; t++) {
+		long nanos = (t + 1) * 100;
+		futures.add(executor.submit(() -> {
+		    for (int i = 0; i < 10000; i++)
+			probe.record(nanos);
+		}));
+	    }
+	    for (Future<?> future : futures)
+		future.get();
+	} finally {
+	    executor.shutdown();
+	}
+	assertEquals(40000, probe.getCount());
+	assertEquals(10000 * (100 + 200 + 300 + 400), probe.getTotalNanos());
+	assertEquals(400, probe.getMaxNanos());
+	assertPercentile(200, probe.getMedianNanos());
+    }
+
+    @Test
+    public final void testTerminatedThreadsAreRetired() throws Exception {
+	Probe probe = Instrumentation.probe("InstrumentationTest",
+		"testTerminatedThreadsAreRetired");
+	// A new thread per task like a pool replacing its threads
+	for (int t = 0; t < 100; t++) {
+	    long nanos = t + 1;
+	    Thread thread = new Thread(() -> probe.record(nanos));
+	    thread.start();
+	    thread.join();
+	}
+	assertEquals(0, probe.getRecorders());
+	assertEquals(100, probe.getCount());
+	assertEquals(5050, probe.getTotalNanos());
+	assertEquals(100, probe.getMaxNanos());
+	probe.record(1000);
+	assertEquals(1, probe.getRecorders());
+	assertEquals(101, probe.getCount());
+	assertEquals(1000, probe.getMaxNanos());
+    }
+
+    @Test
+    public final void testDisabledProbesRecordNothing() {
+	// The tests run without the system property
+	assertFalse(Instrumentation.ENABLED);
+	Probe probe = Instrumentation.probe("DateUtils", "isWeekend");
+	assertEquals(0, probe.start());
+	DateUtils.isWeekend(LocalDate.of(2014, 3, 30));
+	assertEquals(0, probe.getCount());
+    }
+}
@@ -0,0 +1,113 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.DateTimeParseException;
+
+import org.junit.Test;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class IsoDatesTest {
+
+    @Test
+    public final void testParseAndFormatAreSameAsLocalDate() {
+	byte[] bytes = new byte[IsoDates.LENGTH];
+	StringBuilder builder = new StringBuilder();
+	long last = LocalDate.of(9999, Month.DECEMBER, 31).toEpochDay();
+	long first = LocalDate.of(0, Month.JANUARY, 1).toEpochDay();
+	for (long day = first; day <= last; day += 7) {
+	    String text = LocalDate.ofEpochDay(day).toString();
+	    assertEquals(text, day, IsoDates.parseEpochDay(text));
+	    builder.setLength(0);
+	    assertEquals(text, IsoDates.format(day, builder).toString());
+	    assertEquals(IsoDates.LENGTH, IsoDates.format(day, bytes, 0));
+	    assertEquals(text, new String(bytes, StandardCharsets.US_ASCII));
+	}
+    }
+
+    @Test
+    public final void testEveryDayOfLeapYearIsParsed() {
+	for (LocalDate date = LocalDate.of(2000, Month.JANUARY, 1); date
+		.getYear() == 2000; date = date.plusDays(1))
+	    assertEquals(date, IsoDates.parse(date.toString()));
+    }
+
+    @Test
+    public final void testParseFromOffset() {
+	String text = "id;2014-03-30;x";
+	byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+	long expected = LocalDate.of(2014, Month.MARCH, 30).toEpochDay();
+	assertEquals(expected, IsoDates.parseEpochDay(text, 3));
+	assertEquals(expected, IsoDates.parseEpochDay(bytes, 3));
+	ByteBuffer buffer = ByteBuffer.wrap(bytes);
+	assertEquals(expected, IsoDates.parseEpochDay(buffer, 3));
+	assertEquals(0, buffer.position());
+	assertEquals(expected,
+		IsoDates.parseEpochDay(ByteBuffer.allocateDirect(16)
+			.put(bytes), 3));
+    }
+
+    @Test
+    public final void testParseRecords() {
+	byte[] bytes = "2014-02-28;2014-03-01;1999-12-31;"
+		.getBytes(StandardCharsets.US_ASCII);
+	int[] epochDays = new int[3];
+	IsoDates.parseEpochDays(bytes, 0, 11, 3, epochDays);
+	assertArrayEquals(new int[] {
+		(int) LocalDate.of(2014, Month.FEBRUARY, 28).toEpochDay(),
+		(int) LocalDate.of(2014, Month.MARCH, 1).toEpochDay(),
+		(int) LocalDate.of(1999, Month.DECEMBER, 31).toEpochDay() },
+		epochDays);
+    }
+
+    @Test
+    public final void testInvalidTextIsRejected() {
+	for (String text : new String[] { "2014-02-29", "1900-02-29",
+		"2014-04-31", "2014-13-01", "2014-00-10", "2014-01-00",
+		"2014-01-32", "2014/01/01", "20a4-01-01", "2014-1-01",
+		"2014-01-011", "+2014-01-01", "2014-01-0 ", "" }) {
+	    try {
+		IsoDates.parseEpochDay(text);
+		fail(text);
+	    } catch (DateTimeParseException e) {
+		// Expected, LocalDate.parse() must fail as well
+		try {
+		    LocalDate.parse(text);
+		    fail(text);
+		} catch (DateTimeParseException expected) {
+		    // Expected
+		}
+	    }
+	    byte[] bytes = (text + "          ")
+		    .getBytes(StandardCharsets.US_ASCII);
+	    try {
+		IsoDates.parseEpochDay(bytes, 0);
+		if (text.length() == IsoDates.LENGTH)
+		    fail(text);
+	    } catch (DateTimeParseException e) {
+		// Expected
+	    }
+	}
+    }
+
+    @Test(expected = DateTimeException.class)
+    public final void testYearAfter9999CannotBeFormatted() {
+	IsoDates.format(LocalDate.of(10000, Month.JANUARY, 1).toEpochDay(),
+		new StringBuilder());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public final void testFormatNeedsTenBytes() {
+	IsoDates.format(0, new byte[12], 3);
+    }
+}
@@ -0,0 +1,174 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+import org.junit.Test;
+import org.sevendroids.java.datatimeapi.DateUtils.DayType;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class LegacyDatesTest {
+    private final LegacyDates newYork = LegacyDates.of(ZoneId
+	    .of("America/New_York"));
+
+    @Test
+    public final void testOperationsAreSameAsDateUtils() {
+	TimeZone zone = TimeZone.getTimeZone("Australia/Sydney");
+	LegacyDates dates = LegacyDates.of(zone);
+	Calendar cal = Calendar.getInstance(zone);
+	cal.set(2010, Calendar.JANUARY, 1, 23, 59, 59);
+	Calendar other = Calendar.getInstance(zone);
+	other.set(2013, Calendar.JULY, 14, 0, 0, 0);
+	for (int i = 0; i < 3 * 366; i++) {
+	    Date date = cal.getTime();
+	    LocalDate expected = LocalDate.of(cal.get(Calendar.YEAR),
+		    cal.get(Calendar.MONTH) + 1,
+		    cal.get(Calendar.DAY_OF_MONTH));
+	    LocalDate otherDate = dates.toLocalDate(other);
+	    assertEquals(expected, dates.toLocalDate(date));
+	    assertEquals(expected, dates.toLocalDate(cal));
+	    assertEquals(DateUtils.isWeekend(expected), dates.isWeekend(date));
+	    assertEquals(DateUtils.isWeekend(expected), dates.isWeekend(cal));
+	    assertEquals(DateUtils.getPreviousWorkingDay(expected),
+		    dates.getPreviousWorkingDay(date));
+	    assertEquals(DateUtils.getPreviousWorkingDay(expected),
+		    dates.getPreviousWorkingDay(cal));
+	    assertEquals(DateUtils.getDSTType(expected, dates.getZone()),
+		    dates.getDSTType(date));
+	    assertEquals(DateUtils.getDSTType(expected, dates.getZone()),
+		    dates.getDSTType(cal));
+	    assertEquals(DateUtils.getQuarter(expected),
+		    dates.getQuarter(date));
+	    assertEquals(DateUtils.getQuarter(expected), dates.getQuarter(cal));
+	    assertEquals(DateUtils.getQuartersBetweenDates(expected,
+		    otherDate), dates.getQuartersBetweenDates(date,
+		    other.getTime()));
+	    assertEquals(DateUtils.getQuartersBetweenDates(expected,
+		    otherDate), dates.getQuartersBetweenDates(cal, other));
+	    assertEquals(DateUtils.endOfMonth(expected),
+		    dates.endOfMonth(date));
+	    assertEquals(DateUtils.endOfMonth(expected), dates.endOfMonth(cal));
+	    assertEquals(DateUtils.beginOfSeason(expected),
+		    dates.beginOfSeason(date));
+	    assertEquals(DateUtils.beginOfSeason(expected),
+		    dates.beginOfSeason(cal));
+	    assertEquals(DateUtils.endOfSeason(expected),
+		    dates.endOfSeason(date));
+	    assertEquals(DateUtils.endOfSeason(expected),
+		    dates.endOfSeason(cal));
+	    cal.add(Calendar.DAY_OF_MONTH, 1);
+	}
+    }
+
+    @Test
+    public final void testSqlTypesAreConverted() {
+	LegacyDates dates = LegacyDates.systemDefault();
+	assertEquals(LocalDate.of(2014, Month.MARCH, 30),
+		dates.toLocalDate(java.sql.Date.valueOf("2014-03-30")));
+	assertEquals(LocalDate.of(2014, Month.OCTOBER, 26),
+		dates.toLocalDate(Timestamp
+			.valueOf("2014-10-26 23:59:59.999")));
+    }
+
+    @Test
+    public final void testCalendarIsTakenInZoneOfBridge() {
+	// 02.11.2014 03:30 UTC is still 01.11.2014 in New York
+	Calendar cal = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+	cal.clear();
+	cal.set(2014, Calendar.NOVEMBER, 2, 3, 30);
+	assertEquals(LocalDate.of(2014, Month.NOVEMBER, 1),
+		newYork.toLocalDate(cal));
+	assertEquals(DayType.DAYLIGHT_SAVING_TIME, newYork.getDSTType(cal));
+    }
+
+    @Test
+    public final void testBulkIsSameAsSingle() {
+	Date[] dates = new Date[500];
+	long[] epochMillis = new long[dates.length];
+	int[] expected = new int[dates.length];
+	for (int i = 0; i < dates.length; i++) {
+	    epochMillis[i] = 1388534400000L + i * 37L * 3600000L;
+	    dates[i] = new Date(epochMillis[i]);
+	    expected[i] = (int) newYork.toEpochDay(dates[i]);
+	}
+	int[] result = new int[dates.length];
+	newYork.toEpochDays(dates, 0, dates.length, result);
+	assertArrayEquals(expected, result);
+	result = new int[dates.length];
+	newYork.toEpochDays(epochMillis, 0, dates.length, result);
+	assertArrayEquals(expected, result);
+    }
+
+    @Test
+    public final void testBridgeIsSharedPerTimeZone() {
+	assertSame(LegacyDates.of(TimeZone.getTimeZone("Europe/Paris")),
+		LegacyDates.of(TimeZone.getTimeZone("Europe/Paris")));
+	assertSame(LegacyDates.of(ZoneId.of("Europe/Paris")),
+		LegacyDates.of(TimeZone.getTimeZone("Europe/Paris")));
+	assertEquals(ZoneId.of("GMT+01:00"),
+		LegacyDates.of(TimeZone.getTimeZone("GMT+01:00")).getZone());
+    }
+
+    @Test
+    public final void testCustomTimeZones() {
+	// Same id as the tzdb zone, but other rules
+	SimpleTimeZone custom = new SimpleTimeZone(3 * 3600000,
+		"Europe/Berlin", Calendar.MAY, 1, 0, 0, Calendar.SEPTEMBER, 1,
+		0, 0);
+	SimpleTimeZone unknown = new SimpleTimeZone(-5 * 3600000,
+		"Custom/Zone", Calendar.APRIL, 1, 0, 0, Calendar.OCTOBER, 1,
+		0, 0);
+	LegacyDates berlin = LegacyDates.of(TimeZone
+		.getTimeZone("Europe/Berlin"));
+	assertNotSame(berlin, LegacyDates.of(custom));
+	assertSame(LegacyDates.of(custom),
+		LegacyDates.of((TimeZone) custom.clone()));
+	assertNull(LegacyDates.of(unknown).getZone());
+	for (TimeZone zone : new TimeZone[] { custom, unknown }) {
+	    LegacyDates dates = LegacyDates.of(zone);
+	    Calendar cal = Calendar.getInstance(zone);
+	    cal.clear();
+	    cal.set(2014, Calendar.JANUARY, 1, 23, 30);
+	    for (int i = 0; i < 365; i++) {
+		LocalDate expected = LocalDate.of(cal.get(Calendar.YEAR),
+			cal.get(Calendar.MONTH) + 1,
+			cal.get(Calendar.DAY_OF_MONTH));
+		assertEquals(zone.getID() + " " + expected, expected,
+			dates.toLocalDate(cal));
+		cal.add(Calendar.DAY_OF_MONTH, 1);
+	    }
+	}
+	Calendar cal = Calendar.getInstance(custom);
+	cal.clear();
+	cal.set(2014, Calendar.MAY, 1, 12, 0);
+	assertEquals(DayType.DAYLIGHT_SAVING_TIME,
+		LegacyDates.of(custom).getDSTType(cal));
+	cal.set(2014, Calendar.APRIL, 30, 12, 0);
+	assertEquals(DayType.TO_DAYLIGHT_SAVING_TIME,
+		LegacyDates.of(custom).getDSTType(cal));
+	cal.set(2014, Calendar.AUGUST, 31, 12, 0);
+	assertEquals(DayType.TO_STANDARD_TIME,
+		LegacyDates.of(custom).getDSTType(cal));
+	cal.set(2014, Calendar.MARCH, 30, 12, 0);
+	// The switch of the tzdb zone is a normal day in the custom zone
+	assertEquals(DayType.STANDARD_TIME,
+		LegacyDates.of(custom).getDSTType(cal));
+	assertEquals(DayType.TO_DAYLIGHT_SAVING_TIME,
+		berlin.getDSTType(cal));
+    }
+}
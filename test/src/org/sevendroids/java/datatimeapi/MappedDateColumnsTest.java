@@ -0,0 +1,118 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sevendroids.java.datatimeapi.MappedDateColumns.Column;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class MappedDateColumnsTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path writeDays(int[] days, ByteOrder order) throws IOException {
+	ByteBuffer buffer = ByteBuffer.allocate(days.length * 4).order(order);
+	buffer.asIntBuffer().put(days);
+	Path path = folder.newFile().toPath();
+	Files.write(path, buffer.array());
+	return path;
+    }
+
+    private static int[] randomDays(int count) {
+	Random random = new Random(4711);
+	int[] days = new int[count];
+	for (int i = 0; i < days.length; i++)
+	    days[i] = random.nextInt(80000) - 20000;
+	return days;
+    }
+
+    @Test
+    public final void testAllColumnsAreSameAsDateUtils() throws IOException {
+	ZoneId zone = ZoneId.of("America/New_York");
+	int[] days = randomDays(10000);
+	Path input = writeDays(days, ByteOrder.BIG_ENDIAN);
+	Map<Column, Path> outputs = new EnumMap<>(Column.class);
+	for (Column column : Column.values())
+	    outputs.put(column, folder.newFile().toPath());
+	// Small chunks, so the last chunk is only partly filled
+	assertEquals(days.length, MappedDateColumns.process(input,
+		ByteOrder.BIG_ENDIAN, zone, outputs, 999));
+	byte[] weekend = Files.readAllBytes(outputs.get(Column.WEEKEND));
+	byte[] quarter = Files.readAllBytes(outputs.get(Column.QUARTER));
+	byte[] dstType = Files.readAllBytes(outputs.get(Column.DST_TYPE));
+	ByteBuffer previous = read(outputs.get(Column.PREVIOUS_WORKING_DAY));
+	ByteBuffer endOfMonth = read(outputs.get(Column.END_OF_MONTH));
+	ByteBuffer beginOfSeason = read(outputs.get(Column.BEGIN_OF_SEASON));
+	ByteBuffer endOfSeason = read(outputs.get(Column.END_OF_SEASON));
+	assertEquals(days.length, weekend.length);
+	assertEquals(days.length * 4, endOfMonth.capacity());
+	for (int i = 0; i < days.length; i++) {
+	    LocalDate date = LocalDate.ofEpochDay(days[i]);
+	    assertEquals(DateUtils.isWeekend(date) ? 1 : 0, weekend[i]);
+	    assertEquals(DateUtils.getQuarter(date), quarter[i]);
+	    assertEquals(DateUtils.getDSTType(date, zone).ordinal(),
+		    dstType[i]);
+	    assertEquals(DateUtils.getPreviousWorkingDay(date).toEpochDay(),
+		    previous.getInt(i * 4));
+	    assertEquals(DateUtils.endOfMonth(date).toEpochDay(),
+		    endOfMonth.getInt(i * 4));
+	    assertEquals(DateUtils.beginOfSeason(date).toEpochDay(),
+		    beginOfSeason.getInt(i * 4));
+	    assertEquals(DateUtils.endOfSeason(date).toEpochDay(),
+		    endOfSeason.getInt(i * 4));
+	}
+    }
+
+    private static ByteBuffer read(Path path) throws IOException {
+	return ByteBuffer.wrap(Files.readAllBytes(path)).order(
+		ByteOrder.BIG_ENDIAN);
+    }
+
+    @Test
+    public final void testSingleColumnInLittleEndian() throws IOException {
+	int[] days = randomDays(100);
+	Path input = writeDays(days, ByteOrder.LITTLE_ENDIAN);
+	Path output = folder.newFile().toPath();
+	// Longer than the result, must be truncated
+	Files.write(output, new byte[1000]);
+	assertEquals(days.length, MappedDateColumns.process(input,
+		Column.END_OF_MONTH, output));
+	ByteBuffer result = ByteBuffer.wrap(Files.readAllBytes(output))
+		.order(ByteOrder.LITTLE_ENDIAN);
+	assertEquals(days.length * 4, result.capacity());
+	for (int i = 0; i < days.length; i++)
+	    assertEquals(EpochDays.endOfMonth(days[i]), result.getInt(i * 4));
+    }
+
+    @Test
+    public final void testEmptyFile() throws IOException {
+	Path output = folder.newFile().toPath();
+	assertEquals(0, MappedDateColumns.process(writeDays(new int[0],
+		ByteOrder.LITTLE_ENDIAN), Column.QUARTER, output));
+	assertEquals(0, Files.size(output));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testIncompleteRowIsRejected() throws IOException {
+	Path input = folder.newFile().toPath();
+	Files.write(input, new byte[6]);
+	MappedDateColumns.process(input, Column.QUARTER, folder.newFile()
+		.toPath());
+    }
+}
@@ -0,0 +1,109 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class OffsetWindowsTest {
+    private static final String[] ZONES = { "Europe/Berlin",
+	    "America/New_York", "Australia/Lord_Howe", "Asia/Kolkata",
+	    "Pacific/Apia", "UTC" };
+
+    private static long expectedEpochDay(long epochMilli, ZoneId zone) {
+	return Instant.ofEpochMilli(epochMilli).atZone(zone).toLocalDate()
+		.toEpochDay();
+    }
+
+    @Test
+    public final void testEpochDayIsSameAsZonedDateTime() {
+	Random random = new Random(4711);
+	for (String id : ZONES) {
+	    ZoneId zone = ZoneId.of(id);
+	    OffsetWindows windows = OffsetWindows.of(zone);
+	    for (int i = 0; i < 100000; i++) {
+		// Between 1850 and 2250, so the fallback is also used
+		long epochMilli = (long) ((random.nextDouble() * 400 - 120)
+			* 365.25 * 86400000L);
+		assertEquals(id + " " + epochMilli, expectedEpochDay(
+			epochMilli, zone), windows.toEpochDay(epochMilli));
+		assertEquals(id + " " + epochMilli,
+			zone.getRules().getOffset(
+				Instant.ofEpochMilli(epochMilli)),
+			windows.getOffset(epochMilli));
+	    }
+	}
+    }
+
+    @Test
+    public final void testTransitionIsStartOfWindow() {
+	ZoneId zone = ZoneId.of("Europe/Berlin");
+	OffsetWindows windows = OffsetWindows.of(zone);
+	long transition = Instant.parse("2014-03-30T01:00:00Z")
+		.toEpochMilli();
+	assertEquals(3600000, windows.getOffsetMillis(transition - 1));
+	assertEquals(7200000, windows.getOffsetMillis(transition));
+	// 26.10.2014 00:59:59.999 UTC is 02:59:59.999 local time
+	assertEquals(16369, windows.toEpochDay(Instant.parse(
+		"2014-10-26T00:59:59.999Z").toEpochMilli()));
+	assertEquals(16368, windows.toEpochDay(Instant.parse(
+		"2014-10-25T21:59:59.999Z").toEpochMilli()));
+    }
+
+    @Test
+    public final void testStartOfDayIsSameAsLocalDate() {
+	// Sao Paulo and Havana switched at midnight
+	String[] zones = Arrays.copyOf(ZONES, ZONES.length + 2);
+	zones[ZONES.length] = "America/Sao_Paulo";
+	zones[ZONES.length + 1] = "America/Havana";
+	long first = LocalDate.of(1850, 1, 1).toEpochDay();
+	long end = LocalDate.of(2250, 1, 1).toEpochDay();
+	for (String id : zones) {
+	    ZoneId zone = ZoneId.of(id);
+	    OffsetWindows windows = OffsetWindows.of(zone);
+	    for (long day = first; day < end; day++)
+		assertEquals(id + " " + day, LocalDate.ofEpochDay(day)
+			.atStartOfDay(zone).toInstant().toEpochMilli(),
+			windows.startOfDay(day));
+	}
+    }
+
+    @Test
+    public final void testBulkIsSameAsSingle() {
+	Random random = new Random(815);
+	long[] epochMillis = new long[10000];
+	for (int i = 0; i < epochMillis.length; i++)
+	    epochMillis[i] = (long) ((random.nextDouble() * 400 - 120)
+		    * 365.25 * 86400000L);
+	long[] sorted = epochMillis.clone();
+	Arrays.sort(sorted);
+	for (String id : ZONES) {
+	    OffsetWindows windows = OffsetWindows.of(ZoneId.of(id));
+	    for (long[] input : new long[][] { epochMillis, sorted }) {
+		int[] expected = new int[input.length - 7];
+		for (int i = 0; i < expected.length; i++)
+		    expected[i] = (int) windows.toEpochDay(input[i + 7]);
+		int[] result = new int[expected.length];
+		windows.toEpochDays(input, 7, result.length, result);
+		assertArrayEquals(id, expected, result);
+	    }
+	}
+    }
+
+    @Test
+    public final void testWindowsAreSharedPerZone() {
+	assertSame(OffsetWindows.of(ZoneId.of("Europe/Paris")),
+		OffsetWindows.of(ZoneId.of("Europe/Paris")));
+    }
+}
@@ -0,0 +1,118 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class PackedDatesTest {
+    private int friday = PackedDates.of(2014, 2, 28);
+    private int saturday = PackedDates.of(2014, 3, 1);
+    private int sunday = PackedDates.of(2014, 3, 2);
+    private int monday = PackedDates.of(2014, 3, 3);
+
+    private static void assertSameAsDateUtils(LocalDate date) {
+	int packed = PackedDates.of(date);
+	assertEquals(date, PackedDates.toLocalDate(packed));
+	assertEquals(packed, PackedDates.ofEpochDay(date.toEpochDay()));
+	assertEquals(date.toEpochDay(), PackedDates.toEpochDay(packed));
+	assertEquals(date.toString(), date.getDayOfWeek().getValue(),
+		PackedDates.dayOfWeek(packed));
+	assertEquals(date.toString(), DateUtils.isWeekend(date),
+		PackedDates.isWeekend(packed));
+	assertEquals(date.toString(), DateUtils.getPreviousWorkingDay(date),
+		PackedDates.toLocalDate(PackedDates
+			.previousWorkingDay(packed)));
+	assertEquals(date.toString(), DateUtils.getQuarter(date),
+		PackedDates.quarter(packed));
+	assertEquals(date.toString(), DateUtils.endOfMonth(date),
+		PackedDates.toLocalDate(PackedDates.endOfMonth(packed)));
+	assertEquals(date.toString(), DateUtils.beginOfSeason(date),
+		PackedDates.toLocalDate(PackedDates.beginOfSeason(packed)));
+	assertEquals(date.toString(), DateUtils.endOfSeason(date),
+		PackedDates.toLocalDate(PackedDates.endOfSeason(packed)));
+    }
+
+    @Test
+    public final void testWeekend() {
+	assertFalse(PackedDates.isWeekend(friday));
+	assertTrue(PackedDates.isWeekend(saturday));
+	assertTrue(PackedDates.isWeekend(sunday));
+	assertEquals(friday, PackedDates.previousWorkingDay(monday));
+    }
+
+    @Test
+    public final void test1DateInMarchAnd1DateInOctoberPlusOneYearReturn7Quarter() {
+	int date01032014 = PackedDates.of(2014, 3, 1);
+	int date02102015 = PackedDates.of(2015, 10, 2);
+	assertEquals(7, PackedDates.quartersBetween(date01032014,
+		date02102015));
+	assertEquals(7, PackedDates.quartersBetween(date02102015,
+		date01032014));
+    }
+
+    @Test
+    public final void testEveryDayFrom1600To2400IsSameAsDateUtils() {
+	LocalDate end = LocalDate.of(2400, Month.DECEMBER, 31);
+	for (LocalDate date = LocalDate.of(1600, Month.JANUARY, 1); !date
+		.isAfter(end); date = date.plusDays(1))
+	    assertSameAsDateUtils(date);
+    }
+
+    @Test
+    public final void testOrderIsChronological() {
+	LocalDate[] dates = { LocalDate.of(2015, 1, 1),
+		LocalDate.of(-5, 12, 31), LocalDate.of(2014, 12, 31),
+		LocalDate.of(0, 1, 1), LocalDate.of(2014, 2, 1),
+		LocalDate.of(-1, 1, 1) };
+	int[] packed = new int[dates.length];
+	for (int i = 0; i < dates.length; i++)
+	    packed[i] = PackedDates.of(dates[i]);
+	Arrays.sort(dates);
+	Arrays.sort(packed);
+	for (int i = 0; i < dates.length; i++)
+	    assertEquals(dates[i], PackedDates.toLocalDate(packed[i]));
+	assertTrue(PackedDates.isBefore(packed[0], packed[1]));
+	assertTrue(PackedDates.isAfter(packed[1], packed[0]));
+	assertTrue(PackedDates.compare(packed[2], packed[2]) == 0);
+	assertEquals(packed[0], PackedDates.min(packed[1], packed[0]));
+	assertEquals(packed[1], PackedDates.max(packed[1], packed[0]));
+	assertTrue(PackedDates.isBefore(PackedDates.MIN, packed[0]));
+	assertTrue(PackedDates.isAfter(PackedDates.MAX, packed[5]));
+    }
+
+    @Test
+    public final void testPlusDays() {
+	int date = PackedDates.of(2012, 2, 27);
+	int[] expected = { PackedDates.of(2012, 2, 28),
+		PackedDates.of(2012, 2, 29), PackedDates.of(2012, 3, 1) };
+	int[] actual = { PackedDates.plusDays(date, 1),
+		PackedDates.plusDays(date, 2), PackedDates.plusDays(date, 3) };
+	assertArrayEquals(expected, actual);
+	assertEquals(PackedDates.of(2011, 12, 31),
+		PackedDates.plusDays(date, -58));
+	assertEquals(-58, PackedDates.daysBetween(date,
+		PackedDates.of(2011, 12, 31)));
+	assertEquals("2012-02-27", PackedDates.toString(date));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testInvalidDate() {
+	PackedDates.of(2014, 2, 29);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testYearOutOfRange() {
+	PackedDates.of(LocalDate.of(PackedDates.MAX_YEAR + 1, 1, 1));
+    }
+}
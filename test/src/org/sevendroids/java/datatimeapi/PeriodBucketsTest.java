@@ -0,0 +1,100 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneId;
+
+import org.junit.Test;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class PeriodBucketsTest {
+    private final LocalDate base = LocalDate.of(2000, Month.FEBRUARY, 29);
+
+    @Test
+    public final void testQuarterBucketsAreSameAsQuartersBetween() {
+	PeriodBuckets buckets = PeriodBuckets.quarters(base);
+	for (LocalDate date = LocalDate.of(1990, Month.JANUARY, 1); date
+		.getYear() < 2030; date = date.plusDays(1)) {
+	    int expected = date.isBefore(base) ? -DateUtils
+		    .getQuartersBetweenDates(date, base) : DateUtils
+		    .getQuartersBetweenDates(base, date);
+	    assertEquals(date.toString(), expected, buckets.bucket(date));
+	}
+    }
+
+    @Test
+    public final void testSeasonBucketsMatchBeginOfSeason() {
+	PeriodBuckets buckets = PeriodBuckets.seasons(base);
+	for (LocalDate date = LocalDate.of(1990, Month.JANUARY, 1); date
+		.getYear() < 2030; date = date.plusDays(1)) {
+	    int bucket = buckets.bucket(date);
+	    assertEquals(date.toString(), DateUtils.beginOfSeason(date),
+		    buckets.firstDay(bucket));
+	    assertEquals(date.toString(), DateUtils.endOfSeason(date),
+		    buckets.lastDay(bucket));
+	}
+	assertEquals(0, buckets.bucket(LocalDate.of(1999, Month.OCTOBER, 1)));
+	assertEquals(1, buckets.bucket(LocalDate.of(2000, Month.APRIL, 1)));
+	assertEquals(-1, buckets.bucket(LocalDate.of(1999, Month.SEPTEMBER,
+		30)));
+    }
+
+    @Test
+    public final void testMonthBuckets() {
+	PeriodBuckets buckets = new PeriodBuckets(PeriodBuckets.Period.MONTH,
+		base);
+	assertEquals(0, buckets.bucket(LocalDate.of(2000, Month.FEBRUARY, 1)));
+	assertEquals(11, buckets.bucket(LocalDate.of(2001, Month.JANUARY, 31)));
+	assertEquals(LocalDate.of(2000, Month.FEBRUARY, 29),
+		buckets.lastDay(0));
+	assertEquals(LocalDate.of(1999, Month.DECEMBER, 1),
+		buckets.firstDay(-2));
+    }
+
+    @Test
+    public final void testBulkBucketsAreSameAsSingle() {
+	PeriodBuckets buckets = PeriodBuckets.quarters(base);
+	int[] days = new int[1000];
+	long[] longDays = new long[days.length];
+	for (int i = 0; i < days.length; i++) {
+	    days[i] = (int) base.toEpochDay() - 5000 + i * 37;
+	    longDays[i] = days[i];
+	}
+	int[] expected = new int[days.length - 10];
+	for (int i = 0; i < expected.length; i++)
+	    expected[i] = buckets.bucket(days[i + 10]);
+	int[] result = new int[expected.length];
+	buckets.buckets(days, 10, result.length, result);
+	assertArrayEquals(expected, result);
+	result = new int[expected.length];
+	buckets.buckets(longDays, 10, result.length, result);
+	assertArrayEquals(expected, result);
+    }
+
+    @Test
+    public final void testBucketsOfEpochMillisUseLocalDate() {
+	PeriodBuckets buckets = PeriodBuckets.quarters(base);
+	ZoneContext zone = ZoneContext.of(ZoneId.of("Europe/Berlin"));
+	// 2000-03-31T22:30Z is already 1. April in Berlin
+	long[] millis = { 954541800000L, 954541800000L - 3600000L };
+	int[] result = new int[2];
+	buckets.bucketsOfEpochMillis(millis, 0, 2, zone, result);
+	assertArrayEquals(new int[] { 1, 0 }, result);
+	// Context without zone id
+	result = new int[2];
+	buckets.bucketsOfEpochMillis(millis, 0, 2,
+		ZoneContext.of(zone.getRules()), result);
+	assertArrayEquals(new int[] { 1, 0 }, result);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public final void testBucketsRejectShortResult() {
+	PeriodBuckets.seasons(base).buckets(new int[10], 0, 10, new int[9]);
+    }
+}
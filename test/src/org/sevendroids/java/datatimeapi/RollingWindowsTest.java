@@ -0,0 +1,123 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.sevendroids.java.datatimeapi.PeriodBuckets.Period;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class RollingWindowsTest {
+
+    @Test
+    public final void testQuartersRollOver() {
+	RollingWindows quarters = new RollingWindows(Period.QUARTER, 2);
+	assertEquals(0, quarters.getCount(0));
+	assertNull(quarters.getFirstDay(0));
+	quarters.add(LocalDate.of(2014, Month.MARCH, 30), 1);
+	quarters.add(LocalDate.of(2014, Month.MARCH, 31), 2);
+	assertEquals(2, quarters.getCount(0));
+	assertEquals(3, quarters.getSum(0), 0);
+	assertEquals(0, quarters.getCount(1));
+	quarters.add(LocalDate.of(2014, Month.APRIL, 1), 10);
+	assertEquals(LocalDate.of(2014, Month.APRIL, 1),
+		quarters.getFirstDay(0));
+	assertEquals(LocalDate.of(2014, Month.JUNE, 30),
+		quarters.getLastDay(0));
+	assertEquals(LocalDate.of(2014, Month.JANUARY, 1),
+		quarters.getFirstDay(1));
+	assertEquals(1, quarters.getCount(0));
+	assertEquals(10, quarters.getSum(0), 0);
+	assertEquals(2, quarters.getCount(1));
+	assertEquals(1, quarters.getMin(1), 0);
+	assertEquals(2, quarters.getMax(1), 0);
+	// A late value of the previous quarter is still added
+	assertTrue(quarters.add(LocalDate.of(2014, Month.FEBRUARY, 1), -5));
+	assertEquals(-5, quarters.getMin(1), 0);
+	quarters.add(LocalDate.of(2014, Month.JULY, 1), 100);
+	// The first quarter is evicted
+	assertFalse(quarters.add(LocalDate.of(2014, Month.MARCH, 1), 1));
+	assertEquals(1, quarters.getDropped());
+	assertEquals(10, quarters.getSum(1), 0);
+	assertEquals(100, quarters.getSum(0), 0);
+    }
+
+    @Test
+    public final void testSeasonsAndGaps() {
+	RollingWindows seasons = new RollingWindows(Period.SEASON, 2);
+	seasons.add(LocalDate.of(2014, Month.SEPTEMBER, 30), 1);
+	seasons.add(LocalDate.of(2015, Month.MARCH, 31), 2);
+	assertEquals(LocalDate.of(2014, Month.OCTOBER, 1),
+		seasons.getFirstDay(0));
+	assertEquals(DateUtils.endOfSeason(LocalDate.of(2015, Month.MARCH, 1)),
+		seasons.getLastDay(0));
+	assertEquals(1, seasons.getSum(1), 0);
+	// No value in the season from April to September 2015
+	seasons.advanceTo(LocalDate.of(2015, Month.OCTOBER, 1).toEpochDay());
+	assertEquals(0, seasons.getCount(0));
+	assertTrue(Double.isNaN(seasons.getMin(0)));
+	assertEquals(0, seasons.getCount(1));
+	assertEquals(LocalDate.of(2015, Month.APRIL, 1),
+		seasons.getFirstDay(1));
+    }
+
+    @Test
+    public final void testEpochMillisInTimeZone() {
+	ZoneId zone = ZoneId.of("Europe/Berlin");
+	RollingWindows months = new RollingWindows(Period.MONTH, 1, zone);
+	// Midnight in Berlin is still the previous day in UTC
+	long midnight = ZonedDateTime.of(2014, 4, 1, 0, 30, 0, 0, zone)
+		.toInstant().toEpochMilli();
+	months.addAt(midnight, 2);
+	// 23:30 on 31 March arrives late and is dropped
+	months.addAt(midnight - 3600000, 1);
+	assertEquals(LocalDate.of(2014, Month.APRIL, 1),
+		months.getFirstDay(0));
+	assertEquals(2, months.getSum(0), 0);
+	assertEquals(1, months.getDropped());
+    }
+
+    @Test
+    public final void testConcurrentProducers() throws Exception {
+	RollingWindows quarters = new RollingWindows(Period.QUARTER, 2);
+	LocalDate first = LocalDate.of(2014, Month.MARCH, 1);
+	ExecutorService executor = Executors.newFixedThreadPool(8);
+	try {
+	    List<Future<?>> futures = new ArrayList<>();
+	    for (int t = 0; t < 8; t++)
+		futures.add(executor.submit(() -> {
+		    // 61 days from March to April in stream order
+		    for (int i = 0; i < 61000; i++)
+			quarters.add(first.toEpochDay() + i / 1000, 1);
+		}));
+	    for (Future<?> future : futures)
+		future.get();
+	} finally {
+	    executor.shutdown();
+	}
+	assertEquals(8 * 31000, quarters.getCount(1));
+	assertEquals(8 * 30000, quarters.getCount(0));
+	assertEquals(8 * 30000, quarters.getSum(0), 0);
+	assertEquals(0, quarters.getDropped());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public final void testPeriodOutOfHistory() {
+	new RollingWindows(Period.QUARTER, 2).getCount(2);
+    }
+}
@@ -0,0 +1,74 @@
+package org.sevendroids.java.datatimeapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneId;
+
+import org.junit.Test;
+import org.sevendroids.java.datatimeapi.DateUtils.DayType;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class ZoneContextTest {
+    private final ZoneContext newYork = ZoneContext.of(ZoneId
+	    .of("America/New_York"));
+    private final ZoneContext sydney = ZoneContext.of(ZoneId
+	    .of("Australia/Sydney").getRules());
+
+    @Test
+    public final void test09_03_2014IsChangeDayToDSTInNewYork() {
+	assertEquals(DayType.TO_DAYLIGHT_SAVING_TIME,
+		newYork.getDSTType(LocalDate.of(2014, Month.MARCH, 9)));
+    }
+
+    @Test
+    public final void test30_03_2014IsDSTInNewYork() {
+	assertEquals(DayType.DAYLIGHT_SAVING_TIME,
+		newYork.getDSTType(LocalDateTime.of(2014, Month.MARCH, 30, 3,
+			16)));
+    }
+
+    @Test
+    public final void test06_04_2014IsChangeDayToStandardTimeInSydney() {
+	assertEquals(DayType.TO_STANDARD_TIME,
+		sydney.getDSTType(LocalDate.of(2014, Month.APRIL, 6)));
+    }
+
+    @Test
+    public final void testContextFromRulesHasNoZone() {
+	assertNull(sydney.getZone());
+    }
+
+    @Test
+    public final void testInstantIsConvertedToLocalDay() {
+	// 02.11.2014 03:30 UTC is still 01.11.2014 in New York
+	Instant instant = Instant.parse("2014-11-02T03:30:00Z");
+	assertEquals(LocalDate.of(2014, Month.NOVEMBER, 1),
+		newYork.toLocalDate(instant));
+	assertEquals(DayType.DAYLIGHT_SAVING_TIME, newYork.getDSTType(instant));
+	assertEquals(DayType.TO_STANDARD_TIME, newYork.getDSTType(instant
+		.plusSeconds(3600 * 24)));
+    }
+
+    @Test
+    public final void testInstantBefore1970IsConvertedToLocalDay() {
+	Instant instant = Instant.parse("1969-12-31T23:30:00Z");
+	assertEquals(-1, ZoneContext.of(ZoneId.of("UTC")).toEpochDay(instant));
+	assertEquals(0, ZoneContext.of(ZoneId.of("Europe/Berlin")).toEpochDay(
+		instant));
+    }
+
+    @Test
+    public final void testEpochDayIsSameAsLocalDate() {
+	LocalDate date = LocalDate.of(2014, Month.NOVEMBER, 2);
+	assertEquals(newYork.getDSTType(date),
+		newYork.getDSTType(date.toEpochDay()));
+    }
+}
@@ -0,0 +1,169 @@
+package org.sevendroids.java.verification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.sevendroids.java.verification.EquivalenceHarness.Engine;
+import org.sevendroids.java.verification.EquivalenceHarness.Mismatch;
+import org.sevendroids.java.verification.EquivalenceHarness.Operation;
+import org.sevendroids.java.verification.EquivalenceHarness.Report;
+
+/**
+ * @author 7droids.org
+ * 
+ */
+public class EquivalenceHarnessTest {
+    private final List<ZoneId> zones = Arrays.asList(
+	    ZoneId.of("Europe/Berlin"), ZoneId.of("Australia/Sydney"),
+	    ZoneId.of("America/Sao_Paulo"), ZoneId.of("Asia/Tokyo"));
+    private final LocalDate from = LocalDate.of(2013, Month.JANUARY, 1);
+    private final LocalDate to = LocalDate.of(2016, Month.JANUARY, 1);
+
+    @Test
+    public final void testEnginesAreEquivalent() {
+	EquivalenceHarness harness = EquivalenceHarness.ofBaseline();
+	harness.addCandidate("DateUtils", EquivalenceHarness::dateUtils);
+	harness.addCandidate("DateUtils(millis)",
+		EquivalenceHarness::dateUtilsOfMillis);
+	harness.addCandidate("EpochDays", EquivalenceHarness::epochDays);
+	harness.addCandidate("LegacyDates", EquivalenceHarness::legacyDates);
+	Report report = harness.run(from, to, zones);
+	assertEquals("Baseline", report.getReferenceName());
+	assertEquals(Arrays.asList("DateUtils", "DateUtils(millis)",
+		"EpochDays", "LegacyDates"), report.getCandidateNames());
+	assertEquals(4 * 1095 * Operation.values().length,
+		report.getEvaluations());
+	assertEquals(0, report.getSkippedDays());
+	assertEquals(0, report.getMismatches("DateUtils"));
+	assertEquals(0, report.getMismatches("DateUtils(millis)"));
+	assertEquals(0, report.getMismatches("EpochDays"));
+	assertEquals(0, report.getMismatches("LegacyDates"));
+	assertTrue(report.isEquivalent());
+	assertTrue(report.getOperationsPerSecond("Baseline") > 0);
+    }
+
+    @Test
+    public final void testOldDateUtilsInDefaultZone() {
+	EquivalenceHarness harness = EquivalenceHarness.ofBaseline();
+	harness.addCandidate("OldDateUtils", EquivalenceHarness::oldDateUtils);
+	harness.addCandidate("OldDateUtils(millis)",
+		EquivalenceHarness::oldDateUtilsOfMillis);
+	Report report = harness.run(from, to,
+		Collections.singletonList(ZoneId.systemDefault()));
+	assertTrue(report.toString(), report.isEquivalent());
+    }
+
+    @Test
+    public final void testMismatchesAreReported() {
+	EquivalenceHarness harness = EquivalenceHarness.ofBaseline();
+	// Wrong for February of leap years
+	harness.addCandidate("Broken", zone -> {
+	    Engine engine = EquivalenceHarness.epochDays(zone);
+	    return (operation, epochDay, otherDay) -> {
+		long result = engine.apply(operation, epochDay, otherDay);
+		if (operation == Operation.END_OF_MONTH
+			&& LocalDate.ofEpochDay(result).getDayOfMonth() == 29)
+		    return result - 1;
+		return result;
+	    };
+	});
+	Report report = harness.run(from, to,
+		Collections.singletonList(ZoneId.of("Europe/Berlin")));
+	assertTrue(report.isEquivalent());
+	// No leap year in 2013 - 2015
+	assertEquals(0, report.getMismatches("Broken"));
+
+	report = harness.run(LocalDate.of(2016, Month.JANUARY, 1),
+		LocalDate.of(2017, Month.JANUARY, 1),
+		Collections.singletonList(ZoneId.of("Europe/Berlin")));
+	assertFalse(report.isEquivalent());
+	assertEquals(29, report.getMismatches("Broken"));
+	assertEquals(29,
+		report.getMismatches("Broken", Operation.END_OF_MONTH));
+	assertEquals(0, report.getMismatches("Broken", Operation.QUARTER));
+	List<Mismatch> samples = report.getSamples("Broken");
+	assertEquals(20, samples.size());
+	for (Mismatch mismatch : samples) {
+	    assertEquals(Operation.END_OF_MONTH, mismatch.getOperation());
+	    assertEquals(LocalDate.of(2016, Month.FEBRUARY, 29).toEpochDay(),
+		    mismatch.getExpected());
+	    assertEquals(mismatch.getExpected() - 1, mismatch.getActual());
+	}
+	assertTrue(report.toString().contains(
+		"expected 2016-02-29, actual 2016-02-28"));
+    }
+
+    @Test
+    public final void testMissingDays() {
+	long[] missing = EquivalenceHarness.missingDays(ZoneId.of(
+		"Pacific/Apia").getRules());
+	assertTrue(Arrays.binarySearch(missing,
+		LocalDate.of(2011, Month.DECEMBER, 30).toEpochDay()) >= 0);
+	assertEquals(0, EquivalenceHarness.missingDays(ZoneId.of(
+		"Europe/Berlin").getRules()).length);
+    }
+
+    @Test
+    public final void testDefaultRunIsEquivalent() {
+	// The candidates of main() at the days skipped in some time zones,
+	// except the points in time, which cannot be on a skipped day
+	EquivalenceHarness harness = EquivalenceHarness.ofBaseline();
+	harness.addCandidate("DateUtils", EquivalenceHarness::dateUtils);
+	harness.addCandidate("EpochDays", EquivalenceHarness::epochDays);
+	harness.addCandidate("LegacyDates", EquivalenceHarness::legacyDates);
+	List<ZoneId> all = EquivalenceHarness.availableZones();
+	// Pacific/Enderbury, Pacific/Kanton and Pacific/Kiritimati
+	Report report = harness.run(LocalDate.of(1994, Month.DECEMBER, 1),
+		LocalDate.of(1995, Month.JANUARY, 1), all);
+	assertTrue(report.toString(), report.isEquivalent());
+	// 1994-12-31 and 1994-12-01, which is compared with 1994-12-31
+	assertEquals(3 * 2, report.getSkippedDays());
+	assertEquals((all.size() * 31 - 3 * 2) * Operation.values().length,
+		report.getEvaluations());
+	// Pacific/Apia and Pacific/Fakaofo
+	report = harness.run(LocalDate.of(2011, Month.DECEMBER, 1),
+		LocalDate.of(2012, Month.JANUARY, 1), all);
+	assertTrue(report.toString(), report.isEquivalent());
+	assertEquals(2 * 2, report.getSkippedDays());
+    }
+
+    @Test
+    public final void testRandomRunsAreRepeatable() {
+	EquivalenceHarness harness = EquivalenceHarness.ofDateUtils();
+	harness.addCandidate("Weekday", zone -> {
+	    Engine engine = EquivalenceHarness.epochDays(zone);
+	    // Never a weekend
+	    return (operation, epochDay, otherDay) -> {
+		if (operation == Operation.IS_WEEKEND)
+		    return 0;
+		return engine.apply(operation, epochDay, otherDay);
+	    };
+	});
+	LocalDate end = LocalDate.of(2100, Month.JANUARY, 1);
+	Report first = harness.runRandom(from, end, zones, 100000, 42);
+	Report second = harness.runRandom(from, end, zones, 100000, 42);
+	assertEquals(4 * 100000 * Operation.values().length,
+		first.getEvaluations());
+	long weekends = first.getMismatches("Weekday", Operation.IS_WEEKEND);
+	assertEquals(weekends,
+		second.getMismatches("Weekday", Operation.IS_WEEKEND));
+	// About 2 of 7 days are weekends
+	assertEquals(4 * 100000 * 2 / 7.0, weekends, 4 * 100000 * 0.01);
+	assertEquals(weekends, first.getMismatches("Weekday"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void testDuplicateCandidate() {
+	EquivalenceHarness harness = EquivalenceHarness.ofDateUtils();
+	harness.addCandidate("DateUtils", EquivalenceHarness::epochDays);
+    }
+}
@@ -0,0 +1,209 @@
+package org.sevendroids.java.vector;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import org.sevendroids.java.datatimeapi.CivilDates;
+import org.sevendroids.java.datatimeapi.CivilDates.Kernel;
+
+/**
+ * Decomposes epoch days in the lanes of SIMD registers with the Vector API.
+ * The calculation is the branch-free calculation of
+ * {@link CivilDates#civil(long)} and {@link CivilDates#dayOfWeek(long)}. The
+ * Vector API has no fast integer division, so the lanes are computed as
+ * doubles, which are exact for all intermediate values. A division is a
+ * multiplication with the reciprocal followed by rounding. The remaining days
+ * after the last full vector are decomposed by the scalar calculation.
+ * <p>
+ * The doubles use the preferred vector size of the platform, the ints the
+ * same number of lanes.
+ * <p>
+ * The class needs Java 16 or later with the module jdk.incubator.vector and
+ * is loaded by {@link CivilDates} if it is on the classpath. CivilDates passes
+ * the constants of its calculation to the constructor.
+ * 
+ * @see CivilDates
+ * 
+ * @author created: 7droids.org on 18.10.2026 06:31:09
+ * @author last change: $Author: $ on $Date: $
+ * @version $Revision: $
+ */
+public class VectorCivilKernel implements Kernel {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Int lanes with the same number of lanes as DOUBLES.
+     */
+    private static final VectorSpecies<Integer> INTS = VectorSpecies.of(
+	    int.class,
+	    VectorShape.forBitSize(DOUBLES.length() * Integer.SIZE));
+
+    /**
+     * Adding 2^52 + 2^51 to a double (-2^51 .. 2^51) rounds it to the nearest
+     * integer, which is found as two's complement in the low bits of the
+     * mantissa. Subtracting it again returns the integer as double.
+     */
+    private static final double ROUND = 0x1.8p52;
+
+    /**
+     * Number of days decomposed by each pass, so that the second pass finds
+     * the days in the cache.
+     */
+    private static final int BLOCK = 1024;
+
+    /**
+     * Days in a 400 year cycle and four times the days of a century.
+     */
+    private final double daysPerCycle;
+
+    /**
+     * Four times the days of a year of the Julian calendar.
+     */
+    private final double daysPerYear4;
+
+    /**
+     * Value added to an epoch day before the decomposition.
+     */
+    private final double dayShift;
+
+    /**
+     * Value added to a shifted day to get the day of week (0 = Monday).
+     */
+    private final double dayOfWeekShift;
+
+    /**
+     * Removes the shifted cycles from the packed year and adds 1 to the day
+     * of month.
+     */
+    private final double packedShift;
+
+    /**
+     * Creates the kernel with the constants of {@link CivilDates}.
+     * 
+     * @param daysPerCycle
+     *            Days in a 400 year cycle
+     * @param daysPerYear4
+     *            Four times the days of a year of the Julian calendar
+     * @param cyclesShift
+     *            Number of 400 year cycles added to the day
+     * @param dayShift
+     *            Value added to an epoch day before the decomposition
+     * @param dayOfWeekShift
+     *            Value added to a shifted day to get the day of week
+     */
+    public VectorCivilKernel(int daysPerCycle, int daysPerYear4,
+	    long cyclesShift, long dayShift, long dayOfWeekShift) {
+	super();
+	this.daysPerCycle = daysPerCycle;
+	this.daysPerYear4 = daysPerYear4;
+	this.dayShift = dayShift;
+	this.dayOfWeekShift = dayOfWeekShift;
+	this.packedShift = -cyclesShift * 400 * 512 + 1;
+    }
+
+    @Override
+    public void decompose(int[] epochDays, int offset, int length,
+	    int[] dates, int[] daysOfWeek) {
+	// The JIT of JDK 17 cannot inline all vector operations of one pass
+	// over all values, the days of week are written by a second pass
+	for (int start = 0; start < length; start += BLOCK) {
+	    int count = Math.min(BLOCK, length - start);
+	    int vectors = count - count % DOUBLES.length();
+	    dates(epochDays, offset + start, vectors, dates, start);
+	    for (int i = start + vectors; i < start + count; i++)
+		dates[i] = CivilDates.civil(epochDays[offset + i]);
+	    if (daysOfWeek == null)
+		continue;
+	    daysOfWeek(epochDays, offset + start, vectors, daysOfWeek, start);
+	    for (int i = start + vectors; i < start + count; i++)
+		daysOfWeek[i] = CivilDates.dayOfWeek(epochDays[offset + i]);
+	}
+    }
+
+    /**
+     * Writes year, month and day of month. The number of days is a multiple
+     * of the lanes.
+     */
+    private void dates(int[] epochDays, int offset, int length,
+	    int[] dates, int index) {
+	for (int i = 0; i < length; i += DOUBLES.length()) {
+	    DoubleVector quarterDays = load(epochDays, offset + i).fma(4, 3);
+	    DoubleVector century = divide(quarterDays, daysPerCycle);
+	    DoubleVector dayOfCentury = divide(
+		    quarterDays.sub(century.mul(daysPerCycle)), 4);
+	    DoubleVector quarterDaysOfCentury = dayOfCentury.fma(4, 3);
+	    DoubleVector yearOfCentury = divide(quarterDaysOfCentury,
+		    daysPerYear4);
+	    DoubleVector dayOfYear = divide(quarterDaysOfCentury
+		    .sub(yearOfCentury.mul(daysPerYear4)), 4);
+	    // Month counted from March as 3 .. 14
+	    DoubleVector monthDays = dayOfYear.fma(5, 461);
+	    DoubleVector monthOfYear = divide(monthDays, 153);
+	    DoubleVector dayOfMonth = divide(
+		    monthDays.sub(monthOfYear.mul(153)), 5);
+	    // 1 for January and February, which belong to the next year
+	    DoubleVector nextYear = dayOfYear.sub(305).max(0).min(1);
+	    // Same bit layout as PackedDates, year * 2^9 keeps the sign. The
+	    // year is century * 100 + yearOfCentury + nextYear, the month
+	    // monthOfYear - 12 * nextYear
+	    toInts(century.mul(100 * 512).add(yearOfCentury.mul(512))
+		    .add(nextYear.mul(512 - 12 * 32))
+		    .add(monthOfYear.mul(32)).add(dayOfMonth)
+		    .add(packedShift)).intoArray(dates, index + i);
+	}
+    }
+
+    /**
+     * Writes the days of week. The number of days is a multiple of the
+     * lanes.
+     */
+    private void daysOfWeek(int[] epochDays, int offset, int length,
+	    int[] daysOfWeek, int index) {
+	for (int i = 0; i < length; i += DOUBLES.length()) {
+	    DoubleVector day = load(epochDays, offset + i)
+		    .add(dayOfWeekShift);
+	    DoubleVector dayOfWeek = day.sub(divide(day, 7).mul(7)).add(1);
+	    toInts(dayOfWeek).intoArray(daysOfWeek, index + i);
+	}
+    }
+
+    /**
+     * Loads epoch days and adds the shift of CivilDates.
+     */
+    private DoubleVector load(int[] epochDays, int index) {
+	return ((DoubleVector) IntVector.fromArray(INTS, epochDays, index)
+		.convertShape(VectorOperators.I2D, DOUBLES, 0))
+		.add(dayShift);
+    }
+
+    /**
+     * Converts integer doubles to ints. The conversion instruction of the
+     * JDK 17 is not compiled to vector instructions, the rounding constant
+     * does the conversion with an addition.
+     */
+    private static IntVector toInts(DoubleVector values) {
+	return (IntVector) values.add(ROUND).reinterpretAsLongs()
+		.convertShape(VectorOperators.L2I, INTS, 0);
+    }
+
+    /**
+     * Divides positive integers and rounds to the floor. The fraction of the
+     * quotient is a multiple of 1 / divisor, so moving it by
+     * (divisor - 1) / (2 * divisor) down lets rounding to the nearest integer
+     * return the floor. The error of the multiplication with the reciprocal
+     * is far below the remaining distance to 1/2.
+     */
+    private static DoubleVector divide(DoubleVector dividend, double divisor) {
+	return dividend.fma(1 / divisor, (1 - divisor) / (2 * divisor))
+		.add(ROUND).sub(ROUND);
+    }
+
+    @Override
+    public String toString() {
+	return "vector " + DOUBLES;
+    }
+}